@@ -0,0 +1,76 @@
+package com.mawen.search.microbenchmark;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mawen.search.core.document.Document;
+import com.mawen.search.microbenchmark.support.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the array backed document map with the {@link LinkedHashMap} it replaces: decoding a {@code _source},
+ * reading its fields and copying it. Run with {@code -prof gc} to compare the allocation rates.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public class DocumentMapBenchmark extends AbstractMicrobenchmark {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	private static final TypeReference<LinkedHashMap<String, Object>> LINKED_HASH_MAP = new TypeReference<LinkedHashMap<String, Object>>() {
+	};
+	private static final String[] FIELDS = {"id", "name", "age", "active", "created", "tags", "address", "score"};
+	private static final String SOURCE = "{\"id\":\"4f3c\",\"name\":\"jack\",\"age\":42,\"active\":true,"
+			+ "\"created\":\"2024-02-18T10:15:30.000Z\",\"tags\":[\"a\",\"b\"],"
+			+ "\"address\":{\"city\":\"Hangzhou\",\"zip\":\"310000\"},\"score\":1.5}";
+
+	private LinkedHashMap<String, Object> linkedHashMap;
+	private Document document;
+
+	@Setup
+	public void setUp() throws IOException {
+		linkedHashMap = OBJECT_MAPPER.readValue(SOURCE, LINKED_HASH_MAP);
+		document = Document.parse(SOURCE);
+	}
+
+	@Benchmark
+	public Object decodeLinkedHashMap() throws IOException {
+		return OBJECT_MAPPER.readValue(SOURCE, LINKED_HASH_MAP);
+	}
+
+	@Benchmark
+	public Object decodeDocument() {
+		return Document.parse(SOURCE);
+	}
+
+	@Benchmark
+	public void readLinkedHashMap(Blackhole blackhole) {
+		read(linkedHashMap, blackhole);
+	}
+
+	@Benchmark
+	public void readDocument(Blackhole blackhole) {
+		read(document, blackhole);
+	}
+
+	@Benchmark
+	public Object copyLinkedHashMap() {
+		return new LinkedHashMap<>(linkedHashMap);
+	}
+
+	@Benchmark
+	public Object copyDocument() {
+		return Document.from(document);
+	}
+
+	private static void read(Map<String, Object> map, Blackhole blackhole) {
+		for (String field : FIELDS) {
+			blackhole.consume(map.get(field));
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.mawen.search;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Thrown when queries of a bulk request could not be converted into bulk operations.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Getter
+public class BulkConversionException extends SearchException {
+
+	/**
+	 * the cause of every failed query, by position of the query in the bulk request
+	 */
+	private final Map<Integer, Throwable> failedItems;
+
+	public BulkConversionException(String msg, Map<Integer, Throwable> failedItems) {
+		super(msg, failedItems.isEmpty() ? null : failedItems.values().iterator().next());
+		this.failedItems = failedItems;
+	}
+}
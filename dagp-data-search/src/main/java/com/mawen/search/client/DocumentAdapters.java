@@ -7,21 +7,24 @@ import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.core.search.NestedIdentity;
 import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpDeserializer;
 import co.elastic.clients.json.JsonpMapper;
 import com.mawen.search.client.query.builder.SearchDocumentResponseBuilder;
 import com.mawen.search.client.response.ResponseConverter;
 import com.mawen.search.client.util.TypeUtils;
 import com.mawen.search.core.document.*;
 import com.mawen.search.core.support.MultiGetItem;
+import jakarta.json.stream.JsonParser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +35,12 @@ import java.util.stream.Collectors;
 public class DocumentAdapters {
 
 
+	private static final JsonpDeserializer<Object> FIELD_VALUE_DESERIALIZER = JsonpDeserializer.of(
+			EnumSet.of(JsonParser.Event.START_OBJECT, JsonParser.Event.START_ARRAY, JsonParser.Event.VALUE_STRING,
+					JsonParser.Event.VALUE_NUMBER, JsonParser.Event.VALUE_TRUE, JsonParser.Event.VALUE_FALSE,
+					JsonParser.Event.VALUE_NULL),
+			(parser, mapper, event) -> readFieldValue(parser, event));
+
 	private DocumentAdapters() {
 	}
 
@@ -53,22 +62,8 @@ public class DocumentAdapters {
 
 		List<String> matchedQueries = hit.matchedQueries();
 
-		Function<Map<String, JsonData>, EntityAsMap> fromFields = fields -> {
-			StringBuilder sb = new StringBuilder("{");
-			final boolean[] firstField = {true};
-			hit.fields().forEach((key, jsonData) -> {
-				if (!firstField[0]) {
-					sb.append(',');
-				}
-				sb.append('"').append(key).append("\":") //
-						.append(jsonData.toJson(jsonpMapper).toString());
-				firstField[0] = false;
-			});
-			sb.append('}');
-			return new EntityAsMap().fromJson(sb.toString());
-		};
-
-		EntityAsMap hitFieldsAsMap = fromFields.apply(hit.fields());
+		EntityAsMap hitFieldsAsMap = new EntityAsMap();
+		hit.fields().forEach((key, jsonData) -> hitFieldsAsMap.put(key, fieldValue(jsonData, jsonpMapper)));
 
 		Map<String, List<Object>> documentFields = new LinkedHashMap<>();
 		hitFieldsAsMap.forEach((key, value) -> {
@@ -115,7 +110,7 @@ public class DocumentAdapters {
 
 		float score = hit.score() != null ? hit.score().floatValue() : Float.NaN;
 		return new SearchDocumentAdapter(document, score, hit.sort().stream().map(TypeUtils::toString).toArray(),
-				documentFields, highlightFields, innerHits, nestedMetaData, matchedQueries, hit.routing());
+				documentFields, highlightFields, innerHits, nestedMetaData, matchedQueries, hit.routing(), source != null);
 	}
 
 	public static SearchDocument from(CompletionSuggestOption<EntityAsMap> completionSuggestOption) {
@@ -133,6 +128,49 @@ public class DocumentAdapters {
 				Collections.emptyMap(), null, null, completionSuggestOption.routing());
 	}
 
+	/**
+	 * Converts the value of a hit field into the maps, lists and simple values that parsing it as JSON would give,
+	 * without rendering it to JSON first.
+	 */
+	@Nullable
+	private static Object fieldValue(JsonData jsonData, JsonpMapper jsonpMapper) {
+		return jsonData.deserialize(FIELD_VALUE_DESERIALIZER, jsonpMapper);
+	}
+
+	@Nullable
+	private static Object readFieldValue(JsonParser parser, JsonParser.Event event) {
+
+		switch (event) {
+			case START_OBJECT:
+				Map<String, Object> map = new LinkedHashMap<>();
+				while (parser.next() == JsonParser.Event.KEY_NAME) {
+					String key = parser.getString();
+					map.put(key, readFieldValue(parser, parser.next()));
+				}
+				return map;
+			case START_ARRAY:
+				List<Object> list = new ArrayList<>();
+				JsonParser.Event next;
+				while ((next = parser.next()) != JsonParser.Event.END_ARRAY) {
+					list.add(readFieldValue(parser, next));
+				}
+				return list;
+			case VALUE_STRING:
+				return parser.getString();
+			case VALUE_NUMBER:
+				if (!parser.isIntegralNumber()) {
+					return parser.getBigDecimal().doubleValue();
+				}
+				return EntityAsMap.integralValue(parser);
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			default:
+				return null;
+		}
+	}
+
 	@Nullable
 	private static NestedMetaData from(@Nullable NestedIdentity nestedIdentity) {
 
@@ -0,0 +1,132 @@
+package com.mawen.search.client;
+
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonpMapper;
+import com.mawen.search.client.response.ResponseConverter;
+import com.mawen.search.core.query.ByQueryResponse;
+import com.mawen.search.core.query.ByQueryTask;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link ByQueryTask} that polls the tasks API of the new client.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+class ElasticsearchByQueryTask implements ByQueryTask {
+
+	/**
+	 * requests_per_second value that disables throttling
+	 */
+	private static final float UNTHROTTLED = -1;
+
+	private final ElasticsearchTemplate template;
+	private final JsonpMapper jsonpMapper;
+	private final ResponseConverter responseConverter;
+	private final String taskId;
+	private final boolean deleteByQuery;
+	private final Duration pollInterval;
+	private volatile boolean completed;
+
+	ElasticsearchByQueryTask(ElasticsearchTemplate template, JsonpMapper jsonpMapper,
+			ResponseConverter responseConverter, String taskId, boolean deleteByQuery, Duration pollInterval) {
+
+		Assert.hasText(taskId, "taskId must not be empty");
+
+		this.template = template;
+		this.jsonpMapper = jsonpMapper;
+		this.responseConverter = responseConverter;
+		this.taskId = taskId;
+		this.deleteByQuery = deleteByQuery;
+		this.pollInterval = pollInterval;
+	}
+
+	@Override
+	public String getTaskId() {
+		return taskId;
+	}
+
+	@Override
+	public ByQueryResponse getStatus() {
+
+		GetTasksResponse response = template.execute(client -> client.tasks().get(r -> r.taskId(taskId)));
+		ByQueryResponse status = responseConverter.byQueryResponse(response, jsonpMapper);
+		completed = response.completed();
+		return status;
+	}
+
+	@Override
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	@Override
+	public Stream<ByQueryResponse> progress() {
+		return StreamSupport.stream(new ProgressSpliterator(), false);
+	}
+
+	@Override
+	public void cancel() {
+		template.execute(client -> client.tasks().cancel(r -> r.taskId(taskId)));
+	}
+
+	@Override
+	public void rethrottle(@Nullable Float requestsPerSecond) {
+
+		Float value = requestsPerSecond != null ? requestsPerSecond : UNTHROTTLED;
+
+		if (deleteByQuery) {
+			template.execute(client -> client.deleteByQueryRethrottle(r -> r.taskId(taskId).requestsPerSecond(value)));
+		}
+		else {
+			template.execute(client -> client.updateByQueryRethrottle(r -> r.taskId(taskId).requestsPerSecond(value)));
+		}
+	}
+
+	private class ProgressSpliterator extends Spliterators.AbstractSpliterator<ByQueryResponse> {
+
+		private boolean first = true;
+		private boolean done;
+
+		ProgressSpliterator() {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super ByQueryResponse> action) {
+
+			if (done) {
+				return false;
+			}
+
+			if (!first) {
+				sleep();
+			}
+
+			first = false;
+			ByQueryResponse status = getStatus();
+			done = completed;
+			action.accept(status);
+			return true;
+		}
+
+		private void sleep() {
+
+			try {
+				Thread.sleep(pollInterval.toMillis());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for task " + taskId, e);
+			}
+		}
+	}
+}
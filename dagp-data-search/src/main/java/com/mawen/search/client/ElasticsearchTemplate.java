@@ -6,6 +6,7 @@ import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
 import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import co.elastic.clients.elasticsearch.core.search.TotalHits;
 import co.elastic.clients.json.JsonpMapper;
 import com.mawen.search.BulkFailureException;
 import com.mawen.search.client.query.NativeQuery;
@@ -22,12 +23,15 @@ import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.query.UpdateResponse;
 import com.mawen.search.core.query.*;
 import com.mawen.search.core.query.builder.BaseQueryBuilder;
+import com.mawen.search.core.support.BulkItemResult;
 import com.mawen.search.core.support.IndexedObjectInformation;
 import com.mawen.search.core.support.MultiGetItem;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.time.Duration;
@@ -43,6 +47,8 @@ import static com.mawen.search.client.util.TypeUtils.result;
 @Slf4j
 public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 
+	private static final String SHARD_DOC = "_shard_doc";
+
 	private final ElasticsearchClient client;
 	private final JsonpMapper jsonpMapper;
 	private final RequestConverter requestConverter;
@@ -158,6 +164,22 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		return responseConverter.byQueryResponse(response);
 	}
 
+	@Override
+	public ByQueryTask updateByQueryTask(UpdateQuery updateQuery, ByQueryTaskOptions options, IndexCoordinates index) {
+
+		Assert.notNull(updateQuery, "updateQuery must not be null");
+		Assert.notNull(options, "options must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		UpdateByQueryRequest request = requestConverter.documentUpdateByQueryRequest(updateQuery, index, getRefreshPolicy(),
+				options);
+
+		UpdateByQueryResponse response = execute(client -> client.updateByQuery(request));
+
+		return new ElasticsearchByQueryTask(this, jsonpMapper, responseConverter, response.task(), false,
+				options.getPollInterval());
+	}
+
 	@Override
 	public String doIndex(IndexQuery query, IndexCoordinates indexCoordinates) {
 
@@ -212,6 +234,22 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		return responseConverter.byQueryResponse(response);
 	}
 
+	@Override
+	public ByQueryTask deleteByQueryTask(Query query, Class<?> clazz, ByQueryTaskOptions options, IndexCoordinates index) {
+
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(options, "options must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		DeleteByQueryRequest request = requestConverter.documentDeleteByQueryRequest(query, routingResolver.getRouting(),
+				clazz, index, getRefreshPolicy(), options);
+
+		DeleteByQueryResponse response = execute(client -> client.deleteByQuery(request));
+
+		return new ElasticsearchByQueryTask(this, jsonpMapper, responseConverter, response.task(), true,
+				options.getPollInterval());
+	}
+
 	@Override
 	public List<IndexedObjectInformation> doBulkOperation(List<?> queries, BulkOptions bulkOptions,
 			IndexCoordinates index) {
@@ -227,6 +265,17 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		return indexedObjectInformationList;
 	}
 
+	@Override
+	protected List<BulkItemResult> doBulkOperationWithResult(List<?> queries, BulkOptions bulkOptions,
+			IndexCoordinates index) {
+
+		BulkRequest bulkRequest = requestConverter.documentBulkRequest(queries, bulkOptions, index, refreshPolicy);
+
+		BulkResponse bulkResponse = execute(client -> client.bulk(bulkRequest));
+
+		return bulkItemResults(queries, bulkResponse);
+	}
+
 	// endregion
 
 	// region search operations
@@ -236,6 +285,11 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		Assert.notNull(query, "query must not be null");
 		Assert.notNull(index, "index must not be null");
 
+		if (requestConverter.isCountable(query)) {
+			CountRequest countRequest = requestConverter.countRequest(query, routingResolver.getRouting(), clazz, index);
+			return execute(client -> client.count(countRequest)).count();
+		}
+
 		// cannot use ExistsRequest， because ExistsRequest don't support filter
 		SearchRequest searchRequest = requestConverter.searchRequest(query, routingResolver.getRouting(), clazz, index, true);
 
@@ -244,6 +298,20 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		return searchResponse.hits().total().value();
 	}
 
+	@Override
+	public boolean exists(Query query, @Nullable Class<?> clazz, IndexCoordinates index) {
+
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		SearchRequest searchRequest = requestConverter.searchExistsRequest(query, routingResolver.getRouting(), clazz, index);
+
+		SearchResponse<EntityAsMap> searchResponse = execute(client -> client.search(searchRequest, EntityAsMap.class));
+		TotalHits totalHits = searchResponse.hits().total();
+
+		return totalHits != null && totalHits.value() > 0;
+	}
+
 	@Override
 	public <T> SearchHits<T> search(Query query, Class<T> clazz, IndexCoordinates index) {
 
@@ -335,7 +403,14 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		Assert.notNull(index, "index must not be null");
 		Assert.notNull(keepAlive,"keepAlive must not be null");
 
-		OpenPointInTimeRequest request = requestConverter.searchOpenPointInTimeRequest(index, keepAlive);
+		return openPointInTime(index, keepAlive, routingResolver.getRouting(), null);
+	}
+
+	private String openPointInTime(IndexCoordinates index, Duration keepAlive, @Nullable String routing,
+			@Nullable Boolean ignoreUnavailable) {
+
+		OpenPointInTimeRequest request = requestConverter.searchOpenPointInTimeRequest(index, keepAlive, routing,
+				ignoreUnavailable);
 		return execute(client -> client.openPointInTime(request)).id();
 	}
 
@@ -357,19 +432,66 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 		if (!(query instanceof BaseQuery)) {
 			throw new IllegalArgumentException("Query must be derived from BaseQuery");
 		}
-		String pit = openPointInTime(index, keepAlive);
-		((BaseQuery) query).setPointInTime(new PointInTime(pit, keepAlive));
-		((BaseQuery) query).setSort(Sort.by("_shard_doc"));
-
-		SearchRequest request = requestConverter.searchRequest(query, routingResolver.getRouting(), clazz, index, false);
-		SearchResponse<EntityAsMap> response = execute(client -> client.search(request, EntityAsMap.class));
+		// the searches in a point in time only see the shards it was opened on
+		String routing = StringUtils.hasText(query.getRoute()) ? query.getRoute() : routingResolver.getRouting();
+		String pit = openPointInTime(index, keepAlive, routing, query.getIgnoreUnavailable());
+		query.setPointInTime(new PointInTime(pit, keepAlive));
+
+		// _shard_doc breaks the ties of the query's sort, so that search_after neither skips nor repeats documents
+		if (query.getSort() == null || query.getSort().getOrderFor(SHARD_DOC) == null) {
+			query.addSort(Sort.by(SHARD_DOC));
+		}
 
-		return getPitSearchAfterHits(((BaseQuery) query), clazz, index, response);
+		try {
+			return searchAfter((BaseQuery) query, keepAlive, clazz, index);
+		}
+		catch (RuntimeException e) {
+			query.setPointInTime(null);
+			closePointInTime(pit);
+			throw e;
+		}
 	}
 
 	@Override
 	public <T> PitSearchAfterHits<T> searchAfterContinue(Query query, Duration keepAlive, Class<T> clazz, IndexCoordinates index) {
-		return null;
+
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(query.getPointInTime(), "pointInTime of query must not be null, start with searchAfterStart");
+
+		if (!(query instanceof BaseQuery)) {
+			throw new IllegalArgumentException("Query must be derived from BaseQuery");
+		}
+
+		return searchAfter((BaseQuery) query, keepAlive, clazz, index);
+	}
+
+	/**
+	 * Searches one page in the point in time of the query and moves the query after the last hit of the page.
+	 */
+	private <T> PitSearchAfterHits<T> searchAfter(BaseQuery query, Duration keepAlive, Class<T> clazz,
+			IndexCoordinates index) {
+
+		SearchRequest request = requestConverter.searchRequest(query, routingResolver.getRouting(), clazz, index, false);
+		SearchResponse<EntityAsMap> response = execute(client -> client.search(request, EntityAsMap.class));
+		PitSearchAfterHits<T> searchHits = getPitSearchAfterHits(query, clazz, index, response);
+
+		List<SearchHit<T>> hits = searchHits.getSearchHits();
+
+		if (!hits.isEmpty()) {
+			query.setSearchAfter(hits.get(hits.size() - 1).getSortValues());
+		}
+
+		// the id of a point in time may change with every response
+		if (searchHits.getPit() != null) {
+			query.setPointInTime(new PointInTime(searchHits.getPit(), keepAlive));
+		}
+
+		// search_after replaces the offset of the first page
+		if (query.getPageable().isPaged() && query.getPageable().getOffset() > 0) {
+			query.setPageable(PageRequest.of(0, query.getPageable().getPageSize()));
+		}
+
+		return searchHits;
 	}
 
 	private <T> PitSearchAfterHits<T> getPitSearchAfterHits(BaseQuery query, Class<T> clazz, IndexCoordinates index, ResponseBody<EntityAsMap> response) {
@@ -555,6 +677,35 @@ public class ElasticsearchTemplate extends AbstractElasticsearchTemplate {
 
 	}
 
+	protected List<BulkItemResult> bulkItemResults(List<?> queries, BulkResponse bulkResponse) {
+
+		List<BulkResponseItem> items = bulkResponse.items();
+		List<BulkItemResult> results = new ArrayList<>(items.size());
+
+		for (int i = 0; i < items.size(); i++) {
+			BulkResponseItem item = items.get(i);
+			Object query = queries.get(i);
+
+			if (item.error() == null) {
+				results.add(BulkItemResult.success(query, item.status(),
+						new IndexedObjectInformation(item.id(), item.index(), item.seqNo(), item.primaryTerm(), item.version())));
+			}
+			else {
+				results.add(BulkItemResult.failure(query, item.status(), item.error().type(), item.error().reason(),
+						isRetriable(item.status())));
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * 429 is returned for {@code es_rejected_execution_exception}, the 50x codes when a node or shard is not available.
+	 */
+	private static boolean isRetriable(int status) {
+		return status == 429 || status == 502 || status == 503 || status == 504;
+	}
+
 	@FunctionalInterface
 	public interface ClientCallback<T> {
 		T doWithClient(ElasticsearchClient client) throws IOException;
@@ -1,10 +1,129 @@
 package com.mawen.search.client;
 
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.EnumSet;
+
+import co.elastic.clients.json.JsonpDeserializable;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpParser;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.mawen.search.support.DefaultStringObjectMap;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
 
 /**
+ * The {@code _source} of a document as returned by the client. The JSON is kept as buffered tokens and decoded into the
+ * map on first access, so that the converter can read entities straight from it.
+ *
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
+@JsonpDeserializable
 public class EntityAsMap extends DefaultStringObjectMap<EntityAsMap> {
+
+	public static final JsonpDeserializer<EntityAsMap> _DESERIALIZER = JsonpDeserializer
+			.of(EnumSet.of(JsonParser.Event.START_OBJECT), EntityAsMap::deserialize);
+
+	public EntityAsMap() {
+	}
+
+	EntityAsMap(TokenBuffer source) {
+		super(source);
+	}
+
+	private static EntityAsMap deserialize(JsonParser parser, JsonpMapper mapper, JsonParser.Event event) {
+
+		try {
+			if (parser instanceof JacksonJsonpParser) {
+				com.fasterxml.jackson.core.JsonParser jacksonParser = ((JacksonJsonpParser) parser).jacksonParser();
+				return new EntityAsMap(TokenBuffer.asCopyOfValue(jacksonParser));
+			}
+
+			TokenBuffer buffer = new TokenBuffer(null, false);
+			buffer.writeStartObject();
+			copyObject(parser, buffer);
+			return new EntityAsMap(buffer);
+		}
+		catch (IOException e) {
+			throw new JsonException("Cannot read _source", e);
+		}
+	}
+
+	/**
+	 * Reads the integral number the parser is positioned on as the smallest of {@link Integer}, {@link Long} and
+	 * {@link BigInteger} that holds it, like Jackson does.
+	 */
+	static Number integralValue(JsonParser parser) {
+
+		String text = parser.getString();
+
+		// 18 digits always fit in a long, longer numbers are checked on their exact value
+		if (text.length() <= (text.charAt(0) == '-' ? 19 : 18)) {
+			long value = parser.getLong();
+			return (int) value == value ? (Number) (int) value : (Number) value;
+		}
+
+		BigInteger value = parser.getBigDecimal().toBigInteger();
+		return value.bitLength() < 64 ? (Number) value.longValue() : value;
+	}
+
+	// copies the events of a parser that is not backed by Jackson, the parser is positioned after START_OBJECT
+	private static void copyObject(JsonParser parser, TokenBuffer buffer) throws IOException {
+
+		int depth = 1;
+		while (depth > 0) {
+			switch (parser.next()) {
+				case START_OBJECT:
+					buffer.writeStartObject();
+					depth++;
+					break;
+				case END_OBJECT:
+					buffer.writeEndObject();
+					depth--;
+					break;
+				case START_ARRAY:
+					buffer.writeStartArray();
+					depth++;
+					break;
+				case END_ARRAY:
+					buffer.writeEndArray();
+					depth--;
+					break;
+				case KEY_NAME:
+					buffer.writeFieldName(parser.getString());
+					break;
+				case VALUE_STRING:
+					buffer.writeString(parser.getString());
+					break;
+				case VALUE_NUMBER:
+					if (!parser.isIntegralNumber()) {
+						buffer.writeNumber(parser.getBigDecimal().doubleValue());
+						break;
+					}
+
+					Number value = integralValue(parser);
+					if (value instanceof Integer) {
+						buffer.writeNumber(value.intValue());
+					}
+					else if (value instanceof Long) {
+						buffer.writeNumber(value.longValue());
+					}
+					else {
+						buffer.writeNumber((BigInteger) value);
+					}
+					break;
+				case VALUE_TRUE:
+					buffer.writeBoolean(true);
+					break;
+				case VALUE_FALSE:
+					buffer.writeBoolean(false);
+					break;
+				case VALUE_NULL:
+					buffer.writeNull();
+					break;
+			}
+		}
+	}
 }
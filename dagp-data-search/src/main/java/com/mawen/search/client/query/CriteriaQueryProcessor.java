@@ -1,10 +1,14 @@
 package com.mawen.search.client.query;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
@@ -15,6 +19,7 @@ import co.elastic.clients.json.JsonData;
 import co.elastic.clients.util.ObjectBuilder;
 import com.mawen.search.InvalidApiUsageException;
 import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.annotation.SubstringSearch;
 import com.mawen.search.core.domain.Criteria;
 import com.mawen.search.core.domain.Field;
 import lombok.extern.slf4j.Slf4j;
@@ -27,41 +32,87 @@ import static com.mawen.search.client.query.Queries.*;
 import static org.springframework.util.StringUtils.*;
 
 /**
+ * 将 {@link Criteria} 转换为 Elasticsearch 查询。
+ * <p>
+ * 查询的结构只取决于 {@link Criteria} 的形状：字段、操作、boost、and/or/not 以及嵌套关系，与参数值无关。因此每种形状只编译一次为
+ * {@link QueryTemplate}，之后的调用只收集参数值并填入模板，不再重复遍历构建逻辑。没有参数值的子句（exists、empty、not empty）
+ * 在编译时就构建完成并被复用。
+ * <p>
+ * {@link Criteria.Context#FILTER filter 上下文}中的精确匹配（等于、in、not in、范围、exists）转换为不计分的 {@code term}、
+ * {@code terms}、{@code range} 和 {@code exists} 查询并放入 {@code bool.filter}，Elasticsearch 可以缓存这些子句。未指定上下文时，
+ * keyword、数值和日期字段使用 filter 上下文。
+ * <p>
+ * 字段声明了 {@link SubstringSearch} 时，contains 和 ends with 查询子串搜索子字段，而不是在字段上使用前导通配符。
+ *
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
 @Slf4j
 public class CriteriaQueryProcessor {
 
+	private static final QueryTemplates TEMPLATES = new QueryTemplates();
+	private static final Set<Criteria.OperationKey> FILTER_OPERATION_KEYS = EnumSet.of(Criteria.OperationKey.EQUALS,
+			Criteria.OperationKey.IN, Criteria.OperationKey.NOT_IN, Criteria.OperationKey.LESS,
+			Criteria.OperationKey.LESS_EQUAL, Criteria.OperationKey.GREATER, Criteria.OperationKey.GREATER_EQUAL,
+			Criteria.OperationKey.BETWEEN, Criteria.OperationKey.EXISTS);
+	private static final Set<FieldType> FILTER_FIELD_TYPES = EnumSet.of(FieldType.Keyword, FieldType.Long,
+			FieldType.Integer, FieldType.Short, FieldType.Byte, FieldType.Double, FieldType.Float, FieldType.Half_Float,
+			FieldType.Scaled_Float, FieldType.Date, FieldType.Date_Nanos);
+
 	@Nullable
 	public static Query createQuery(Criteria criteria) {
+		return createQuery(criteria, Criteria.Context.AUTO);
+	}
+
+	/**
+	 * @param context the context of the criteria that do not set one
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	public static Query createQuery(Criteria criteria, Criteria.Context context) {
 
 		Assert.notNull(criteria, "criteria must not be null");
+		Assert.notNull(context, "context must not be null");
 
-		List<Query> shouldQueries = new ArrayList<>();
-		List<Query> mustNotQueries = new ArrayList<>();
-		List<Query> mustQueries = new ArrayList<>();
+		QueryShape shape = new QueryShape();
+		shape.key.add(context);
+		shape.describe(criteria);
 
-		Query firstQuery = null;
+		return TEMPLATES.get(shape.key, () -> compile(criteria, context, new Slots())).create(shape.values.toArray());
+	}
+
+	@Nullable
+	private static QueryTemplate compile(Criteria criteria, Criteria.Context context, Slots slots) {
+
+		List<QueryTemplate> shouldQueries = new ArrayList<>();
+		List<QueryTemplate> mustNotQueries = new ArrayList<>();
+		List<QueryTemplate> mustQueries = new ArrayList<>();
+		List<QueryTemplate> filterQueries = new ArrayList<>();
+
+		QueryTemplate firstQuery = null;
 		boolean negateFirstQuery = false;
+		boolean filterFirstQuery = false;
 
 		for (Criteria chainedCriteria : criteria.getCriteriaChain()) {
-			Query queryFragment = queryForEntries(chainedCriteria);
+			boolean filter = isFilter(chainedCriteria, context);
+			QueryTemplate queryFragment = compileEntries(chainedCriteria, filter, slots);
 
 			if (queryFragment != null) {
 
 				if (firstQuery == null) {
 					firstQuery = queryFragment;
 					negateFirstQuery = chainedCriteria.isNegating();
-					continue;
+					filterFirstQuery = filter;
 				}
-
-				if (chainedCriteria.isOr()) {
+				else if (chainedCriteria.isOr()) {
 					shouldQueries.add(queryFragment);
 				}
 				else if (chainedCriteria.isNegating()) {
 					mustNotQueries.add(queryFragment);
 				}
+				else if (filter) {
+					filterQueries.add(queryFragment);
+				}
 				else {
 					mustQueries.add(queryFragment);
 				}
@@ -69,7 +120,7 @@ public class CriteriaQueryProcessor {
 
 			// add nested query
 			if (!CollectionUtils.isEmpty(chainedCriteria.getNestedCriteria())) {
-				Query nestedQuery = createNestedQuery(chainedCriteria);
+				QueryTemplate nestedQuery = compileNested(chainedCriteria, context, slots);
 				if (nestedQuery != null) {
 					if (chainedCriteria.isOr()) {
 						shouldQueries.add(nestedQuery);
@@ -85,7 +136,7 @@ public class CriteriaQueryProcessor {
 		}
 
 		for (Criteria subCriteria : criteria.getSubCriteria()) {
-			Query subQuery = createQuery(subCriteria);
+			QueryTemplate subQuery = compile(subCriteria, context, slots);
 			if (subQuery != null) {
 				if (criteria.isOr()) {
 					shouldQueries.add(subQuery);
@@ -101,7 +152,8 @@ public class CriteriaQueryProcessor {
 
 		if (firstQuery != null) {
 
-			if (!shouldQueries.isEmpty() && mustNotQueries.isEmpty() && mustQueries.isEmpty()) {
+			if (!shouldQueries.isEmpty() && mustNotQueries.isEmpty() && mustQueries.isEmpty()
+					&& filterQueries.isEmpty()) {
 				shouldQueries.add(0, firstQuery);
 			}
 			else {
@@ -109,39 +161,78 @@ public class CriteriaQueryProcessor {
 				if (negateFirstQuery) {
 					mustNotQueries.add(0, firstQuery);
 				}
+				else if (filterFirstQuery) {
+					filterQueries.add(0, firstQuery);
+				}
 				else {
 					mustQueries.add(0, firstQuery);
 				}
 			}
 		}
 
-		if (shouldQueries.isEmpty() && mustNotQueries.isEmpty() && mustQueries.isEmpty()) {
+		if (shouldQueries.isEmpty() && mustNotQueries.isEmpty() && mustQueries.isEmpty() && filterQueries.isEmpty()) {
 			return null;
 		}
 
-		Query query = new Query.Builder().bool(boolQueryBuilder -> {
+		QueryTemplate[] should = shouldQueries.toArray(new QueryTemplate[0]);
+		QueryTemplate[] mustNot = mustNotQueries.toArray(new QueryTemplate[0]);
+		QueryTemplate[] must = mustQueries.toArray(new QueryTemplate[0]);
+		QueryTemplate[] filter = filterQueries.toArray(new QueryTemplate[0]);
+
+		return values -> new Query.Builder().bool(boolQueryBuilder -> {
 
-			if (!shouldQueries.isEmpty()) {
-				boolQueryBuilder.should(shouldQueries);
+			if (should.length > 0) {
+				boolQueryBuilder.should(create(should, values));
 			}
 
-			if (!mustNotQueries.isEmpty()) {
-				boolQueryBuilder.mustNot(mustNotQueries);
+			if (mustNot.length > 0) {
+				boolQueryBuilder.mustNot(create(mustNot, values));
 			}
 
-			if (!mustQueries.isEmpty()) {
-				boolQueryBuilder.must(mustQueries);
+			if (must.length > 0) {
+				boolQueryBuilder.must(create(must, values));
+			}
+
+			if (filter.length > 0) {
+				boolQueryBuilder.filter(create(filter, values));
 			}
 
 			return boolQueryBuilder;
 		}).build();
+	}
+
+	/**
+	 * @return whether the query entries of the criteria are translated into non-scoring filter clauses
+	 */
+	private static boolean isFilter(Criteria criteria, Criteria.Context context) {
+
+		Criteria.Context criteriaContext = criteria.getContext() != Criteria.Context.AUTO ? criteria.getContext() : context;
+		Field field = criteria.getField();
+
+		if (criteriaContext == Criteria.Context.QUERY || field == null
+				|| criteria.getQueryCriteriaEntries().isEmpty()) {
+			return false;
+		}
+
+		// a boost asks for scoring
+		if (criteriaContext == Criteria.Context.AUTO
+				&& (!FILTER_FIELD_TYPES.contains(field.getFieldType()) || !Float.isNaN(criteria.getBoost()))) {
+			return false;
+		}
+
+		for (Criteria.CriteriaEntry entry : criteria.getQueryCriteriaEntries()) {
+			if (!FILTER_OPERATION_KEYS.contains(entry.getKey())) {
+				return false;
+			}
+		}
 
-		return query;
+		return true;
 	}
 
 	@Nullable
-	private static Query queryForEntries(Criteria criteria) {
+	private static QueryTemplate compileEntries(Criteria criteria, boolean filter, Slots slots) {
 
+		int slot = slots.next(criteria.getQueryCriteriaEntries().size());
 		Field field = criteria.getField();
 
 		if (field == null || criteria.getQueryCriteriaEntries().isEmpty())
@@ -153,44 +244,69 @@ public class CriteriaQueryProcessor {
 		Iterator<Criteria.CriteriaEntry> it = criteria.getQueryCriteriaEntries().iterator();
 
 		Float boost = Float.isNaN(criteria.getBoost()) ? null : criteria.getBoost();
-		Query.Builder queryBuilder;
+		QueryTemplate template;
 
 		if (criteria.getQueryCriteriaEntries().size() == 1) {
-			queryBuilder = queryFor(it.next(), field, boost);
+			template = compileEntry(it.next().getKey(), field, boost, slot, filter);
 		}
 		else {
-			queryBuilder = new Query.Builder();
-			queryBuilder.bool(boolQueryBuilder -> {
-				while (it.hasNext()) {
-					Criteria.CriteriaEntry entry = it.next();
-					boolQueryBuilder.must(queryFor(entry, field, null).build());
-				}
-				boolQueryBuilder.boost(boost);
-				return boolQueryBuilder;
-			});
-
+			List<QueryTemplate> entries = new ArrayList<>();
+			while (it.hasNext()) {
+				entries.add(compileEntry(it.next().getKey(), field, null, slot++, filter));
+			}
+			QueryTemplate[] clauses = entries.toArray(new QueryTemplate[0]);
+			template = filter //
+					? values -> new Query.Builder().bool(boolQueryBuilder -> boolQueryBuilder //
+							.filter(create(clauses, values))).build() //
+					: values -> new Query.Builder().bool(boolQueryBuilder -> boolQueryBuilder //
+							.must(create(clauses, values)) //
+							.boost(boost)).build();
 		}
 
 		if (hasText(field.getPath())) {
-			final Query query = queryBuilder.build();
-			queryBuilder = new Query.Builder();
-			queryBuilder.nested(nqb -> nqb //
-					.path(field.getPath()) //
-					.query(query) //
-					.scoreMode(ChildScoreMode.Avg));
+			String path = field.getPath();
+			QueryTemplate query = template;
+			template = values -> new Query.Builder().nested(nqb -> nqb //
+					.path(path) //
+					.query(query.create(values)) //
+					.scoreMode(ChildScoreMode.Avg)).build();
 		}
 
-		return queryBuilder.build();
+		return template;
 	}
 
-	private static Query.Builder queryFor(Criteria.CriteriaEntry entry, Field field, @Nullable Float boost) {
+	private static QueryTemplate compileEntry(Criteria.OperationKey key, Field field, @Nullable Float boost, int slot,
+			boolean filter) {
 
 		String fieldName = field.getName();
 		boolean isKeywordField = FieldType.Keyword == field.getFieldType();
 
-		Criteria.OperationKey key = entry.getKey();
-		Object value = key.hasValue() ? entry.getValue() : null;
-		String searchText = value != null ? escape(value.toString()) : "UNKNOWN_VALUE";
+		if (filter) {
+
+			if (key.hasNoValue()) {
+				Query query = filterFor(key, null, fieldName).build();
+				return values -> query;
+			}
+
+			return values -> filterFor(key, values[slot], fieldName).build();
+		}
+
+		if (isSubstringSearch(key, field)) {
+			SubstringSearch substringSearch = field.getSubstringSearch();
+			String substringField = field.getSubstringField();
+			return values -> substringQueryFor(key, values[slot], substringSearch, substringField, boost).build();
+		}
+
+		if (key.hasNoValue()) {
+			Query query = queryFor(key, null, fieldName, isKeywordField, boost).build();
+			return values -> query;
+		}
+
+		return values -> queryFor(key, values[slot], fieldName, isKeywordField, boost).build();
+	}
+
+	private static Query.Builder queryFor(Criteria.OperationKey key, @Nullable Object value, String fieldName,
+			boolean isKeywordField, @Nullable Float boost) {
 
 		Query.Builder queryBuilder = new Query.Builder();
 		switch (key) {
@@ -221,16 +337,16 @@ public class CriteriaQueryProcessor {
 								.boost(boost));
 				break;
 			case EQUALS:
-				queryBuilder.queryString(queryStringQuery(fieldName, searchText, Operator.And, boost));
+				queryBuilder.queryString(queryStringQuery(fieldName, escape(value.toString()), Operator.And, boost));
 				break;
 			case CONTAINS:
-				queryBuilder.queryString(queryStringQuery(fieldName, '*' + searchText + '*', true, boost));
+				queryBuilder.queryString(queryStringQuery(fieldName, '*' + escape(value.toString()) + '*', true, boost));
 				break;
 			case STARTS_WITH:
-				queryBuilder.queryString(queryStringQuery(fieldName, searchText + '*', true, boost));
+				queryBuilder.queryString(queryStringQuery(fieldName, escape(value.toString()) + '*', true, boost));
 				break;
 			case ENDS_WITH:
-				queryBuilder.queryString(queryStringQuery(fieldName, '*' + searchText, true, boost));
+				queryBuilder.queryString(queryStringQuery(fieldName, '*' + escape(value.toString()), true, boost));
 				break;
 			case EXPRESSION:
 				queryBuilder.queryString(queryStringQuery(fieldName, value.toString(), boost));
@@ -284,7 +400,7 @@ public class CriteriaQueryProcessor {
 				queryBuilder //
 						.fuzzy(fb -> fb //
 								.field(fieldName) //
-								.value(FieldValue.of(searchText)) //
+								.value(FieldValue.of(escape(value.toString()))) //
 								.boost(boost)); //
 				break;
 			case MATCHES:
@@ -349,12 +465,147 @@ public class CriteriaQueryProcessor {
 								.boost(boost)); //
 				break;
 			default:
-				throw new InvalidApiUsageException("Could not build query for " + entry);
+				throw new InvalidApiUsageException("Could not build query for " + key);
 		}
 
 		return queryBuilder;
 	}
 
+	private static boolean isSubstringSearch(Criteria.OperationKey key, Field field) {
+
+		if (field.getSubstringField() == null) {
+			return false;
+		}
+
+		switch (field.getSubstringSearch()) {
+			case NGRAM:
+				return key == Criteria.OperationKey.CONTAINS;
+			case WILDCARD:
+				return key == Criteria.OperationKey.CONTAINS || key == Criteria.OperationKey.ENDS_WITH;
+			default:
+				return false;
+		}
+	}
+
+	private static Query.Builder substringQueryFor(Criteria.OperationKey key, Object value,
+			SubstringSearch substringSearch, String substringField, @Nullable Float boost) {
+
+		String text = value.toString();
+		Query.Builder queryBuilder = new Query.Builder();
+
+		if (substringSearch == SubstringSearch.NGRAM) {
+			queryBuilder.matchPhrase(mpb -> mpb //
+					.field(substringField) //
+					.query(text) //
+					.boost(boost));
+		}
+		else {
+			String wildcard = key == Criteria.OperationKey.CONTAINS ? '*' + escapeWildcard(text) + '*'
+					: '*' + escapeWildcard(text);
+			queryBuilder.wildcard(wb -> wb //
+					.field(substringField) //
+					.value(wildcard) //
+					.caseInsensitive(true) //
+					.boost(boost));
+		}
+
+		return queryBuilder;
+	}
+
+	private static String escapeWildcard(String s) {
+
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\' || c == '*' || c == '?') {
+				sb.append('\\');
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	private static Query.Builder filterFor(Criteria.OperationKey key, @Nullable Object value, String fieldName) {
+
+		Query.Builder queryBuilder = new Query.Builder();
+		switch (key) {
+			case EXISTS:
+				queryBuilder.exists(eb -> eb.field(fieldName));
+				break;
+			case EQUALS:
+				queryBuilder.term(tb -> tb //
+						.field(fieldName) //
+						.value(toFieldValue(value)));
+				break;
+			case IN:
+			case NOT_IN:
+				if (!(value instanceof Iterable<?>)) {
+					throw new InvalidApiUsageException("value for " + fieldName + " is not an Iterable");
+				}
+				List<FieldValue> terms = toFieldValueList((Iterable<?>) value);
+				if (key == Criteria.OperationKey.IN) {
+					queryBuilder.terms(tb -> tb //
+							.field(fieldName) //
+							.terms(tsb -> tsb.value(terms)));
+				}
+				else {
+					queryBuilder.bool(bb -> bb //
+							.mustNot(mnb -> mnb //
+									.terms(tb -> tb //
+											.field(fieldName) //
+											.terms(tsb -> tsb.value(terms)))));
+				}
+				break;
+			case LESS:
+				queryBuilder.range(rb -> rb.field(fieldName).lt(JsonData.of(value)));
+				break;
+			case LESS_EQUAL:
+				queryBuilder.range(rb -> rb.field(fieldName).lte(JsonData.of(value)));
+				break;
+			case GREATER:
+				queryBuilder.range(rb -> rb.field(fieldName).gt(JsonData.of(value)));
+				break;
+			case GREATER_EQUAL:
+				queryBuilder.range(rb -> rb.field(fieldName).gte(JsonData.of(value)));
+				break;
+			case BETWEEN:
+				Object[] ranges = (Object[]) value;
+				queryBuilder.range(rb -> {
+					rb.field(fieldName);
+					if (ranges[0] != null) {
+						rb.gte(JsonData.of(ranges[0]));
+					}
+
+					if (ranges[1] != null) {
+						rb.lte(JsonData.of(ranges[1]));
+					}
+					return rb;
+				});
+				break;
+			default:
+				throw new InvalidApiUsageException("Could not build filter for " + key);
+		}
+
+		return queryBuilder;
+	}
+
+	private static FieldValue toFieldValue(Object value) {
+
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return FieldValue.of(((Number) value).longValue());
+		}
+
+		if (value instanceof Double || value instanceof Float) {
+			return FieldValue.of(((Number) value).doubleValue());
+		}
+
+		if (value instanceof Boolean) {
+			return FieldValue.of((Boolean) value);
+		}
+
+		return FieldValue.of(value.toString());
+	}
+
 	private static List<FieldValue> toFieldValueList(Iterable<?> iterable) {
 		List<FieldValue> list = new ArrayList<>();
 		for (Object item : iterable) {
@@ -383,7 +634,30 @@ public class CriteriaQueryProcessor {
 	}
 
 	@Nullable
-	private static Query createNestedQuery(Criteria criteria) {
+	private static QueryTemplate compileNested(Criteria criteria, Criteria.Context context, Slots slots) {
+
+		List<QueryTemplate> mustQueries = new ArrayList<>();
+		List<QueryTemplate> filterQueries = new ArrayList<>();
+		Float boost = null;
+
+		for (Criteria nestedCriteria : criteria.getNestedCriteria()) {
+
+			int slot = slots.next(nestedCriteria.getQueryCriteriaEntries().size());
+			Field field = nestedCriteria.getField();
+
+			if (field == null || nestedCriteria.getQueryCriteriaEntries().isEmpty()) {
+				continue;
+			}
+
+			Assert.notNull(field.getName(), "Unknown field");
+
+			boolean filter = isFilter(nestedCriteria, context);
+
+			for (Criteria.CriteriaEntry entry : nestedCriteria.getQueryCriteriaEntries()) {
+				(filter ? filterQueries : mustQueries).add(compileEntry(entry.getKey(), field, null, slot++, filter));
+			}
+			boost = Float.isNaN(nestedCriteria.getBoost()) ? null : nestedCriteria.getBoost();
+		}
 
 		boolean containsNestedCriteria = !CollectionUtils.isEmpty(criteria.getNestedCriteria());
 		String name = Optional.ofNullable(criteria.getField()).map(Field::getName).orElse(null);
@@ -395,52 +669,43 @@ public class CriteriaQueryProcessor {
 			return null;
 		}
 
-		List<Criteria> validNestedCriterias = criteria.getNestedCriteria().stream()
-				.filter(it -> it.getField() != null && !CollectionUtils.isEmpty(it.getQueryCriteriaEntries()))
-				.collect(Collectors.toList());
-
-		if (CollectionUtils.isEmpty(validNestedCriterias)) {
+		if (mustQueries.isEmpty() && filterQueries.isEmpty()) {
 			if (log.isTraceEnabled()) {
 				log.trace("Cannot create nested query for {}, maybe nested criteria has no field or query criteria entry", criteria);
 			}
 			return null;
 		}
 
-		BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
-		for (Criteria validNestedCriteria : validNestedCriterias) {
-			nestedQueryForEntries(validNestedCriteria, boolQueryBuilder);
-		}
-
-		Query.Builder queryBuilder = new Query.Builder();
-		queryBuilder.nested(nqb -> nqb //
-				.path(name) //
-				.query(new Query.Builder().bool(boolQueryBuilder.build()).build()) //
-				.scoreMode(ChildScoreMode.Avg));
+		QueryTemplate[] must = mustQueries.toArray(new QueryTemplate[0]);
+		QueryTemplate[] filter = filterQueries.toArray(new QueryTemplate[0]);
+		Float nestedBoost = boost;
 
-		return queryBuilder.build();
-	}
+		return values -> {
 
-	@Nullable
-	private static void nestedQueryForEntries(Criteria nestedCriteria, BoolQuery.Builder boolQueryBuilder) {
+			BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
 
-		Field field = nestedCriteria.getField();
-
-		if (field == null || nestedCriteria.getQueryCriteriaEntries().isEmpty())
-			return;
-
-		String fieldName = field.getName();
-		Assert.notNull(fieldName, "Unknown field");
+			if (must.length > 0) {
+				boolQueryBuilder.must(create(must, values));
+			}
 
-		Iterator<Criteria.CriteriaEntry> it = nestedCriteria.getQueryCriteriaEntries().iterator();
+			if (filter.length > 0) {
+				boolQueryBuilder.filter(create(filter, values));
+			}
 
-		Float boost = Float.isNaN(nestedCriteria.getBoost()) ? null : nestedCriteria.getBoost();
+			return new Query.Builder().nested(nqb -> nqb //
+					.path(name) //
+					.query(new Query.Builder().bool(boolQueryBuilder.boost(nestedBoost).build()).build()) //
+					.scoreMode(ChildScoreMode.Avg)).build();
+		};
+	}
 
+	private static List<Query> create(QueryTemplate[] templates, Object[] values) {
 
-		while (it.hasNext()) {
-			Criteria.CriteriaEntry entry = it.next();
-			boolQueryBuilder.must(queryFor(entry, field, null).build());
+		List<Query> queries = new ArrayList<>(templates.length);
+		for (QueryTemplate template : templates) {
+			queries.add(template.create(values));
 		}
-		boolQueryBuilder.boost(boost);
+		return queries;
 	}
 
 	/**
@@ -462,4 +727,113 @@ public class CriteriaQueryProcessor {
 		}
 		return sb.toString();
 	}
+	/**
+	 * 编译后的查询模板，不可变，按参数槽位读取本次调用的参数值。
+	 */
+	@FunctionalInterface
+	private interface QueryTemplate {
+
+		QueryTemplate NO_QUERY = values -> null;
+
+		@Nullable
+		Query create(Object[] values);
+	}
+
+	/**
+	 * 按 {@link Criteria} 形状缓存的 {@link QueryTemplate}。缓存的形状数量有上限，超出后只编译不缓存，避免动态字段名无限增长。
+	 */
+	private static final class QueryTemplates {
+
+		private static final int MAX_SIZE = 1_000;
+
+		private final Map<List<Object>, QueryTemplate> templates = new ConcurrentHashMap<>();
+
+		QueryTemplate get(List<Object> shape, Supplier<QueryTemplate> compiler) {
+
+			QueryTemplate template = templates.get(shape);
+
+			if (template == null) {
+				template = compiler.get();
+
+				if (template == null) {
+					template = QueryTemplate.NO_QUERY;
+				}
+
+				if (templates.size() < MAX_SIZE) {
+					templates.putIfAbsent(shape, template);
+				}
+			}
+
+			return template;
+		}
+	}
+
+	/**
+	 * 按编译时的遍历顺序收集 {@link Criteria} 的形状和参数值，每个 {@link Criteria.CriteriaEntry} 占一个参数槽位。
+	 */
+	private static final class QueryShape {
+
+		private final List<Object> key = new ArrayList<>();
+		private final List<Object> values = new ArrayList<>();
+
+		void describe(Criteria criteria) {
+
+			key.add(criteria.isOr());
+			key.add(criteria.isNegating());
+			key.add(criteria.getCriteriaChain().size());
+
+			for (Criteria chainedCriteria : criteria.getCriteriaChain()) {
+				describeEntries(chainedCriteria);
+				key.add(chainedCriteria.isOr());
+				key.add(chainedCriteria.isNegating());
+
+				Field field = chainedCriteria.getField();
+				key.add(field != null ? field.getPath() : null);
+				key.add(chainedCriteria.getNestedCriteria().size());
+
+				for (Criteria nestedCriteria : chainedCriteria.getNestedCriteria()) {
+					describeEntries(nestedCriteria);
+				}
+			}
+
+			key.add(criteria.getSubCriteria().size());
+
+			for (Criteria subCriteria : criteria.getSubCriteria()) {
+				describe(subCriteria);
+			}
+		}
+
+		private void describeEntries(Criteria criteria) {
+
+			Field field = criteria.getField();
+
+			key.add(field != null ? field.getName() : null);
+			key.add(field != null ? field.getFieldType() : null);
+			key.add(field != null ? field.getSubstringField() : null);
+			key.add(field != null ? field.getSubstringSearch() : null);
+			key.add(criteria.getBoost());
+			key.add(criteria.getContext());
+			key.add(criteria.getQueryCriteriaEntries().size());
+
+			for (Criteria.CriteriaEntry entry : criteria.getQueryCriteriaEntries()) {
+				key.add(entry.getKey());
+				values.add(entry.getKey().hasValue() ? entry.getValue() : null);
+			}
+		}
+	}
+
+	/**
+	 * 编译时按遍历顺序分配参数槽位。
+	 */
+	private static final class Slots {
+
+		private int next;
+
+		int next(int count) {
+
+			int slot = next;
+			next += count;
+			return slot;
+		}
+	}
 }
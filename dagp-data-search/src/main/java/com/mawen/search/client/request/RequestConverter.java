@@ -7,6 +7,7 @@ import co.elastic.clients.elasticsearch._types.query_dsl.Like;
 import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.bulk.CreateOperation;
+import co.elastic.clients.elasticsearch.core.bulk.DeleteOperation;
 import co.elastic.clients.elasticsearch.core.bulk.IndexOperation;
 import co.elastic.clients.elasticsearch.core.bulk.UpdateOperation;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetOperation;
@@ -18,6 +19,8 @@ import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 import co.elastic.clients.elasticsearch.indices.RefreshRequest;
 import co.elastic.clients.json.JsonData;
 import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.util.BinaryData;
+import com.mawen.search.BulkConversionException;
 import com.mawen.search.InvalidApiUsageException;
 import com.mawen.search.client.MultiSearchQueryParameter;
 import com.mawen.search.client.query.CriteriaFilterProcessor;
@@ -26,10 +29,13 @@ import com.mawen.search.client.query.NativeQuery;
 import com.mawen.search.client.query.Queries;
 import com.mawen.search.client.query.builder.HighlightQueryBuilder;
 import com.mawen.search.client.util.TypeUtils;
+import com.mawen.search.core.annotation.Field;
 import com.mawen.search.core.convert.ElasticsearchConverter;
 import com.mawen.search.core.document.Document;
 import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.domain.ByQueryTaskOptions;
 import com.mawen.search.core.domain.Order;
+import com.mawen.search.core.domain.PointInTime;
 import com.mawen.search.core.domain.ScriptData;
 import com.mawen.search.core.domain.SourceFilter;
 import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
@@ -38,15 +44,21 @@ import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.query.*;
 import com.mawen.search.core.refresh.RefreshPolicy;
 import com.mawen.search.core.support.ScriptType;
-import com.mawen.search.support.DefaultStringObjectMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.PatternMatchUtils;
 import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import static com.mawen.search.client.util.TypeUtils.*;
@@ -60,6 +72,21 @@ import static org.springframework.util.CollectionUtils.isEmpty;
 public class RequestConverter {
 
 	public static final Integer INDEX_MAX_RESULT_WINDOW = 10_000;
+	private static final String JSON_CONTENT_TYPE = "application/json";
+	private static final Set<com.mawen.search.core.annotation.FieldType> DOC_VALUE_FIELD_TYPES = EnumSet.of( //
+			com.mawen.search.core.annotation.FieldType.Keyword, //
+			com.mawen.search.core.annotation.FieldType.Long, //
+			com.mawen.search.core.annotation.FieldType.Integer, //
+			com.mawen.search.core.annotation.FieldType.Short, //
+			com.mawen.search.core.annotation.FieldType.Byte, //
+			com.mawen.search.core.annotation.FieldType.Double, //
+			com.mawen.search.core.annotation.FieldType.Float, //
+			com.mawen.search.core.annotation.FieldType.Half_Float, //
+			com.mawen.search.core.annotation.FieldType.Scaled_Float, //
+			com.mawen.search.core.annotation.FieldType.Date, //
+			com.mawen.search.core.annotation.FieldType.Date_Nanos, //
+			com.mawen.search.core.annotation.FieldType.Boolean, //
+			com.mawen.search.core.annotation.FieldType.Ip);
 
 	private final ElasticsearchConverter elasticsearchConverter;
 	private final JsonpMapper jsonpMapper;
@@ -135,12 +162,13 @@ public class RequestConverter {
 			String id = StringUtils.hasText(query.getId()) ? query.getId() : getPersistentEntityId(queryObject);
 			builder //
 					.id(id) //
-					.document(elasticsearchConverter.mapObject(queryObject));
+					.document(query.getRawSource() != null ? sourceDocument(query)
+							: new StreamingDocument(queryObject, elasticsearchConverter));
 		}
-		else if (query.getSource() != null) {
+		else if (query.getRawSource() != null || query.getSource() != null) {
 			builder //
 					.id(query.getId()) //
-					.document(new DefaultStringObjectMap<>().fromJson(query.getSource()));
+					.document(sourceDocument(query));
 		}
 		else {
 			throw new InvalidApiUsageException(
@@ -171,7 +199,8 @@ public class RequestConverter {
 		return builder.build();
 	}
 
-	private IndexOperation<?> bulkIndexOperation(IndexQuery query, IndexCoordinates indexCoordinates) {
+	private IndexOperation<?> bulkIndexOperation(IndexQuery query, IndexCoordinates indexCoordinates,
+			boolean serializeDocument) {
 
 		IndexOperation.Builder<Object> builder = new IndexOperation.Builder<>();
 
@@ -183,10 +212,13 @@ public class RequestConverter {
 			String id = StringUtils.hasText(query.getId()) ? query.getId() : getPersistentEntityId(queryObject);
 			builder //
 					.id(id) //
-					.document(elasticsearchConverter.mapObject(queryObject));
+					.document(query.getRawSource() != null ? sourceDocument(query)
+							: entityDocument(queryObject, serializeDocument));
 		}
-		else if (query.getSource() != null) {
-			builder.document(new DefaultStringObjectMap<>().fromJson(query.getSource()));
+		else if (query.getRawSource() != null || query.getSource() != null) {
+			builder //
+					.id(query.getId()) //
+					.document(sourceDocument(query));
 		}
 		else {
 			throw new InvalidApiUsageException(
@@ -206,7 +238,8 @@ public class RequestConverter {
 		return builder.build();
 	}
 
-	private CreateOperation<?> bulkCreateOperation(IndexQuery query, IndexCoordinates indexCoordinates) {
+	private CreateOperation<?> bulkCreateOperation(IndexQuery query, IndexCoordinates indexCoordinates,
+			boolean serializeDocument) {
 
 		CreateOperation.Builder<Object> builder = new CreateOperation.Builder<>();
 
@@ -218,10 +251,13 @@ public class RequestConverter {
 			String id = StringUtils.hasText(query.getId()) ? query.getId() : getPersistentEntityId(queryObject);
 			builder //
 					.id(id) //
-					.document(elasticsearchConverter.mapObject(queryObject));
+					.document(query.getRawSource() != null ? sourceDocument(query)
+							: entityDocument(queryObject, serializeDocument));
 		}
-		else if (query.getSource() != null) {
-			builder.document(new DefaultStringObjectMap<>().fromJson(query.getSource()));
+		else if (query.getRawSource() != null || query.getSource() != null) {
+			builder //
+					.id(query.getId()) //
+					.document(sourceDocument(query));
 		}
 		else {
 			throw new InvalidApiUsageException(
@@ -241,6 +277,45 @@ public class RequestConverter {
 		return builder.build();
 	}
 
+	private Object entityDocument(Object entity, boolean serialize) {
+
+		StreamingDocument document = new StreamingDocument(entity, elasticsearchConverter);
+		return serialize ? BinaryData.of(document, jsonpMapper) : document;
+	}
+
+	/**
+	 * Pre-serialized sources are handed to the client as {@link BinaryData}, which is written into the request body as
+	 * is instead of being parsed and serialized again.
+	 */
+	private static BinaryData sourceDocument(IndexQuery query) {
+
+		ByteBuffer rawSource = query.getRawSource();
+
+		if (rawSource == null) {
+			return BinaryData.of(Objects.requireNonNull(query.getSource()).getBytes(StandardCharsets.UTF_8),
+					JSON_CONTENT_TYPE);
+		}
+
+		if (rawSource.hasArray()) {
+			return BinaryData.of(rawSource.array(), rawSource.arrayOffset() + rawSource.position(), rawSource.remaining(),
+					JSON_CONTENT_TYPE);
+		}
+
+		byte[] bytes = new byte[rawSource.remaining()];
+		rawSource.duplicate().get(bytes);
+		return BinaryData.of(bytes, JSON_CONTENT_TYPE);
+	}
+
+	private DeleteOperation bulkDeleteOperation(DeleteQuery query, IndexCoordinates index) {
+
+		Assert.notNull(query.getId(), "id must not be null");
+
+		return DeleteOperation.of(d -> d //
+				.index(query.getIndexName() != null ? query.getIndexName() : index.getIndexName()) //
+				.id(query.getId()) //
+				.routing(query.getRouting()));
+	}
+
 	private UpdateOperation<?, ?> bulkUpdateOperation(UpdateQuery query, IndexCoordinates index,
 			@Nullable RefreshPolicy refreshPolicy) {
 
@@ -333,29 +408,88 @@ public class RequestConverter {
 			builder.routing(bulkOptions.getRoutingId());
 		}
 
-		List<BulkOperation> operations = queries.stream().map(query -> {
-			BulkOperation.Builder ob = new BulkOperation.Builder();
-			if (query instanceof IndexQuery) {
-				IndexQuery indexQuery = (IndexQuery) query;
-				if (indexQuery.getOpType() == IndexQuery.OpType.CREATE) {
-					ob.create(bulkCreateOperation(indexQuery, indexCoordinates));
-				}
-				else {
-					ob.index(bulkIndexOperation(indexQuery, indexCoordinates));
-				}
-			}
-			else if (query instanceof UpdateQuery) {
-				UpdateQuery updateQuery = (UpdateQuery) query;
-				ob.update(bulkUpdateOperation(updateQuery, indexCoordinates, refreshPolicy));
-			}
-			return ob.build();
-		}).collect(Collectors.toList());
+		List<BulkOperation> operations;
+		if (bulkOptions.getParallelConversionThreshold() > 0
+				&& queries.size() >= bulkOptions.getParallelConversionThreshold()
+				&& bulkOptions.getConversionParallelism() > 1) {
+			Executor executor = bulkOptions.getConversionExecutor() != null ? bulkOptions.getConversionExecutor()
+					: ForkJoinPool.commonPool();
+			operations = parallelBulkOperations(queries, bulkOptions.getConversionParallelism(), executor,
+					indexCoordinates, refreshPolicy);
+		}
+		else {
+			operations = queries.stream().map(query -> bulkOperation(query, indexCoordinates, refreshPolicy, false))
+					.collect(Collectors.toList());
+		}
 
 		builder.operations(operations);
 
 		return builder.build();
 	}
 
+	/**
+	 * Splits the queries into {@code parallelism} consecutive parts that are converted on the executor. The entities are
+	 * serialized during the conversion, so that the request body only needs to be copied when it is sent.
+	 */
+	private List<BulkOperation> parallelBulkOperations(List<?> queries, int parallelism, Executor executor,
+			IndexCoordinates indexCoordinates, @Nullable RefreshPolicy refreshPolicy) {
+
+		BulkOperation[] operations = new BulkOperation[queries.size()];
+		Map<Integer, Throwable> failedItems = new ConcurrentSkipListMap<>();
+		int partSize = (queries.size() + parallelism - 1) / parallelism;
+
+		List<CompletableFuture<Void>> parts = new ArrayList<>(parallelism);
+		for (int from = 0; from < queries.size(); from += partSize) {
+			int start = from;
+			int end = Math.min(from + partSize, queries.size());
+			parts.add(CompletableFuture.runAsync(() -> {
+				for (int i = start; i < end; i++) {
+					try {
+						operations[i] = bulkOperation(queries.get(i), indexCoordinates, refreshPolicy, true);
+					}
+					catch (RuntimeException e) {
+						failedItems.put(i, e);
+					}
+				}
+			}, executor));
+		}
+
+		CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+
+		if (!failedItems.isEmpty()) {
+			throw new BulkConversionException(
+					"Bulk request has conversion failures. Use BulkConversionException.getFailedItems() for details "
+							+ failedItems.keySet(),
+					failedItems);
+		}
+
+		return Arrays.asList(operations);
+	}
+
+	private BulkOperation bulkOperation(Object query, IndexCoordinates indexCoordinates,
+			@Nullable RefreshPolicy refreshPolicy, boolean serializeDocument) {
+
+		BulkOperation.Builder ob = new BulkOperation.Builder();
+		if (query instanceof IndexQuery) {
+			IndexQuery indexQuery = (IndexQuery) query;
+			if (indexQuery.getOpType() == IndexQuery.OpType.CREATE) {
+				ob.create(bulkCreateOperation(indexQuery, indexCoordinates, serializeDocument));
+			}
+			else {
+				ob.index(bulkIndexOperation(indexQuery, indexCoordinates, serializeDocument));
+			}
+		}
+		else if (query instanceof UpdateQuery) {
+			UpdateQuery updateQuery = (UpdateQuery) query;
+			ob.update(bulkUpdateOperation(updateQuery, indexCoordinates, refreshPolicy));
+		}
+		else if (query instanceof DeleteQuery) {
+			DeleteQuery deleteQuery = (DeleteQuery) query;
+			ob.delete(bulkDeleteOperation(deleteQuery, indexCoordinates));
+		}
+		return ob.build();
+	}
+
 	public GetRequest documentGetRequest(String id, @Nullable String routing, IndexCoordinates indexCoordinates) {
 
 		Assert.notNull(id, "id must not be null");
@@ -424,6 +558,14 @@ public class RequestConverter {
 
 	public DeleteByQueryRequest documentDeleteByQueryRequest(Query query, @Nullable String routing, Class<?> clazz,
 			IndexCoordinates index, @Nullable RefreshPolicy refreshPolicy) {
+		return documentDeleteByQueryRequest(query, routing, clazz, index, refreshPolicy, null);
+	}
+
+	/**
+	 * @param taskOptions if not {@literal null}, the request runs as a task and does not wait for completion
+	 */
+	public DeleteByQueryRequest documentDeleteByQueryRequest(Query query, @Nullable String routing, Class<?> clazz,
+			IndexCoordinates index, @Nullable RefreshPolicy refreshPolicy, @Nullable ByQueryTaskOptions taskOptions) {
 
 		Assert.notNull(query, "query must not be null");
 		Assert.notNull(index, "index must not be null");
@@ -446,6 +588,12 @@ public class RequestConverter {
 				b.routing(routing);
 			}
 
+			if (taskOptions != null) {
+				b.waitForCompletion(false) //
+						.slices(taskSlices(taskOptions.getSlices())) //
+						.requestsPerSecond(taskOptions.getRequestsPerSecond());
+			}
+
 			return b;
 		});
 	}
@@ -533,6 +681,14 @@ public class RequestConverter {
 
 	public UpdateByQueryRequest documentUpdateByQueryRequest(UpdateQuery updateQuery, IndexCoordinates index,
 			@Nullable RefreshPolicy refreshPolicy) {
+		return documentUpdateByQueryRequest(updateQuery, index, refreshPolicy, null);
+	}
+
+	/**
+	 * @param taskOptions if not {@literal null}, the request runs as a task and does not wait for completion
+	 */
+	public UpdateByQueryRequest documentUpdateByQueryRequest(UpdateQuery updateQuery, IndexCoordinates index,
+			@Nullable RefreshPolicy refreshPolicy, @Nullable ByQueryTaskOptions taskOptions) {
 
 		return UpdateByQueryRequest.of(ub -> {
 			ub //
@@ -578,6 +734,15 @@ public class RequestConverter {
 				ub.waitForActiveShards(w -> w.count(waitForActiveShardsCount(updateQuery.getWaitForActiveShards())));
 			}
 
+			if (taskOptions != null) {
+				ub.waitForCompletion(false).slices(
+						taskSlices(taskOptions.getSlices() != null ? taskOptions.getSlices() : updateQuery.getSlices()));
+
+				if (taskOptions.getRequestsPerSecond() != null) {
+					ub.requestsPerSecond(taskOptions.getRequestsPerSecond());
+				}
+			}
+
 			return ub;
 		});
 	}
@@ -600,6 +765,89 @@ public class RequestConverter {
 	public <T> SearchRequest searchRequest(Query query, @Nullable String routing, @Nullable Class<T> clazz,
 			IndexCoordinates indexCoordinates, boolean forCount, boolean forBatchedSearch,
 			@Nullable Long scrollTimeInMillis) {
+		return searchRequestBuilder(query, routing, clazz, indexCoordinates, forCount, forBatchedSearch,
+				scrollTimeInMillis).build();
+	}
+
+	/**
+	 * A search that only tells whether a document matches: no hits are returned and every shard stops collecting at its
+	 * first match. Hits are tracked up to one, which is all the response needs to report a match.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public <T> SearchRequest searchExistsRequest(Query query, @Nullable String routing, @Nullable Class<T> clazz,
+			IndexCoordinates indexCoordinates) {
+
+		return searchRequestBuilder(query, routing, clazz, indexCoordinates, true, false, null) //
+				.terminateAfter(1L) //
+				.trackTotalHits(th -> th.count(1)) //
+				.build();
+	}
+
+	/**
+	 * @return whether the query can be counted with the {@code _count} API, which does not support the {@code knn} of a
+	 *         {@link NativeQuery}
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public boolean isCountable(Query query) {
+
+		Assert.notNull(query, "query must not be null");
+
+		return !(query instanceof NativeQuery && ((NativeQuery) query).getKnnQuery() != null);
+	}
+
+	/**
+	 * Counts the documents matching the query and its post filter with the {@code _count} API.
+	 *
+	 * @see #isCountable(Query)
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public <T> CountRequest countRequest(Query query, @Nullable String routing, @Nullable Class<T> clazz,
+			IndexCoordinates indexCoordinates) {
+
+		Assert.notNull(query, "query must not be null");
+		Assert.notNull(indexCoordinates, "indexCoordinates must not be null");
+		Assert.isTrue(isCountable(query), "query cannot be counted with the _count API");
+
+		elasticsearchConverter.updateQuery(query, clazz);
+
+		co.elastic.clients.elasticsearch._types.query_dsl.Query esQuery = getQuery(query, clazz);
+		co.elastic.clients.elasticsearch._types.query_dsl.Query filter = getFilter(query);
+
+		// a post filter only removes hits, so counting it together with the query gives the same total
+		if (filter != null) {
+			co.elastic.clients.elasticsearch._types.query_dsl.Query mustQuery = esQuery;
+			esQuery = co.elastic.clients.elasticsearch._types.query_dsl.Query.of(q -> q.bool(bb -> {
+				if (mustQuery != null) {
+					bb.must(mustQuery);
+				}
+				return bb.filter(filter);
+			}));
+		}
+
+		CountRequest.Builder builder = new CountRequest.Builder() //
+				.index(Arrays.asList(indexCoordinates.getIndexNames())) //
+				.query(esQuery) //
+				.allowNoIndices(query.getAllowNoIndices()) //
+				.ignoreUnavailable(query.getIgnoreUnavailable());
+
+		if (query.getMinScore() > 0) {
+			builder.minScore((double) query.getMinScore());
+		}
+
+		if (StringUtils.hasText(query.getRoute())) {
+			builder.routing(query.getRoute());
+		}
+		else if (StringUtils.hasText(routing)) {
+			builder.routing(routing);
+		}
+
+		return builder.build();
+	}
+
+	private <T> SearchRequest.Builder searchRequestBuilder(Query query, @Nullable String routing,
+			@Nullable Class<T> clazz, IndexCoordinates indexCoordinates, boolean forCount, boolean forBatchedSearch,
+			@Nullable Long scrollTimeInMillis) {
 
 		Assert.notNull(query, "query must not be null");
 		Assert.notNull(indexCoordinates, "indexCoordinates must not be null");
@@ -614,16 +862,18 @@ public class RequestConverter {
 
 		builder.query(getQuery(query, clazz));
 
-		if (StringUtils.hasText(query.getRoute())) {
-			builder.routing(query.getRoute());
-		}
-		if (StringUtils.hasText(routing)) {
-			builder.routing(routing);
+		if (query.getPointInTime() == null) {
+			if (StringUtils.hasText(query.getRoute())) {
+				builder.routing(query.getRoute());
+			}
+			if (StringUtils.hasText(routing)) {
+				builder.routing(routing);
+			}
 		}
 
 		addFilter(query, builder);
 
-		return builder.build();
+		return builder;
 	}
 
 	public MsearchRequest searchMsearchRequest(
@@ -678,6 +928,15 @@ public class RequestConverter {
 										});
 									}
 
+									if (query.getFetchMode() == Query.FetchMode.DOC_VALUES) {
+										bb.source(SourceConfig.of(sc -> sc.fetch(false)));
+										List<FieldAndFormat> docValueFields = getDocValueFields(query, persistentEntity);
+
+										if (!docValueFields.isEmpty()) {
+											bb.docvalueFields(docValueFields);
+										}
+									}
+
 									if (query.isLimiting()) {
 										bb.size(query.getMaxResults());
 									}
@@ -731,21 +990,30 @@ public class RequestConverter {
 		builder //
 				.version(true) //
 				.trackScores(query.getTrackScores()) //
-				.allowNoIndices(query.getAllowNoIndices()) //
 				.source(getSourceConfig(query)) //
 				.searchType(searchType) //
 				.timeout(timeStringMs(query.getTimeout())) //
-				.ignoreUnavailable(query.getIgnoreUnavailable())
 		;
 
+		PointInTime pointInTime = query.getPointInTime();
 
-		builder.index(Arrays.asList(indexNames));
-
-		if (query.getRoute() != null) {
-			builder.routing(query.getRoute());
+		// a point in time already fixes the indices and shards, Elasticsearch rejects them on the request, the routing
+		// of the query is passed when the point in time is opened
+		if (pointInTime != null) {
+			builder.pit(pit -> pit.id(pointInTime.getId()).keepAlive(time(pointInTime.getKeepAlive())));
 		}
-		else if (StringUtils.hasText(routing)) {
-			builder.routing(routing);
+		else {
+			builder //
+					.index(Arrays.asList(indexNames)) //
+					.allowNoIndices(query.getAllowNoIndices()) //
+					.ignoreUnavailable(query.getIgnoreUnavailable());
+
+			if (query.getRoute() != null) {
+				builder.routing(query.getRoute());
+			}
+			else if (StringUtils.hasText(routing)) {
+				builder.routing(routing);
+			}
 		}
 
 		if (persistentEntity != null && persistentEntity.hasSeqNoPrimaryTermProperty()) {
@@ -766,6 +1034,15 @@ public class RequestConverter {
 			builder.fields(fieldAndFormats);
 		}
 
+		if (query.getFetchMode() == Query.FetchMode.DOC_VALUES) {
+			builder.source(SourceConfig.of(sc -> sc.fetch(false)));
+			List<FieldAndFormat> docValueFields = getDocValueFields(query, persistentEntity);
+
+			if (!docValueFields.isEmpty()) {
+				builder.docvalueFields(docValueFields);
+			}
+		}
+
 		if (query.isLimiting()) {
 			builder.size(query.getMaxResults());
 		}
@@ -819,6 +1096,17 @@ public class RequestConverter {
 	}
 
 	public OpenPointInTimeRequest searchOpenPointInTimeRequest(IndexCoordinates index, Duration keepAlive) {
+		return searchOpenPointInTimeRequest(index, keepAlive, null, null);
+	}
+
+	/**
+	 * The routing and the unavailable indices of a point in time are fixed when it is opened, the searches in it cannot
+	 * set them.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public OpenPointInTimeRequest searchOpenPointInTimeRequest(IndexCoordinates index, Duration keepAlive,
+			@Nullable String routing, @Nullable Boolean ignoreUnavailable) {
 
 		Assert.notNull(index, "index must not be null");
 		Assert.notNull(keepAlive, "keepAlive must not be null");
@@ -826,6 +1114,8 @@ public class RequestConverter {
 		return OpenPointInTimeRequest.of(opit -> opit //
 				.index(Arrays.asList(index.getIndexNames())) //
 				.keepAlive(time(keepAlive)) //
+				.routing(StringUtils.hasText(routing) ? routing : null) //
+				.ignoreUnavailable(ignoreUnavailable) //
 		);
 	}
 
@@ -988,7 +1278,8 @@ public class RequestConverter {
 		co.elastic.clients.elasticsearch._types.query_dsl.Query esQuery = null;
 
 		if (query instanceof CriteriaQuery) {
-			esQuery = CriteriaQueryProcessor.createQuery(((CriteriaQuery) query).getCriteria());
+			esQuery = CriteriaQueryProcessor.createQuery(((CriteriaQuery) query).getCriteria(),
+					((CriteriaQuery) query).getContext());
 		}
 		else if (query instanceof StringQuery) {
 			esQuery = Queries.wrapperQueryAsQuery(((StringQuery) query).getSource());
@@ -1010,26 +1301,35 @@ public class RequestConverter {
 	}
 
 	private void addFilter(Query query, SearchRequest.Builder builder) {
+		builder.postFilter(getFilter(query));
+	}
+
+	@Nullable
+	private co.elastic.clients.elasticsearch._types.query_dsl.Query getFilter(Query query) {
 
 		if (query instanceof CriteriaQuery) {
-			CriteriaFilterProcessor.createQuery(((CriteriaQuery) query).getCriteria()).ifPresent(builder::postFilter);
+			return CriteriaFilterProcessor.createQuery(((CriteriaQuery) query).getCriteria()).orElse(null);
+		}
+		else if (query instanceof StringQuery) {
+			// no filter for StringQuery
+			return null;
+		}
+		else if (query instanceof NativeQuery) {
+			return ((NativeQuery) query).getFilter();
+		}
+		else {
+			throw new IllegalArgumentException("unhandled Query implementation " + query.getClass().getName());
 		}
-		else // noinspection StatementWithEmptyBody
-			if (query instanceof StringQuery) {
-				// no filter for StringQuery
-			}
-			else if (query instanceof NativeQuery) {
-				builder.postFilter(((NativeQuery) query).getFilter());
-			}
-			else {
-				throw new IllegalArgumentException("unhandled Query implementation " + query.getClass().getName());
-			}
 	}
 
 	// endregion
 
 	// region helper functions
 
+	private static Slices taskSlices(@Nullable Integer slices) {
+		return slices != null ? Slices.of(s -> s.value(slices)) : Slices.of(s -> s.computed(SlicesCalculation.Auto));
+	}
+
 	public co.elastic.clients.elasticsearch._types.query_dsl.MoreLikeThisQuery moreLikeThisQuery(MoreLikeThisQuery query,
 			IndexCoordinates index) {
 
@@ -1130,6 +1430,91 @@ public class RequestConverter {
 		}
 	}
 
+	/**
+	 * Collects the fields of the entity that can be read from doc values, restricted to the includes of the source
+	 * filter of the query. Properties of object type are followed with their dotted path, nested objects are skipped
+	 * because their doc values cannot be related to the single objects.
+	 */
+	private List<FieldAndFormat> getDocValueFields(Query query,
+			@Nullable ElasticsearchPersistentEntity<?> persistentEntity) {
+
+		List<FieldAndFormat> docValueFields = new ArrayList<>();
+
+		if (persistentEntity != null) {
+			SourceFilter sourceFilter = query.getSourceFilter();
+			String[] includes = sourceFilter != null ? sourceFilter.getIncludes() : null;
+			addDocValueFields(persistentEntity, "", includes, docValueFields);
+		}
+
+		return docValueFields;
+	}
+
+	private void addDocValueFields(ElasticsearchPersistentEntity<?> entity, String prefix, @Nullable String[] includes,
+			List<FieldAndFormat> docValueFields) {
+
+		for (ElasticsearchPersistentProperty property : entity) {
+
+			if (property.isIdProperty() || property.isVersionProperty() || property.isIndexNameProperty()
+					|| !property.isReadable()) {
+				continue;
+			}
+
+			Field field = property.findAnnotation(Field.class);
+			com.mawen.search.core.annotation.FieldType fieldType = field != null ? field.type()
+					: com.mawen.search.core.annotation.FieldType.Auto;
+			String path = prefix + property.getFieldName();
+
+			if (DOC_VALUE_FIELD_TYPES.contains(fieldType)) {
+				if (isIncluded(path, includes)) {
+					String format = getDocValueFormat(field);
+					docValueFields.add(FieldAndFormat.of(ff -> ff.field(path).format(format)));
+				}
+			}
+			else if (fieldType == com.mawen.search.core.annotation.FieldType.Object
+					|| fieldType == com.mawen.search.core.annotation.FieldType.Auto) {
+				ElasticsearchPersistentEntity<?> propertyEntity = elasticsearchConverter.getMappingContext()
+						.getPersistentEntity(property);
+
+				if (propertyEntity != null) {
+					addDocValueFields(propertyEntity, path + '.', includes, docValueFields);
+				}
+			}
+		}
+	}
+
+	private static boolean isIncluded(String path, @Nullable String[] includes) {
+
+		if (includes == null || includes.length == 0) {
+			return true;
+		}
+
+		for (String include : includes) {
+			if (PatternMatchUtils.simpleMatch(include, path) || path.startsWith(include + '.')) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * dates are requested in the first format of the property, so that the converter can parse them.
+	 */
+	@Nullable
+	private static String getDocValueFormat(Field field) {
+
+		if (field.type() != com.mawen.search.core.annotation.FieldType.Date
+				&& field.type() != com.mawen.search.core.annotation.FieldType.Date_Nanos) {
+			return null;
+		}
+
+		if (field.pattern().length > 0) {
+			return field.pattern()[0];
+		}
+
+		return field.format().length > 0 ? field.format()[0].name() : null;
+	}
+
 	private VersionType retrieveVersionTypeFromPersistentEntity(@Nullable Class<?> clazz) {
 
 		ElasticsearchPersistentEntity<?> persistentEntity = getPersistentEntity(clazz);
@@ -0,0 +1,55 @@
+package com.mawen.search.client.request;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpSerializable;
+import co.elastic.clients.json.jackson.JacksonJsonpGenerator;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.mawen.search.core.convert.ElasticsearchConverter;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Request document that writes an entity straight into the request body with
+ * {@link ElasticsearchConverter#write(Object, com.fasterxml.jackson.core.JsonGenerator)} when the client uses Jackson,
+ * and falls back to the {@link com.mawen.search.core.document.Document} returned by
+ * {@link ElasticsearchConverter#mapObject(Object)} otherwise. Values without a plain JSON representation are written by
+ * the {@link com.fasterxml.jackson.databind.ObjectMapper} of the client.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+class StreamingDocument implements JsonpSerializable {
+
+	private final Object entity;
+	private final ElasticsearchConverter elasticsearchConverter;
+
+	StreamingDocument(Object entity, ElasticsearchConverter elasticsearchConverter) {
+		this.entity = entity;
+		this.elasticsearchConverter = elasticsearchConverter;
+	}
+
+	@Override
+	public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+
+		if (generator instanceof JacksonJsonpGenerator) {
+			com.fasterxml.jackson.core.JsonGenerator jacksonGenerator = ((JacksonJsonpGenerator) generator).jacksonGenerator();
+
+			// values without a plain JSON representation are written by the ObjectMapper of the client
+			if (jacksonGenerator.getCodec() == null && mapper instanceof JacksonJsonpMapper) {
+				jacksonGenerator.setCodec(((JacksonJsonpMapper) mapper).objectMapper());
+			}
+
+			try {
+				elasticsearchConverter.write(entity, jacksonGenerator);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return;
+		}
+
+		mapper.serialize(elasticsearchConverter.mapObject(entity), generator);
+	}
+}
@@ -7,10 +7,15 @@ import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
 import co.elastic.clients.elasticsearch.core.UpdateByQueryResponse;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetError;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpMapper;
 import com.mawen.search.ElasticsearchErrorCause;
+import com.mawen.search.UncategorizedElasticsearchException;
 import com.mawen.search.client.EntityAsMap;
 import com.mawen.search.core.query.ByQueryResponse;
 import com.mawen.search.core.support.MultiGetItem;
+import jakarta.json.JsonValue;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 
@@ -120,6 +125,42 @@ public class ResponseConverter {
 	// region helper functions
 
 	public ByQueryResponse byQueryResponse(UpdateByQueryResponse response) {
+		return byQueryResponseBuilder(response).build();
+	}
+
+	/**
+	 * Converts the progress of a running update-by-query or delete-by-query task, or its result once it is completed.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public ByQueryResponse byQueryResponse(GetTasksResponse response, JsonpMapper jsonpMapper) {
+
+		if (response.error() != null) {
+			throw new UncategorizedElasticsearchException(
+					String.format("Task %s failed: %s", response.task().id(), response.error().reason()));
+		}
+
+		JsonData status = response.completed() && response.response() != null ? response.response()
+				: response.task().status();
+
+		if (status == null) {
+			return ByQueryResponse.builder().build();
+		}
+
+		// running tasks report the same counters as the final response, the final response of delete-by-query and
+		// update-by-query have the same shape as well
+		ByQueryResponse.ByQueryResponseBuilder builder = byQueryResponseBuilder(
+				status.to(UpdateByQueryResponse.class, jsonpMapper));
+
+		JsonValue json = status.toJson(jsonpMapper);
+		if (json.getValueType() == JsonValue.ValueType.OBJECT) {
+			builder.withReasonCancelled(json.asJsonObject().getString("canceled", null));
+		}
+
+		return builder.build();
+	}
+
+	private ByQueryResponse.ByQueryResponseBuilder byQueryResponseBuilder(UpdateByQueryResponse response) {
 		// the code for the methods taking a DeleteByQueryResponse or a UpdateByQueryResponse is duplicated because the
 		// Elasticsearch responses do not share a common class
 		// noinspection DuplicatedCode
@@ -140,6 +181,10 @@ public class ResponseConverter {
 			builder.withTotal(response.total());
 		}
 
+		if (response.updated() != null) {
+			builder.withUpdated(response.updated());
+		}
+
 		if (response.deleted() != null) {
 			builder.withDeleted(response.deleted());
 		}
@@ -163,7 +208,7 @@ public class ResponseConverter {
 
 		builder.withFailures(failures);
 
-		return builder.build();
+		return builder;
 	}
 
 	private long timeToLong(Time time) {
@@ -15,27 +15,39 @@ import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.mapping.SimpleElasticsearchMappingContext;
 import com.mawen.search.core.query.*;
 import com.mawen.search.core.query.builder.IndexQueryBuilder;
+import com.mawen.search.core.refresh.RefreshCoalescer;
 import com.mawen.search.core.refresh.RefreshPolicy;
 import com.mawen.search.core.routing.DefaultRoutingResolver;
 import com.mawen.search.core.routing.RoutingResolver;
+import com.mawen.search.core.support.BulkItemResult;
+import com.mawen.search.core.support.BulkResult;
+import com.mawen.search.core.support.EntitySnapshots;
 import com.mawen.search.core.support.IndexedObjectInformation;
 import com.mawen.search.core.support.MultiGetItem;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.convert.EntityReader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.data.mapping.context.MappingContext;
-import org.springframework.data.util.Streamable;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -44,13 +56,24 @@ import java.util.stream.Collectors;
  */
 public abstract class AbstractElasticsearchTemplate implements ElasticsearchOperations, ApplicationContextAware {
 
+	public static final int DEFAULT_PARALLEL_CONVERSION_THRESHOLD = 1000;
+	private static final int CONVERSION_CHUNK_SIZE = 250;
+
 	protected ElasticsearchConverter elasticsearchConverter;
 	protected EntityOperations entityOperations;
 	@Nullable
 	protected EntityCallbacks entityCallbacks;
 	@Nullable
 	protected RefreshPolicy refreshPolicy;
+	@Nullable
+	protected RefreshCoalescer refreshCoalescer;
+	@Nullable
+	protected EntitySnapshots entitySnapshots;
 	protected RoutingResolver routingResolver;
+	@Nullable
+	protected Executor conversionExecutor;
+	protected int parallelConversionThreshold = DEFAULT_PARALLEL_CONVERSION_THRESHOLD;
+	protected boolean lazyHitContent = false;
 
 	public AbstractElasticsearchTemplate() {
 		this(null);
@@ -76,6 +99,11 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 
 		copy.setRoutingResolver(routingResolver);
 		copy.setRefreshPolicy(refreshPolicy);
+		copy.setRefreshCoalescer(refreshCoalescer);
+		copy.setEntitySnapshots(entitySnapshots);
+		copy.setConversionExecutor(conversionExecutor);
+		copy.setParallelConversionThreshold(parallelConversionThreshold);
+		copy.setLazyHitContent(lazyHitContent);
 
 		return copy;
 	}
@@ -118,6 +146,101 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		this.refreshPolicy = refreshPolicy;
 	}
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	public RefreshCoalescer getRefreshCoalescer() {
+		return refreshCoalescer;
+	}
+
+	/**
+	 * Sets the {@link RefreshCoalescer} that repositories use instead of refreshing the index after every write when
+	 * no {@link RefreshPolicy} is set.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setRefreshCoalescer(@Nullable RefreshCoalescer refreshCoalescer) {
+		this.refreshCoalescer = refreshCoalescer;
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	public EntitySnapshots getEntitySnapshots() {
+		return entitySnapshots;
+	}
+
+	/**
+	 * Enables dirty tracking: entities that are read are snapshotted, and {@link #update(Object, IndexCoordinates)}
+	 * sends only the fields that changed since. Reading costs one more mapping of every entity. Saving or indexing an
+	 * entity drops its snapshot, so the next update sends the whole document.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setEntitySnapshots(@Nullable EntitySnapshots entitySnapshots) {
+		this.entitySnapshots = entitySnapshots;
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	public Executor getConversionExecutor() {
+		return conversionExecutor;
+	}
+
+	/**
+	 * Sets the {@link Executor} that converts the hits of large result pages to entities in parallel chunks. Entity
+	 * callbacks are then called from the threads of the executor. Without an executor, hits are converted on the calling
+	 * thread.
+	 *
+	 * @see #setParallelConversionThreshold(int)
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setConversionExecutor(@Nullable Executor conversionExecutor) {
+		this.conversionExecutor = conversionExecutor;
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public int getParallelConversionThreshold() {
+		return parallelConversionThreshold;
+	}
+
+	/**
+	 * @param parallelConversionThreshold number of hits from which a page is converted on the conversion executor,
+	 *          smaller pages are converted on the calling thread
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setParallelConversionThreshold(int parallelConversionThreshold) {
+
+		Assert.isTrue(parallelConversionThreshold > 0, "parallelConversionThreshold must be greater than 0");
+
+		this.parallelConversionThreshold = parallelConversionThreshold;
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public boolean isLazyHitContent() {
+		return lazyHitContent;
+	}
+
+	/**
+	 * When enabled, the content of a {@link SearchHit} returned by searches is converted on the first call of
+	 * {@link SearchHit#getContent()}, so callers that only read ids, scores, sort values or total hits do not pay for
+	 * the mapping. After-load and after-convert callbacks then run on that first access, and the conversion executor is
+	 * not used.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setLazyHitContent(boolean lazyHitContent) {
+		this.lazyHitContent = lazyHitContent;
+	}
+
 	// region DocumentOperations
 	@Override
 	public <T> T save(T entity) {
@@ -133,6 +256,7 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		Assert.notNull(entity, "entity must not be null");
 		Assert.notNull(index, "index must not be null");
 
+		evictSnapshot(entity);
 		T entityAfterBeforeConvert = maybeCallbackBeforeConvert(entity, index);
 
 		IndexQuery query = getIndexQuery(entityAfterBeforeConvert);
@@ -167,16 +291,106 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 			return entities;
 		}
 
-		List<IndexQuery> indexQueries = Streamable.of(entities).stream().map(this::getIndexQuery)
-				.collect(Collectors.toList());
+		List<T> savedEntities = new ArrayList<>();
+		saveInChunks(entities, BulkOptions.defaultOptions(), index, savedEntities::add);
 
-		List<IndexedObjectInformation> indexedObjectInformationList = bulkIndex(indexQueries, index);
-		Iterator<IndexedObjectInformation> iterator = indexedObjectInformationList.iterator();
+		return savedEntities;
+	}
 
-		return indexQueries.stream() //
-				.map(IndexQuery::getObject) //
-				.map(entity -> (T) updateIndexedObject(entity, iterator.next())) //
-				.collect(Collectors.toList()); //
+	@Override
+	public <T> long saveInChunks(Iterable<T> entities, BulkOptions bulkOptions, IndexCoordinates index) {
+
+		Assert.notNull(entities, "entities must not be null");
+		Assert.notNull(bulkOptions, "bulkOptions must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		return saveInChunks(entities, bulkOptions, index, entity -> {});
+	}
+
+	@Override
+	public <T> long saveAndDeleteInChunks(Iterable<T> entities, Iterable<String> deleteIds, BulkOptions bulkOptions,
+	                                      IndexCoordinates index) {
+
+		Assert.notNull(entities, "entities must not be null");
+		Assert.notNull(deleteIds, "deleteIds must not be null");
+		Assert.notNull(bulkOptions, "bulkOptions must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		return saveInChunks(entities, deleteIds, bulkOptions, index, entity -> {});
+	}
+
+	private <T> long saveInChunks(Iterable<T> entities, BulkOptions bulkOptions, IndexCoordinates index,
+	                              Consumer<T> savedEntityConsumer) {
+		return saveInChunks(entities, Collections.emptyList(), bulkOptions, index, savedEntityConsumer);
+	}
+
+	private <T> long saveInChunks(Iterable<T> entities, Iterable<String> deleteIds, BulkOptions bulkOptions,
+	                              IndexCoordinates index, Consumer<T> savedEntityConsumer) {
+
+		long written = 0;
+		long chunkBytes = 0;
+		List<Object> chunk = new ArrayList<>(Math.min(bulkOptions.getChunkSize(), 1024));
+
+		for (T entity : entities) {
+			IndexQuery query = getIndexQuery(entity);
+
+			if (bulkOptions.getChunkBytes() > 0) {
+				// the entity is serialized once, the bulk request sends these bytes instead of converting it again
+				maybeCallbackBeforeConvertWithQuery(query, index);
+				byte[] source = elasticsearchConverter.mapObject(query.getObject()).toJson()
+						.getBytes(StandardCharsets.UTF_8);
+				query.setRawSource(ByteBuffer.wrap(source));
+				chunkBytes += source.length;
+			}
+
+			chunk.add(query);
+
+			if (chunk.size() >= bulkOptions.getChunkSize()
+					|| (bulkOptions.getChunkBytes() > 0 && chunkBytes >= bulkOptions.getChunkBytes())) {
+				written += saveChunk(chunk, bulkOptions, index, savedEntityConsumer);
+				chunk.clear();
+				chunkBytes = 0;
+			}
+		}
+
+		for (String id : deleteIds) {
+			chunk.add(new DeleteQuery(id));
+
+			if (chunk.size() >= bulkOptions.getChunkSize()) {
+				written += saveChunk(chunk, bulkOptions, index, savedEntityConsumer);
+				chunk.clear();
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			written += saveChunk(chunk, bulkOptions, index, savedEntityConsumer);
+		}
+
+		return written;
+	}
+
+	private <T> int saveChunk(List<Object> chunk, BulkOptions bulkOptions, IndexCoordinates index,
+	                          Consumer<T> savedEntityConsumer) {
+
+		if (bulkOptions.getChunkBytes() <= 0) {
+			// with a byte limit the callbacks ran before the entities were serialized
+			maybeCallbackBeforeConvertWithQueries(chunk, index);
+		}
+
+		List<IndexedObjectInformation> indexedObjectInformationList = doBulkOperation(chunk, bulkOptions, index);
+		maybeCallbackAfterSaveWithQueries(chunk, index);
+
+		for (int i = 0; i < chunk.size(); i++) {
+			Object query = chunk.get(i);
+
+			if (query instanceof IndexQuery) {
+				// noinspection unchecked
+				savedEntityConsumer.accept((T) updateIndexedObject(((IndexQuery) query).getObject(),
+						indexedObjectInformationList.get(i)));
+			}
+		}
+
+		return chunk.size();
 	}
 
 	protected <T> Iterable<T> save(List<IndexQuery> indexQueries) {
@@ -309,6 +523,39 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		bulkUpdate(queries, getIndexCoordinatesFor(clazz));
 	}
 
+	@Override
+	public void bulkUpdateEntities(List<?> entities, BulkOptions bulkOptions, IndexCoordinates index) {
+
+		Assert.notNull(entities, "entities must not be null");
+		Assert.notNull(bulkOptions, "bulkOptions must not be null");
+		Assert.notNull(index, "index must not be null");
+
+		List<Object> updated = new ArrayList<>(entities.size());
+		List<Document> documents = new ArrayList<>(entities.size());
+		List<UpdateQuery> queries = new ArrayList<>(entities.size());
+
+		for (Object entity : entities) {
+			Document document = elasticsearchConverter.mapObject(entity);
+			UpdateQuery query = buildUpdateQueryByEntity(entity, document);
+
+			if (query != null) {
+				updated.add(entity);
+				documents.add(document);
+				queries.add(query);
+			}
+		}
+
+		if (queries.isEmpty()) {
+			return;
+		}
+
+		bulkUpdate(queries, bulkOptions, index);
+
+		for (int i = 0; i < updated.size(); i++) {
+			maybeSnapshot(updated.get(i), documents.get(i));
+		}
+	}
+
 	public List<IndexedObjectInformation> bulkOperation(List<IndexQuery> queries, BulkOptions bulkOptions,
 	                                                    IndexCoordinates index) {
 
@@ -327,6 +574,80 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 	public abstract List<IndexedObjectInformation> doBulkOperation(List<?> queries, BulkOptions bulkOptions,
 	                                                               IndexCoordinates index);
 
+	@Override
+	public BulkResult bulkWithResult(List<?> queries, BulkOptions bulkOptions, IndexCoordinates index) {
+
+		Assert.notNull(queries, "queries must not be null");
+		Assert.notNull(bulkOptions, "bulkOptions must not be null");
+
+		maybeCallbackBeforeConvertWithQueries(queries, index);
+
+		BulkItemResult[] results = new BulkItemResult[queries.size()];
+		List<Integer> pending = new ArrayList<>(queries.size());
+		for (int i = 0; i < queries.size(); i++) {
+			pending.add(i);
+		}
+
+		int retries = 0;
+		while (!pending.isEmpty()) {
+			List<Object> pendingQueries = pending.stream().map(queries::get).collect(Collectors.toList());
+			List<BulkItemResult> itemResults = doBulkOperationWithResult(pendingQueries, bulkOptions, index);
+
+			List<Integer> retriable = new ArrayList<>();
+			for (int i = 0; i < pending.size(); i++) {
+				int position = pending.get(i);
+				BulkItemResult itemResult = itemResults.get(i).withAttempts(retries + 1);
+				results[position] = itemResult;
+
+				if (itemResult.isRetriable()) {
+					retriable.add(position);
+				}
+			}
+
+			if (retriable.isEmpty() || retries >= bulkOptions.getMaxRetries() || !backoff(retries, bulkOptions)) {
+				break;
+			}
+
+			pending = retriable;
+			retries++;
+		}
+
+		for (BulkItemResult itemResult : results) {
+			if (itemResult.isSuccess() && itemResult.getIndexedObjectInformation() != null) {
+				updateIndexedObjectWithQuery(itemResult.getQuery(), itemResult.getIndexedObjectInformation());
+				maybeCallbackAfterSaveWithQuery(itemResult.getQuery(), index);
+			}
+		}
+
+		return new BulkResult(Arrays.asList(results), retries);
+	}
+
+	/**
+	 * Sends one bulk request without checking for failures.
+	 *
+	 * @return the result of every item, in the order of the queries
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	protected abstract List<BulkItemResult> doBulkOperationWithResult(List<?> queries, BulkOptions bulkOptions,
+	                                                                  IndexCoordinates index);
+
+	// exponential backoff with jitter, returns false when the thread was interrupted while waiting
+	private boolean backoff(int retry, BulkOptions bulkOptions) {
+
+		long initial = Math.max(1, bulkOptions.getInitialRetryBackoff().toMillis());
+		long ceiling = Math.min(bulkOptions.getMaxRetryBackoff().toMillis(), initial << Math.min(retry, 30));
+		long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+
+		try {
+			Thread.sleep(delay);
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
 	@Override
 	public <T> UpdateResponse update(T entity) {
 
@@ -341,18 +662,50 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		Assert.notNull(entity, "entity must not be null");
 		Assert.notNull(index, "index must not be null");
 
-		return update(buildUpdateQueryByEntity(entity), index);
+		Document document = elasticsearchConverter.mapObject(entity);
+		UpdateQuery updateQuery = buildUpdateQueryByEntity(entity, document);
+
+		if (updateQuery == null) {
+			return UpdateResponse.of(UpdateResponse.Result.NOOP);
+		}
+
+		UpdateResponse response = update(updateQuery, index);
+		maybeSnapshot(entity, document);
+		return response;
 	}
 
 	protected <T> UpdateQuery buildUpdateQueryByEntity(T entity) {
 
 		Assert.notNull(entity, "entity must not be null");
 
+		return buildUpdateQuery(entity, elasticsearchConverter.mapObject(entity));
+	}
+
+	/**
+	 * Sends only the fields that changed since the entity was read if a snapshot of it exists.
+	 *
+	 * @return {@literal null} if nothing changed
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	protected <T> UpdateQuery buildUpdateQueryByEntity(T entity, Document document) {
+
+		Document snapshot = entitySnapshots != null ? entitySnapshots.get(entity) : null;
+
+		if (snapshot == null) {
+			return buildUpdateQuery(entity, document);
+		}
+
+		Document diff = EntitySnapshots.diff(snapshot, document);
+		return diff.isEmpty() ? null : buildUpdateQuery(entity, diff);
+	}
+
+	private <T> UpdateQuery buildUpdateQuery(T entity, Document document) {
+
 		String id = getEntityId(entity);
 		Assert.notNull(id, "entity must have an id that is notnull");
 
-		UpdateQuery.Builder updateQueryBuilder = UpdateQuery.builder(id)
-				.withDocument(elasticsearchConverter.mapObject(entity));
+		UpdateQuery.Builder updateQueryBuilder = UpdateQuery.builder(id).withDocument(document);
 
 		String routing = getEntityRouting(entity);
 		if (StringUtils.hasText(routing)) {
@@ -405,6 +758,11 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		return count(query, clazz, getIndexCoordinatesFor(clazz));
 	}
 
+	@Override
+	public boolean exists(Query query, Class<?> clazz) {
+		return exists(query, clazz, getIndexCoordinatesFor(clazz));
+	}
+
 	@Override
 	public <T> SearchHitsIterator<T> searchForStream(Query query, Class<T> clazz) {
 		return searchForStream(query, clazz, getIndexCoordinatesFor(clazz));
@@ -446,6 +804,103 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 				this::closePointInTime);
 	}
 
+	@Override
+	public <T> SearchHits<T> searchAll(Query query, Class<T> clazz) {
+		return searchAll(query, clazz, getIndexCoordinatesFor(clazz));
+	}
+
+	@Override
+	public <T> SearchHits<T> searchAll(Query query, Class<T> clazz, IndexCoordinates index) {
+
+		Assert.notNull(query, "query must not be null");
+
+		// a limited query returns at most its max results in one response
+		if (query.isLimiting()) {
+			return search(query, clazz, index);
+		}
+
+		if (!(query instanceof BaseQuery)) {
+			throw new IllegalArgumentException("Query must be derived from BaseQuery");
+		}
+
+		BaseQuery baseQuery = (BaseQuery) query;
+		Pageable pageable = baseQuery.getPageable();
+		Sort sort = baseQuery.getSort();
+		Boolean trackTotalHits = baseQuery.getTrackTotalHits();
+		List<Object> searchAfter = baseQuery.getSearchAfter();
+		PointInTime pointInTime = baseQuery.getPointInTime();
+		int batchSize = baseQuery.getReactiveBatchSize();
+
+		try {
+			baseQuery.setPageable(PageRequest.of(0, batchSize));
+
+			if (trackTotalHits == null && baseQuery.getTrackTotalHitsUpTo() == null) {
+				baseQuery.setTrackTotalHits(true);
+			}
+
+			SearchHits<T> firstBatch = search(baseQuery, clazz, index);
+			List<SearchHit<T>> hits = firstBatch.getSearchHits();
+
+			if (hits.size() < batchSize || (firstBatch.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO
+					&& firstBatch.getTotalHits() <= batchSize)) {
+				return firstBatch;
+			}
+
+			List<SearchHit<T>> searchHits = new ArrayList<>(
+					firstBatch.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO
+							? (int) Math.min(firstBatch.getTotalHits(), Integer.MAX_VALUE)
+							: batchSize * 2);
+			searchHits.addAll(hits);
+			searchRemaining(baseQuery, clazz, index, batchSize, searchHits);
+
+			return new SearchHitsImpl<>(searchHits.size(), TotalHitsRelation.EQUAL_TO, firstBatch.getMaxScore(), null,
+					searchHits, firstBatch.getAggregations());
+		}
+		finally {
+			baseQuery.setPageable(pageable);
+			baseQuery.setSort(sort);
+			baseQuery.setTrackTotalHits(trackTotalHits);
+			baseQuery.setSearchAfter(searchAfter);
+			baseQuery.setPointInTime(pointInTime);
+		}
+	}
+
+	/**
+	 * Reads the documents after the first batch from a point in time, in the order of the first batch.
+	 */
+	private <T> void searchRemaining(BaseQuery query, Class<T> clazz, IndexCoordinates index, int batchSize,
+			List<SearchHit<T>> searchHits) {
+
+		Duration keepAlive = query.getScrollTime() != null ? query.getScrollTime() : Duration.ofMinutes(1);
+
+		// without a sort the first batch is ordered by score
+		if (query.getSort() == null || query.getSort().isUnsorted()) {
+			query.addSort(Sort.by(Sort.Direction.DESC, "_score"));
+		}
+
+		// the first request in the point in time skips the first batch, the next ones search after the last hit
+		query.setPageable(PageRequest.of(1, batchSize));
+		query.setTrackTotalHits(false);
+
+		PitSearchAfterHits<T> batch = searchAfterStart(keepAlive, query, clazz, index);
+
+		try {
+			searchHits.addAll(batch.getSearchHits());
+
+			while (batch.getSearchHits().size() == batchSize) {
+				batch = searchAfterContinue(query, keepAlive, clazz, index);
+				searchHits.addAll(batch.getSearchHits());
+			}
+		}
+		finally {
+			PointInTime pointInTime = query.getPointInTime();
+
+			if (pointInTime != null) {
+				closePointInTime(pointInTime.getId());
+			}
+		}
+	}
+
 	@Override
 	public <T> SearchHits<T> search(MoreLikeThisQuery query, Class<T> clazz) {
 		return search(query, clazz, getIndexCoordinatesFor(clazz));
@@ -584,6 +1039,45 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		return searchDocument -> CompletableFuture.completedFuture(documentCallback.doWith(searchDocument));
 	}
 
+	/**
+	 * Converts the documents in order. Pages of at least {@link #getParallelConversionThreshold()} documents are split
+	 * into chunks that are converted on the {@link #getConversionExecutor() conversion executor}, when one is set.
+	 */
+	protected <T> List<T> readEntities(List<? extends Document> documents, DocumentCallback<T> documentCallback) {
+
+		Executor executor = conversionExecutor;
+
+		if (executor == null || documents.size() < parallelConversionThreshold) {
+			List<T> entities = new ArrayList<>(documents.size());
+			documents.forEach(document -> entities.add(documentCallback.doWith(document)));
+			return entities;
+		}
+
+		List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+		for (int from = 0; from < documents.size(); from += CONVERSION_CHUNK_SIZE) {
+			List<? extends Document> chunk = documents.subList(from,
+					Math.min(from + CONVERSION_CHUNK_SIZE, documents.size()));
+			chunks.add(CompletableFuture.supplyAsync(() -> {
+				List<T> entities = new ArrayList<>(chunk.size());
+				chunk.forEach(document -> entities.add(documentCallback.doWith(document)));
+				return entities;
+			}, executor));
+		}
+
+		List<T> entities = new ArrayList<>(documents.size());
+		try {
+			chunks.forEach(chunk -> entities.addAll(chunk.join()));
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+
+		return entities;
+	}
+
 	// endregion
 
 	// region Entity callbacks
@@ -603,6 +1097,7 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 			Object queryObject = indexQuery.getObject();
 
 			if (queryObject != null) {
+				evictSnapshot(queryObject);
 				queryObject = maybeCallbackBeforeConvert(queryObject, index);
 				indexQuery.setObject(queryObject);
 				// the callback might have set som values relevant for the IndexQuery
@@ -657,6 +1152,21 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		queries.forEach(query -> maybeCallbackAfterSaveWithQuery(query, index));
 	}
 
+	private void maybeSnapshot(Object entity, Document document) {
+
+		if (entitySnapshots != null) {
+			entitySnapshots.put(entity, document);
+		}
+	}
+
+	// an indexed entity no longer matches its snapshot, its next update sends the whole document
+	private void evictSnapshot(Object entity) {
+
+		if (entitySnapshots != null) {
+			entitySnapshots.remove(entity);
+		}
+	}
+
 	protected <T> T maybeCallbackAfterConvert(T entity, Document document, IndexCoordinates index) {
 
 		if (entityCallbacks != null) {
@@ -681,15 +1191,18 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 	                                               List<IndexedObjectInformation> indexedObjectInformationList) {
 
 		for (int i = 0; i < queries.size(); i++) {
-			Object query = queries.get(i);
+			updateIndexedObjectWithQuery(queries.get(i), indexedObjectInformationList.get(i));
+		}
+	}
 
-			if (query instanceof IndexQuery) {
-				IndexQuery indexQuery = (IndexQuery) query;
-				Object queryObject = indexQuery.getObject();
+	protected void updateIndexedObjectWithQuery(Object query, IndexedObjectInformation indexedObjectInformation) {
 
-				if (queryObject != null) {
-					indexQuery.setObject(updateIndexedObject(queryObject, indexedObjectInformationList.get(i)));
-				}
+		if (query instanceof IndexQuery) {
+			IndexQuery indexQuery = (IndexQuery) query;
+			Object queryObject = indexQuery.getObject();
+
+			if (queryObject != null) {
+				indexQuery.setObject(updateIndexedObject(queryObject, indexedObjectInformation));
 			}
 		}
 	}
@@ -764,8 +1277,13 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 					documentAfterLoad.hasPrimaryTerm() ? documentAfterLoad.getPrimaryTerm() : null, //
 					documentAfterLoad.hasVersion() ? documentAfterLoad.getVersion() : null); //
 			entity = updateIndexedObject(entity, indexedObjectInformation);
+			entity = maybeCallbackAfterConvert(entity, documentAfterLoad, index);
+
+			if (entity != null && entitySnapshots != null) {
+				entitySnapshots.put(entity, elasticsearchConverter.mapObject(entity));
+			}
 
-			return maybeCallbackAfterConvert(entity, documentAfterLoad, index);
+			return entity;
 		}
 	}
 
@@ -784,8 +1302,14 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		@NonNull
 		@Override
 		public SearchHits<T> doWith(SearchDocumentResponse response) {
-			List<T> entities = response.getSearchDocuments().stream().map(delegate::doWith).collect(Collectors.toList());
-			return SearchHitMapping.mappingFor(type, elasticsearchConverter).mapHits(response, entities);
+			SearchHitMapping<T> mapping = SearchHitMapping.mappingFor(type, elasticsearchConverter);
+
+			if (lazyHitContent) {
+				return mapping.mapHits(response, delegate::doWith);
+			}
+
+			List<T> entities = readEntities(response.getSearchDocuments(), delegate);
+			return mapping.mapHits(response, entities);
 		}
 	}
 
@@ -805,8 +1329,14 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 		@NonNull
 		@Override
 		public SearchScrollHits<T> doWith(SearchDocumentResponse response) {
-			List<T> entities = response.getSearchDocuments().stream().map(delegate::doWith).collect(Collectors.toList());
-			return SearchHitMapping.mappingFor(type, elasticsearchConverter).mapScrollHits(response, entities);
+			SearchHitMapping<T> mapping = SearchHitMapping.mappingFor(type, elasticsearchConverter);
+
+			if (lazyHitContent) {
+				return mapping.mapScrollHits(response, delegate::doWith);
+			}
+
+			List<T> entities = readEntities(response.getSearchDocuments(), delegate);
+			return mapping.mapScrollHits(response, entities);
 		}
 	}
 
@@ -828,8 +1358,14 @@ public abstract class AbstractElasticsearchTemplate implements ElasticsearchOper
 
 		@Override
 		public PitSearchAfterHits<T> doWith(SearchDocumentResponse response) {
-			List<T> entities = response.getSearchDocuments().stream().map(delegate::doWith).collect(Collectors.toList());
-			return SearchHitMapping.mappingFor(type, elasticsearchConverter).mapAfterHits(query, response, entities);
+			SearchHitMapping<T> mapping = SearchHitMapping.mappingFor(type, elasticsearchConverter);
+
+			if (lazyHitContent) {
+				return mapping.mapAfterHits(query, response, delegate::doWith);
+			}
+
+			List<T> entities = readEntities(response.getSearchDocuments(), delegate);
+			return mapping.mapAfterHits(query, response, entities);
 		}
 	}
 
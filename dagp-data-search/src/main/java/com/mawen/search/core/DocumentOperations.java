@@ -1,8 +1,10 @@
 package com.mawen.search.core;
 
 import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.domain.ByQueryTaskOptions;
 import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.query.*;
+import com.mawen.search.core.support.BulkResult;
 import com.mawen.search.core.support.IndexedObjectInformation;
 import com.mawen.search.core.support.MultiGetItem;
 import org.springframework.lang.Nullable;
@@ -27,6 +29,27 @@ public interface DocumentOperations {
 
 	<T> Iterable<T> save(T... entities);
 
+	/**
+	 * Saves the entities with bulk requests of at most {@link BulkOptions#getChunkSize()} entities and
+	 * {@link BulkOptions#getChunkBytes()} bytes. The {@link Iterable} is consumed lazily and neither the queries nor the
+	 * saved entities are collected, so memory use does not depend on the number of entities.
+	 *
+	 * @return the number of saved entities
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	<T> long saveInChunks(Iterable<T> entities, BulkOptions bulkOptions, IndexCoordinates index);
+
+	/**
+	 * Like {@link #saveInChunks(Iterable, BulkOptions, IndexCoordinates)}, but also deletes the documents with the given
+	 * ids. The deletes follow the saves as {@link DeleteQuery} items of the same bulk
+	 * requests, so they also remove documents that were not refreshed yet. Deleting a missing document is not a failure.
+	 *
+	 * @return the number of saved entities and deleted ids
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	<T> long saveAndDeleteInChunks(Iterable<T> entities, Iterable<String> deleteIds, BulkOptions bulkOptions,
+			IndexCoordinates index);
+
 	String index(IndexQuery query, IndexCoordinates index);
 
 	@Nullable
@@ -65,6 +88,25 @@ public interface DocumentOperations {
 
 	void bulkUpdate(List<UpdateQuery> queries, BulkOptions bulkOptions, IndexCoordinates index);
 
+	/**
+	 * Updates the entities with one bulk request. With dirty tracking enabled, only the changed fields of entities that
+	 * were read before are sent, and unchanged entities are skipped.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	void bulkUpdateEntities(List<?> entities, BulkOptions bulkOptions, IndexCoordinates index);
+
+	/**
+	 * Executes a bulk request with {@link IndexQuery}, {@link UpdateQuery} and {@link DeleteQuery} items and returns the
+	 * outcome of every item instead of throwing a {@link com.mawen.search.BulkFailureException}. Items rejected because of cluster
+	 * pressure are sent again with exponential backoff, up to {@link BulkOptions#getMaxRetries()} times.
+	 *
+	 * @param queries {@link IndexQuery}, {@link UpdateQuery} and {@link DeleteQuery} items
+	 * @return the result of every item, in the order of the queries
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	BulkResult bulkWithResult(List<?> queries, BulkOptions bulkOptions, IndexCoordinates index);
+
 	String delete(String id, IndexCoordinates index);
 
 	String delete(String id, Class<?> entityType);
@@ -77,6 +119,14 @@ public interface DocumentOperations {
 
 	ByQueryResponse delete(Query query, Class<?> clazz, IndexCoordinates index);
 
+	/**
+	 * Starts a delete-by-query task without waiting for it to complete.
+	 *
+	 * @return a handle to follow, cancel or rethrottle the task
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	ByQueryTask deleteByQueryTask(Query query, Class<?> clazz, ByQueryTaskOptions options, IndexCoordinates index);
+
 	<T> UpdateResponse update(T entity);
 
 	<T> UpdateResponse update(T entity, IndexCoordinates index);
@@ -84,4 +134,14 @@ public interface DocumentOperations {
 	<T> UpdateResponse update(UpdateQuery updateQuery, IndexCoordinates index);
 
 	ByQueryResponse updateByQuery(UpdateQuery updateQuery, IndexCoordinates index);
+
+	/**
+	 * Starts an update-by-query task without waiting for it to complete. Slices and throttle that are set in the
+	 * options take precedence over the ones of the {@link UpdateQuery}, without any slices the task is split into one
+	 * slice per shard.
+	 *
+	 * @return a handle to follow, cancel or rethrottle the task
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	ByQueryTask updateByQueryTask(UpdateQuery updateQuery, ByQueryTaskOptions options, IndexCoordinates index);
 }
@@ -25,6 +25,18 @@ public interface SearchOperations {
 
 	long count(Query query, @Nullable Class<?> clazz, IndexCoordinates index);
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	boolean exists(Query query, Class<?> clazz);
+
+	/**
+	 * Checks whether any document matches the query, stopping at the first match instead of counting all of them.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	boolean exists(Query query, @Nullable Class<?> clazz, IndexCoordinates index);
+
 	default <T> SearchHit<T> searchOne(Query query, Class<T> clazz) {
 		List<SearchHit<T>> content = search(query, clazz).getSearchHits();
 		return content.isEmpty() ? null : content.get(0);
@@ -49,6 +61,21 @@ public interface SearchOperations {
 
 	<T> SearchHits<T> search(Query query, Class<T> clazz, IndexCoordinates index);
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	<T> SearchHits<T> searchAll(Query query, Class<T> clazz);
+
+	/**
+	 * Searches all the documents matching the query, ignoring its pageable. The first
+	 * {@link Query#getReactiveBatchSize() batch} is a plain search; when more documents match, the rest is read in
+	 * batches of the same size from a point in time with {@code search_after}, instead of counting the documents first
+	 * and requesting them all in one response.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	<T> SearchHits<T> searchAll(Query query, Class<T> clazz, IndexCoordinates index);
+
 	<T> SearchHits<T> search(MoreLikeThisQuery query, Class<T> clazz);
 
 	<T> SearchHits<T> search(MoreLikeThisQuery query, Class<T> clazz, IndexCoordinates index);
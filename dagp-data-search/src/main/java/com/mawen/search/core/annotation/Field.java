@@ -30,4 +30,19 @@ public @interface Field {
 	boolean storeNullValue() default false;
 
 	boolean storeEmptyValue() default true;
+
+	/**
+	 * How {@code contains} and {@code endsWith} criteria on this field are searched.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	SubstringSearch substringSearch() default SubstringSearch.NONE;
+
+	/**
+	 * The name of the subfield used by {@link #substringSearch()}. If not set, {@link SubstringSearch#getSubfield()} is
+	 * used.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	String substringField() default "";
 }
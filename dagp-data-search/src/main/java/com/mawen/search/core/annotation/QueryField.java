@@ -41,6 +41,13 @@ public @interface QueryField {
 	 */
 	Operator relation() default Operator.AND;
 
+	/**
+	 * 查询上下文，默认使用查询的上下文，keyword、数值和日期字段使用 filter 上下文
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	Criteria.Context context() default Criteria.Context.AUTO;
+
 	enum Type {
 
 		BETWEEN {
@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import com.mawen.search.core.domain.Criteria;
+import com.mawen.search.core.query.CriteriaQuery;
 import com.mawen.search.core.query.Query;
 
 import org.springframework.data.annotation.QueryAnnotation;
@@ -27,4 +29,16 @@ public @interface SearchConfig {
 	 * @return true when index
 	 */
 	boolean ignoreUnavailable() default false;
+
+	/**
+	 * match to {@link Query#getFetchMode()}
+	 * @return how the found documents are fetched
+	 */
+	Query.FetchMode fetchMode() default Query.FetchMode.SOURCE;
+
+	/**
+	 * match to {@link CriteriaQuery#getContext()}
+	 * @return the context of the criteria that do not set one
+	 */
+	Criteria.Context context() default Criteria.Context.AUTO;
 }
@@ -0,0 +1,46 @@
+package com.mawen.search.core.annotation;
+
+import lombok.Getter;
+
+/**
+ * How {@code contains} and {@code endsWith} criteria on a field are searched. Instead of a leading wildcard
+ * {@code query_string} on the field itself, which scans the whole term dictionary, the criteria target a subfield that
+ * is indexed for substring search. The subfield must be declared in the index mapping, for example for
+ * {@link #WILDCARD}:
+ *
+ * <pre>{@code
+ * "name": {
+ *     "type": "text",
+ *     "fields": {
+ *         "wildcard": { "type": "wildcard" }
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Getter
+public enum SubstringSearch {
+
+	/**
+	 * leading wildcard {@code query_string} on the field itself.
+	 */
+	NONE(""),
+	/**
+	 * {@code match_phrase} on a subfield analyzed with an {@code ngram} tokenizer, used for {@code contains} only. Search
+	 * texts shorter than the {@code min_gram} of the tokenizer do not match.
+	 */
+	NGRAM("ngram"),
+	/**
+	 * case insensitive {@code wildcard} query on a subfield of type {@code wildcard}, used for {@code contains} and
+	 * {@code endsWith}.
+	 */
+	WILDCARD("wildcard");
+
+	private final String subfield;
+
+	SubstringSearch(String subfield) {
+		this.subfield = subfield;
+	}
+}
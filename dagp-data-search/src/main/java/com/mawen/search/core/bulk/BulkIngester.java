@@ -0,0 +1,604 @@
+package com.mawen.search.core.bulk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.convert.ElasticsearchConverter;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
+import com.mawen.search.core.mapping.ElasticsearchPersistentProperty;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.UpdateQuery;
+import com.mawen.search.core.support.IndexedObjectInformation;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Long-lived component that accepts {@link IndexQuery} and {@link UpdateQuery} items one at a time and sends them to
+ * Elasticsearch as bulk requests through {@link ElasticsearchOperations}.
+ * <p>
+ * A bulk request is issued when the buffered items reach {@code maxOperations} or the estimated {@code maxSize} in
+ * bytes, or when the {@code flushInterval} elapses. Pre-serialized sources and scripts are measured, entities and
+ * update documents are estimated from their property values without converting them, see
+ * {@link Builder#withSizeEstimator(ToLongFunction)}. At most {@code maxConcurrentRequests} bulk requests are in flight,
+ * when that limit is reached producers are blocked or, if {@code blockWhenFull} is disabled, rejected with a
+ * {@link RejectedExecutionException}.
+ * <p>
+ * Instances are thread safe and must be {@link #close() closed} to send the remaining items.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Slf4j
+public class BulkIngester implements AutoCloseable {
+
+	public static final int DEFAULT_MAX_OPERATIONS = 1000;
+	public static final long DEFAULT_MAX_SIZE = 5 * 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1;
+
+	private static final int MAX_ESTIMATE_DEPTH = 8;
+	private static final long SIMPLE_VALUE_SIZE = 8;
+
+	private final ElasticsearchOperations operations;
+	private final IndexCoordinates index;
+	private final BulkOptions bulkOptions;
+	private final int maxOperations;
+	private final long maxSize;
+	private final int maxConcurrentRequests;
+	private final boolean blockWhenFull;
+	private final ToLongFunction<Object> sizeEstimator;
+	@Nullable
+	private final MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext;
+	private final BulkListener listener;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	@Nullable
+	private final ScheduledExecutorService scheduler;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Semaphore permits;
+	private final AtomicLong executionIdSequence = new AtomicLong();
+	private List<Object> buffer = new ArrayList<>();
+	private long bufferedSize;
+	private volatile boolean closed;
+
+	private BulkIngester(Builder builder) {
+
+		this.operations = builder.operations;
+		this.index = builder.index;
+		this.bulkOptions = builder.bulkOptions;
+		this.maxOperations = builder.maxOperations;
+		this.maxSize = builder.maxSize;
+		this.maxConcurrentRequests = builder.maxConcurrentRequests;
+		this.blockWhenFull = builder.blockWhenFull;
+		this.sizeEstimator = builder.sizeEstimator != null ? builder.sizeEstimator : this::estimateSize;
+		ElasticsearchConverter converter = builder.sizeEstimator == null ? operations.getElasticsearchConverter() : null;
+		this.mappingContext = converter != null ? converter.getMappingContext() : null;
+		this.listener = builder.listener != null ? builder.listener : new BulkListener() {};
+		this.permits = new Semaphore(maxConcurrentRequests);
+
+		if (builder.executor != null) {
+			this.executor = builder.executor;
+			this.ownsExecutor = false;
+		}
+		else {
+			this.executor = Executors.newFixedThreadPool(maxConcurrentRequests, threadFactory("bulk-ingester-"));
+			this.ownsExecutor = true;
+		}
+
+		if (builder.flushInterval != null) {
+			long interval = builder.flushInterval.toMillis();
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("bulk-ingester-flush-"));
+			this.scheduler.scheduleWithFixedDelay(this::flushOnInterval, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		else {
+			this.scheduler = null;
+		}
+	}
+
+	public static Builder builder(ElasticsearchOperations operations, IndexCoordinates index) {
+		return new Builder(operations, index);
+	}
+
+	/**
+	 * Adds an index operation, sending a bulk request when one of the limits is reached.
+	 *
+	 * @throws RejectedExecutionException when the ingester does not block and all concurrent requests are in flight
+	 * @throws IllegalStateException when the thread is interrupted while it waits for an in-flight request
+	 */
+	public void add(IndexQuery query) {
+
+		Assert.notNull(query, "query must not be null");
+
+		addOperation(query);
+	}
+
+	/**
+	 * Adds an update operation, sending a bulk request when one of the limits is reached.
+	 *
+	 * @throws RejectedExecutionException when the ingester does not block and all concurrent requests are in flight
+	 * @throws IllegalStateException when the thread is interrupted while it waits for an in-flight request
+	 */
+	public void add(UpdateQuery query) {
+
+		Assert.notNull(query, "query must not be null");
+
+		addOperation(query);
+	}
+
+	/**
+	 * Sends the buffered items, blocking while all concurrent requests are in flight.
+	 */
+	public void flush() {
+
+		lock.lock();
+		try {
+			if (!buffer.isEmpty()) {
+				permits.acquireUninterruptibly();
+				dispatch();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Sends the buffered items and waits for all in-flight requests to complete.
+	 */
+	@Override
+	public void close() {
+
+		lock.lock();
+		try {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+
+			if (!buffer.isEmpty()) {
+				permits.acquireUninterruptibly();
+				dispatch();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+
+		// all permits are available again once the in-flight requests are done
+		permits.acquireUninterruptibly(maxConcurrentRequests);
+		permits.release(maxConcurrentRequests);
+
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	public int getPendingOperations() {
+
+		lock.lock();
+		try {
+			return buffer.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public int getInFlightRequests() {
+		return maxConcurrentRequests - permits.availablePermits();
+	}
+
+	private void addOperation(Object query) {
+
+		long size = sizeEstimator.applyAsLong(query);
+
+		lock.lock();
+		try {
+			Assert.state(!closed, "BulkIngester is closed");
+
+			buffer.add(query);
+			bufferedSize += size;
+
+			if (buffer.size() >= maxOperations || (maxSize > 0 && bufferedSize >= maxSize)) {
+
+				boolean acquired;
+				try {
+					acquired = acquirePermit();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					buffer.remove(buffer.size() - 1);
+					bufferedSize -= size;
+					throw new IllegalStateException("Interrupted while waiting for an in-flight bulk request", e);
+				}
+
+				if (!acquired) {
+					buffer.remove(buffer.size() - 1);
+					bufferedSize -= size;
+					throw new RejectedExecutionException(
+							"BulkIngester has reached the maximum of " + maxConcurrentRequests + " concurrent requests");
+				}
+
+				dispatch();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean acquirePermit() throws InterruptedException {
+
+		if (!blockWhenFull) {
+			return permits.tryAcquire();
+		}
+
+		permits.acquire();
+		return true;
+	}
+
+	private void flushOnInterval() {
+
+		lock.lock();
+		try {
+			// a busy ingester is flushed by the producers, skip this tick instead of blocking the scheduler
+			if (!closed && !buffer.isEmpty() && permits.tryAcquire()) {
+				dispatch();
+			}
+		}
+		catch (RuntimeException e) {
+			log.warn("scheduled bulk flush failed", e);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// must be called holding the lock and a permit
+	private void dispatch() {
+
+		List<Object> queries = buffer;
+		buffer = new ArrayList<>();
+		bufferedSize = 0;
+
+		long executionId = executionIdSequence.incrementAndGet();
+
+		try {
+			executor.execute(() -> execute(executionId, queries));
+		}
+		catch (RejectedExecutionException e) {
+			permits.release();
+			listener.afterBulk(executionId, queries, e);
+			throw e;
+		}
+	}
+
+	private void execute(long executionId, List<Object> queries) {
+
+		try {
+			listener.beforeBulk(executionId, queries);
+			List<IndexedObjectInformation> indexedObjectInformationList = send(queries);
+			listener.afterBulk(executionId, queries, indexedObjectInformationList);
+		}
+		catch (Throwable t) {
+			if (log.isWarnEnabled()) {
+				log.warn("bulk request {} with {} operations failed", executionId, queries.size(), t);
+			}
+			listener.afterBulk(executionId, queries, t);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	// IndexQuery and UpdateQuery are sent through different operations, consecutive runs keep the order of the items
+	@SuppressWarnings("unchecked")
+	private List<IndexedObjectInformation> send(List<Object> queries) {
+
+		List<IndexedObjectInformation> indexedObjectInformationList = new ArrayList<>();
+
+		int start = 0;
+		while (start < queries.size()) {
+			boolean indexRun = queries.get(start) instanceof IndexQuery;
+			int end = start + 1;
+			while (end < queries.size() && (queries.get(end) instanceof IndexQuery) == indexRun) {
+				end++;
+			}
+
+			List<?> run = queries.subList(start, end);
+			if (indexRun) {
+				indexedObjectInformationList.addAll(operations.bulkIndex((List<IndexQuery>) run, bulkOptions, index));
+			}
+			else {
+				operations.bulkUpdate((List<UpdateQuery>) run, bulkOptions, index);
+			}
+			start = end;
+		}
+
+		return indexedObjectInformationList;
+	}
+
+	// entities and update documents are not serialized here, they are converted once when the bulk request is built
+	private long estimateSize(Object query) {
+
+		if (maxSize <= 0) {
+			return 0;
+		}
+
+		if (query instanceof IndexQuery) {
+			IndexQuery indexQuery = (IndexQuery) query;
+
+			if (indexQuery.getRawSource() != null) {
+				return indexQuery.getRawSource().remaining();
+			}
+
+			if (indexQuery.getSource() != null) {
+				return utf8Length(indexQuery.getSource());
+			}
+
+			return indexQuery.getObject() != null ? estimateValueSize(indexQuery.getObject(), 0) : 0;
+		}
+
+		if (query instanceof UpdateQuery) {
+			UpdateQuery updateQuery = (UpdateQuery) query;
+			long size = 0;
+
+			if (updateQuery.getScriptData() != null && updateQuery.getScriptData().getScript() != null) {
+				size += utf8Length(updateQuery.getScriptData().getScript());
+			}
+
+			if (updateQuery.getDocument() != null) {
+				size += estimateValueSize(updateQuery.getDocument(), 0);
+			}
+
+			if (updateQuery.getUpsert() != null) {
+				size += estimateValueSize(updateQuery.getUpsert(), 0);
+			}
+
+			return size;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Estimates the JSON size of a value from its strings and structure: property values of entities are read, but not
+	 * converted, and numbers, dates and other simple values count with a fixed size.
+	 */
+	private long estimateValueSize(@Nullable Object value, int depth) {
+
+		if (value == null) {
+			return 4;
+		}
+
+		if (value instanceof CharSequence) {
+			return utf8Length((CharSequence) value) + 2;
+		}
+
+		if (value instanceof Enum) {
+			return utf8Length(((Enum<?>) value).name()) + 2;
+		}
+
+		if (depth >= MAX_ESTIMATE_DEPTH) {
+			return SIMPLE_VALUE_SIZE;
+		}
+
+		if (value instanceof Map) {
+			long size = 2;
+
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				size += utf8Length(String.valueOf(entry.getKey())) + 4 + estimateValueSize(entry.getValue(), depth + 1);
+			}
+
+			return size;
+		}
+
+		if (value instanceof Iterable) {
+			long size = 2;
+
+			for (Object element : (Iterable<?>) value) {
+				size += 1 + estimateValueSize(element, depth + 1);
+			}
+
+			return size;
+		}
+
+		if (value instanceof Object[]) {
+			long size = 2;
+
+			for (Object element : (Object[]) value) {
+				size += 1 + estimateValueSize(element, depth + 1);
+			}
+
+			return size;
+		}
+
+		ElasticsearchPersistentEntity<?> entity = persistentEntity(value.getClass(), depth);
+
+		if (entity == null) {
+			return SIMPLE_VALUE_SIZE;
+		}
+
+		PersistentPropertyAccessor<?> accessor = entity.getPropertyAccessor(value);
+		long[] size = { 2 };
+		entity.doWithProperties((PropertyHandler<ElasticsearchPersistentProperty>) property -> size[0] += utf8Length(
+				property.getFieldName()) + 4 + estimateValueSize(accessor.getProperty(property), depth + 1));
+
+		return size[0];
+	}
+
+	// nested types were added to the mapping context with the entity, other types are simple values
+	@Nullable
+	private ElasticsearchPersistentEntity<?> persistentEntity(Class<?> type, int depth) {
+
+		if (mappingContext == null) {
+			return null;
+		}
+
+		if (depth == 0) {
+			return mappingContext.getPersistentEntity(type);
+		}
+
+		return mappingContext.hasPersistentEntityFor(type) ? mappingContext.getPersistentEntity(type) : null;
+	}
+
+	private static long utf8Length(CharSequence chars) {
+
+		long length = 0;
+
+		for (int i = 0; i < chars.length(); i++) {
+			char c = chars.charAt(i);
+
+			if (c < 0x80) {
+				length++;
+			}
+			else if (c < 0x800) {
+				length += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < chars.length()
+					&& Character.isLowSurrogate(chars.charAt(i + 1))) {
+				length += 4;
+				i++;
+			}
+			else {
+				length += 3;
+			}
+		}
+
+		return length;
+	}
+
+	private static CustomizableThreadFactory threadFactory(String prefix) {
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	public static class Builder {
+
+		private final ElasticsearchOperations operations;
+		private final IndexCoordinates index;
+		private BulkOptions bulkOptions = BulkOptions.defaultOptions();
+		private int maxOperations = DEFAULT_MAX_OPERATIONS;
+		private long maxSize = DEFAULT_MAX_SIZE;
+		@Nullable
+		private Duration flushInterval;
+		private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+		private boolean blockWhenFull = true;
+		@Nullable
+		private ToLongFunction<Object> sizeEstimator;
+		@Nullable
+		private BulkListener listener;
+		@Nullable
+		private ExecutorService executor;
+
+		private Builder(ElasticsearchOperations operations, IndexCoordinates index) {
+
+			Assert.notNull(operations, "operations must not be null");
+			Assert.notNull(index, "index must not be null");
+
+			this.operations = operations;
+			this.index = index;
+		}
+
+		public Builder withBulkOptions(BulkOptions bulkOptions) {
+
+			Assert.notNull(bulkOptions, "bulkOptions must not be null");
+
+			this.bulkOptions = bulkOptions;
+			return this;
+		}
+
+		public Builder withMaxOperations(int maxOperations) {
+
+			Assert.isTrue(maxOperations > 0, "maxOperations must be greater than 0");
+
+			this.maxOperations = maxOperations;
+			return this;
+		}
+
+		/**
+		 * @param maxSize the estimated payload size in bytes that triggers a bulk request, {@literal 0} disables the check
+		 */
+		public Builder withMaxSize(long maxSize) {
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		public Builder withFlushInterval(@Nullable Duration flushInterval) {
+
+			Assert.isTrue(flushInterval == null || !flushInterval.isNegative() && !flushInterval.isZero(),
+					"flushInterval must be positive");
+
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		public Builder withMaxConcurrentRequests(int maxConcurrentRequests) {
+
+			Assert.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0");
+
+			this.maxConcurrentRequests = maxConcurrentRequests;
+			return this;
+		}
+
+		public Builder withBlockWhenFull(boolean blockWhenFull) {
+			this.blockWhenFull = blockWhenFull;
+			return this;
+		}
+
+		/**
+		 * @param sizeEstimator returns the estimated payload size in bytes of an {@link IndexQuery} or
+		 *          {@link UpdateQuery}. The default one measures pre-serialized sources and scripts, and estimates
+		 *          entities and update documents from their strings and structure so that they are not converted twice;
+		 *          supply an estimator when numbers or custom converters dominate the size of the documents.
+		 */
+		public Builder withSizeEstimator(ToLongFunction<Object> sizeEstimator) {
+			this.sizeEstimator = sizeEstimator;
+			return this;
+		}
+
+		public Builder withListener(BulkListener listener) {
+			this.listener = listener;
+			return this;
+		}
+
+		/**
+		 * @param executor executes the bulk requests, it is not shut down when the ingester is closed
+		 */
+		public Builder withExecutor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		public BulkIngester build() {
+			return new BulkIngester(this);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.mawen.search.core.bulk;
+
+import java.util.List;
+
+import com.mawen.search.core.support.IndexedObjectInformation;
+
+/**
+ * Callback for the bulk requests issued by a {@link BulkIngester}. Methods are invoked on the thread that executes the
+ * request, implementations must therefore be thread safe.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public interface BulkListener {
+
+	/**
+	 * Called before a bulk request is sent.
+	 *
+	 * @param executionId sequence number of the bulk request
+	 * @param queries the {@link com.mawen.search.core.query.IndexQuery} and
+	 * {@link com.mawen.search.core.query.UpdateQuery} items of the request, in the order they were added
+	 */
+	default void beforeBulk(long executionId, List<?> queries) {
+	}
+
+	/**
+	 * Called after a bulk request completed successfully.
+	 *
+	 * @param executionId sequence number of the bulk request
+	 * @param queries the items of the request
+	 * @param indexedObjectInformationList the information returned for the index operations of the request
+	 */
+	default void afterBulk(long executionId, List<?> queries, List<IndexedObjectInformation> indexedObjectInformationList) {
+	}
+
+	/**
+	 * Called when a bulk request failed, either because it could not be sent or because some of its items failed.
+	 *
+	 * @param executionId sequence number of the bulk request
+	 * @param queries the items of the request
+	 * @param failure the cause, a {@link com.mawen.search.BulkFailureException} for item failures
+	 */
+	default void afterBulk(long executionId, List<?> queries, Throwable failure) {
+	}
+}
@@ -0,0 +1,452 @@
+package com.mawen.search.core.bulk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mawen.search.core.AbstractElasticsearchTemplate;
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.refresh.RefreshCoalescer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Buffers saves and deletes per index and sends them in the background. Writes are keyed by document id, so only the
+ * last write of a document within the latency window is sent. Entities without an id are buffered as well, but never
+ * replace each other.
+ * <p>
+ * The buffered writes of an index are flushed when {@code maxLatency} elapses, and by the writing thread when the
+ * index holds {@code maxBufferedDocuments}. A flush sends the saves and the deletes by id in the same bulk requests,
+ * flushes are serialized so that a later write of a document never overtakes an earlier one. Reads do not see buffered
+ * writes.
+ * <p>
+ * A failed flush is counted in {@link #getFailedFlushCount()} and its writes are buffered again, unless a newer write
+ * of the same document arrived in the meantime, so the next flush sends them again. Writes of the failed flush that
+ * reached Elasticsearch are sent twice, which indexes entities without an id twice. A write that makes the writing
+ * thread flush does not fail when the flush fails, its write stays buffered.
+ * <p>
+ * While flushes fail, only the background flush retries them, and the buffer holds at most {@code capacity} documents
+ * over all indices. Writes of further documents are rejected with an {@link IllegalStateException} and counted in
+ * {@link #getRejectedWrites()}. Reaching the capacity while flushes succeed flushes all indices.
+ * <p>
+ * Instances are thread safe and must be {@link #close() closed} to send the remaining writes, declaring the buffer as a
+ * Spring bean does that on shutdown.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Slf4j
+public class WriteBehindBuffer implements AutoCloseable {
+
+	public static final Duration DEFAULT_MAX_LATENCY = Duration.ofSeconds(1);
+	public static final int DEFAULT_MAX_BUFFERED_DOCUMENTS = 1000;
+	public static final int DEFAULT_CAPACITY_FACTOR = 10;
+
+	private static final Object DELETED = new Object();
+
+	private final ElasticsearchOperations operations;
+	private final BulkOptions bulkOptions;
+	private final int maxBufferedDocuments;
+	private final int capacity;
+	private final ScheduledExecutorService scheduler;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final Map<IndexCoordinates, Map<Object, Object>> buffers = new LinkedHashMap<>();
+	private int bufferedDocuments;
+	private volatile boolean closed;
+	private volatile boolean failing;
+
+	private final AtomicLong flushes = new AtomicLong();
+	private final AtomicLong failedFlushes = new AtomicLong();
+	private final AtomicLong rejectedWrites = new AtomicLong();
+	private final AtomicLong flushedDocuments = new AtomicLong();
+	private final AtomicLong totalFlushNanos = new AtomicLong();
+	private volatile long lastFlushNanos;
+	private volatile long maxFlushNanos;
+
+	private WriteBehindBuffer(Builder builder) {
+
+		this.operations = builder.operations;
+		this.bulkOptions = builder.bulkOptions;
+		this.maxBufferedDocuments = builder.maxBufferedDocuments;
+		this.capacity = builder.capacity > 0 ? builder.capacity
+				: (int) Math.min(Integer.MAX_VALUE, (long) DEFAULT_CAPACITY_FACTOR * builder.maxBufferedDocuments);
+
+		Assert.isTrue(capacity >= maxBufferedDocuments, "capacity must not be less than maxBufferedDocuments");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("write-behind-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+		long latency = builder.maxLatency.toMillis();
+		this.scheduler.scheduleWithFixedDelay(() -> flushQuietly(null), latency, latency, TimeUnit.MILLISECONDS);
+	}
+
+	public static Builder builder(ElasticsearchOperations operations) {
+		return new Builder(operations);
+	}
+
+	/**
+	 * Buffers the save of the entity, replacing a buffered write of the same document.
+	 *
+	 * @param id the id of the entity, {@literal null} if Elasticsearch assigns it
+	 * @throws IllegalStateException if the buffer is closed, or holds its capacity while flushes fail
+	 */
+	public void save(@Nullable String id, Object entity, IndexCoordinates index) {
+
+		Assert.notNull(entity, "entity must not be null");
+
+		put(id != null ? id : new Object(), entity, index);
+	}
+
+	/**
+	 * Buffers the delete of the document, replacing a buffered write of the same document.
+	 *
+	 * @throws IllegalStateException if the buffer is closed, or holds its capacity while flushes fail
+	 */
+	public void delete(String id, IndexCoordinates index) {
+
+		Assert.notNull(id, "id must not be null");
+
+		put(id, DELETED, index);
+	}
+
+	/**
+	 * Sends the buffered writes of all indices and waits for them.
+	 */
+	public void flush() {
+
+		List<IndexCoordinates> indices;
+		lock.lock();
+		try {
+			indices = new ArrayList<>(buffers.keySet());
+		}
+		finally {
+			lock.unlock();
+		}
+
+		indices.forEach(this::flush);
+	}
+
+	/**
+	 * Sends the buffered writes of the index and waits for them. When sending fails, the writes stay buffered.
+	 */
+	public void flush(IndexCoordinates index) {
+
+		Assert.notNull(index, "index must not be null");
+
+		flushLock.lock();
+		try {
+			Map<Object, Object> writes;
+			lock.lock();
+			try {
+				writes = buffers.remove(index);
+
+				if (writes == null) {
+					return;
+				}
+
+				bufferedDocuments -= writes.size();
+			}
+			finally {
+				lock.unlock();
+			}
+
+			try {
+				send(index, writes);
+			}
+			catch (RuntimeException e) {
+				requeue(index, writes);
+				throw e;
+			}
+		}
+		finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the background flushes and sends the remaining writes. Later writes are rejected.
+	 */
+	@Override
+	public void close() {
+
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		scheduler.shutdownNow();
+		flush();
+	}
+
+	/**
+	 * @return number of writes that are buffered over all indices
+	 */
+	public int getBufferedDocuments() {
+
+		lock.lock();
+		try {
+			return bufferedDocuments;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public int getBufferedDocuments(IndexCoordinates index) {
+
+		lock.lock();
+		try {
+			Map<Object, Object> writes = buffers.get(index);
+			return writes != null ? writes.size() : 0;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public long getFlushCount() {
+		return flushes.get();
+	}
+
+	public long getFailedFlushCount() {
+		return failedFlushes.get();
+	}
+
+	/**
+	 * @return number of writes rejected because the buffer held its capacity
+	 */
+	public long getRejectedWrites() {
+		return rejectedWrites.get();
+	}
+
+	public long getFlushedDocuments() {
+		return flushedDocuments.get();
+	}
+
+	public Duration getLastFlushLatency() {
+		return Duration.ofNanos(lastFlushNanos);
+	}
+
+	public Duration getMaxFlushLatency() {
+		return Duration.ofNanos(maxFlushNanos);
+	}
+
+	public Duration getTotalFlushLatency() {
+		return Duration.ofNanos(totalFlushNanos.get());
+	}
+
+	private void put(Object key, Object write, IndexCoordinates index) {
+
+		Assert.notNull(index, "index must not be null");
+
+		boolean indexFull;
+		boolean bufferFull;
+		lock.lock();
+		try {
+			Assert.state(!closed, "WriteBehindBuffer is closed");
+
+			Map<Object, Object> writes = buffers.get(index);
+
+			// replacing a buffered write does not grow the buffer
+			if (bufferedDocuments >= capacity && (writes == null || !writes.containsKey(key))) {
+				rejectedWrites.incrementAndGet();
+				throw new IllegalStateException(
+						String.format("WriteBehindBuffer holds its capacity of %d documents", capacity));
+			}
+
+			if (writes == null) {
+				writes = new LinkedHashMap<>();
+				buffers.put(index, writes);
+			}
+
+			if (writes.put(key, write) == null) {
+				bufferedDocuments++;
+			}
+
+			indexFull = writes.size() >= maxBufferedDocuments;
+			bufferFull = bufferedDocuments >= capacity;
+		}
+		finally {
+			lock.unlock();
+		}
+
+		// while flushes fail, the background flush retries them and the capacity bounds the buffer
+		if (failing) {
+			return;
+		}
+
+		if (bufferFull) {
+			flushQuietly(null);
+		}
+		else if (indexFull) {
+			flushQuietly(index);
+		}
+	}
+
+	// puts the writes of a failed flush back in front of the writes that arrived since, which replace them
+	private void requeue(IndexCoordinates index, Map<Object, Object> writes) {
+
+		lock.lock();
+		try {
+			Map<Object, Object> newer = buffers.remove(index);
+			Map<Object, Object> requeued = new LinkedHashMap<>(writes);
+
+			if (newer != null) {
+				bufferedDocuments -= newer.size();
+				newer.forEach((key, write) -> {
+					requeued.remove(key);
+					requeued.put(key, write);
+				});
+			}
+
+			buffers.put(index, requeued);
+			bufferedDocuments += requeued.size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// a failed flush is counted and keeps its writes, so the background and the writing threads do not fail on it
+	private void flushQuietly(@Nullable IndexCoordinates index) {
+
+		try {
+			if (index != null) {
+				flush(index);
+			}
+			else {
+				flush();
+			}
+		}
+		catch (RuntimeException e) {
+			log.warn("write-behind flush failed, the writes stay buffered", e);
+		}
+	}
+
+	// must be called holding the flush lock
+	private void send(IndexCoordinates index, Map<Object, Object> writes) {
+
+		List<Object> saves = new ArrayList<>();
+		List<String> deletes = new ArrayList<>();
+		writes.forEach((key, write) -> {
+			if (write == DELETED) {
+				deletes.add((String) key);
+			}
+			else {
+				saves.add(write);
+			}
+		});
+
+		long start = System.nanoTime();
+		try {
+			// a document is either saved or deleted, so the order of the items does not matter
+			operations.saveAndDeleteInChunks(saves, deletes, bulkOptions, index);
+
+			flushedDocuments.addAndGet(writes.size());
+			failing = false;
+			markDirty(index);
+		}
+		catch (RuntimeException e) {
+			failedFlushes.incrementAndGet();
+			failing = true;
+			throw e;
+		}
+		finally {
+			long latency = System.nanoTime() - start;
+			flushes.incrementAndGet();
+			totalFlushNanos.addAndGet(latency);
+			lastFlushNanos = latency;
+			maxFlushNanos = Math.max(maxFlushNanos, latency);
+		}
+	}
+
+	private void markDirty(IndexCoordinates index) {
+
+		if (operations instanceof AbstractElasticsearchTemplate) {
+			AbstractElasticsearchTemplate template = (AbstractElasticsearchTemplate) operations;
+			RefreshCoalescer refreshCoalescer = template.getRefreshCoalescer();
+
+			if (template.getRefreshPolicy() == null && refreshCoalescer != null) {
+				refreshCoalescer.markDirty(index);
+			}
+		}
+	}
+
+	public static class Builder {
+
+		private final ElasticsearchOperations operations;
+		private BulkOptions bulkOptions = BulkOptions.defaultOptions();
+		private Duration maxLatency = DEFAULT_MAX_LATENCY;
+		private int maxBufferedDocuments = DEFAULT_MAX_BUFFERED_DOCUMENTS;
+		private int capacity;
+
+		private Builder(ElasticsearchOperations operations) {
+
+			Assert.notNull(operations, "operations must not be null");
+
+			this.operations = operations;
+		}
+
+		public Builder withBulkOptions(BulkOptions bulkOptions) {
+
+			Assert.notNull(bulkOptions, "bulkOptions must not be null");
+
+			this.bulkOptions = bulkOptions;
+			return this;
+		}
+
+		/**
+		 * @param maxLatency the longest time a write stays in the buffer when the index is not full
+		 */
+		public Builder withMaxLatency(Duration maxLatency) {
+
+			Assert.notNull(maxLatency, "maxLatency must not be null");
+			Assert.isTrue(!maxLatency.isNegative() && !maxLatency.isZero(), "maxLatency must be positive");
+
+			this.maxLatency = maxLatency;
+			return this;
+		}
+
+		/**
+		 * @param maxBufferedDocuments number of distinct documents per index from which the writing thread flushes
+		 */
+		public Builder withMaxBufferedDocuments(int maxBufferedDocuments) {
+
+			Assert.isTrue(maxBufferedDocuments > 0, "maxBufferedDocuments must be greater than 0");
+
+			this.maxBufferedDocuments = maxBufferedDocuments;
+			return this;
+		}
+
+		/**
+		 * @param capacity number of distinct documents over all indices the buffer holds at most, defaults to
+		 * {@value WriteBehindBuffer#DEFAULT_CAPACITY_FACTOR} times {@code maxBufferedDocuments}
+		 */
+		public Builder withCapacity(int capacity) {
+
+			Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+
+			this.capacity = capacity;
+			return this;
+		}
+
+		public WriteBehindBuffer build() {
+			return new WriteBehindBuffer(this);
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Bulk ingestion on top of {@link com.mawen.search.core.ElasticsearchOperations}
+ */
+package com.mawen.search.core.bulk;
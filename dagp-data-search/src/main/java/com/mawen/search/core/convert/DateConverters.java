@@ -0,0 +1,93 @@
+package com.mawen.search.core.convert;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * 一个属性的 {@link ElasticsearchDateConverter 日期转换器}，读取时按声明顺序依次尝试，返回第一个解析成功的结果。
+ * 形式不符的转换器先通过 {@link ElasticsearchDateConverter#mayParse(String)} 跳过，
+ * 使得使用靠后格式的值不必每次都在前面的格式上抛出异常
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Slf4j
+final class DateConverters {
+
+	private final List<ElasticsearchDateConverter> converters;
+
+	DateConverters(List<ElasticsearchDateConverter> converters) {
+
+		Assert.notNull(converters, "converters must not be null");
+
+		this.converters = new ArrayList<>(converters);
+	}
+
+	/**
+	 * @return 用于写入的转换器，即第一个转换器
+	 */
+	ElasticsearchDateConverter first() {
+		return converters.get(0);
+	}
+
+	/**
+	 * 将字符串解析为 {@link TemporalAccessor}
+	 *
+	 * @return 解析后的实例，没有转换器能解析时返回 {@literal null}
+	 */
+	@Nullable
+	TemporalAccessor parse(String input, Class<? extends TemporalAccessor> type) {
+		return (TemporalAccessor) parseWithAny(input, type);
+	}
+
+	/**
+	 * 将字符串解析为 {@link Date}
+	 *
+	 * @return 解析后的实例，没有转换器能解析时返回 {@literal null}
+	 */
+	@Nullable
+	Date parse(String input) {
+		return (Date) parseWithAny(input, null);
+	}
+
+	@Nullable
+	private Object parseWithAny(String input, @Nullable Class<? extends TemporalAccessor> type) {
+
+		for (ElasticsearchDateConverter converter : converters) {
+
+			if (!converter.mayParse(input)) {
+				continue;
+			}
+
+			Object parsed = parse(converter, input, type);
+
+			if (parsed != null) {
+				return parsed;
+			}
+		}
+
+		return null;
+	}
+
+	@Nullable
+	private static Object parse(ElasticsearchDateConverter converter, String input,
+			@Nullable Class<? extends TemporalAccessor> type) {
+
+		try {
+			return type != null ? converter.parse(input, type) : converter.parse(input);
+		}
+		catch (Exception e) {
+			if (log.isTraceEnabled()) {
+				log.trace(e.getMessage(), e);
+			}
+			return null;
+		}
+	}
+}
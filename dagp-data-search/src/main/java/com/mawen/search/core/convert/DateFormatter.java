@@ -27,4 +27,15 @@ public interface DateFormatter {
 	 * @return 解析后的实例
 	 */
 	<T extends TemporalAccessor> T parse(String input, Class<T> type);
+
+	/**
+	 * 不抛出异常地检查字符串的形式，返回 {@literal false} 时 {@link #parse(String, Class)} 一定会失败
+	 *
+	 * @param input 待解析的字符串，不能为空
+	 * @return 字符串是否可能被解析
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	default boolean mayParse(String input) {
+		return true;
+	}
 }
@@ -1,7 +1,6 @@
 package com.mawen.search.core.convert;
 
 import com.mawen.search.core.mapping.PropertyValueConverter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentProperty;
 
@@ -14,15 +13,14 @@ import java.util.List;
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
-@Slf4j
 public class DatePropertyValueConverter extends AbstractPropertyValueConverter {
 
-	private final List<ElasticsearchDateConverter> dateConverters;
+	private final DateConverters dateConverters;
 
 	public DatePropertyValueConverter(PersistentProperty<?> property, List<ElasticsearchDateConverter> dateConverters) {
 
 		super(property);
-		this.dateConverters = dateConverters;
+		this.dateConverters = new DateConverters(dateConverters);
 	}
 
 	@Override
@@ -30,15 +28,10 @@ public class DatePropertyValueConverter extends AbstractPropertyValueConverter {
 
 		String s = value.toString();
 
-		for (ElasticsearchDateConverter dateConverter : dateConverters) {
-			try {
-				return dateConverter.parse(s);
-			}
-			catch (Exception e) {
-				if (log.isTraceEnabled()) {
-					log.trace(e.getMessage(), e);
-				}
-			}
+		Date parsed = dateConverters.parse(s);
+
+		if (parsed != null) {
+			return parsed;
 		}
 
 		throw new MappingException(String.format(READ_EXCEPTION_MESSAGE, s, property.getActualType().getTypeName(), property.getName()));
@@ -52,7 +45,7 @@ public class DatePropertyValueConverter extends AbstractPropertyValueConverter {
 		}
 
 		try {
-			return dateConverters.get(0).format((Date) value);
+			return dateConverters.first().format((Date) value);
 		}
 		catch (Exception e) {
 			throw new MappingException(String.format(WRITE_EXCEPTION_MESSAGE, value, property.getName()), e);
@@ -2,7 +2,6 @@ package com.mawen.search.core.convert;
 
 import com.mawen.search.core.domain.Range;
 import com.mawen.search.core.mapping.PropertyValueConverter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.util.Assert;
@@ -16,10 +15,9 @@ import java.util.List;
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
-@Slf4j
 public class DateRangePropertyValueConverter extends AbstractRangePropertyValueConverter<Date> {
 
-	private final List<ElasticsearchDateConverter> dateConverters;
+	private final DateConverters dateConverters;
 
 	public DateRangePropertyValueConverter(PersistentProperty<?> property, List<ElasticsearchDateConverter> dateConverters) {
 
@@ -27,26 +25,21 @@ public class DateRangePropertyValueConverter extends AbstractRangePropertyValueC
 
 		Assert.notEmpty(dateConverters, "dateConverters must not be empty.");
 
-		this.dateConverters = dateConverters;
+		this.dateConverters = new DateConverters(dateConverters);
 	}
 
 	@Override
 	protected String format(Date value) {
-		return dateConverters.get(0).format(value);
+		return dateConverters.first().format(value);
 	}
 
 	@Override
 	protected Date parse(String value) {
 
-		for (ElasticsearchDateConverter converters : dateConverters) {
-			try {
-				return converters.parse(value);
-			}
-			catch (Exception e) {
-				if (log.isTraceEnabled()) {
-					log.trace(e.getMessage(), e);
-				}
-			}
+		Date parsed = dateConverters.parse(value);
+
+		if (parsed != null) {
+			return parsed;
 		}
 
 		throw new MappingException(String.format(PARSE_EXCEPTION_MESSAGE, value, getGenericType().getTypeName(), property.getName()));
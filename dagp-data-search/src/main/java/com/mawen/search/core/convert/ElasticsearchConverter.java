@@ -1,5 +1,6 @@
 package com.mawen.search.core.convert;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.mawen.search.core.document.Document;
 import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
 import com.mawen.search.core.mapping.ElasticsearchPersistentProperty;
@@ -10,6 +11,8 @@ import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.io.IOException;
+
 /**
  *
  *
@@ -52,6 +55,16 @@ public interface ElasticsearchConverter extends EntityConverter<ElasticsearchPer
 		}
 		return target;
 	}
+
+	/**
+	 * Writes the object as JSON into the generator. Implementations may stream the object without creating the
+	 * {@link Document} that {@link #mapObject(Object)} returns, the written JSON must be the same.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	default void write(Object source, JsonGenerator generator) throws IOException {
+		generator.writeRawValue(mapObject(source).toJson());
+	}
 	// endregion
 
 	// region query
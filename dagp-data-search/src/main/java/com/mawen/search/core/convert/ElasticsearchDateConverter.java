@@ -2,10 +2,12 @@ package com.mawen.search.core.convert;
 
 import com.mawen.search.core.annotation.DateFormat;
 import org.springframework.data.mapping.MappingException;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.text.ParsePosition;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
@@ -23,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class ElasticsearchDateConverter {
 
 	private static final ConcurrentHashMap<String, ElasticsearchDateConverter> converters = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, TemporalQuery<?>> temporalQueries = new ConcurrentHashMap<>();
 
 	private final DateFormatter dateFormatter;
 
@@ -97,12 +100,21 @@ public final class ElasticsearchDateConverter {
 			}
 		}
 
-		DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(resolvedPattern);
-		return new PatternDateFormatter(dateTimeFormatter);
+		PatternDateFormatter patternDateFormatter = new PatternDateFormatter(DateTimeFormatter.ofPattern(resolvedPattern));
+
+		if (DateFormat.date_optional_time.name().equals(pattern) || DateFormat.date_time.name().equals(pattern)) {
+			return new IsoDateTimeFormatter(false, patternDateFormatter);
+		}
+
+		if (DateFormat.basic_date_time.name().equals(pattern)) {
+			return new IsoDateTimeFormatter(true, patternDateFormatter);
+		}
+
+		return patternDateFormatter;
 	}
 
 	/**
-	 * 将时间类型转换为通用的 {@link TemporalQuery}
+	 * 将时间类型转换为通用的 {@link TemporalQuery}，每个类型只创建一次
 	 *
 	 * @param type 待转换的类型
 	 * @param <T> {@link TemporalAccessor} 的实现
@@ -110,77 +122,86 @@ public final class ElasticsearchDateConverter {
 	 */
 	@SuppressWarnings("unchecked")
 	private static <T extends TemporalAccessor> TemporalQuery<T> getTemporalQuery(Class<T> type) {
+		return (TemporalQuery<T>) temporalQueries.computeIfAbsent(type, ElasticsearchDateConverter::createTemporalQuery);
+	}
 
-		return temporal -> {
-			if (type == java.time.chrono.HijrahDate.class) {
-				return (T) java.time.chrono.HijrahDate.from(temporal);
-			}
-			if (type == java.time.chrono.JapaneseDate.class) {
-				return (T) java.time.chrono.JapaneseDate.from(temporal);
-			}
-			if (type == java.time.ZonedDateTime.class) {
-				return (T) java.time.ZonedDateTime.from(temporal);
-			}
-			if (type == java.time.LocalDateTime.class) {
-				return (T) java.time.LocalDateTime.from(temporal);
-			}
-			if (type == java.time.chrono.ThaiBuddhistDate.class) {
-				return (T) java.time.chrono.ThaiBuddhistDate.from(temporal);
-			}
-			if (type == java.time.LocalTime.class) {
-				return (T) java.time.LocalTime.from(temporal);
-			}
-			if (type == java.time.ZoneOffset.class) {
-				return (T) java.time.ZoneOffset.from(temporal);
-			}
-			if (type == java.time.OffsetTime.class) {
-				return (T) java.time.OffsetTime.from(temporal);
-			}
-			if (type == java.time.chrono.ChronoLocalDate.class) {
-				return (T) java.time.chrono.ChronoLocalDate.from(temporal);
-			}
-			if (type == java.time.Month.class) {
-				return (T) java.time.Month.from(temporal);
-			}
-			if (type == java.time.chrono.ChronoLocalDateTime.class) {
-				return (T) java.time.chrono.ChronoLocalDateTime.from(temporal);
-			}
-			if (type == java.time.MonthDay.class) {
-				return (T) java.time.MonthDay.from(temporal);
-			}
-			if (type == java.time.Instant.class) {
-				return (T) java.time.Instant.from(temporal);
-			}
-			if (type == java.time.OffsetDateTime.class) {
-				return (T) java.time.OffsetDateTime.from(temporal);
-			}
-			if (type == java.time.chrono.ChronoZonedDateTime.class) {
-				return (T) java.time.chrono.ChronoZonedDateTime.from(temporal);
-			}
-			if (type == java.time.chrono.MinguoDate.class) {
-				return (T) java.time.chrono.MinguoDate.from(temporal);
-			}
-			if (type == java.time.Year.class) {
-				return (T) java.time.Year.from(temporal);
-			}
-			if (type == java.time.DayOfWeek.class) {
-				return (T) java.time.DayOfWeek.from(temporal);
-			}
-			if (type == java.time.LocalDate.class) {
-				return (T) java.time.LocalDate.from(temporal);
-			}
-			if (type == java.time.YearMonth.class) {
-				return (T) java.time.YearMonth.from(temporal);
-			}
+	private static TemporalQuery<?> createTemporalQuery(Class<?> type) {
 
-			// 对于上述未涉及的实现，通过反射静态的 from(TemporalAccessor) 方法来检查其实例
-			try {
-				Method method = type.getMethod("from", TemporalAccessor.class);
-				Object o = method.invoke(null, temporal);
-				return type.cast(o);
-			}
-			catch (NoSuchMethodException e) {
+		if (type == java.time.chrono.HijrahDate.class) {
+			return java.time.chrono.HijrahDate::from;
+		}
+		if (type == java.time.chrono.JapaneseDate.class) {
+			return java.time.chrono.JapaneseDate::from;
+		}
+		if (type == java.time.ZonedDateTime.class) {
+			return java.time.ZonedDateTime::from;
+		}
+		if (type == java.time.LocalDateTime.class) {
+			return java.time.LocalDateTime::from;
+		}
+		if (type == java.time.chrono.ThaiBuddhistDate.class) {
+			return java.time.chrono.ThaiBuddhistDate::from;
+		}
+		if (type == java.time.LocalTime.class) {
+			return java.time.LocalTime::from;
+		}
+		if (type == java.time.ZoneOffset.class) {
+			return java.time.ZoneOffset::from;
+		}
+		if (type == java.time.OffsetTime.class) {
+			return java.time.OffsetTime::from;
+		}
+		if (type == java.time.chrono.ChronoLocalDate.class) {
+			return java.time.chrono.ChronoLocalDate::from;
+		}
+		if (type == java.time.Month.class) {
+			return java.time.Month::from;
+		}
+		if (type == java.time.chrono.ChronoLocalDateTime.class) {
+			return java.time.chrono.ChronoLocalDateTime::from;
+		}
+		if (type == java.time.MonthDay.class) {
+			return java.time.MonthDay::from;
+		}
+		if (type == java.time.Instant.class) {
+			return java.time.Instant::from;
+		}
+		if (type == java.time.OffsetDateTime.class) {
+			return java.time.OffsetDateTime::from;
+		}
+		if (type == java.time.chrono.ChronoZonedDateTime.class) {
+			return java.time.chrono.ChronoZonedDateTime::from;
+		}
+		if (type == java.time.chrono.MinguoDate.class) {
+			return java.time.chrono.MinguoDate::from;
+		}
+		if (type == java.time.Year.class) {
+			return java.time.Year::from;
+		}
+		if (type == java.time.DayOfWeek.class) {
+			return java.time.DayOfWeek::from;
+		}
+		if (type == java.time.LocalDate.class) {
+			return java.time.LocalDate::from;
+		}
+		if (type == java.time.YearMonth.class) {
+			return java.time.YearMonth::from;
+		}
+
+		// 对于上述未涉及的实现，通过反射静态的 from(TemporalAccessor) 方法来检查其实例
+		Method method;
+		try {
+			method = type.getMethod("from", TemporalAccessor.class);
+		}
+		catch (NoSuchMethodException e) {
+			return temporal -> {
 				throw new MappingException("no 'from' factory method found in class " + type.getName());
+			};
+		}
+
+		return temporal -> {
+			try {
+				return type.cast(method.invoke(null, temporal));
 			}
 			catch (IllegalAccessException | InvocationTargetException e) {
 				throw new MappingException("could not create object of class " + type.getName(), e);
@@ -240,8 +261,24 @@ public final class ElasticsearchDateConverter {
 	public Date parse(String input) {
 		return new Date(dateFormatter.parse(input, Instant.class).toEpochMilli());
 	}
+
+	/**
+	 * 不抛出异常地检查字符串能否被解析，返回 {@literal false} 时解析一定会失败
+	 *
+	 * @param input 待解析的字符串，不能为空
+	 * @return 字符串是否可能被解析
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public boolean mayParse(String input) {
+		return dateFormatter.mayParse(input);
+	}
 	// endregion
 
+	@SuppressWarnings("unchecked")
+	private static <T extends TemporalAccessor> T fromInstant(Instant instant, Class<T> type) {
+		return type == Instant.class ? (T) instant : getTemporalQuery(type).queryFrom(instant);
+	}
+
 	/**
 	 * Unix 时间戳毫秒的字符串与 {@link TemporalAccessor} 相互转换的 {@link DateFormatter} 实现
 	 */
@@ -262,8 +299,25 @@ public final class ElasticsearchDateConverter {
 			Assert.notNull(type, "type must not be null");
 
 			Instant instant = Instant.ofEpochMilli(Long.parseLong(input));
-			TemporalQuery<T> query = getTemporalQuery(type);
-			return query.queryFrom(instant);
+			return fromInstant(instant, type);
+		}
+
+		@Override
+		public boolean mayParse(String input) {
+
+			int start = !input.isEmpty() && (input.charAt(0) == '-' || input.charAt(0) == '+') ? 1 : 0;
+
+			if (start == input.length()) {
+				return false;
+			}
+
+			for (int i = start; i < input.length(); i++) {
+				if (!Character.isDigit(input.charAt(i))) {
+					return false;
+				}
+			}
+
+			return true;
 		}
 	}
 
@@ -294,10 +348,8 @@ public final class ElasticsearchDateConverter {
 			Assert.notNull(input, "input must not be null");
 			Assert.notNull(type, "type must not be null");
 
-			Double epochMilli = Double.parseDouble(input) * 1_000;
-			Instant instant = Instant.ofEpochMilli(epochMilli.longValue());
-			TemporalQuery<T> query = getTemporalQuery(type);
-			return query.queryFrom(instant);
+			Instant instant = Instant.ofEpochMilli((long) (Double.parseDouble(input) * 1_000));
+			return fromInstant(instant, type);
 		}
 	}
 
@@ -363,5 +415,209 @@ public final class ElasticsearchDateConverter {
 				}
 			}
 		}
+
+		@Override
+		public boolean mayParse(String input) {
+
+			// 只检查各字段的形式而不解析出日期，格式不符时通过 ParsePosition 返回而不抛出异常
+			ParsePosition position = new ParsePosition(0);
+			dateTimeFormatter.parseUnresolved(input, position);
+			return position.getErrorIndex() < 0 && position.getIndex() == input.length();
+		}
+	}
+
+	/**
+	 * 固定长度的 ISO 日期时间（{@code uuuu-MM-dd'T'HH:mm:ss.SSSXXX} 及 basic 形式 {@code uuuuMMdd'T'HHmmss.SSSXXX}）的
+	 * {@link DateFormatter} 实现，直接读写字符而不经过 {@link DateTimeFormatter}。不符合固定长度的输入、无法直接构造的类型，
+	 * 以及需要宽松解析的值都交给 {@link PatternDateFormatter}，结果与其保持一致
+	 */
+	static class IsoDateTimeFormatter implements DateFormatter {
+
+		private final boolean basic;
+		private final PatternDateFormatter fallback;
+		private final int offsetStart;
+
+		IsoDateTimeFormatter(boolean basic, PatternDateFormatter fallback) {
+
+			Assert.notNull(fallback, "fallback must not be null");
+
+			this.basic = basic;
+			this.fallback = fallback;
+			this.offsetStart = basic ? 19 : 23;
+		}
+
+		@Override
+		public String format(TemporalAccessor accessor) {
+
+			Assert.notNull(accessor, "accessor must not be null");
+
+			OffsetDateTime dateTime = toOffsetDateTime(accessor);
+
+			if (dateTime == null || dateTime.getYear() < 0 || dateTime.getYear() > 9999
+					|| dateTime.getOffset().getTotalSeconds() % 60 != 0) {
+				return fallback.format(accessor);
+			}
+
+			StringBuilder sb = new StringBuilder(offsetStart + 6);
+			appendDigits(sb, dateTime.getYear(), 4);
+			appendSeparator(sb, '-');
+			appendDigits(sb, dateTime.getMonthValue(), 2);
+			appendSeparator(sb, '-');
+			appendDigits(sb, dateTime.getDayOfMonth(), 2);
+			sb.append('T');
+			appendDigits(sb, dateTime.getHour(), 2);
+			appendSeparator(sb, ':');
+			appendDigits(sb, dateTime.getMinute(), 2);
+			appendSeparator(sb, ':');
+			appendDigits(sb, dateTime.getSecond(), 2);
+			sb.append('.');
+			appendDigits(sb, dateTime.getNano() / 1_000_000, 3);
+
+			int offsetMinutes = dateTime.getOffset().getTotalSeconds() / 60;
+			if (offsetMinutes == 0) {
+				sb.append('Z');
+			}
+			else {
+				sb.append(offsetMinutes < 0 ? '-' : '+');
+				appendDigits(sb, Math.abs(offsetMinutes) / 60, 2);
+				sb.append(':');
+				appendDigits(sb, Math.abs(offsetMinutes) % 60, 2);
+			}
+
+			return sb.toString();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T extends TemporalAccessor> T parse(String input, Class<T> type) {
+
+			Assert.notNull(input, "input must not be null");
+			Assert.notNull(type, "type must not be null");
+
+			OffsetDateTime dateTime = null;
+			if (type == Instant.class || type == LocalDateTime.class || type == OffsetDateTime.class
+					|| type == ZonedDateTime.class || type == LocalDate.class) {
+				dateTime = parseFixed(input);
+			}
+
+			if (dateTime == null) {
+				return fallback.parse(input, type);
+			}
+
+			if (type == Instant.class) {
+				return (T) dateTime.toInstant();
+			}
+			if (type == LocalDateTime.class) {
+				return (T) dateTime.toLocalDateTime();
+			}
+			if (type == OffsetDateTime.class) {
+				return (T) dateTime;
+			}
+			if (type == ZonedDateTime.class) {
+				return (T) dateTime.toZonedDateTime();
+			}
+			return (T) dateTime.toLocalDate();
+		}
+
+		@Override
+		public boolean mayParse(String input) {
+			return parseFixed(input) != null || fallback.mayParse(input);
+		}
+
+		private void appendSeparator(StringBuilder sb, char separator) {
+			if (!basic) {
+				sb.append(separator);
+			}
+		}
+
+		private static void appendDigits(StringBuilder sb, int value, int width) {
+
+			for (int divisor = width == 4 ? 1000 : width == 3 ? 100 : 10; divisor > 0; divisor /= 10) {
+				sb.append((char) ('0' + value / divisor % 10));
+			}
+		}
+
+		@Nullable
+		private static OffsetDateTime toOffsetDateTime(TemporalAccessor accessor) {
+
+			if (accessor instanceof Instant) {
+				return ((Instant) accessor).atOffset(ZoneOffset.UTC);
+			}
+			if (accessor instanceof OffsetDateTime) {
+				return (OffsetDateTime) accessor;
+			}
+			if (accessor instanceof ZonedDateTime) {
+				return ((ZonedDateTime) accessor).toOffsetDateTime();
+			}
+			return null;
+		}
+
+		/**
+		 * @return 解析结果，输入不是固定长度的合法值时返回 {@literal null}
+		 */
+		@Nullable
+		private OffsetDateTime parseFixed(String input) {
+
+			int length = input.length();
+			if (length != offsetStart + 1 && length != offsetStart + 6) {
+				return null;
+			}
+
+			int step = basic ? 0 : 1;
+			int year = digits(input, 0, 4);
+			int month = digits(input, 4 + step, 2);
+			int day = digits(input, 6 + 2 * step, 2);
+			int hour = digits(input, 9 + 2 * step, 2);
+			int minute = digits(input, 11 + 3 * step, 2);
+			int second = digits(input, 13 + 4 * step, 2);
+			int millis = digits(input, 16 + 4 * step, 3);
+
+			if ((year | month | day | hour | minute | second | millis) < 0
+					|| input.charAt(8 + 2 * step) != 'T' || input.charAt(15 + 4 * step) != '.'
+					|| (!basic && (input.charAt(4) != '-' || input.charAt(7) != '-' || input.charAt(13) != ':'
+							|| input.charAt(16) != ':'))) {
+				return null;
+			}
+
+			try {
+				ZoneOffset offset;
+				char sign = input.charAt(offsetStart);
+				if (length == offsetStart + 1) {
+					if (sign != 'Z') {
+						return null;
+					}
+					offset = ZoneOffset.UTC;
+				}
+				else {
+					int offsetHours = digits(input, offsetStart + 1, 2);
+					int offsetMinutes = digits(input, offsetStart + 4, 2);
+					if ((sign != '+' && sign != '-') || input.charAt(offsetStart + 3) != ':'
+							|| (offsetHours | offsetMinutes) < 0) {
+						return null;
+					}
+					offset = sign == '+' ? ZoneOffset.ofHoursMinutes(offsetHours, offsetMinutes)
+							: ZoneOffset.ofHoursMinutes(-offsetHours, -offsetMinutes);
+				}
+
+				return OffsetDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000, offset);
+			}
+			catch (DateTimeException e) {
+				// 例如 24:00 或 2 月 30 日，交给 DateTimeFormatter 按其规则处理
+				return null;
+			}
+		}
+
+		private static int digits(String input, int start, int count) {
+
+			int value = 0;
+			for (int i = start; i < start + count; i++) {
+				char c = input.charAt(i);
+				if (c < '0' || c > '9') {
+					return -1;
+				}
+				value = value * 10 + (c - '0');
+			}
+			return value;
+		}
 	}
 }
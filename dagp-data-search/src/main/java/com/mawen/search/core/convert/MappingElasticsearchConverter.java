@@ -1,7 +1,12 @@
 package com.mawen.search.core.convert;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.annotation.SubstringSearch;
 import com.mawen.search.core.document.Document;
+import com.mawen.search.core.document.SearchDocument;
 import com.mawen.search.core.domain.*;
 import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
 import com.mawen.search.core.mapping.ElasticsearchPersistentProperty;
@@ -23,7 +28,9 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.convert.CustomConversions;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PreferredConstructor;
 import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.*;
 import org.springframework.data.util.ClassTypeInformation;
@@ -34,10 +41,14 @@ import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -55,8 +66,11 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 	private final MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext;
 	private final GenericConversionService conversionService;
 	private final SpELContext spELContext = new SpELContext(new MapAccessor());
-	private final EntityInstantiators instantiators = new EntityInstantiators();
+	private final ConversionPlans conversionPlans = new ConversionPlans(new EntityInstantiators());
+	private final CriteriaFields criteriaFields = new CriteriaFields();
 	private CustomConversions conversions;
+	private Reader reader;
+	private Writer writer;
 
 
 	public MappingElasticsearchConverter(
@@ -71,6 +85,7 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 		this.mappingContext = mappingContext;
 		this.conversionService = conversionService != null ? conversionService : new DefaultConversionService();
+		createReaderAndWriter();
 	}
 
 	@Override
@@ -94,6 +109,13 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 	public void setConversions(CustomConversions conversions) {
 		Assert.notNull(conversions, "CustomConversions must not be null");
 		this.conversions = conversions;
+		createReaderAndWriter();
+	}
+
+	// Reader and Writer keep no state of a single conversion, so they are shared by all calls
+	private void createReaderAndWriter() {
+		this.reader = new Reader(mappingContext, conversionService, conversions, conversionPlans, spELContext);
+		this.writer = new Writer(mappingContext, conversionService, conversions, conversionPlans);
 	}
 
 	@Override
@@ -107,7 +129,6 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 	@Override
 	public <R> R read(Class<R> type, Document source) {
 
-		Reader reader = new Reader(mappingContext, conversionService, conversions, spELContext, instantiators);
 		return reader.read(type, source);
 	}
 
@@ -116,10 +137,25 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 		Assert.notNull(source, "source to map must not be null");
 
-		Writer writer = new Writer(mappingContext, conversionService, conversions);
 		writer.write(source, sink);
 	}
 
+	@Override
+	public void write(Object source, JsonGenerator generator) throws IOException {
+
+		Assert.notNull(source, "source to map must not be null");
+		Assert.notNull(generator, "generator must not be null");
+
+		// values without a plain JSON representation are written by the codec of the client's mapper, without one the
+		// document is written like Document#toJson does
+		if (generator.getCodec() == null) {
+			ElasticsearchConverter.super.write(source, generator);
+			return;
+		}
+
+		writer.write(source, generator);
+	}
+
 	// endregion
 
 	// region queries
@@ -248,7 +284,48 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			return;
 		}
 
-		String[] fieldNames = field.getName().split("\\.");
+		CriteriaField criteriaField = criteriaFields.get(persistentEntity, field.getName(), this::resolveCriteriaField);
+
+		field.setName(criteriaField.name);
+
+		if (criteriaField.path != null) {
+			field.setPath(criteriaField.path);
+		}
+
+		PropertyValueConverter propertyValueConverter = criteriaField.propertyValueConverter;
+
+		if (propertyValueConverter != null) {
+			criteria.getQueryCriteriaEntries().forEach(criteriaEntry -> {
+
+				if (criteriaEntry.getKey().hasValue()) {
+					Object value = criteriaEntry.getValue();
+
+					if (value.getClass().isArray()) {
+						Object[] objects = (Object[]) value;
+
+						for (int i = 0; i < objects.length; i++) {
+							objects[i] = propertyValueConverter.write(objects[i]);
+						}
+					} else {
+						criteriaEntry.setValue(propertyValueConverter.write(value));
+					}
+				}
+			});
+		}
+
+		if (criteriaField.fieldType != null) {
+			field.setFieldType(criteriaField.fieldType);
+		}
+
+		if (criteriaField.substringField != null) {
+			field.setSubstringSearch(criteriaField.substringSearch);
+			field.setSubstringField(criteriaField.substringField);
+		}
+	}
+
+	private CriteriaField resolveCriteriaField(ElasticsearchPersistentEntity<?> persistentEntity, String propertyPath) {
+
+		String[] fieldNames = propertyPath.split("\\.");
 
 		ElasticsearchPersistentEntity<?> currentEntity = persistentEntity;
 		ElasticsearchPersistentProperty persistentProperty = null;
@@ -283,43 +360,41 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			}
 		}
 
-		field.setName(String.join(".", fieldNames));
+		String path = null;
 
 		if (propertyCount > 1 && isNested) {
 			List<String> propertyNames = Arrays.asList(fieldNames);
-			field.setPath(String.join(".", propertyNames.subList(0, propertyCount - 1)));
+			path = String.join(".", propertyNames.subList(0, propertyCount - 1));
 		}
 
+		String name = String.join(".", fieldNames);
+		PropertyValueConverter propertyValueConverter = null;
+		FieldType fieldType = null;
+		SubstringSearch substringSearch = SubstringSearch.NONE;
+		String substringField = null;
+
 		if (persistentProperty != null) {
 
 			if (persistentProperty.hasPropertyValueConverter()) {
-				PropertyValueConverter propertyValueConverter = Objects
-						.requireNonNull(persistentProperty.getPropertyValueConverter());
-				criteria.getQueryCriteriaEntries().forEach(criteriaEntry -> {
-
-					if (criteriaEntry.getKey().hasValue()) {
-						Object value = criteriaEntry.getValue();
-
-						if (value.getClass().isArray()) {
-							Object[] objects = (Object[]) value;
-
-							for (int i = 0; i < objects.length; i++) {
-								objects[i] = propertyValueConverter.write(objects[i]);
-							}
-						} else {
-							criteriaEntry.setValue(propertyValueConverter.write(value));
-						}
-					}
-				});
+				propertyValueConverter = Objects.requireNonNull(persistentProperty.getPropertyValueConverter());
 			}
 
 			com.mawen.search.core.annotation.Field fieldAnnotation = persistentProperty
 					.findAnnotation(com.mawen.search.core.annotation.Field.class);
 
 			if (fieldAnnotation != null) {
-				field.setFieldType(fieldAnnotation.type());
+				fieldType = fieldAnnotation.type();
+				substringSearch = fieldAnnotation.substringSearch();
+
+				if (substringSearch != SubstringSearch.NONE) {
+					substringField = name + '.' + (StringUtils.hasText(fieldAnnotation.substringField())
+							? fieldAnnotation.substringField()
+							: substringSearch.getSubfield());
+				}
 			}
 		}
+
+		return new CriteriaField(name, path, fieldType, propertyValueConverter, substringSearch, substringField);
 	}
 
 	// endregion
@@ -339,6 +414,15 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		public Object get(ElasticsearchPersistentProperty property) {
 
 			String fieldName = property.getFieldName();
+			String[] path = property.hasExplicitFieldName() || !fieldName.contains(".") ? null : fieldName.split("\\.");
+			return get(property, fieldName, path);
+		}
+
+		/**
+		 * @param path the parts of a dotted field name that is not explicit, {@literal null} to read the field name as is
+		 */
+		@Nullable
+		Object get(ElasticsearchPersistentProperty property, String fieldName, @Nullable String[] path) {
 
 			if (target instanceof Document) {
 				Document document = (Document) target;
@@ -358,19 +442,18 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 			}
 
-			if (property.hasExplicitFieldName() || !fieldName.contains(".")) {
+			if (path == null) {
 				return target.get(fieldName);
 			}
 
-			Iterator<String> parts = Arrays.asList(fieldName.split("\\.")).iterator();
 			Map<String, Object> source = target;
 			Object result = null;
 
-			while (parts.hasNext()) {
+			for (int i = 0; i < path.length; i++) {
 
-				result = source.get(parts.next());
+				result = source.get(path[i]);
 
-				if (parts.hasNext()) {
+				if (i < path.length - 1) {
 					source = getAsMap(result);
 				}
 			}
@@ -379,6 +462,10 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		}
 
 		public void set(ElasticsearchPersistentProperty property, @Nullable Object value) {
+			set(property, property.getFieldName(), value);
+		}
+
+		void set(ElasticsearchPersistentProperty property, String fieldName, @Nullable Object value) {
 
 			if (value != null) {
 
@@ -390,7 +477,7 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 				}
 			}
 
-			target.put(property.getFieldName(), value);
+			target.put(fieldName, value);
 		}
 
 		private Map<String, Object> getAsMap(Object result) {
@@ -405,6 +492,186 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 	}
 
 
+	/**
+	 * 按实体缓存的 {@link Criteria} 字段解析结果，同一实体上相同的属性路径只解析一次。每个实体缓存的路径数量有上限，
+	 * 超出后不再缓存，避免动态字段名无限增长。
+	 */
+	static class CriteriaFields {
+
+		private static final int MAX_FIELDS_PER_ENTITY = 1_000;
+
+		private final Map<ElasticsearchPersistentEntity<?>, Map<String, CriteriaField>> fields = new ConcurrentHashMap<>();
+
+		CriteriaField get(ElasticsearchPersistentEntity<?> entity, String name,
+				BiFunction<ElasticsearchPersistentEntity<?>, String, CriteriaField> resolver) {
+
+			Map<String, CriteriaField> entityFields = fields.computeIfAbsent(entity, it -> new ConcurrentHashMap<>());
+			CriteriaField field = entityFields.get(name);
+
+			if (field == null) {
+				field = resolver.apply(entity, name);
+
+				if (entityFields.size() < MAX_FIELDS_PER_ENTITY) {
+					entityFields.putIfAbsent(name, field);
+				}
+			}
+
+			return field;
+		}
+	}
+
+	/**
+	 * 属性路径解析后的字段：Elasticsearch 字段名、nested 路径、字段类型、属性值转换器以及子串搜索使用的子字段，不可变。
+	 */
+	static class CriteriaField {
+
+		private final String name;
+		@Nullable
+		private final String path;
+		@Nullable
+		private final FieldType fieldType;
+		@Nullable
+		private final PropertyValueConverter propertyValueConverter;
+		private final SubstringSearch substringSearch;
+		@Nullable
+		private final String substringField;
+
+		CriteriaField(String name, @Nullable String path, @Nullable FieldType fieldType,
+				@Nullable PropertyValueConverter propertyValueConverter, SubstringSearch substringSearch,
+				@Nullable String substringField) {
+			this.name = name;
+			this.path = path;
+			this.fieldType = fieldType;
+			this.propertyValueConverter = propertyValueConverter;
+			this.substringSearch = substringSearch;
+			this.substringField = substringField;
+		}
+	}
+
+	/**
+	 * 按实体缓存的 {@link ConversionPlan}。计划以 {@link ElasticsearchPersistentEntity} 实例为键，映射上下文重新创建实体时会生成新的计划。
+	 */
+	static class ConversionPlans {
+
+		private final EntityInstantiators instantiators;
+		private final Map<ElasticsearchPersistentEntity<?>, ConversionPlan> plans = new ConcurrentHashMap<>();
+
+		ConversionPlans(EntityInstantiators instantiators) {
+			this.instantiators = instantiators;
+		}
+
+		ConversionPlan get(ElasticsearchPersistentEntity<?> entity) {
+			return plans.computeIfAbsent(entity, it -> new ConversionPlan(it, instantiators));
+		}
+	}
+
+	/**
+	 * 预编译的实体转换信息，不可变：属性顺序、字段名、拆分后的多级字段名、读写标记、实例化器，以及该实体能否直接从 {@code _source}
+	 * 读取而不经过中间 Map。使用 SpEL 表达式或多级字段名的实体只能从 Map 读取。
+	 */
+	static class ConversionPlan {
+
+		private final ElasticsearchPersistentEntity<?> entity;
+		private final EntityInstantiator instantiator;
+		private final ElasticsearchPersistentProperty[] properties;
+		private final String[] fieldNames;
+		private final String[][] paths;
+		private final boolean[] readable;
+		private final boolean[] writable;
+		private final Map<String, Integer> indexByFieldName = new HashMap<>();
+		private final Map<String, Integer> indexByPropertyName = new HashMap<>();
+		private final boolean sourceReadable;
+
+		ConversionPlan(ElasticsearchPersistentEntity<?> entity, EntityInstantiators instantiators) {
+
+			this.entity = entity;
+			this.instantiator = instantiators.getInstantiatorFor(entity);
+
+			List<ElasticsearchPersistentProperty> properties = new ArrayList<>();
+			entity.doWithProperties((PropertyHandler<ElasticsearchPersistentProperty>) properties::add);
+			this.properties = properties.toArray(new ElasticsearchPersistentProperty[0]);
+			this.fieldNames = new String[this.properties.length];
+			this.paths = new String[this.properties.length][];
+			this.readable = new boolean[this.properties.length];
+			this.writable = new boolean[this.properties.length];
+
+			boolean sourceReadable = true;
+			for (int i = 0; i < this.properties.length; i++) {
+				ElasticsearchPersistentProperty property = this.properties[i];
+				String fieldName = property.getFieldName();
+
+				fieldNames[i] = fieldName;
+				readable[i] = property.isReadable();
+				writable[i] = property.isWritable();
+
+				if (!property.hasExplicitFieldName() && fieldName.contains(".")) {
+					paths[i] = fieldName.split("\\.");
+					sourceReadable = false;
+				}
+
+				if (property.getSpelExpression() != null) {
+					sourceReadable = false;
+				}
+
+				indexByFieldName.putIfAbsent(fieldName, i);
+				indexByPropertyName.put(property.getName(), i);
+			}
+
+			PreferredConstructor<?, ElasticsearchPersistentProperty> constructor = entity.getPersistenceConstructor();
+			if (constructor != null) {
+				for (Parameter<Object, ElasticsearchPersistentProperty> parameter : constructor.getParameters()) {
+					if (parameter.hasSpelExpression()) {
+						sourceReadable = false;
+					}
+				}
+			}
+
+			this.sourceReadable = sourceReadable;
+		}
+
+		ElasticsearchPersistentEntity<?> getEntity() {
+			return entity;
+		}
+
+		EntityInstantiator getInstantiator() {
+			return instantiator;
+		}
+
+		ElasticsearchPersistentProperty[] getProperties() {
+			return properties;
+		}
+
+		String getFieldName(int index) {
+			return fieldNames[index];
+		}
+
+		@Nullable
+		String[] getPath(int index) {
+			return paths[index];
+		}
+
+		boolean isReadable(int index) {
+			return readable[index];
+		}
+
+		boolean isWritable(int index) {
+			return writable[index];
+		}
+
+		boolean isSourceReadable() {
+			return sourceReadable;
+		}
+
+		int indexOfField(String fieldName) {
+			return indexByFieldName.getOrDefault(fieldName, -1);
+		}
+
+		int indexOf(ElasticsearchPersistentProperty property) {
+			return indexByPropertyName.getOrDefault(property.getName(), -1);
+		}
+	}
+
+
 	/**
 	 * 进行实际读操作的类。方法调用源头位于 {@link MappingElasticsearchConverter#read(Class, Document)}，该类用于在对象转换期间保存状态。
 	 */
@@ -412,16 +679,14 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 	private static class Reader extends Base {
 
 		private final SpELContext spELContext;
-		private final EntityInstantiators instantiators;
 
 		public Reader(
 				MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext,
-				GenericConversionService conversionService, CustomConversions conversions,
-				SpELContext spELContext, EntityInstantiators instantiators) {
+				GenericConversionService conversionService, CustomConversions conversions, ConversionPlans conversionPlans,
+				SpELContext spELContext) {
 
-			super(mappingContext, conversionService, conversions);
+			super(mappingContext, conversionService, conversions, conversionPlans);
 			this.spELContext = spELContext;
-			this.instantiators = instantiators;
 		}
 
 		@SuppressWarnings("unchecked")
@@ -437,7 +702,29 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		<R> R read(Class<R> type, Document source) {
 
 			TypeInformation<R> typeInformation = ClassTypeInformation.from((Class<R>) ClassUtils.getUserClass(type));
-			R r = read(typeInformation, source);
+			R r = null;
+
+			if (source instanceof SearchDocument && !((SearchDocument) source).hasSource()) {
+				source = readFields(typeInformation, (SearchDocument) source);
+			}
+
+			JsonParser sourceParser = source.getSourceParser();
+			ConversionPlan plan = sourceParser != null && !conversions.hasCustomReadTarget(source.getClass(), type)
+					? getSourceReaderPlan(typeInformation)
+					: null;
+
+			if (plan != null) {
+				try (JsonParser parser = sourceParser) {
+					parser.nextToken();
+					r = readSource(plan, parser, source);
+				}
+				catch (IOException e) {
+					throw new MappingException("could not read _source into object of class " + type, e);
+				}
+			}
+			else {
+				r = read(typeInformation, source);
+			}
 
 			if (r == null) {
 				throw new MappingException("could not convert into object of class " + type);
@@ -446,6 +733,62 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			return r;
 		}
 
+		/**
+		 * 将没有 {@code _source} 的命中的 fields（例如 docvalue_fields）按字段路径重建为文档，非集合属性取单个值。
+		 */
+		private Document readFields(TypeInformation<?> typeInformation, SearchDocument searchDocument) {
+
+			ElasticsearchPersistentEntity<?> entity = mappingContext.getPersistentEntity(typeInformation);
+
+			if (entity == null || searchDocument.getFields().isEmpty()) {
+				return searchDocument;
+			}
+
+			Document document = Document.create();
+			searchDocument.getFields().forEach((name, values) -> putField(document, entity, name.split("\\."), 0, values));
+
+			if (searchDocument.hasId()) {
+				document.setId(searchDocument.getId());
+			}
+			document.setIndex(searchDocument.getIndex());
+			if (searchDocument.hasVersion()) {
+				document.setVersion(searchDocument.getVersion());
+			}
+			if (searchDocument.hasSeqNo()) {
+				document.setSeqNo(searchDocument.getSeqNo());
+			}
+			if (searchDocument.hasPrimaryTerm()) {
+				document.setPrimaryTerm(searchDocument.getPrimaryTerm());
+			}
+
+			return document;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void putField(Map<String, Object> target, @Nullable ElasticsearchPersistentEntity<?> entity, String[] path,
+				int index, List<Object> values) {
+
+			String fieldName = path[index];
+			ElasticsearchPersistentProperty property = entity != null ? entity.getPersistentPropertyWithFieldName(fieldName)
+					: null;
+
+			if (index == path.length - 1) {
+				boolean singleValue = property != null && !property.isCollectionLike() && values.size() == 1;
+				target.put(fieldName, singleValue ? values.get(0) : values);
+				return;
+			}
+
+			Object child = target.get(fieldName);
+			if (!(child instanceof Map)) {
+				child = new LinkedHashMap<String, Object>();
+				target.put(fieldName, child);
+			}
+
+			ElasticsearchPersistentEntity<?> childEntity = property != null ? mappingContext.getPersistentEntity(property)
+					: null;
+			putField((Map<String, Object>) child, childEntity, path, index + 1, values);
+		}
+
 		@Nullable
 		@SuppressWarnings("unchecked")
 		private <R> R read(TypeInformation<R> typeInformation, Map<String, Object> source) {
@@ -524,64 +867,211 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		private <R> R readEntity(ElasticsearchPersistentEntity<?> entity, Map<String, Object> source) {
 
 			ElasticsearchPersistentEntity<?> targetEntity = computeClosestEntity(entity, source);
+			ConversionPlan plan = conversionPlans.get(targetEntity);
 
 			SpELExpressionEvaluator evaluator = new DefaultSpELExpressionEvaluator(source, spELContext);
 			MapValueAccessor accessor = new MapValueAccessor(source);
+			ElasticsearchPropertyValueProvider valueProvider = new ElasticsearchPropertyValueProvider(accessor, evaluator,
+					plan);
 
-			ParameterValueProvider<ElasticsearchPersistentProperty> propertyValueProvider = getParameterProvider(entity, accessor, evaluator);
-
-			EntityInstantiator instantiator = instantiators.getInstantiatorFor(targetEntity);
+			ParameterValueProvider<ElasticsearchPersistentProperty> propertyValueProvider = getParameterProvider(entity,
+					valueProvider, evaluator);
 
 			@SuppressWarnings({"unchecked"})
-			R instance = (R) instantiator.createInstance(targetEntity, propertyValueProvider);
+			R instance = (R) plan.getInstantiator().createInstance(targetEntity, propertyValueProvider);
 
 			if (!targetEntity.requiresPropertyPopulation()) {
 				return instance;
 			}
 
-			ElasticsearchPropertyValueProvider valueProvider = new ElasticsearchPropertyValueProvider(accessor, evaluator);
-			R result = readProperties(targetEntity, instance, valueProvider);
+			R result = readProperties(plan, instance, valueProvider);
 
 			if (source instanceof Document) {
-				Document document = (Document) source;
-				if (document.hasId()) {
-					ElasticsearchPersistentProperty idProperty = targetEntity.getIdProperty();
-					PersistentPropertyAccessor<R> propertyAccessor = new ConvertingPropertyAccessor<>(
-							targetEntity.getPropertyAccessor(result), conversionService);
-					// Only deal with String because ES generated Ids are strings !
-					if (idProperty != null && idProperty.isReadable() && idProperty.getType().isAssignableFrom(String.class)) {
-						propertyAccessor.setProperty(idProperty, document.getId());
-					}
+				readMetadata(targetEntity, result, (Document) source);
+			}
+
+			return result;
+		}
+
+		private <R> void readMetadata(ElasticsearchPersistentEntity<?> targetEntity, R result, Document document) {
+
+			if (document.hasId()) {
+				ElasticsearchPersistentProperty idProperty = targetEntity.getIdProperty();
+				PersistentPropertyAccessor<R> propertyAccessor = new ConvertingPropertyAccessor<>(
+						targetEntity.getPropertyAccessor(result), conversionService);
+				// Only deal with String because ES generated Ids are strings !
+				if (idProperty != null && idProperty.isReadable() && idProperty.getType().isAssignableFrom(String.class)) {
+					propertyAccessor.setProperty(idProperty, document.getId());
 				}
+			}
 
-				if (document.hasVersion()) {
-					long version = document.getVersion();
-					ElasticsearchPersistentProperty versionProperty = targetEntity.getVersionProperty();
-					// Only deal with Long because ES versions are longs !
-					if (versionProperty != null && versionProperty.getType().isAssignableFrom(Long.class)) {
-						// check that a version was actually returned in the response, -1 would indicate that
-						// a search didn't request the version ids in the response, which would be an issue
-						Assert.isTrue(version != -1, "Version in response is -1");
-						targetEntity.getPropertyAccessor(result).setProperty(versionProperty, version);
-					}
+			if (document.hasVersion()) {
+				long version = document.getVersion();
+				ElasticsearchPersistentProperty versionProperty = targetEntity.getVersionProperty();
+				// Only deal with Long because ES versions are longs !
+				if (versionProperty != null && versionProperty.getType().isAssignableFrom(Long.class)) {
+					// check that a version was actually returned in the response, -1 would indicate that
+					// a search didn't request the version ids in the response, which would be an issue
+					Assert.isTrue(version != -1, "Version in response is -1");
+					targetEntity.getPropertyAccessor(result).setProperty(versionProperty, version);
 				}
+			}
+
+			if (targetEntity.hasSeqNoPrimaryTermProperty() && document.hasSeqNo() && document.hasPrimaryTerm()) {
+				if (isAssignedSeqNo(document.getSeqNo()) && isAssignedPrimaryTerm(document.getPrimaryTerm())) {
+					SeqNoPrimaryTerm seqNoPrimaryTerm = new SeqNoPrimaryTerm(document.getSeqNo(), document.getPrimaryTerm());
+					ElasticsearchPersistentProperty property = targetEntity.getRequiredSeqNoPrimaryTermProperty();
+					targetEntity.getPropertyAccessor(result).setProperty(property, seqNoPrimaryTerm);
+				}
+			}
+		}
+
+		/**
+		 * Returns the plan to read the type straight from {@code _source}, {@literal null} if the type is read from the
+		 * decoded map.
+		 */
+		@Nullable
+		private ConversionPlan getSourceReaderPlan(TypeInformation<?> type) {
+
+			Class<?> rawType = type.getType();
 
-				if (targetEntity.hasSeqNoPrimaryTermProperty() && document.hasSeqNo() && document.hasPrimaryTerm()) {
-					if (isAssignedSeqNo(document.getSeqNo()) && isAssignedPrimaryTerm(document.getPrimaryTerm())) {
-						SeqNoPrimaryTerm seqNoPrimaryTerm = new SeqNoPrimaryTerm(document.getSeqNo(), document.getPrimaryTerm());
-						ElasticsearchPersistentProperty property = targetEntity.getRequiredSeqNoPrimaryTermProperty();
-						targetEntity.getPropertyAccessor(result).setProperty(property, seqNoPrimaryTerm);
+			if (type.isMap() || ClassTypeInformation.OBJECT.equals(type) || Document.class.isAssignableFrom(rawType)
+					|| conversions.hasCustomReadTarget(LinkedHashMap.class, rawType)) {
+				return null;
+			}
+
+			ElasticsearchPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+
+			if (entity == null) {
+				return null;
+			}
+
+			ConversionPlan plan = conversionPlans.get(entity);
+			return plan.isSourceReadable() ? plan : null;
+		}
+
+		/**
+		 * Reads the object the parser is positioned on into the entity of the plan, the same way
+		 * {@link #readEntity(ElasticsearchPersistentEntity, Map)} reads it from a map.
+		 */
+		private <R> R readSource(ConversionPlan plan, JsonParser parser, @Nullable Document document)
+				throws IOException {
+
+			ElasticsearchPersistentProperty[] properties = plan.getProperties();
+			Object[] values = new Object[properties.length];
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				int index = plan.indexOfField(parser.getCurrentName());
+				parser.nextToken();
+
+				if (index < 0) {
+					parser.skipChildren();
+					continue;
+				}
+
+				ElasticsearchPersistentProperty property = properties[index];
+				values[index] = readSourceValue(parser,
+						property.hasPropertyValueConverter() ? null : property.getTypeInformation());
+			}
+
+			for (int i = 0; i < properties.length; i++) {
+				ElasticsearchPersistentProperty property = properties[i];
+				Object value = values[i];
+
+				if (document != null) {
+					if (property.isIdProperty() && document.hasId() && value == null) {
+						value = document.getId();
+					}
+					else if (property.isVersionProperty() && document.hasVersion()) {
+						value = document.getVersion();
 					}
 				}
+
+				values[i] = value != null ? readValue(value, property, property.getTypeInformation()) : null;
+			}
+
+			ElasticsearchPersistentEntity<?> entity = plan.getEntity();
+			PropertyValueProvider<ElasticsearchPersistentProperty> valueProvider = new PropertyValueProvider<ElasticsearchPersistentProperty>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				public <T> T getPropertyValue(ElasticsearchPersistentProperty property) {
+					int index = plan.indexOf(property);
+					return index < 0 ? null : (T) values[index];
+				}
+			};
+
+			@SuppressWarnings({"unchecked"})
+			R instance = (R) plan.getInstantiator().createInstance(entity,
+					new PersistentEntityParameterValueProvider<>(entity, valueProvider, null));
+
+			if (!entity.requiresPropertyPopulation()) {
+				return instance;
+			}
+
+			R result = readProperties(plan, instance, valueProvider);
+
+			if (document != null) {
+				readMetadata(entity, result, document);
 			}
 
 			return result;
 		}
 
-		private ParameterValueProvider<ElasticsearchPersistentProperty> getParameterProvider(
-				ElasticsearchPersistentEntity<?> entity, MapValueAccessor source, SpELExpressionEvaluator evaluator) {
+		/**
+		 * Reads the value the parser is positioned on into the simple types, lists and maps the decoded map would hold,
+		 * objects of a type that can be read from {@code _source} are read into the entity right away.
+		 *
+		 * @param type the type the value is read for, {@literal null} to read objects into maps
+		 */
+		@Nullable
+		private Object readSourceValue(JsonParser parser, @Nullable TypeInformation<?> type) throws IOException {
+
+			switch (parser.currentToken()) {
+				case START_ARRAY:
+					TypeInformation<?> componentType = type != null ? getCollectionComponentType(type) : null;
+					List<Object> list = new ArrayList<>();
 
-			ElasticsearchPropertyValueProvider provider = new ElasticsearchPropertyValueProvider(source, evaluator);
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						list.add(readSourceValue(parser, componentType));
+					}
+
+					return list;
+				case START_OBJECT:
+					TypeInformation<?> actualType = type != null && type.isCollectionLike() ? type.getComponentType() : type;
+					ConversionPlan plan = actualType != null ? getSourceReaderPlan(actualType) : null;
+
+					if (plan != null) {
+						return readSource(plan, parser, null);
+					}
+
+					Map<String, Object> map = new LinkedHashMap<>();
+
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String fieldName = parser.getCurrentName();
+						parser.nextToken();
+						map.put(fieldName, readSourceValue(parser, null));
+					}
+
+					return map;
+				case VALUE_STRING:
+					return parser.getText();
+				case VALUE_NUMBER_INT:
+				case VALUE_NUMBER_FLOAT:
+					return parser.getNumberValue();
+				case VALUE_TRUE:
+					return Boolean.TRUE;
+				case VALUE_FALSE:
+					return Boolean.FALSE;
+				case VALUE_EMBEDDED_OBJECT:
+					return parser.getEmbeddedObject();
+				default:
+					return null;
+			}
+		}
+
+		private ParameterValueProvider<ElasticsearchPersistentProperty> getParameterProvider(
+				ElasticsearchPersistentEntity<?> entity, ElasticsearchPropertyValueProvider provider,
+				SpELExpressionEvaluator evaluator) {
 
 			PersistentEntityParameterValueProvider<ElasticsearchPersistentProperty> parameterProvider = new PersistentEntityParameterValueProvider<>(
 					entity, provider, null);
@@ -597,15 +1087,17 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			return primaryTerm > 0;
 		}
 
-		protected <R> R readProperties(ElasticsearchPersistentEntity<?> entity, R instance,
-				ElasticsearchPropertyValueProvider valueProvider) {
+		protected <R> R readProperties(ConversionPlan plan, R instance,
+				PropertyValueProvider<ElasticsearchPersistentProperty> valueProvider) {
 
-			PersistentPropertyAccessor<R> accessor = new ConvertingPropertyAccessor<>(entity.getPropertyAccessor(instance),
-					conversionService);
+			PersistentPropertyAccessor<R> accessor = new ConvertingPropertyAccessor<>(
+					plan.getEntity().getPropertyAccessor(instance), conversionService);
+			ElasticsearchPersistentProperty[] properties = plan.getProperties();
 
-			for (ElasticsearchPersistentProperty property : entity) {
+			for (int i = 0; i < properties.length; i++) {
+				ElasticsearchPersistentProperty property = properties[i];
 
-				if (!property.isReadable()) {
+				if (!plan.isReadable(i)) {
 					continue;
 				}
 
@@ -860,17 +1352,20 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 			final MapValueAccessor accessor;
 			final SpELExpressionEvaluator evaluator;
+			final ConversionPlan plan;
 
-			ElasticsearchPropertyValueProvider(MapValueAccessor accessor, SpELExpressionEvaluator evaluator) {
+			ElasticsearchPropertyValueProvider(MapValueAccessor accessor, SpELExpressionEvaluator evaluator,
+					ConversionPlan plan) {
 				this.accessor = accessor;
 				this.evaluator = evaluator;
+				this.plan = plan;
 			}
 
 			@Override
 			public <T> T getPropertyValue(ElasticsearchPersistentProperty property) {
 
 				String expression = property.getSpelExpression();
-				Object value = expression != null ? evaluator.evaluate(expression) : accessor.get(property);
+				Object value = expression != null ? evaluator.evaluate(expression) : getValue(property);
 
 				if (value == null) {
 					return null;
@@ -878,6 +1373,14 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 				return readValue(value, property, property.getTypeInformation());
 			}
+
+			@Nullable
+			private Object getValue(ElasticsearchPersistentProperty property) {
+
+				int index = plan.indexOf(property);
+				return index < 0 ? accessor.get(property)
+						: accessor.get(property, plan.getFieldName(index), plan.getPath(index));
+			}
 		}
 
 		/**
@@ -916,15 +1419,17 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 
 
 	/**
-	 * 进行实际写操作的类，方法调用源头位于 {@link MappingElasticsearchConverter#write(Object, Document)}，该类用于在对象转换期间保存状态。
+	 * 进行实际写操作的类，方法调用源头位于 {@link MappingElasticsearchConverter#write(Object, Document)} 和
+	 * {@link MappingElasticsearchConverter#write(Object, JsonGenerator)}，属性、Map 和集合的遍历只在该类中实现一次，
+	 * 结果通过 {@link WriteSink} 写入 {@link Document} 或 {@link JsonGenerator}。
 	 */
 	@Slf4j
 	private static class Writer extends Base {
 
 		public Writer(
 				MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext,
-				GenericConversionService conversionService, CustomConversions conversions) {
-			super(mappingContext, conversionService, conversions);
+				GenericConversionService conversionService, CustomConversions conversions, ConversionPlans conversionPlans) {
+			super(mappingContext, conversionService, conversions, conversionPlans);
 		}
 
 		private static boolean hasEmptyValue(Object value) {
@@ -953,147 +1458,144 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 				return;
 			}
 
-			writeInternal(source, sink);
+			try {
+				writeInternal(source, new DocumentSink(sink));
+			}
+			catch (IOException e) {
+				// a document sink does no I/O
+				throw new UncheckedIOException(e);
+			}
 		}
 
-		private void writeInternal(@Nullable Object source, Map<String, Object> sink) {
+		void write(Object source, JsonGenerator generator) throws IOException {
 
-			if (null == source) {
+			GeneratorSink sink = new GeneratorSink(generator);
+
+			if (source instanceof Map) {
+				sink.writeValue(source);
 				return;
 			}
 
+			writeInternal(source, sink);
+		}
+
+		private void writeInternal(Object source, WriteSink sink) throws IOException {
+
 			Class<?> entityType = source.getClass();
 			Optional<Class<?>> customTarget = conversions.getCustomWriteTarget(entityType, Map.class);
 
 			if (customTarget.isPresent()) {
 				Map<String, Object> result = conversionService.convert(source, Map.class);
-
-				if (result != null) {
-					sink.putAll(result);
-				}
+				sink.writeValue(result != null ? result : Collections.emptyMap());
 				return;
 			}
 
 			if (Map.class.isAssignableFrom(entityType)) {
-				writeMapInternal((Map<Object, Object>) source, sink, ClassTypeInformation.MAP);
+				writeMapInternal((Map<?, ?>) source, ClassTypeInformation.MAP, sink);
 				return;
 			}
 
 			if (Collection.class.isAssignableFrom(entityType)) {
-				writeCollectionInternal((Collection<?>) source, ClassTypeInformation.LIST, (Collection<?>) sink);
+				writeCollectionInternal((Collection<?>) source, ClassTypeInformation.LIST, sink);
 				return;
 			}
 
-			ElasticsearchPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityType);
-			writeInternal(source, sink, entity);
+			writeEntity(source, mappingContext.getRequiredPersistentEntity(entityType), sink);
 		}
 
-		private void writeInternal(@Nullable Object source, Map<String, Object> sink,
-				@Nullable ElasticsearchPersistentEntity<?> entity) {
-
-			if (source == null) {
-				return;
-			}
+		private void writeEntity(Object source, ElasticsearchPersistentEntity<?> entity, WriteSink sink)
+				throws IOException {
 
-			if (null == entity) {
-				throw new MappingException("No mapping metadata found for entity of type " + source.getClass().getName());
-			}
-
-			PersistentPropertyAccessor<?> accessor = entity.getPropertyAccessor(source);
-			writeProperties(entity, accessor, new MapValueAccessor(sink));
+			sink.writeStartObject();
+			writeProperties(conversionPlans.get(entity), entity.getPropertyAccessor(source), sink);
+			sink.writeEndObject();
 		}
 
-		private boolean isSimpleType(Object value) {
+		protected boolean isSimpleType(Object value) {
 			return isSimpleType(value.getClass());
 		}
 
-		private boolean isSimpleType(Class<?> type) {
+		protected boolean isSimpleType(Class<?> type) {
 			return !Map.class.isAssignableFrom(type) && conversions.isSimpleType(type);
 		}
 
+		private void writeMapInternal(Map<?, ?> source, TypeInformation<?> propertyType, WriteSink sink)
+				throws IOException {
 
-		private Map<String, Object> writeMapInternal(Map<?, ?> source, Map<String, Object> sink,
-				TypeInformation<?> propertyType) {
+			sink.writeStartObject();
 
 			for (Map.Entry<?, ?> entry : source.entrySet()) {
 
 				Object key = entry.getKey();
 				Object value = entry.getValue();
 
-				if (isSimpleType(key.getClass())) {
+				if (!isSimpleType(key.getClass())) {
+					throw new MappingException("Cannot use a complex object as a key value.");
+				}
 
-					String simpleKey = potentiallyConvertMapKey(key);
-					if (value == null || isSimpleType(value)) {
-						sink.put(simpleKey, getPotentiallyConvertedSimpleWrite(value, Object.class));
-					}
-					else if (value instanceof Collection || value.getClass().isArray()) {
-						sink.put(simpleKey,
-								writeCollectionInternal(asCollection(value), propertyType.getMapValueType(), new ArrayList<>()));
-					}
-					else {
-						Map<String, Object> document = Document.create();
+				sink.writeFieldName(null, potentiallyConvertMapKey(key));
 
-						writeInternal(value, document);
-						sink.put(simpleKey, document);
-					}
+				if (value == null || isSimpleType(value)) {
+					sink.writeValue(getPotentiallyConvertedSimpleWrite(value, Object.class));
+				}
+				else if (value instanceof Collection || value.getClass().isArray()) {
+					writeCollectionInternal(asCollection(value), propertyType.getMapValueType(), sink);
 				}
 				else {
-					throw new MappingException("Cannot use a complex object as a key value.");
+					writeInternal(value, sink);
 				}
 			}
 
-			return sink;
+			sink.writeEndObject();
 		}
 
+		private void writeCollectionInternal(Collection<?> source, @Nullable TypeInformation<?> type, WriteSink sink)
+				throws IOException {
 
-		@SuppressWarnings("unchecked")
-		private List<Object> writeCollectionInternal(Collection<?> source, @Nullable TypeInformation<?> type,
-				Collection<?> sink) {
-
-			TypeInformation<?> componentType = null;
+			TypeInformation<?> componentType = type != null ? type.getComponentType() : null;
 
-			List<Object> collection = sink instanceof List ? (List<Object>) sink : new ArrayList<>(sink);
-
-			if (type != null) {
-				componentType = type.getComponentType();
-			}
+			sink.writeStartArray();
 
 			for (Object element : source) {
 
 				Class<?> elementType = element == null ? null : element.getClass();
 
 				if (elementType == null || isSimpleType(elementType)) {
-					collection.add(getPotentiallyConvertedSimpleWrite(element,
+					sink.writeValue(getPotentiallyConvertedSimpleWrite(element,
 							componentType != null ? componentType.getType() : Object.class));
 				}
 				else if (element instanceof Collection || elementType.isArray()) {
-					collection.add(writeCollectionInternal(asCollection(element), componentType, new ArrayList<>()));
+					writeCollectionInternal(asCollection(element), componentType, sink);
 				}
 				else {
-					Map<String, Object> document = Document.create();
-					writeInternal(element, document);
-					collection.add(document);
+					writeInternal(element, sink);
 				}
 			}
 
-			return collection;
+			sink.writeEndArray();
 		}
 
-		private void writeProperties(ElasticsearchPersistentEntity<?> entity, PersistentPropertyAccessor<?> accessor,
-				MapValueAccessor sink) {
+		private void writeProperties(ConversionPlan plan, PersistentPropertyAccessor<?> accessor, WriteSink sink)
+				throws IOException {
+
+			ElasticsearchPersistentEntity<?> entity = plan.getEntity();
+			ElasticsearchPersistentProperty[] properties = plan.getProperties();
 
-			for (ElasticsearchPersistentProperty property : entity) {
+			for (int i = 0; i < properties.length; i++) {
+				ElasticsearchPersistentProperty property = properties[i];
 
-				if (!property.isWritable()) {
+				if (!plan.isWritable(i)) {
 					continue;
 				}
 
+				String fieldName = plan.getFieldName(i);
 				Object value = accessor.getProperty(property);
 
 				if (value == null) {
 
 					if (property.storeNullValue()) {
-						sink.set(property, null);
+						sink.writeFieldName(property, fieldName);
+						sink.writeValue(null);
 					}
 					continue;
 				}
@@ -1103,8 +1605,8 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 				}
 
 				if (property.hasPropertyValueConverter()) {
-					value = propertyConverterWrite(property, value);
-					sink.set(property, value);
+					sink.writeFieldName(property, fieldName);
+					sink.writeValue(propertyConverterWrite(property, value));
 				}
 				else if (TemporalAccessor.class.isAssignableFrom(property.getActualType())
 						&& !conversions.hasCustomWriteTarget(value.getClass())) {
@@ -1122,25 +1624,27 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 					}
 				}
 				else if (!isSimpleType(value)) {
-					writeProperty(property, value, sink);
+					writeProperty(property, fieldName, value, sink);
 				}
 				else {
 					Object writeSimpleValue = getPotentiallyConvertedSimpleWrite(value, Object.class);
 					if (writeSimpleValue != null) {
-						sink.set(property, writeSimpleValue);
+						sink.writeFieldName(property, fieldName);
+						sink.writeValue(writeSimpleValue);
 					}
 				}
 			}
 		}
 
-		@SuppressWarnings("unchecked")
-		protected void writeProperty(ElasticsearchPersistentProperty property, Object value, MapValueAccessor sink) {
+		protected void writeProperty(ElasticsearchPersistentProperty property, String fieldName, Object value,
+				WriteSink sink) throws IOException {
+
+			sink.writeFieldName(property, fieldName);
 
 			Optional<Class<?>> customWriteTarget = conversions.getCustomWriteTarget(value.getClass());
 
 			if (customWriteTarget.isPresent()) {
-				Class<?> writeTarget = customWriteTarget.get();
-				sink.set(property, conversionService.convert(value, writeTarget));
+				sink.writeValue(conversionService.convert(value, customWriteTarget.get()));
 				return;
 			}
 
@@ -1148,23 +1652,12 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			TypeInformation<?> type = property.getTypeInformation();
 
 			if (valueType.isCollectionLike()) {
-				List<Object> collectionInternal = createCollection(asCollection(value), property);
-				sink.set(property, collectionInternal);
+				writeCollectionInternal(asCollection(value), type, sink);
 				return;
 			}
 
 			if (valueType.isMap()) {
-				Map<String, Object> mapDbObj = createMap((Map<?, ?>) value, property);
-				sink.set(property, mapDbObj);
-				return;
-			}
-
-			// Lookup potential custom target type
-			Optional<Class<?>> basicTargetType = conversions.getCustomWriteTarget(value.getClass());
-
-			if (basicTargetType.isPresent()) {
-
-				sink.set(property, conversionService.convert(value, basicTargetType.get()));
+				writeMapInternal((Map<?, ?>) value, type, sink);
 				return;
 			}
 
@@ -1172,14 +1665,10 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 					? mappingContext.getRequiredPersistentEntity(value.getClass())
 					: mappingContext.getRequiredPersistentEntity(type);
 
-			Object existingValue = sink.get(property);
-			Map<String, Object> document = existingValue instanceof Map ? (Map<String, Object>) existingValue
-					: Document.create();
-			writeInternal(value, document, entity);
-			sink.set(property, document);
+			writeEntity(value, entity, sink);
 		}
 
-		private String potentiallyConvertMapKey(Object key) {
+		protected String potentiallyConvertMapKey(Object key) {
 
 			if (key instanceof String) {
 				return (String) key;
@@ -1197,7 +1686,7 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		}
 
 		@Nullable
-		private Object getPotentiallyConvertedSimpleWrite(@Nullable Object value, @Nullable Class<?> typeHint) {
+		protected Object getPotentiallyConvertedSimpleWrite(@Nullable Object value, @Nullable Class<?> typeHint) {
 
 			if (value == null) {
 				return null;
@@ -1231,7 +1720,7 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			return Enum.class.isAssignableFrom(value.getClass()) ? ((Enum<?>) value).name() : value;
 		}
 
-		private Object propertyConverterWrite(ElasticsearchPersistentProperty property, Object value) {
+		protected Object propertyConverterWrite(ElasticsearchPersistentProperty property, Object value) {
 			PropertyValueConverter propertyValueConverter = Objects.requireNonNull(property.getPropertyValueConverter());
 
 			if (value instanceof List) {
@@ -1245,17 +1734,219 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 			}
 			return value;
 		}
+	}
+
+	/**
+	 * {@link Writer} 写出结果的目标，方法按照 JSON 的结构依次调用，写入的值都已经完成转换。
+	 */
+	private interface WriteSink {
+
+		void writeStartObject() throws IOException;
+
+		void writeEndObject() throws IOException;
 
-		protected List<Object> createCollection(Collection<?> collection, ElasticsearchPersistentProperty property) {
-			return writeCollectionInternal(collection, property.getTypeInformation(), new ArrayList<>(collection.size()));
+		void writeStartArray() throws IOException;
+
+		void writeEndArray() throws IOException;
+
+		/**
+		 * @param property the property of the field, {@literal null} for the keys of a map
+		 */
+		void writeFieldName(@Nullable ElasticsearchPersistentProperty property, String fieldName) throws IOException;
+
+		void writeValue(@Nullable Object value) throws IOException;
+	}
+
+	/**
+	 * 将结果写入 {@link Document} 的 {@link WriteSink}，嵌套的对象写为 {@link Document}，集合写为 {@link List}，
+	 * 根对象的 id 和 version 属性同时写入 {@link Document} 的元数据。
+	 */
+	private static class DocumentSink implements WriteSink {
+
+		private final Document root;
+		private final Deque<Object> containers = new ArrayDeque<>();
+
+		@Nullable
+		private ElasticsearchPersistentProperty property;
+		@Nullable
+		private String fieldName;
+
+		DocumentSink(Document root) {
+			this.root = root;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void writeStartObject() {
+
+			Map<String, Object> object;
+
+			if (containers.isEmpty()) {
+				object = root;
+			}
+			else {
+				// an object written into a field that already holds one is merged into it
+				Object existing = containers.peek() instanceof Map && fieldName != null
+						? ((Map<String, Object>) containers.peek()).get(fieldName)
+						: null;
+				object = existing instanceof Map ? (Map<String, Object>) existing : Document.create();
+				add(object);
+			}
+
+			containers.push(object);
+		}
+
+		@Override
+		public void writeEndObject() {
+			containers.pop();
+		}
+
+		@Override
+		public void writeStartArray() {
+
+			if (containers.isEmpty()) {
+				throw new MappingException("Cannot write a collection into a document.");
+			}
+
+			List<Object> array = new ArrayList<>();
+			add(array);
+			containers.push(array);
+		}
+
+		@Override
+		public void writeEndArray() {
+			containers.pop();
+		}
+
+		@Override
+		public void writeFieldName(@Nullable ElasticsearchPersistentProperty property, String fieldName) {
+			this.property = property;
+			this.fieldName = fieldName;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void writeValue(@Nullable Object value) {
+
+			if (containers.isEmpty()) {
+
+				if (value instanceof Map) {
+					root.putAll((Map<String, Object>) value);
+				}
+				return;
+			}
+
+			add(value);
+		}
+
+		@SuppressWarnings("unchecked")
+		private void add(@Nullable Object value) {
+
+			Object container = containers.peek();
+
+			if (container instanceof List) {
+				((List<Object>) container).add(value);
+				return;
+			}
+
+			if (container == root && property != null && value != null) {
+
+				if (property.isIdProperty()) {
+					root.setId(value.toString());
+				}
+				else if (property.isVersionProperty()) {
+					root.setVersion((Long) value);
+				}
+			}
+
+			((Map<String, Object>) container).put(fieldName, value);
+			property = null;
+			fieldName = null;
 		}
+	}
+
+	/**
+	 * 将结果直接写入 {@link JsonGenerator} 的 {@link WriteSink}，不创建中间的 {@link Document}，生成的 JSON 与
+	 * {@link DocumentSink} 写出的 {@link Document} 一致。没有简单 JSON 表示的值交给生成器的 {@link com.fasterxml.jackson.core.ObjectCodec}。
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private static class GeneratorSink implements WriteSink {
 
-		protected Map<String, Object> createMap(Map<?, ?> map, ElasticsearchPersistentProperty property) {
+		private final JsonGenerator generator;
 
-			Assert.notNull(map, "Given map must not be null!");
-			Assert.notNull(property, "PersistentProperty must not be null!");
+		GeneratorSink(JsonGenerator generator) {
+			this.generator = generator;
+		}
+
+		@Override
+		public void writeStartObject() throws IOException {
+			generator.writeStartObject();
+		}
+
+		@Override
+		public void writeEndObject() throws IOException {
+			generator.writeEndObject();
+		}
 
-			return writeMapInternal(map, new LinkedHashMap<>(map.size()), property.getTypeInformation());
+		@Override
+		public void writeStartArray() throws IOException {
+			generator.writeStartArray();
+		}
+
+		@Override
+		public void writeEndArray() throws IOException {
+			generator.writeEndArray();
+		}
+
+		@Override
+		public void writeFieldName(@Nullable ElasticsearchPersistentProperty property, String fieldName)
+				throws IOException {
+			generator.writeFieldName(fieldName);
+		}
+
+		@Override
+		public void writeValue(@Nullable Object value) throws IOException {
+
+			if (value == null) {
+				generator.writeNull();
+			}
+			else if (value instanceof String) {
+				generator.writeString((String) value);
+			}
+			else if (value instanceof Boolean) {
+				generator.writeBoolean((Boolean) value);
+			}
+			else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+				generator.writeNumber(((Number) value).longValue());
+			}
+			else if (value instanceof Double) {
+				generator.writeNumber((Double) value);
+			}
+			else if (value instanceof Float) {
+				generator.writeNumber((Float) value);
+			}
+			else if (value instanceof byte[]) {
+				generator.writeBinary((byte[]) value);
+			}
+			else if (value instanceof Map) {
+				generator.writeStartObject();
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+					generator.writeFieldName(String.valueOf(entry.getKey()));
+					writeValue(entry.getValue());
+				}
+				generator.writeEndObject();
+			}
+			else if (value instanceof Collection) {
+				generator.writeStartArray();
+				for (Object element : (Collection<?>) value) {
+					writeValue(element);
+				}
+				generator.writeEndArray();
+			}
+			else {
+				generator.writeObject(value);
+			}
 		}
 	}
 
@@ -1266,12 +1957,14 @@ public class MappingElasticsearchConverter implements ElasticsearchConverter, Ap
 		protected final MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext;
 		protected final GenericConversionService conversionService;
 		protected final CustomConversions conversions;
+		protected final ConversionPlans conversionPlans;
 		protected final ConcurrentHashMap<String, Integer> propertyWarnings = new ConcurrentHashMap<>();
 
-		private Base(MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext, GenericConversionService conversionService, CustomConversions conversions) {
+		private Base(MappingContext<? extends ElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> mappingContext, GenericConversionService conversionService, CustomConversions conversions, ConversionPlans conversionPlans) {
 			this.mappingContext = mappingContext;
 			this.conversionService = conversionService;
 			this.conversions = conversions;
+			this.conversionPlans = conversionPlans;
 		}
 	}
 }
@@ -1,7 +1,6 @@
 package com.mawen.search.core.convert;
 
 import com.mawen.search.core.mapping.PropertyValueConverter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentProperty;
 
@@ -14,16 +13,15 @@ import java.util.List;
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
-@Slf4j
 public class TemporalPropertyValueConverter extends AbstractPropertyValueConverter {
 
-	private final List<ElasticsearchDateConverter> dateConverters;
+	private final DateConverters dateConverters;
 
 	public TemporalPropertyValueConverter(PersistentProperty<?> property,
 			List<ElasticsearchDateConverter> dateConverters) {
 
 		super(property);
-		this.dateConverters = dateConverters;
+		this.dateConverters = new DateConverters(dateConverters);
 	}
 
 	@Override
@@ -32,15 +30,10 @@ public class TemporalPropertyValueConverter extends AbstractPropertyValueConvert
 		String s = value.toString();
 		Class<?> actualType = property.getActualType();
 
-		for (ElasticsearchDateConverter dateConverter : dateConverters) {
-			try {
-				return dateConverter.parse(s, (Class<? extends TemporalAccessor>) actualType);
-			}
-			catch (Exception e) {
-				if (log.isTraceEnabled()) {
-					log.trace(e.getMessage(), e);
-				}
-			}
+		TemporalAccessor parsed = dateConverters.parse(s, (Class<? extends TemporalAccessor>) actualType);
+
+		if (parsed != null) {
+			return parsed;
 		}
 
 		throw new MappingException(
@@ -55,7 +48,7 @@ public class TemporalPropertyValueConverter extends AbstractPropertyValueConvert
 		}
 
 		try {
-			return dateConverters.get(0).format((TemporalAccessor) value);
+			return dateConverters.first().format((TemporalAccessor) value);
 		}
 		catch (Exception e) {
 			throw new MappingException(String.format(WRITE_EXCEPTION_MESSAGE, value, property.getName()), e);
@@ -2,7 +2,6 @@ package com.mawen.search.core.convert;
 
 import com.mawen.search.core.domain.Range;
 import com.mawen.search.core.mapping.PropertyValueConverter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentProperty;
 import org.springframework.util.Assert;
@@ -16,10 +15,9 @@ import java.util.List;
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
-@Slf4j
 public class TemporalRangePropertyValueConverter extends AbstractRangePropertyValueConverter<TemporalAccessor> {
 
-	private final List<ElasticsearchDateConverter> dateConverters;
+	private final DateConverters dateConverters;
 
 	public TemporalRangePropertyValueConverter(PersistentProperty<?> property, List<ElasticsearchDateConverter> dateConverters) {
 
@@ -27,27 +25,22 @@ public class TemporalRangePropertyValueConverter extends AbstractRangePropertyVa
 
 		Assert.notEmpty(dateConverters, "dateConverters must not be empty.");
 
-		this.dateConverters = dateConverters;
+		this.dateConverters = new DateConverters(dateConverters);
 	}
 
 	@Override
 	protected String format(TemporalAccessor temporal) {
-		return dateConverters.get(0).format(temporal);
+		return dateConverters.first().format(temporal);
 	}
 
 	@Override
 	protected TemporalAccessor parse(String value) {
 
 		Class<?> type = getGenericType();
-		for (ElasticsearchDateConverter converters : dateConverters) {
-			try {
-				return converters.parse(value, (Class<? extends TemporalAccessor>) type);
-			}
-			catch (Exception e) {
-				if (log.isTraceEnabled()) {
-					log.trace(e.getMessage(), e);
-				}
-			}
+		TemporalAccessor parsed = dateConverters.parse(value, (Class<? extends TemporalAccessor>) type);
+
+		if (parsed != null) {
+			return parsed;
 		}
 
 		throw new MappingException(String.format(PARSE_EXCEPTION_MESSAGE, value, type.getTypeName(), property.getName()));
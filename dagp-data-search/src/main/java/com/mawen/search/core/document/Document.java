@@ -1,11 +1,12 @@
 package com.mawen.search.core.document;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mawen.search.support.StringObjectMap;
 import org.springframework.data.mapping.MappingException;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -23,11 +24,7 @@ public interface Document extends StringObjectMap<Document> {
 
 		Assert.notNull(map, "Map must not be null");
 
-		if (map instanceof LinkedHashMap) {
-			return new MapDocument(map);
-		}
-
-		return new MapDocument(new LinkedHashMap<>(map));
+		return new MapDocument(map);
 	}
 
 	static Document parse(String json) {
@@ -108,6 +105,16 @@ public interface Document extends StringObjectMap<Document> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * @return a new parser over the {@code _source} the document was read from, {@literal null} if the document has no
+	 * such source or its map has already been decoded
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	default JsonParser getSourceParser() {
+		return null;
+	}
+
 	default <R> R transform(Function<? super Document, ? extends R> transformer) {
 
 		Assert.notNull(transformer, "transformer must not be null");
@@ -1,5 +1,6 @@
 package com.mawen.search.core.document;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mawen.search.support.DefaultStringObjectMap;
@@ -8,7 +9,6 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,7 +34,7 @@ public class MapDocument implements Document {
 	private Long primaryTerm;
 
 	MapDocument() {
-		this(new LinkedHashMap<>());
+		this.delegate = new DefaultStringObjectMap<>();
 	}
 
 	MapDocument(Map<String, ?> delegate) {
@@ -123,6 +123,12 @@ public class MapDocument implements Document {
 		this.primaryTerm = primaryTerm;
 	}
 
+	@Nullable
+	@Override
+	public JsonParser getSourceParser() {
+		return delegate.getSourceParser();
+	}
+
 	@Override
 	public String toJson() {
 		try {
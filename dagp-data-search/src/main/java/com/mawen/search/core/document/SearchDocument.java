@@ -51,4 +51,12 @@ public interface SearchDocument extends Document {
 
 	@Nullable
 	List<String> getMatchedQueries();
+
+	/**
+	 * @return {@literal false} when the hit had no {@code _source} and the document holds the fields of the hit
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	default boolean hasSource() {
+		return true;
+	}
 }
@@ -1,5 +1,7 @@
 package com.mawen.search.core.document;
 
+import com.fasterxml.jackson.core.JsonParser;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.lang.Nullable;
 
@@ -24,10 +26,22 @@ public class SearchDocumentAdapter implements SearchDocument {
 	private final List<String> matchedQueries;
 	@Nullable
 	private final String routing;
+	@Getter(AccessLevel.NONE)
+	private final boolean hasSource;
 
 	public SearchDocumentAdapter(Document delegate, float score, Object[] sortValues, Map<String, List<Object>> fields,
 			Map<String, List<String>> highlightFields, Map<String, SearchDocumentResponse> innerHits,
 			@Nullable NestedMetaData nestedMetaData, @Nullable List<String> matchedQueries, @Nullable String routing) {
+		this(delegate, score, sortValues, fields, highlightFields, innerHits, nestedMetaData, matchedQueries, routing, true);
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public SearchDocumentAdapter(Document delegate, float score, Object[] sortValues, Map<String, List<Object>> fields,
+			Map<String, List<String>> highlightFields, Map<String, SearchDocumentResponse> innerHits,
+			@Nullable NestedMetaData nestedMetaData, @Nullable List<String> matchedQueries, @Nullable String routing,
+			boolean hasSource) {
 
 		this.delegate = delegate;
 		this.score = score;
@@ -38,6 +52,12 @@ public class SearchDocumentAdapter implements SearchDocument {
 		this.nestedMetaData = nestedMetaData;
 		this.matchedQueries = matchedQueries;
 		this.routing = routing;
+		this.hasSource = hasSource;
+	}
+
+	@Override
+	public boolean hasSource() {
+		return hasSource;
 	}
 
 	@Override
@@ -72,6 +92,12 @@ public class SearchDocumentAdapter implements SearchDocument {
 		return delegate.getId();
 	}
 
+	@Nullable
+	@Override
+	public JsonParser getSourceParser() {
+		return delegate.getSourceParser();
+	}
+
 	@Override
 	public boolean hasVersion() {
 		return delegate.hasVersion();
@@ -7,8 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 /**
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
@@ -18,6 +20,10 @@ import java.time.Duration;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class BulkOptions {
 
+	private static final int DEFAULT_MAX_RETRIES = 3;
+	private static final Duration DEFAULT_INITIAL_RETRY_BACKOFF = Duration.ofMillis(100);
+	private static final Duration DEFAULT_MAX_RETRY_BACKOFF = Duration.ofSeconds(5);
+	private static final int DEFAULT_CHUNK_SIZE = 1000;
 	private static final BulkOptions defaultOptions = builder().build();
 
 	@Nullable
@@ -30,6 +36,51 @@ public class BulkOptions {
 	private final String pipeline;
 	@Nullable
 	private final String routingId;
+	/**
+	 * how often retriable items are sent again, only used by bulk operations that return a per-item result
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final int maxRetries;
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final Duration initialRetryBackoff;
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final Duration maxRetryBackoff;
+	/**
+	 * maximum number of entities sent in one bulk request when saving an {@link Iterable}
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final int chunkSize;
+	/**
+	 * maximum size in UTF-8 bytes of the documents of one bulk request when saving an {@link Iterable}, 0 disables the limit
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final long chunkBytes;
+	/**
+	 * minimum number of queries from which a bulk request is converted in parallel, 0 disables parallel conversion
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final int parallelConversionThreshold;
+	/**
+	 * number of parts a bulk request is split into for parallel conversion
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private final int conversionParallelism;
+	/**
+	 * executes the parallel conversion, {@literal null} for the common fork-join pool
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	private final Executor conversionExecutor;
 
 	public static BulkOptionsBuilder builder() {
 		return new BulkOptionsBuilder();
@@ -53,6 +104,15 @@ public class BulkOptions {
 		private String pipeline;
 		@Nullable
 		private String routingId;
+		private int maxRetries = DEFAULT_MAX_RETRIES;
+		private Duration initialRetryBackoff = DEFAULT_INITIAL_RETRY_BACKOFF;
+		private Duration maxRetryBackoff = DEFAULT_MAX_RETRY_BACKOFF;
+		private int chunkSize = DEFAULT_CHUNK_SIZE;
+		private long chunkBytes;
+		private int parallelConversionThreshold;
+		private int conversionParallelism = Runtime.getRuntime().availableProcessors();
+		@Nullable
+		private Executor conversionExecutor;
 
 		public BulkOptionsBuilder withTimeout(Duration timeout) {
 			this.timeout = timeout;
@@ -79,8 +139,79 @@ public class BulkOptions {
 			return this;
 		}
 
+		public BulkOptionsBuilder withMaxRetries(int maxRetries) {
+
+			Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+
+			this.maxRetries = maxRetries;
+			return this;
+		}
+
+		/**
+		 * The delay before a retry doubles with every attempt, starting at {@code initialRetryBackoff} and capped at
+		 * {@code maxRetryBackoff}, a random jitter of up to half the delay is subtracted.
+		 */
+		public BulkOptionsBuilder withRetryBackoff(Duration initialRetryBackoff, Duration maxRetryBackoff) {
+
+			Assert.notNull(initialRetryBackoff, "initialRetryBackoff must not be null");
+			Assert.notNull(maxRetryBackoff, "maxRetryBackoff must not be null");
+			Assert.isTrue(!initialRetryBackoff.isNegative(), "initialRetryBackoff must not be negative");
+			Assert.isTrue(!maxRetryBackoff.isNegative(), "maxRetryBackoff must not be negative");
+			Assert.isTrue(initialRetryBackoff.compareTo(maxRetryBackoff) <= 0,
+					"initialRetryBackoff must not be greater than maxRetryBackoff");
+
+			this.initialRetryBackoff = initialRetryBackoff;
+			this.maxRetryBackoff = maxRetryBackoff;
+			return this;
+		}
+
+		public BulkOptionsBuilder withChunkSize(int chunkSize) {
+
+			Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		/**
+		 * Limits the size in UTF-8 bytes of the documents in a bulk request. The entities are then serialized up front
+		 * and the request sends the serialized documents.
+		 */
+		public BulkOptionsBuilder withChunkBytes(long chunkBytes) {
+
+			Assert.isTrue(chunkBytes >= 0, "chunkBytes must not be negative");
+
+			this.chunkBytes = chunkBytes;
+			return this;
+		}
+
+		/**
+		 * Converts bulk requests with at least {@code threshold} queries on up to {@code parallelism} threads of the
+		 * {@link #withConversionExecutor(Executor) conversion executor}. The order of the operations is kept.
+		 */
+		public BulkOptionsBuilder withParallelConversion(int threshold, int parallelism) {
+
+			Assert.isTrue(threshold >= 0, "threshold must not be negative");
+			Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+
+			this.parallelConversionThreshold = threshold;
+			this.conversionParallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the executor of the parallel conversion. Defaults to the common fork-join pool, which is shared with the
+		 * rest of the application; use a dedicated executor for large requests or blocking converters.
+		 */
+		public BulkOptionsBuilder withConversionExecutor(@Nullable Executor conversionExecutor) {
+			this.conversionExecutor = conversionExecutor;
+			return this;
+		}
+
 		public BulkOptions build() {
-			return new BulkOptions(timeout, refreshPolicy, waitForActiveShards, pipeline, routingId);
+			return new BulkOptions(timeout, refreshPolicy, waitForActiveShards, pipeline, routingId, maxRetries,
+					initialRetryBackoff, maxRetryBackoff, chunkSize, chunkBytes, parallelConversionThreshold,
+					conversionParallelism, conversionExecutor);
 		}
 	}
 }
@@ -0,0 +1,87 @@
+package com.mawen.search.core.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Options for update-by-query and delete-by-query requests that run as a task in the cluster.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ByQueryTaskOptions {
+
+	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(1);
+	private static final ByQueryTaskOptions defaultOptions = builder().build();
+
+	/**
+	 * number of slices the task is split into, {@literal null} lets Elasticsearch choose one slice per shard
+	 */
+	@Nullable
+	private final Integer slices;
+	/**
+	 * throttle of the task in sub-requests per second, {@literal null} disables throttling
+	 */
+	@Nullable
+	private final Float requestsPerSecond;
+	/**
+	 * delay between two polls of the tasks API when the progress is streamed
+	 */
+	private final Duration pollInterval;
+
+	public static ByQueryTaskOptionsBuilder builder() {
+		return new ByQueryTaskOptionsBuilder();
+	}
+
+	public static ByQueryTaskOptions defaultOptions() {
+		return defaultOptions;
+	}
+
+	@Getter
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class ByQueryTaskOptionsBuilder {
+
+		@Nullable
+		private Integer slices;
+		@Nullable
+		private Float requestsPerSecond;
+		private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+
+		public ByQueryTaskOptionsBuilder withSlices(int slices) {
+
+			Assert.isTrue(slices > 0, "slices must be greater than 0");
+
+			this.slices = slices;
+			return this;
+		}
+
+		public ByQueryTaskOptionsBuilder withRequestsPerSecond(float requestsPerSecond) {
+
+			Assert.isTrue(requestsPerSecond > 0, "requestsPerSecond must be greater than 0");
+
+			this.requestsPerSecond = requestsPerSecond;
+			return this;
+		}
+
+		public ByQueryTaskOptionsBuilder withPollInterval(Duration pollInterval) {
+
+			Assert.notNull(pollInterval, "pollInterval must not be null");
+			Assert.isTrue(!pollInterval.isNegative(), "pollInterval must not be negative");
+
+			this.pollInterval = pollInterval;
+			return this;
+		}
+
+		public ByQueryTaskOptions build() {
+			return new ByQueryTaskOptions(slices, requestsPerSecond, pollInterval);
+		}
+	}
+}
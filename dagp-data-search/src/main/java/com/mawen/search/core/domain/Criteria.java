@@ -60,6 +60,7 @@ public class Criteria {
 	private @Nullable Field field;
 	private float boost = Float.NaN;
 	private boolean negating = false;
+	private Context context = Context.AUTO;
 
 	// region criteria creation
 
@@ -151,6 +152,18 @@ public class Criteria {
 		return this;
 	}
 
+	/**
+	 * @param context the context the query entries of this criteria are translated in
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public Criteria context(Context context) {
+
+		Assert.notNull(context, "context must not be null");
+
+		this.context = context;
+		return this;
+	}
+
 	public boolean isAnd() {
 		return getOperator() == Operator.AND;
 	}
@@ -420,6 +433,8 @@ public class Criteria {
 			return false;
 		if (negating != criteria.negating)
 			return false;
+		if (context != criteria.context)
+			return false;
 		if (!Objects.equals(field, criteria.field))
 			return false;
 		if (!queryCriteriaEntries.equals(criteria.queryCriteriaEntries))
@@ -436,6 +451,7 @@ public class Criteria {
 		int result = field != null ? field.hashCode() : 0;
 		result = 31 * result + (boost != +0.0f ? Float.floatToIntBits(boost) : 0);
 		result = 31 * result + (negating ? 1 : 0);
+		result = 31 * result + context.hashCode();
 		result = 31 * result + queryCriteriaEntries.hashCode();
 		result = 31 * result + filterCriteriaEntries.hashCode();
 		result = 31 * result + subCriteria.hashCode();
@@ -449,6 +465,7 @@ public class Criteria {
 				"field=" + field + //
 				", boost=" + boost + //
 				", negating=" + negating + //
+				", context=" + context + //
 				", queryCriteriaEntries=" + queryCriteriaEntries + //
 				", filterCriteriaEntries=" + filterCriteriaEntries + //
 				", subCriteria=" + subCriteria + //
@@ -461,6 +478,27 @@ public class Criteria {
 		OR //
 	}
 
+	/**
+	 * The context the query entries of a criteria are translated in.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public enum Context {
+		/**
+		 * use the context of the query, or {@link #FILTER} for keyword, numeric and date fields when the query has none.
+		 */
+		AUTO,
+		/**
+		 * scoring queries such as {@code query_string}.
+		 */
+		QUERY,
+		/**
+		 * non-scoring {@code term}, {@code terms}, {@code range} and {@code exists} queries in {@code bool.filter}, which
+		 * Elasticsearch can cache. Operations without an exact-match counterpart stay in the query context.
+		 */
+		FILTER
+	}
+
 	public enum OperationKey { //
 		EQUALS, //
 		CONTAINS, //
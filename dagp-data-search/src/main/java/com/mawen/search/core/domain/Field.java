@@ -1,6 +1,7 @@
 package com.mawen.search.core.domain;
 
 import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.annotation.SubstringSearch;
 import org.springframework.lang.Nullable;
 
 /**
@@ -22,4 +23,26 @@ public interface Field {
 	String getPath();
 
 	void setPath(@Nullable String path);
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	SubstringSearch getSubstringSearch();
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	void setSubstringSearch(SubstringSearch substringSearch);
+
+	/**
+	 * @return the full name of the subfield used for {@link #getSubstringSearch()}
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	String getSubstringField();
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	void setSubstringField(@Nullable String substringField);
 }
@@ -6,6 +6,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -21,7 +22,10 @@ public class SearchHit<T> {
 	private final String id;
 	private final float score;
 	private final List<Object> sortValues;
-	private final T content;
+	@Nullable
+	private volatile T content;
+	@Nullable
+	private volatile Supplier<? extends T> contentSupplier;
 	private final Map<String, List<String>> highlightFields = new LinkedHashMap<>();
 	private final Map<String, SearchHits<?>> innerHits = new LinkedHashMap<>();
 	@Nullable
@@ -34,6 +38,30 @@ public class SearchHit<T> {
 			@Nullable Object[] sortValues, @Nullable Map<String, List<String>> highlightFields,
 			@Nullable Map<String, SearchHits<?>> innerHits, @Nullable NestedMetaData nestedMetaData,
 			@Nullable List<String> matchedQueries, T content) {
+		this(index, id, routing, score, sortValues, highlightFields, innerHits, nestedMetaData, matchedQueries);
+		this.content = content;
+	}
+
+	/**
+	 * Creates a hit whose content is created by {@code contentSupplier} on the first call of {@link #getContent()}.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public SearchHit(@Nullable String index, @Nullable String id, @Nullable String routing, float score,
+			@Nullable Object[] sortValues, @Nullable Map<String, List<String>> highlightFields,
+			@Nullable Map<String, SearchHits<?>> innerHits, @Nullable NestedMetaData nestedMetaData,
+			@Nullable List<String> matchedQueries, Supplier<? extends T> contentSupplier) {
+		this(index, id, routing, score, sortValues, highlightFields, innerHits, nestedMetaData, matchedQueries);
+
+		Assert.notNull(contentSupplier, "contentSupplier must not be null");
+
+		this.contentSupplier = contentSupplier;
+	}
+
+	private SearchHit(@Nullable String index, @Nullable String id, @Nullable String routing, float score,
+			@Nullable Object[] sortValues, @Nullable Map<String, List<String>> highlightFields,
+			@Nullable Map<String, SearchHits<?>> innerHits, @Nullable NestedMetaData nestedMetaData,
+			@Nullable List<String> matchedQueries) {
 		this.index = index;
 		this.id = id;
 		this.routing = routing;
@@ -49,13 +77,35 @@ public class SearchHit<T> {
 		}
 
 		this.nestedMetaData = nestedMetaData;
-		this.content = content;
 
 		if (matchedQueries != null) {
 			this.matchedQueries.addAll(matchedQueries);
 		}
 	}
 
+	public T getContent() {
+
+		if (contentSupplier != null) {
+			synchronized (this) {
+				Supplier<? extends T> supplier = contentSupplier;
+				if (supplier != null) {
+					content = supplier.get();
+					contentSupplier = null;
+				}
+			}
+		}
+
+		return content;
+	}
+
+	/**
+	 * @return {@literal true} if the content has been created, always for hits that were not created lazily
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public boolean isContentMaterialized() {
+		return contentSupplier == null;
+	}
+
 	public List<Object> getSortValues() {
 		return Collections.unmodifiableList(sortValues);
 	}
@@ -79,6 +129,6 @@ public class SearchHit<T> {
 	@Override
 	public String toString() {
 		return "SearchHit{" + "id='" + id + '\'' + ", score=" + score + ", sortValues=" + sortValues + ", content="
-				+ content + ", highlightFields=" + highlightFields + '}';
+				+ getContent() + ", highlightFields=" + highlightFields + '}';
 	}
 }
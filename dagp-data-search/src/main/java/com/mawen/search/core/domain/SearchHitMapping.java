@@ -15,6 +15,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -40,18 +41,48 @@ public class SearchHitMapping<T> {
 	}
 
 	public SearchHits<T> mapHits(SearchDocumentResponse searchDocumentResponse, List<T> contents) {
-		return mapHitsFromResponse(searchDocumentResponse, contents);
+		return mapHitsFromResponse(searchDocumentResponse, mapHitList(searchDocumentResponse, contents));
+	}
+
+	/**
+	 * Maps the hits without converting their content, {@code contentReader} is called on the first
+	 * {@link SearchHit#getContent()} of a hit.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public SearchHits<T> mapHits(SearchDocumentResponse searchDocumentResponse,
+			Function<? super SearchDocument, ? extends T> contentReader) {
+		return mapHitsFromResponse(searchDocumentResponse, mapLazyHitList(searchDocumentResponse, contentReader));
 	}
 
 	public SearchScrollHits<T> mapScrollHits(SearchDocumentResponse searchDocumentResponse, List<T> contents) {
-		return mapHitsFromResponse(searchDocumentResponse, contents);
+		return mapHitsFromResponse(searchDocumentResponse, mapHitList(searchDocumentResponse, contents));
+	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 * @see #mapHits(SearchDocumentResponse, Function)
+	 */
+	public SearchScrollHits<T> mapScrollHits(SearchDocumentResponse searchDocumentResponse,
+			Function<? super SearchDocument, ? extends T> contentReader) {
+		return mapHitsFromResponse(searchDocumentResponse, mapLazyHitList(searchDocumentResponse, contentReader));
 	}
 
 	public PitSearchAfterHits<T> mapAfterHits(BaseQuery query, SearchDocumentResponse searchDocumentResponse, List<T> contents) {
-		return mapPitHitsFromResponse(query, searchDocumentResponse, contents);
+		return mapPitHitsFromResponse(query, searchDocumentResponse, mapHitList(searchDocumentResponse, contents));
 	}
 
-	private SearchHitsImpl<T> mapHitsFromResponse(SearchDocumentResponse searchDocumentResponse, List<T> contents) {
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 * @see #mapHits(SearchDocumentResponse, Function)
+	 */
+	public PitSearchAfterHits<T> mapAfterHits(BaseQuery query, SearchDocumentResponse searchDocumentResponse,
+			Function<? super SearchDocument, ? extends T> contentReader) {
+		return mapPitHitsFromResponse(query, searchDocumentResponse,
+				mapLazyHitList(searchDocumentResponse, contentReader));
+	}
+
+	private List<SearchHit<T>> mapHitList(SearchDocumentResponse searchDocumentResponse, List<T> contents) {
 
 		Assert.notNull(searchDocumentResponse, "searchDocumentResponse is null");
 		Assert.notNull(contents, "contents is null");
@@ -59,10 +90,6 @@ public class SearchHitMapping<T> {
 		Assert.isTrue(searchDocumentResponse.getSearchDocuments().size() == contents.size(),
 				"Count of documents must match the count of entities");
 
-		long totalHits = searchDocumentResponse.getTotalHits();
-		float maxScore = searchDocumentResponse.getMaxScore();
-		String scrollId = searchDocumentResponse.getScrollId();
-
 		List<SearchHit<T>> searchHits = new ArrayList<>();
 		List<SearchDocument> searchDocuments = searchDocumentResponse.getSearchDocuments();
 		for (int i = 0; i < searchDocuments.size(); i++) {
@@ -71,6 +98,29 @@ public class SearchHitMapping<T> {
 			SearchHit<T> hit = mapHit(document, content);
 			searchHits.add(hit);
 		}
+		return searchHits;
+	}
+
+	private List<SearchHit<T>> mapLazyHitList(SearchDocumentResponse searchDocumentResponse,
+			Function<? super SearchDocument, ? extends T> contentReader) {
+
+		Assert.notNull(searchDocumentResponse, "searchDocumentResponse is null");
+		Assert.notNull(contentReader, "contentReader is null");
+
+		List<SearchHit<T>> searchHits = new ArrayList<>();
+		for (SearchDocument document : searchDocumentResponse.getSearchDocuments()) {
+			searchHits.add(mapLazyHit(document, contentReader));
+		}
+		return searchHits;
+	}
+
+	private SearchHitsImpl<T> mapHitsFromResponse(SearchDocumentResponse searchDocumentResponse,
+			List<SearchHit<T>> searchHits) {
+
+		long totalHits = searchDocumentResponse.getTotalHits();
+		float maxScore = searchDocumentResponse.getMaxScore();
+		String scrollId = searchDocumentResponse.getScrollId();
+
 		AggregationsContainer<?> aggregations = searchDocumentResponse.getAggregations();
 		TotalHitsRelation totalHitsRelation = TotalHitsRelation.valueOf(searchDocumentResponse.getTotalHitsRelation());
 
@@ -78,25 +128,13 @@ public class SearchHitMapping<T> {
 				aggregations);
 	}
 
-	private PitSearchAfterHitsImpl<T> mapPitHitsFromResponse(BaseQuery query, SearchDocumentResponse searchDocumentResponse, List<T> contents) {
-		Assert.notNull(searchDocumentResponse, "searchDocumentResponse is null");
-		Assert.notNull(contents, "contents is null");
-
-		Assert.isTrue(searchDocumentResponse.getSearchDocuments().size() == contents.size(),
-				"Count of documents must match the count of entities");
+	private PitSearchAfterHitsImpl<T> mapPitHitsFromResponse(BaseQuery query, SearchDocumentResponse searchDocumentResponse,
+			List<SearchHit<T>> searchHits) {
 
 		long totalHits = searchDocumentResponse.getTotalHits();
 		float maxScore = searchDocumentResponse.getMaxScore();
 		String pointInTimeId = searchDocumentResponse.getPointInTimeId();
 
-		List<SearchHit<T>> searchHits = new ArrayList<>();
-		List<SearchDocument> searchDocuments = searchDocumentResponse.getSearchDocuments();
-		for (int i = 0; i < searchDocuments.size(); i++) {
-			SearchDocument document = searchDocuments.get(i);
-			T content = contents.get(i);
-			SearchHit<T> hit = mapHit(document, content);
-			searchHits.add(hit);
-		}
 		AggregationsContainer<?> aggregations = searchDocumentResponse.getAggregations();
 		TotalHitsRelation totalHitsRelation = TotalHitsRelation.valueOf(searchDocumentResponse.getTotalHitsRelation());
 
@@ -121,6 +159,25 @@ public class SearchHitMapping<T> {
 				content); //
 	}
 
+	private SearchHit<T> mapLazyHit(SearchDocument searchDocument,
+			Function<? super SearchDocument, ? extends T> contentReader) {
+
+		return new SearchHit<T>(searchDocument.getIndex(), //
+				searchDocument.hasId() ? searchDocument.getId() : null, //
+				searchDocument.getRouting(), //
+				searchDocument.getScore(), //
+				searchDocument.getSortValues(), //
+				getHighlightsAndRemapFieldNames(searchDocument), //
+				mapInnerHits(searchDocument), //
+				searchDocument.getNestedMetaData(), //
+				searchDocument.getMatchedQueries(), //
+				() -> {
+					T content = contentReader.apply(searchDocument);
+					Assert.notNull(content, "content is null");
+					return content;
+				}); //
+	}
+
 	@Nullable
 	private Map<String, List<String>> getHighlightsAndRemapFieldNames(SearchDocument searchDocument) {
 		Map<String, List<String>> highlightFields = searchDocument.getHighlightFields();
@@ -154,7 +211,7 @@ public class SearchHitMapping<T> {
 				SearchDocumentResponse searchDocumentResponse = entry.getValue();
 
 				SearchHits<SearchDocument> searchHits = searchDocumentSearchHitMapping
-						.mapHitsFromResponse(searchDocumentResponse, searchDocumentResponse.getSearchDocuments());
+						.mapHits(searchDocumentResponse, searchDocumentResponse.getSearchDocuments());
 
 				// map Documents to real objects
 				SearchHits<?> mappedSearchHits = mapInnerDocuments(searchHits, type);
@@ -1,6 +1,7 @@
 package com.mawen.search.core.domain;
 
 import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.annotation.SubstringSearch;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -14,6 +15,9 @@ public class SimpleField implements Field {
 	private FieldType fieldType;
 	@Nullable
 	private String path;
+	private SubstringSearch substringSearch = SubstringSearch.NONE;
+	@Nullable
+	private String substringField;
 
 	public SimpleField(String name) {
 
@@ -57,6 +61,30 @@ public class SimpleField implements Field {
 		this.path = path;
 	}
 
+	@Override
+	public SubstringSearch getSubstringSearch() {
+		return substringSearch;
+	}
+
+	@Override
+	public void setSubstringSearch(SubstringSearch substringSearch) {
+
+		Assert.notNull(substringSearch, "substringSearch must not be null");
+
+		this.substringSearch = substringSearch;
+	}
+
+	@Override
+	@Nullable
+	public String getSubstringField() {
+		return substringField;
+	}
+
+	@Override
+	public void setSubstringField(@Nullable String substringField) {
+		this.substringField = substringField;
+	}
+
 	@Override
 	public String toString() {
 		return getName();
@@ -0,0 +1,216 @@
+package com.mawen.search.core.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.model.PersistentPropertyAccessorFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PersistentPropertyAccessorFactory} that reads and writes properties through {@link MethodHandle}s resolved
+ * once per entity. Properties are accessed like Spring Data does: through the field, or through the getter and setter
+ * when the property uses property access, and immutable properties through their wither.
+ * <p>
+ * Entities whose members cannot be made accessible are not supported, the mapping context keeps the accessor of Spring
+ * Data for them. Immutable properties without a wither are left to
+ * {@link org.springframework.data.mapping.model.InstantiationAwarePropertyAccessorFactory}, which recreates the bean.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Slf4j
+public class MethodHandlePropertyAccessorFactory implements PersistentPropertyAccessorFactory {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType WITHER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+	private final Map<PersistentEntity<?, ?>, Optional<PropertyHandles>> handles = new ConcurrentHashMap<>();
+
+	@Override
+	public <T> PersistentPropertyAccessor<T> getPropertyAccessor(PersistentEntity<?, ?> entity, T bean) {
+
+		Assert.notNull(bean, "bean must not be null");
+
+		PropertyHandles propertyHandles = getHandles(entity)
+				.orElseThrow(() -> new MappingException("No method handles for " + entity.getType()));
+		return new MethodHandlePropertyAccessor<>(propertyHandles, bean);
+	}
+
+	/**
+	 * Resolves the method handles of the entity, so that this happens while the mapping context is initialized.
+	 */
+	@Override
+	public boolean isSupported(PersistentEntity<?, ?> entity) {
+		return getHandles(entity).isPresent();
+	}
+
+	private Optional<PropertyHandles> getHandles(PersistentEntity<?, ?> entity) {
+		return handles.computeIfAbsent(entity, MethodHandlePropertyAccessorFactory::resolve);
+	}
+
+	private static Optional<PropertyHandles> resolve(PersistentEntity<?, ?> entity) {
+
+		PropertyHandles propertyHandles = new PropertyHandles(entity.getType());
+
+		try {
+			for (PersistentProperty<?> property : entity) {
+				propertyHandles.add(property);
+			}
+			return Optional.of(propertyHandles);
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			log.debug("Cannot create method handles for {}, using the default property accessor", entity.getType(), e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * The {@link MethodHandle}s of the properties of one entity, keyed by the property instance.
+	 */
+	private static class PropertyHandles {
+
+		private final Class<?> type;
+		private final Map<PersistentProperty<?>, MethodHandle> getters = new IdentityHashMap<>();
+		private final Map<PersistentProperty<?>, MethodHandle> setters = new IdentityHashMap<>();
+		private final Map<PersistentProperty<?>, MethodHandle> withers = new IdentityHashMap<>();
+
+		PropertyHandles(Class<?> type) {
+			this.type = type;
+		}
+
+		void add(PersistentProperty<?> property) throws IllegalAccessException {
+
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			Field field = property.getField();
+			boolean propertyAccess = property.usePropertyAccess() || field == null;
+
+			Method getter = property.getGetter();
+			if (propertyAccess && getter != null) {
+				getters.put(property, lookup.unreflect(accessible(getter)).asType(GETTER_TYPE));
+			}
+			else if (field != null) {
+				getters.put(property, lookup.unreflectGetter(accessible(field)).asType(GETTER_TYPE));
+			}
+			else {
+				throw new IllegalStateException("No getter or field for " + property);
+			}
+
+			Method setter = property.getSetter();
+			Method wither = property.getWither();
+			if (propertyAccess && setter != null) {
+				setters.put(property, lookup.unreflect(accessible(setter)).asType(SETTER_TYPE));
+			}
+			else if (field != null && !Modifier.isFinal(field.getModifiers())) {
+				setters.put(property, lookup.unreflectSetter(accessible(field)).asType(SETTER_TYPE));
+			}
+			else if (wither != null) {
+				withers.put(property, lookup.unreflect(accessible(wither)).asType(WITHER_TYPE));
+			}
+		}
+
+		private static <T extends AccessibleObject> T accessible(T member) {
+			member.setAccessible(true);
+			return member;
+		}
+
+		MethodHandle getter(PersistentProperty<?> property) {
+
+			MethodHandle getter = getters.get(property);
+
+			if (getter == null) {
+				throw new MappingException("No property " + property.getName() + " on " + type);
+			}
+
+			return getter;
+		}
+
+		@Nullable
+		MethodHandle setter(PersistentProperty<?> property) {
+			return setters.get(property);
+		}
+
+		@Nullable
+		MethodHandle wither(PersistentProperty<?> property) {
+			return withers.get(property);
+		}
+	}
+
+	/**
+	 * Reads and writes the properties of one entity through its {@link PropertyHandles}.
+	 */
+	private static class MethodHandlePropertyAccessor<T> implements PersistentPropertyAccessor<T> {
+
+		private final PropertyHandles handles;
+		private T bean;
+
+		MethodHandlePropertyAccessor(PropertyHandles handles, T bean) {
+			this.handles = handles;
+			this.bean = bean;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void setProperty(PersistentProperty<?> property, @Nullable Object value) {
+
+			try {
+				MethodHandle setter = handles.setter(property);
+				if (setter != null) {
+					setter.invokeExact((Object) bean, value);
+					return;
+				}
+
+				MethodHandle wither = handles.wither(property);
+				if (wither != null) {
+					bean = (T) (Object) wither.invokeExact((Object) bean, value);
+					return;
+				}
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Throwable e) {
+				throw new MappingException("Cannot set property " + property.getName(), e);
+			}
+
+			throw new UnsupportedOperationException(
+					String.format("No setter or wither available for property %s on %s", property.getName(), bean.getClass()));
+		}
+
+		@Nullable
+		@Override
+		public Object getProperty(PersistentProperty<?> property) {
+
+			try {
+				return (Object) handles.getter(property).invokeExact((Object) bean);
+			}
+			catch (RuntimeException | Error e) {
+				throw e;
+			}
+			catch (Throwable e) {
+				throw new MappingException("Cannot get property " + property.getName(), e);
+			}
+		}
+
+		@Override
+		public T getBean() {
+			return bean;
+		}
+	}
+}
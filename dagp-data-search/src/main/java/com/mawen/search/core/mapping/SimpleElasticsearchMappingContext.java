@@ -1,6 +1,11 @@
 package com.mawen.search.core.mapping;
 
+import java.util.Optional;
+
 import org.springframework.data.mapping.context.AbstractMappingContext;
+import org.springframework.data.mapping.model.EntityInstantiators;
+import org.springframework.data.mapping.model.InstantiationAwarePropertyAccessorFactory;
+import org.springframework.data.mapping.model.PersistentPropertyAccessorFactory;
 import org.springframework.data.mapping.model.Property;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.util.TypeInformation;
@@ -11,11 +16,41 @@ import org.springframework.data.util.TypeInformation;
  */
 public class SimpleElasticsearchMappingContext extends AbstractMappingContext<SimpleElasticsearchPersistentEntity<?>, ElasticsearchPersistentProperty> {
 
+	private final PersistentPropertyAccessorFactory methodHandleAccessorFactory = new InstantiationAwarePropertyAccessorFactory(
+			new MethodHandlePropertyAccessorFactory(), new EntityInstantiators());
+
+	private boolean methodHandleAccessors = false;
+
+	/**
+	 * Opts in to property accessors built from {@link java.lang.invoke.MethodHandle}s when the entities are added to the
+	 * context, entities that do not support them keep the accessor of Spring Data. Must be set before the context is
+	 * initialized.
+	 *
+	 * @see MethodHandlePropertyAccessorFactory
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setMethodHandleAccessors(boolean methodHandleAccessors) {
+		this.methodHandleAccessors = methodHandleAccessors;
+	}
+
 	@Override
 	protected boolean shouldCreatePersistentEntityFor(TypeInformation<?> type) {
 		return !ElasticsearchSimpleTypes.HOLDER.isSimpleType(type.getType());
 	}
 
+	@Override
+	protected Optional<SimpleElasticsearchPersistentEntity<?>> addPersistentEntity(TypeInformation<?> typeInformation) {
+
+		Optional<SimpleElasticsearchPersistentEntity<?>> entity = super.addPersistentEntity(typeInformation);
+
+		if (methodHandleAccessors) {
+			entity.filter(methodHandleAccessorFactory::isSupported)
+					.ifPresent(it -> it.setPersistentPropertyAccessorFactory(methodHandleAccessorFactory));
+		}
+
+		return entity;
+	}
+
 	@Override
 	protected <T> SimpleElasticsearchPersistentEntity<?> createPersistentEntity(TypeInformation<T> typeInformation) {
 		return new SimpleElasticsearchPersistentEntity<>(typeInformation);
@@ -27,5 +62,3 @@ public class SimpleElasticsearchMappingContext extends AbstractMappingContext<Si
 		return new SimpleElasticsearchPersistentProperty(property, owner, simpleTypeHolder);
 	}
 }
-
-
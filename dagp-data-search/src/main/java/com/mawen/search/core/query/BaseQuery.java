@@ -66,6 +66,10 @@ public class BaseQuery implements Query {
 	 */
 	@Nullable
 	private Boolean ignoreUnavailable = null;
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private FetchMode fetchMode = FetchMode.SOURCE;
 
 	private boolean queryIsUpdatedByConverter = false;
 
@@ -95,6 +99,7 @@ public class BaseQuery implements Query {
 		this.reactiveBatchSize = builder.getReactiveBatchSize();
 		this.allowNoIndices = builder.getAllowNoIndices();
 		this.ignoreUnavailable = builder.getIgnoreUnavailable();
+		this.fetchMode = builder.getFetchMode();
 	}
 
 	public void setSort(@Nullable Sort sort) {
@@ -242,6 +247,7 @@ public class BaseQuery implements Query {
 		this.timeout = timeout;
 	}
 
+	@Override
 	public void setPointInTime(@Nullable PointInTime pointInTime) {
 		this.pointInTime = pointInTime;
 	}
@@ -275,4 +281,15 @@ public class BaseQuery implements Query {
 	public void setIgnoreUnavailable(boolean ignoreUnavailable) {
 		this.ignoreUnavailable = ignoreUnavailable;
 	}
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Override
+	public void setFetchMode(FetchMode fetchMode) {
+
+		Assert.notNull(fetchMode, "fetchMode must not be null");
+
+		this.fetchMode = fetchMode;
+	}
 }
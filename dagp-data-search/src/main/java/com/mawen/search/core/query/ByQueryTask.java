@@ -0,0 +1,60 @@
+package com.mawen.search.core.query;
+
+import org.springframework.lang.Nullable;
+
+import java.util.stream.Stream;
+
+/**
+ * Handle of an update-by-query or delete-by-query request that runs as a task in the cluster.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public interface ByQueryTask {
+
+	/**
+	 * @return the id of the task in the form {@code node:id}
+	 */
+	String getTaskId();
+
+	/**
+	 * Polls the tasks API once.
+	 *
+	 * @return the progress of the task, or the final result once it is completed
+	 */
+	ByQueryResponse getStatus();
+
+	/**
+	 * @return {@literal true} if the last poll reported the task as completed
+	 */
+	boolean isCompleted();
+
+	/**
+	 * Polls the tasks API in the configured interval until the task is completed. The stream is lazy, it blocks the
+	 * consuming thread between two polls.
+	 *
+	 * @return the progress of the task, the last element is the final result
+	 */
+	Stream<ByQueryResponse> progress();
+
+	/**
+	 * Waits for the task to complete.
+	 *
+	 * @return the final result
+	 */
+	default ByQueryResponse await() {
+		return progress().reduce((first, second) -> second).orElseGet(this::getStatus);
+	}
+
+	/**
+	 * Cancels the task. Documents that are already updated or deleted stay so.
+	 */
+	void cancel();
+
+	/**
+	 * Changes the throttle of the running task.
+	 *
+	 * @param requestsPerSecond the new throttle, {@literal null} disables throttling
+	 */
+	void rethrottle(@Nullable Float requestsPerSecond);
+}
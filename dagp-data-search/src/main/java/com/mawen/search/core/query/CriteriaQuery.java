@@ -16,10 +16,12 @@ import org.springframework.util.Assert;
 public class CriteriaQuery extends BaseQuery {
 
 	private final Criteria criteria;
+	private Criteria.Context context = Criteria.Context.AUTO;
 
 	public CriteriaQuery(CriteriaQueryBuilder builder) {
 		super(builder);
 		this.criteria = builder.getCriteria();
+		this.context = builder.getContext();
 	}
 
 	public CriteriaQuery(Criteria criteria) {
@@ -66,4 +68,15 @@ public class CriteriaQuery extends BaseQuery {
 		return (T) this;
 	}
 
+	/**
+	 * @param context the context of the criteria that do not set one, see {@link Criteria.Context}
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public void setContext(Criteria.Context context) {
+
+		Assert.notNull(context, "context must not be null");
+
+		this.context = context;
+	}
+
 }
@@ -0,0 +1,29 @@
+package com.mawen.search.core.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Delete of one document by id as an item of a bulk request. Unlike a delete by query, it also removes documents that
+ * were indexed but not refreshed yet.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeleteQuery {
+
+	private String id;
+	@Nullable
+	private String routing;
+	@Nullable
+	private String indexName;
+
+	public DeleteQuery(String id) {
+		this.id = id;
+	}
+}
@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.lang.Nullable;
 
+import java.nio.ByteBuffer;
+
 /**
  * IndexQuery
  *
@@ -35,6 +37,20 @@ public class IndexQuery {
 	private OpType opType;
 	@Nullable
 	private String indexName;
+	/**
+	 * pre-serialized JSON source that is sent as is, takes precedence over {@link #source}. When an {@link #object} is
+	 * set as well, this is its serialized form and the object is kept for the id and the callbacks
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	private ByteBuffer rawSource;
+
+	public IndexQuery(@Nullable String id, @Nullable Object object, @Nullable Long version, @Nullable String source,
+			@Nullable Long seqNo, @Nullable Long primaryTerm, @Nullable String routing, @Nullable OpType opType,
+			@Nullable String indexName) {
+		this(id, object, version, source, seqNo, primaryTerm, routing, opType, indexName, null);
+	}
 
 	@Getter
 	public enum OpType {
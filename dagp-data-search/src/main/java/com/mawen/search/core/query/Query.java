@@ -7,6 +7,7 @@ import java.util.Optional;
 
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import com.mawen.search.core.domain.IdWithRouting;
+import com.mawen.search.core.domain.PointInTime;
 import com.mawen.search.core.domain.SourceFilter;
 
 import org.springframework.data.domain.PageRequest;
@@ -123,6 +124,18 @@ public interface Query {
 
 	void setSearchAfter(@Nullable List<Object> searchAfter);
 
+	/**
+	 * @return the point in time to search, {@literal null} to search the current state of the indices
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	PointInTime getPointInTime();
+
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	void setPointInTime(@Nullable PointInTime pointInTime);
+
 	default Integer getReactiveBatchSize() {
 		return 500;
 	}
@@ -142,8 +155,38 @@ public interface Query {
 	@Nullable
 	Boolean getIgnoreUnavailable();
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	void setFetchMode(FetchMode fetchMode);
+
+	/**
+	 * @return how the found documents are fetched, defaults to {@link FetchMode#SOURCE}
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	default FetchMode getFetchMode() {
+		return FetchMode.SOURCE;
+	}
+
 	enum SearchType {
 		QUERY_THEN_FETCH, DFS_QUERY_THEN_FETCH
 	}
 
+	/**
+	 * How the found documents are fetched.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	enum FetchMode {
+		/**
+		 * read the entities from the {@code _source} of the hits.
+		 */
+		SOURCE,
+		/**
+		 * skip the {@code _source} and read the entities from the {@code docvalue_fields} of the hits. Only the properties
+		 * with a doc-values field type (keyword, numeric, date, boolean, ip) are populated.
+		 */
+		DOC_VALUES
+	}
+
 }
@@ -7,9 +7,7 @@ import lombok.Getter;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.CollectionUtils;
 
-import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -161,7 +159,8 @@ public abstract class StreamQueries {
 			@Override
 			public void close() {
 				if (!isClosed) {
-					clearPitConsumer.accept(pitSearchAfter.getPit());
+					PointInTime pointInTime = pitSearchAfter.getBaseQuery().getPointInTime();
+					clearPitConsumer.accept(pointInTime != null ? pointInTime.getId() : pitSearchAfter.getPit());
 					isClosed = true;
 				}
 			}
@@ -174,13 +173,8 @@ public abstract class StreamQueries {
 				if (!isClosed && continueSearch && (maxCount <= 0 || currentCount.get() < maxCount)) {
 
 					if (!currentSearchAfterHits.hasNext()) {
+						// the search moves the query after the last hit of the page
 						PitSearchAfterHits<T> nextPage = continueSearchFunction.apply(pitSearchAfter.getBaseQuery());
-						List<SearchHit<T>> hits = nextPage.getSearchHits();
-						if (!CollectionUtils.isEmpty(hits)) {
-							List<Object> sortOptions = hits.get(hits.size() - 1).getSortValues();
-							pitSearchAfter.getBaseQuery().setSearchAfter(sortOptions);
-							pitSearchAfter.getBaseQuery().setPointInTime(new PointInTime(pitSearchAfter.getPit(), Duration.ofMinutes(5)));
-						}
 						currentSearchAfterHits = nextPage.iterator();
 						continueSearch = currentSearchAfterHits.hasNext();
 					}
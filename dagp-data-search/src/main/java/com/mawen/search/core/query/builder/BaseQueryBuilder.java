@@ -61,6 +61,10 @@ public abstract class BaseQueryBuilder<Q extends BaseQuery, SELF extends BaseQue
 	 */
 	@Nullable
 	private Boolean ignoreUnavailable;
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	private Query.FetchMode fetchMode = Query.FetchMode.SOURCE;
 
 	public boolean getTrackScores() {
 		return trackScores;
@@ -202,6 +206,17 @@ public abstract class BaseQueryBuilder<Q extends BaseQuery, SELF extends BaseQue
 		return self();
 	}
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public SELF withFetchMode(Query.FetchMode fetchMode) {
+
+		Assert.notNull(fetchMode, "fetchMode must not be null");
+
+		this.fetchMode = fetchMode;
+		return self();
+	}
+
 	public abstract Q build();
 
 	private SELF self() {
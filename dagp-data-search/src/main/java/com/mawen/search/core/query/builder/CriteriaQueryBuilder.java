@@ -13,6 +13,7 @@ import org.springframework.util.Assert;
 public class CriteriaQueryBuilder extends BaseQueryBuilder<CriteriaQuery, CriteriaQueryBuilder> {
 
 	private final Criteria criteria;
+	private Criteria.Context context = Criteria.Context.AUTO;
 
 	public CriteriaQueryBuilder(Criteria criteria) {
 
@@ -21,6 +22,17 @@ public class CriteriaQueryBuilder extends BaseQueryBuilder<CriteriaQuery, Criter
 		this.criteria = criteria;
 	}
 
+	/**
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public CriteriaQueryBuilder withContext(Criteria.Context context) {
+
+		Assert.notNull(context, "context must not be null");
+
+		this.context = context;
+		return this;
+	}
+
 	@Override
 	public CriteriaQuery build() {
 		return new CriteriaQuery(this);
@@ -5,6 +5,8 @@ import com.mawen.search.core.query.IndexQuery;
 import com.mawen.search.core.refresh.RefreshPolicy;
 import org.springframework.lang.Nullable;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
@@ -31,6 +33,8 @@ public class IndexQueryBuilder {
 	private RefreshPolicy refreshPolicy;
 	@Nullable
 	private String indexName;
+	@Nullable
+	private ByteBuffer rawSource;
 
 	public IndexQueryBuilder() {
 	}
@@ -55,6 +59,27 @@ public class IndexQueryBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets UTF-8 encoded JSON that is written into the request without being parsed.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public IndexQueryBuilder withSource(byte[] source) {
+		this.rawSource = ByteBuffer.wrap(source);
+		return this;
+	}
+
+	/**
+	 * Sets UTF-8 encoded JSON that is written into the request without being parsed, the remaining bytes of the buffer
+	 * are used.
+	 *
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	public IndexQueryBuilder withSource(ByteBuffer source) {
+		this.rawSource = source;
+		return this;
+	}
+
 	public IndexQueryBuilder withSeqNoPrimaryTerm(SeqNoPrimaryTerm seqNoPrimaryTerm) {
 		this.seqNo = seqNoPrimaryTerm.getSequenceNumber();
 		this.primaryTerm = seqNoPrimaryTerm.getPrimaryTerm();
@@ -72,7 +97,7 @@ public class IndexQueryBuilder {
 	}
 
 	public IndexQuery build() {
-		return new IndexQuery(id, object, version, source, seqNo, primaryTerm, routing, opType, indexName);
+		return new IndexQuery(id, object, version, source, seqNo, primaryTerm, routing, opType, indexName, rawSource);
 	}
 
 	public IndexQueryBuilder withIndex(@Nullable String indexName) {
@@ -0,0 +1,187 @@
+package com.mawen.search.core.refresh;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces the refreshes that are needed after writes. A write marks its index dirty, and a dirty index is refreshed
+ * at most once per interval, no matter how many writes happened in between. Callers that need to read their own writes
+ * wait for the future returned by {@link #markDirty(IndexCoordinates)} or {@link #awaitRefresh(IndexCoordinates)}.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Slf4j
+public class RefreshCoalescer implements AutoCloseable {
+
+	private final ElasticsearchOperations operations;
+	private final long intervalNanos;
+	private final ScheduledExecutorService scheduler;
+	private final boolean ownsScheduler;
+	private final Map<IndexCoordinates, IndexState> states = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	public RefreshCoalescer(ElasticsearchOperations operations, Duration interval) {
+		this(operations, interval, null);
+	}
+
+	/**
+	 * @param scheduler runs the refreshes, a single daemon thread is used if {@literal null}
+	 */
+	public RefreshCoalescer(ElasticsearchOperations operations, Duration interval,
+			@Nullable ScheduledExecutorService scheduler) {
+
+		Assert.notNull(operations, "operations must not be null");
+		Assert.notNull(interval, "interval must not be null");
+		Assert.isTrue(!interval.isNegative(), "interval must not be negative");
+
+		this.operations = operations;
+		this.intervalNanos = interval.toNanos();
+		this.ownsScheduler = scheduler == null;
+
+		if (scheduler == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("refresh-coalescer-");
+			threadFactory.setDaemon(true);
+			scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		}
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Marks the index dirty and schedules a refresh if none is pending.
+	 *
+	 * @return completes after the first refresh that started after this call
+	 */
+	public CompletableFuture<Void> markDirty(IndexCoordinates index) {
+
+		Assert.notNull(index, "index must not be null");
+
+		if (closed) {
+			operations.indexOps(index).refresh();
+			return CompletableFuture.completedFuture(null);
+		}
+
+		IndexState state = states.computeIfAbsent(index, IndexState::new);
+		CompletableFuture<Void> future;
+
+		synchronized (state) {
+			if (state.pending != null) {
+				return state.pending;
+			}
+
+			future = state.pending = new CompletableFuture<>();
+			long delay = Math.max(0, state.lastRefresh + intervalNanos - System.nanoTime());
+
+			try {
+				scheduler.schedule(() -> refresh(state), delay, TimeUnit.NANOSECONDS);
+				return future;
+			}
+			catch (RejectedExecutionException e) {
+				// closed concurrently, refresh in the calling thread
+			}
+		}
+
+		refresh(state);
+		return future;
+	}
+
+	/**
+	 * @return completes when all writes marked so far are visible, already completed if the index is not dirty
+	 */
+	public CompletableFuture<Void> awaitRefresh(IndexCoordinates index) {
+
+		Assert.notNull(index, "index must not be null");
+
+		IndexState state = states.get(index);
+
+		if (state == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		synchronized (state) {
+			if (state.pending != null) {
+				return state.pending;
+			}
+			return state.inFlight != null ? state.inFlight : CompletableFuture.completedFuture(null);
+		}
+	}
+
+	/**
+	 * Refreshes all dirty indices and stops the scheduler if it was created by this instance. Later writes are refreshed
+	 * immediately.
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+
+		if (ownsScheduler) {
+			scheduler.shutdownNow();
+		}
+
+		states.values().forEach(this::refresh);
+	}
+
+	private void refresh(IndexState state) {
+
+		CompletableFuture<Void> future;
+		synchronized (state) {
+			future = state.pending;
+
+			if (future == null) {
+				return;
+			}
+
+			state.pending = null;
+			state.inFlight = future;
+			// taken before the future completes, so that a write woken by it already sees the interval
+			state.lastRefresh = System.nanoTime();
+		}
+
+		try {
+			operations.indexOps(state.index).refresh();
+			future.complete(null);
+		}
+		catch (RuntimeException e) {
+			log.warn(String.format("Refresh of index %s failed", state.index), e);
+			future.completeExceptionally(e);
+		}
+		finally {
+			synchronized (state) {
+				if (state.inFlight == future) {
+					state.inFlight = null;
+				}
+			}
+		}
+	}
+
+	private class IndexState {
+
+		private final IndexCoordinates index;
+		@Nullable
+		private CompletableFuture<Void> pending;
+		@Nullable
+		private CompletableFuture<Void> inFlight;
+		private long lastRefresh;
+
+		IndexState(IndexCoordinates index) {
+			this.index = index;
+			// the first write is refreshed without delay
+			this.lastRefresh = System.nanoTime() - intervalNanos;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.mawen.search.core.support;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of a single {@link com.mawen.search.core.query.IndexQuery} or {@link com.mawen.search.core.query.UpdateQuery}
+ * of a bulk request.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkItemResult {
+
+	private final Object query;
+	private final Status status;
+	private final int statusCode;
+	@Nullable
+	private final IndexedObjectInformation indexedObjectInformation;
+	@Nullable
+	private final String errorType;
+	@Nullable
+	private final String errorReason;
+	private final int attempts;
+
+	public static BulkItemResult success(Object query, int statusCode,
+			IndexedObjectInformation indexedObjectInformation) {
+		return new BulkItemResult(query, Status.SUCCESS, statusCode, indexedObjectInformation, null, null, 1);
+	}
+
+	public static BulkItemResult failure(Object query, int statusCode, @Nullable String errorType,
+			@Nullable String errorReason, boolean retriable) {
+		return new BulkItemResult(query, retriable ? Status.RETRIABLE_FAILURE : Status.PERMANENT_FAILURE, statusCode,
+				null, errorType, errorReason, 1);
+	}
+
+	public BulkItemResult withAttempts(int attempts) {
+		return new BulkItemResult(query, status, statusCode, indexedObjectInformation, errorType, errorReason, attempts);
+	}
+
+	public boolean isSuccess() {
+		return status == Status.SUCCESS;
+	}
+
+	public boolean isRetriable() {
+		return status == Status.RETRIABLE_FAILURE;
+	}
+
+	public boolean isFailed() {
+		return status != Status.SUCCESS;
+	}
+
+	public enum Status {
+
+		SUCCESS,
+
+		/**
+		 * the item was rejected because of cluster pressure, e.g. {@code es_rejected_execution_exception}, sending it again
+		 * may succeed
+		 */
+		RETRIABLE_FAILURE,
+
+		/**
+		 * the item failed for a reason that does not go away by sending it again, e.g. a version conflict or a mapping error
+		 */
+		PERMANENT_FAILURE,
+		;
+	}
+}
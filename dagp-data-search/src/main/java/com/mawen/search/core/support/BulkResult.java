@@ -0,0 +1,36 @@
+package com.mawen.search.core.support;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Per-item result of a bulk operation, the items are in the order of the queries that were passed in.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+@Getter
+@AllArgsConstructor
+public class BulkResult {
+
+	private final List<BulkItemResult> items;
+	/**
+	 * number of times failed items were sent again
+	 */
+	private final int retries;
+
+	public boolean hasFailures() {
+		return items.stream().anyMatch(BulkItemResult::isFailed);
+	}
+
+	public List<BulkItemResult> getFailures() {
+		return items.stream().filter(BulkItemResult::isFailed).collect(Collectors.toList());
+	}
+
+	public List<BulkItemResult> getSuccesses() {
+		return items.stream().filter(BulkItemResult::isSuccess).collect(Collectors.toList());
+	}
+}
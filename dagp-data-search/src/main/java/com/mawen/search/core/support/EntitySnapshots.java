@@ -0,0 +1,132 @@
+package com.mawen.search.core.support;
+
+import com.mawen.search.core.document.Document;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the mapped document of every entity loaded through the template, so that an update of the entity sends only
+ * the fields that changed since it was loaded. Entities are held by identity and weakly, a snapshot disappears with
+ * its entity.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public class EntitySnapshots {
+
+	private final Map<IdentityKey, Document> snapshots = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	public void put(Object entity, Document document) {
+
+		Assert.notNull(entity, "entity must not be null");
+		Assert.notNull(document, "document must not be null");
+
+		purge();
+		snapshots.put(new IdentityKey(entity, queue), document);
+	}
+
+	@Nullable
+	public Document get(Object entity) {
+
+		Assert.notNull(entity, "entity must not be null");
+
+		return snapshots.get(new IdentityKey(entity, null));
+	}
+
+	public void remove(Object entity) {
+
+		Assert.notNull(entity, "entity must not be null");
+
+		snapshots.remove(new IdentityKey(entity, null));
+	}
+
+	public int size() {
+		purge();
+		return snapshots.size();
+	}
+
+	/**
+	 * Computes the partial document that turns {@code snapshot} into {@code current} when it is merged by an update.
+	 * Nested objects are compared field by field, lists are replaced as a whole, and fields that are missing in
+	 * {@code current} are set to {@literal null}.
+	 *
+	 * @return the changed fields, empty if nothing changed
+	 */
+	public static Document diff(Map<String, Object> snapshot, Map<String, Object> current) {
+
+		Assert.notNull(snapshot, "snapshot must not be null");
+		Assert.notNull(current, "current must not be null");
+
+		Document diff = Document.create();
+
+		current.forEach((key, value) -> {
+			Object previous = snapshot.get(key);
+
+			if (previous instanceof Map && value instanceof Map) {
+				@SuppressWarnings("unchecked")
+				Document nested = diff((Map<String, Object>) previous, (Map<String, Object>) value);
+
+				if (!nested.isEmpty()) {
+					diff.put(key, nested);
+				}
+			}
+			else if (!snapshot.containsKey(key) || !Objects.equals(previous, value)) {
+				diff.put(key, value);
+			}
+		});
+
+		snapshot.keySet().forEach(key -> {
+			if (!current.containsKey(key)) {
+				diff.put(key, null);
+			}
+		});
+
+		return diff;
+	}
+
+	private void purge() {
+
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			snapshots.remove(reference);
+		}
+	}
+
+	private static class IdentityKey extends WeakReference<Object> {
+
+		private final int hash;
+
+		IdentityKey(Object referent, @Nullable ReferenceQueue<Object> queue) {
+			super(referent, queue);
+			this.hash = System.identityHashCode(referent);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof IdentityKey)) {
+				return false;
+			}
+
+			Object referent = get();
+			return referent != null && referent == ((IdentityKey) obj).get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -64,7 +64,12 @@ public abstract class AbstractElasticsearchRepositoryQuery implements Repository
 			index = elasticsearchOperations.getIndexCoordinatesFor(clazz);
 		}
 
-		return doExecute(query, parameterAccessor, clazz, index);
+		Object result = doExecute(query, parameterAccessor, clazz, index);
+
+		// SearchHit and SearchPage results keep the entities, projections are applied to the unwrapped results only
+		return (queryMethod.isNotSearchHitMethod() && queryMethod.isNotSearchPageMethod())
+				? resultProcessor.processResult(result)
+				: result;
 	}
 
 	private Object doExecute(Query query, ElasticsearchParametersParameterAccessor parameterAccessor, Class<?> clazz, IndexCoordinates index) {
@@ -77,7 +82,7 @@ public abstract class AbstractElasticsearchRepositoryQuery implements Repository
 			result = elasticsearchOperations.count(query, clazz, index);
 		}
 		else if (isExistsQuery()) { // exists
-			result = elasticsearchOperations.count(query, clazz, index) > 0;
+			result = elasticsearchOperations.exists(query, clazz, index);
 		}
 		else if (queryMethod.isPageQuery()) { // page Query
 			query.setPageable(parameterAccessor.getPageable());
@@ -95,16 +100,14 @@ public abstract class AbstractElasticsearchRepositoryQuery implements Repository
 			result = StreamUtils.createStreamFromIterator(elasticsearchOperations.searchForStream(query, clazz, index));
 		}
 		else if (queryMethod.isCollectionQuery()) { // collection query
-			// 如果给定的分页中没有设置分页参数信息，则先执行 count 查询后，在执行 search
+			// 如果给定的分页中没有设置分页参数信息，则分批查询全部结果
 			if (parameterAccessor.getPageable().isUnpaged()) {
-				int itemCount = (int) elasticsearchOperations.count(query, clazz, index);
-				query.setPageable(PageRequest.of(0, Math.max(1, itemCount)));
+				result = elasticsearchOperations.searchAll(query, clazz, index);
 			}
 			else {
 				query.setPageable(parameterAccessor.getPageable());
+				result = elasticsearchOperations.search(query, clazz, index);
 			}
-
-			result = elasticsearchOperations.search(query, clazz, index);
 		}
 		else { // single query
 			result = elasticsearchOperations.searchOne(query, clazz, index);
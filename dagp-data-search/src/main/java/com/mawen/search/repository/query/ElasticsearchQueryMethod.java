@@ -6,7 +6,10 @@ import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import com.mawen.search.InvalidApiUsageException;
@@ -23,6 +26,7 @@ import com.mawen.search.core.domain.SourceFilter;
 import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
 import com.mawen.search.core.mapping.ElasticsearchPersistentProperty;
 import com.mawen.search.core.query.BaseQuery;
+import com.mawen.search.core.query.CriteriaQuery;
 import com.mawen.search.core.query.HighlightQuery;
 import com.mawen.search.core.query.builder.FetchSourceFilterBuilder;
 import com.mawen.search.repository.support.StringQueryUtil;
@@ -34,6 +38,7 @@ import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.ReturnedType;
 import org.springframework.data.repository.util.QueryExecutionConverters;
 import org.springframework.data.repository.util.ReactiveWrapperConverters;
 import org.springframework.data.util.ClassTypeInformation;
@@ -246,29 +251,75 @@ public class ElasticsearchQueryMethod extends QueryMethod {
 		return queryAnnotation != null && queryAnnotation.count();
 	}
 
+	/**
+	 * Builds the source filter from the {@link SourceFilters} annotation and the properties of a projection return
+	 * type. The properties of the projection are added to the includes, the field names are mapped when the query is
+	 * sent.
+	 */
 	@Nullable
 	SourceFilter getSourceFilter(ParameterAccessor parameterAccessor, ElasticsearchConverter converter) {
 
-		if (sourceFilters == null || (sourceFilters.includes().length == 0 && sourceFilters.excludes().length == 0)) {
+		List<String> projectedProperties = getProjectedProperties(parameterAccessor);
+
+		if ((sourceFilters == null || (sourceFilters.includes().length == 0 && sourceFilters.excludes().length == 0))
+				&& projectedProperties.isEmpty()) {
 			return null;
 		}
 
-		StringQueryUtil stringQueryUtil = new StringQueryUtil(converter.getConversionService());
 		FetchSourceFilterBuilder fetchSourceFilterBuilder = new FetchSourceFilterBuilder();
+		Set<String> includes = new LinkedHashSet<>();
+
+		if (sourceFilters != null) {
+			StringQueryUtil stringQueryUtil = new StringQueryUtil(converter.getConversionService());
+
+			if (sourceFilters.includes().length > 0) {
+				includes.addAll(Arrays.asList(mapParameters(sourceFilters.includes(), parameterAccessor, stringQueryUtil)));
+			}
 
-		if (sourceFilters.includes().length > 0) {
-			fetchSourceFilterBuilder
-					.withIncludes(mapParameters(sourceFilters.includes(), parameterAccessor, stringQueryUtil));
+			if (sourceFilters.excludes().length > 0) {
+				fetchSourceFilterBuilder
+						.withExcludes(mapParameters(sourceFilters.excludes(), parameterAccessor, stringQueryUtil));
+			}
 		}
 
-		if (sourceFilters.excludes().length > 0) {
-			fetchSourceFilterBuilder
-					.withExcludes(mapParameters(sourceFilters.excludes(), parameterAccessor, stringQueryUtil));
+		includes.addAll(projectedProperties);
+
+		if (!includes.isEmpty()) {
+			fetchSourceFilterBuilder.withIncludes(includes.toArray(new String[0]));
 		}
 
 		return fetchSourceFilterBuilder.build();
 	}
 
+	/**
+	 * @return the properties of the domain type that a projection return type reads, empty if the method does not
+	 * 		return a projection or the projection reads anything else than properties of the domain type, like open
+	 * 		projections do
+	 */
+	private List<String> getProjectedProperties(ParameterAccessor parameterAccessor) {
+
+		ReturnedType returnedType = getResultProcessor().withDynamicProjection(parameterAccessor).getReturnedType();
+
+		if (!returnedType.isProjecting()) {
+			return Collections.emptyList();
+		}
+
+		ElasticsearchPersistentEntity<?> entity = mappingContext.getPersistentEntity(returnedType.getDomainType());
+		List<String> inputProperties = returnedType.getInputProperties();
+
+		if (entity == null || inputProperties.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		for (String property : inputProperties) {
+			if (entity.getPersistentProperty(property) == null) {
+				return Collections.emptyList();
+			}
+		}
+
+		return inputProperties;
+	}
+
 	private String[] mapParameters(String[] source, ParameterAccessor parameterAccessor,
 			StringQueryUtil stringQueryUtil) {
 
@@ -341,6 +392,11 @@ public class ElasticsearchQueryMethod extends QueryMethod {
 
 		if (hasAnnotatedQueryConfig()) {
 			query.setIgnoreUnavailable(searchConfigAnnotation.ignoreUnavailable());
+			query.setFetchMode(searchConfigAnnotation.fetchMode());
+
+			if (query instanceof CriteriaQuery) {
+				((CriteriaQuery) query).setContext(searchConfigAnnotation.context());
+			}
 		}
 	}
 	// endregion
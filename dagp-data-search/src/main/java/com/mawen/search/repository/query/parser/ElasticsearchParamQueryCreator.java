@@ -78,7 +78,7 @@ public class ElasticsearchParamQueryCreator extends AbstractParamQueryCreator<Cr
 				Criteria temp = new Criteria();
 				for (String fieldName : annotation.value()) {
 
-					temp = temp.or(fieldName);
+					temp = temp.or(fieldName).context(annotation.context());
 
 					annotation.type().from(temp, value);
 				}
@@ -87,7 +87,7 @@ public class ElasticsearchParamQueryCreator extends AbstractParamQueryCreator<Cr
 			else {
 				for (String fieldName : annotation.value()) {
 
-					current = current.and(fieldName);
+					current = current.and(fieldName).context(annotation.context());
 
 					annotation.type().from(current, value);
 				}
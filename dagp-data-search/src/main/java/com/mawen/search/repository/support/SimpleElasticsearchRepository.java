@@ -1,7 +1,6 @@
 package com.mawen.search.repository.support;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +10,7 @@ import java.util.stream.Collectors;
 import com.mawen.search.core.AbstractElasticsearchTemplate;
 import com.mawen.search.core.ElasticsearchOperations;
 import com.mawen.search.core.IndexOperations;
+import com.mawen.search.core.domain.BulkOptions;
 import com.mawen.search.core.domain.SearchHit;
 import com.mawen.search.core.domain.SearchHitSupport;
 import com.mawen.search.core.domain.SearchHits;
@@ -18,12 +18,12 @@ import com.mawen.search.core.domain.SearchPage;
 import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.query.BaseQuery;
 import com.mawen.search.core.query.Query;
+import com.mawen.search.core.refresh.RefreshCoalescer;
 import com.mawen.search.core.refresh.RefreshPolicy;
 import com.mawen.search.repository.ElasticsearchRepository;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -78,12 +78,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 	public Iterable<T> findAll() {
 		Assert.isTrue(!isDynamicIndex, () -> messageFunction.apply(entityClass, "findAll(Sort sort, IndexCoordinates index)"));
 
-		int itemCount = (int) this.count();
-
-		if (itemCount == 0) {
-			return new PageImpl<>(Collections.emptyList());
-		}
-		return this.findAll(PageRequest.of(0, Math.max(1, itemCount)));
+		return findAll(Sort.unsorted(), getIndexCoordinates(null));
 	}
 
 	@Override
@@ -119,16 +114,10 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 
 		Assert.notNull(sort, "sort must not be null");
 
-		int itemCount = (int) this.count(index);
-
-		if (itemCount == 0) {
-			return new PageImpl<>(Collections.emptyList());
-		}
-		Pageable pageable = PageRequest.of(0, itemCount, sort);
 		Query query = Query.findAll();
-		query.setPageable(pageable);
+		query.addSort(sort);
 		List<SearchHit<T>> searchHitList = execute(
-				operations -> operations.search(query, entityClass, index).getSearchHits());
+				operations -> operations.searchAll(query, entityClass, index).getSearchHits());
 		return (List<T>) SearchHitSupport.unwrapSearchHits(searchHitList);
 	}
 
@@ -181,7 +170,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 	public <S extends T> S save(S entity, IndexCoordinates index) {
 
 		Assert.notNull(entity, "Cannot save 'null' entity.");
-		return executeAndRefresh(operations -> operations.save(entity, index));
+		return executeAndRefresh(operations -> operations.save(entity, index), index);
 	}
 
 	public <S extends T> List<S> save(List<S> entities) {
@@ -200,7 +189,8 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 		Iterator<S> iterator = entities.iterator();
 		if (iterator.hasNext()) {
 			S next = iterator.next();
-			executeAndRefresh(operations -> operations.save(entities, getIndexCoordinates(next)));
+			IndexCoordinates index = getIndexCoordinates(next);
+			executeAndRefresh(operations -> operations.saveInChunks(entities, BulkOptions.defaultOptions(), index), index);
 		}
 
 		return entities;
@@ -211,7 +201,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 
 		Assert.notNull(entities, "Cannot insert 'null' as a List.");
 
-		executeAndRefresh(operations -> operations.save(entities, index));
+		executeAndRefresh(operations -> operations.saveInChunks(entities, BulkOptions.defaultOptions(), index), index);
 		return entities;
 	}
 
@@ -278,7 +268,8 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 		}
 
 		Query query = operations.idsQuery(idStrings);
-		executeAndRefresh(operations -> operations.delete(query, entityClass, getIndexCoordinates(null)));
+		IndexCoordinates index = getIndexCoordinates(null);
+		executeAndRefresh(operations -> operations.delete(query, entityClass, index), index);
 	}
 
 	@Override
@@ -296,7 +287,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 		}
 
 		Query query = operations.idsQuery(idStrings);
-		executeAndRefresh(operations -> operations.delete(query, entityClass, index));
+		executeAndRefresh(operations -> operations.delete(query, entityClass, index), index);
 	}
 
 	@Override
@@ -320,7 +311,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 	@Override
 	public void deleteAll(IndexCoordinates index) {
 
-		executeAndRefresh(operations -> operations.delete(Query.findAll(), entityClass, index));
+		executeAndRefresh(operations -> operations.delete(Query.findAll(), entityClass, index), index);
 	}
 
 	private List<ID> getEntityIds(Iterable<? extends T> entities) {
@@ -339,14 +330,14 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 	private void doDelete(@Nullable ID id, IndexCoordinates indexCoordinates) {
 
 		if (id != null) {
-			executeAndRefresh(operations -> operations.delete(stringIdRepresentation(id), indexCoordinates));
+			executeAndRefresh(operations -> operations.delete(stringIdRepresentation(id), indexCoordinates), indexCoordinates);
 		}
 	}
 
 	private void doDelete(@Nullable ID id, IndexCoordinates indexCoordinates, @Nullable RefreshPolicy refreshPolicy) {
 
 		if (id != null) {
-			executeAndRefresh(operations -> operations.delete(stringIdRepresentation(id), indexCoordinates));
+			executeAndRefresh(operations -> operations.delete(stringIdRepresentation(id), indexCoordinates), indexCoordinates);
 		}
 	}
 
@@ -369,7 +360,7 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 		return operations.convertId(id);
 	}
 
-	private IndexCoordinates getIndexCoordinates(@Nullable T entity) {
+	protected IndexCoordinates getIndexCoordinates(@Nullable T entity) {
 		return isDynamicIndex
 				? IndexCoordinates.of(entityInformation.getIndexName(entity))
 				: entityInformation.getIndexCoordinates();
@@ -387,19 +378,33 @@ public class SimpleElasticsearchRepository<T, ID> implements ElasticsearchReposi
 
 	@Nullable
 	public <R> R executeAndRefresh(OperationsCallback<R> callback) {
+		return executeAndRefresh(callback, indexOperations.getIndexCoordinates());
+	}
+
+	@Nullable
+	public <R> R executeAndRefresh(OperationsCallback<R> callback, IndexCoordinates index) {
 		R result = callback.doWithOperations(operations);
-		doRefresh();
+		doRefresh(index);
 		return result;
 	}
 
-	private void doRefresh() {
+	private void doRefresh(IndexCoordinates index) {
 
 		RefreshPolicy refreshPolicy = null;
+		RefreshCoalescer refreshCoalescer = null;
 		if (operations instanceof AbstractElasticsearchTemplate) {
 			refreshPolicy = ((AbstractElasticsearchTemplate) operations).getRefreshPolicy();
+			refreshCoalescer = ((AbstractElasticsearchTemplate) operations).getRefreshCoalescer();
+		}
+
+		if (refreshPolicy != null) {
+			return;
 		}
 
-		if (refreshPolicy == null) {
+		if (refreshCoalescer != null) {
+			refreshCoalescer.markDirty(index);
+		}
+		else {
 			indexOperations.refresh();
 		}
 	}
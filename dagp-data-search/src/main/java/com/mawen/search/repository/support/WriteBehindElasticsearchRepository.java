@@ -0,0 +1,117 @@
+package com.mawen.search.repository.support;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.bulk.WriteBehindBuffer;
+import com.mawen.search.core.mapping.IndexCoordinates;
+
+import org.springframework.util.Assert;
+
+/**
+ * Repository that hands saves and deletes of single entities and ids to a {@link WriteBehindBuffer} instead of sending
+ * them right away. The methods return before the write reaches Elasticsearch, and reads do not see buffered writes
+ * until they are flushed. Bulk saves and deletes by query are sent immediately, after a flush of the buffered writes of
+ * the index.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public class WriteBehindElasticsearchRepository<T, ID> extends SimpleElasticsearchRepository<T, ID> {
+
+	private final WriteBehindBuffer buffer;
+
+	public WriteBehindElasticsearchRepository(ElasticsearchEntityInformation<T, ID> metadata,
+			ElasticsearchOperations operations, WriteBehindBuffer buffer) {
+		super(metadata, operations);
+
+		Assert.notNull(buffer, "buffer must not be null");
+
+		this.buffer = buffer;
+	}
+
+	public WriteBehindBuffer getBuffer() {
+		return buffer;
+	}
+
+	@Override
+	public <S extends T> S save(S entity, IndexCoordinates index) {
+
+		Assert.notNull(entity, "Cannot save 'null' entity.");
+		Assert.notNull(index, "index must not be null");
+
+		buffer.save(stringIdRepresentation(extractIdFromBean(entity)), entity, index);
+		return entity;
+	}
+
+	@Override
+	public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+
+		buffer.flush();
+		return super.saveAll(entities);
+	}
+
+	@Override
+	public <S extends T> Iterable<S> saveAll(Iterable<S> entities, IndexCoordinates index) {
+
+		buffer.flush(index);
+		return super.saveAll(entities, index);
+	}
+
+	@Override
+	public void deleteById(ID id) {
+
+		Assert.isTrue(!isDynamicIndex, () -> String.format(
+				"The Entity %s is dynamic index, should use deleteById(ID id, IndexCoordinates index) replace it.",
+				entityClass));
+
+		deleteById(id, getIndexCoordinates(null));
+	}
+
+	@Override
+	public void deleteById(ID id, IndexCoordinates index) {
+
+		Assert.notNull(id, "Cannot delete entity with id 'null'.");
+		Assert.notNull(index, "index must not be null");
+
+		buffer.delete(stringIdRepresentation(id), index);
+	}
+
+	@Override
+	public void delete(T entity, IndexCoordinates index) {
+
+		Assert.notNull(entity, "Cannot delete 'null' entity.");
+
+		ID id = extractIdFromBean(entity);
+
+		if (id != null) {
+			deleteById(id, index);
+		}
+	}
+
+	@Override
+	public void deleteAllById(Iterable<? extends ID> ids) {
+
+		buffer.flush();
+		super.deleteAllById(ids);
+	}
+
+	@Override
+	public void deleteAllById(Iterable<? extends ID> ids, IndexCoordinates index) {
+
+		buffer.flush(index);
+		super.deleteAllById(ids, index);
+	}
+
+	@Override
+	public void deleteAll(IndexCoordinates index) {
+
+		buffer.flush(index);
+		super.deleteAll(index);
+	}
+
+	/**
+	 * Sends all buffered writes and waits for them.
+	 */
+	public void flush() {
+		buffer.flush();
+	}
+}
@@ -0,0 +1,421 @@
+package com.mawen.search.support;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * An insertion ordered {@link Map} with {@link String} keys that keeps its keys and values in two arrays instead of
+ * one entry object per mapping. Documents have few keys, so lookups scan the keys; maps with more than
+ * {@value #INDEX_THRESHOLD} keys keep an open addressing index over the arrays, which is maintained by the writes.
+ * <p>
+ * Keys are interned, so that the field names of all the documents read from an index share the same strings. The map
+ * is not thread-safe and does not support {@literal null} keys. Lookups never write, so a map that is no longer
+ * modified can be read by several threads once it has been safely published.
+ *
+ * @author <a href="1181963012mw@gmail.com">mawen12</a>
+ * @since 0.0.2-SNAPSHOT
+ */
+public class CompactStringObjectMap extends AbstractMap<String, Object> {
+
+	private static final int INDEX_THRESHOLD = 8;
+	private static final String[] EMPTY_KEYS = {};
+	private static final Object[] EMPTY_VALUES = {};
+
+	private String[] keys;
+	private Object[] values;
+	private int size;
+	private int modCount;
+	/**
+	 * slot to position + 1 of the key, {@literal null} while the map has at most {@value #INDEX_THRESHOLD} keys.
+	 */
+	@Nullable
+	private int[] index;
+	@Nullable
+	private Set<Entry<String, Object>> entrySet;
+
+	public CompactStringObjectMap() {
+		this.keys = EMPTY_KEYS;
+		this.values = EMPTY_VALUES;
+	}
+
+	public CompactStringObjectMap(int expectedSize) {
+
+		Assert.isTrue(expectedSize >= 0, "expectedSize must not be negative");
+
+		this.keys = expectedSize == 0 ? EMPTY_KEYS : new String[expectedSize];
+		this.values = expectedSize == 0 ? EMPTY_VALUES : new Object[expectedSize];
+	}
+
+	public CompactStringObjectMap(Map<String, ?> map) {
+
+		Assert.notNull(map, "map must not be null");
+
+		if (map instanceof CompactStringObjectMap) {
+			CompactStringObjectMap other = (CompactStringObjectMap) map;
+			this.keys = Arrays.copyOf(other.keys, other.size);
+			this.values = Arrays.copyOf(other.values, other.size);
+			this.size = other.size;
+			this.index = other.index != null ? other.index.clone() : null;
+		}
+		else {
+			this.keys = new String[map.size()];
+			this.values = new Object[map.size()];
+			for (Entry<String, ?> entry : map.entrySet()) {
+				put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * @param key a field name
+	 * @return the shared instance of the field name
+	 */
+	public static String intern(String key) {
+		return FieldNames.intern(key);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public Object get(Object key) {
+
+		int i = indexOf(key);
+		return i >= 0 ? values[i] : null;
+	}
+
+	@Override
+	public Object getOrDefault(Object key, Object defaultValue) {
+
+		int i = indexOf(key);
+		return i >= 0 ? values[i] : defaultValue;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+
+		Assert.notNull(key, "key must not be null");
+
+		int i = indexOf(key);
+
+		if (i >= 0) {
+			Object previous = values[i];
+			values[i] = value;
+			return previous;
+		}
+
+		if (size == keys.length) {
+			int capacity = size < 4 ? 4 : size + (size >> 1);
+			keys = Arrays.copyOf(keys, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		keys[size] = intern(key);
+		values[size] = value;
+		size++;
+		modCount++;
+
+		if (index != null && size * 2 <= index.length) {
+			addToIndex(index, keys[size - 1], size - 1);
+		}
+		else {
+			reindex();
+		}
+
+		return null;
+	}
+
+	@Override
+	public Object remove(Object key) {
+
+		int i = indexOf(key);
+
+		if (i < 0) {
+			return null;
+		}
+
+		Object previous = values[i];
+		removeAt(i);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+
+		Arrays.fill(keys, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+		index = null;
+		modCount++;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super Object> action) {
+
+		int expectedModCount = modCount;
+
+		for (int i = 0; i < size; i++) {
+			action.accept(keys[i], values[i]);
+
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+
+		return entrySet;
+	}
+
+	private int indexOf(@Nullable Object key) {
+
+		if (!(key instanceof String)) {
+			return -1;
+		}
+
+		int[] table = index;
+
+		if (table == null) {
+			for (int i = 0; i < size; i++) {
+				if (key.equals(keys[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		int mask = table.length - 1;
+
+		for (int slot = spread(key.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int i = table[slot] - 1;
+			if (key.equals(keys[i])) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	// builds the index of a map that outgrew the scan, so that lookups never write
+	private void reindex() {
+
+		if (size <= INDEX_THRESHOLD) {
+			index = null;
+			return;
+		}
+
+		int[] table = new int[Integer.highestOneBit(size * 4 - 1)];
+
+		for (int i = 0; i < size; i++) {
+			addToIndex(table, keys[i], i);
+		}
+
+		index = table;
+	}
+
+	private static void addToIndex(int[] table, String key, int position) {
+
+		int mask = table.length - 1;
+		int slot = spread(key.hashCode()) & mask;
+
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+
+		table[slot] = position + 1;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private void removeAt(int i) {
+
+		int moved = size - i - 1;
+
+		if (moved > 0) {
+			System.arraycopy(keys, i + 1, keys, i, moved);
+			System.arraycopy(values, i + 1, values, i, moved);
+		}
+
+		size--;
+		keys[size] = null;
+		values[size] = null;
+		reindex();
+		modCount++;
+	}
+
+	/**
+	 * Shared instances of field names. Their number is bounded, so that dynamic field names cannot grow it without end.
+	 */
+	private static final class FieldNames {
+
+		private static final int MAX_SIZE = 10_000;
+		private static final Map<String, String> NAMES = new ConcurrentHashMap<>();
+
+		static String intern(String key) {
+
+			String name = NAMES.get(key);
+
+			if (name != null) {
+				return name;
+			}
+
+			if (NAMES.size() >= MAX_SIZE) {
+				return key;
+			}
+
+			name = NAMES.putIfAbsent(key, key);
+			return name != null ? name : key;
+		}
+	}
+
+	/**
+	 * Entry view that walks the arrays in insertion order.
+	 */
+	private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			CompactStringObjectMap.this.clear();
+		}
+	}
+
+	/**
+	 * Iterator of the entry view, supports {@link Iterator#remove()}.
+	 */
+	private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+		private int next;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+
+			last = next++;
+			return new ArrayEntry(last);
+		}
+
+		@Override
+		public void remove() {
+
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+
+	/**
+	 * Entry that points at a position of the arrays, {@link #setValue(Object)} writes into the values array.
+	 */
+	private final class ArrayEntry implements Entry<String, Object> {
+
+		private final int position;
+
+		ArrayEntry(int position) {
+			this.position = position;
+		}
+
+		@Override
+		public String getKey() {
+			return keys[position];
+		}
+
+		@Override
+		public Object getValue() {
+			return values[position];
+		}
+
+		@Override
+		public Object setValue(Object value) {
+
+			Object previous = values[position];
+			values[position] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+
+			Entry<?, ?> other = (Entry<?, ?>) o;
+			return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
@@ -1,36 +1,89 @@
 package com.mawen.search.support;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
+ * {@link StringObjectMap} backed by a {@link CompactStringObjectMap}. JSON objects, nested ones included, are decoded
+ * into {@link CompactStringObjectMap}s and {@link ArrayList}s.
+ *
  * @author <a href="1181963012mw@gmail.com">mawen12</a>
  * @since 0.0.1
  */
 public class DefaultStringObjectMap<T extends StringObjectMap<T>> implements StringObjectMap<T> {
 
 	static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-	private final LinkedHashMap<String, Object> delegate;
+	// the lazily decoded map is published before the source is dropped, so a reader always finds one of them
+	@Nullable
+	private volatile CompactStringObjectMap delegate;
+	@Nullable
+	private volatile TokenBuffer source;
 
 	public DefaultStringObjectMap() {
-		this(new LinkedHashMap<>());
+		this.delegate = new CompactStringObjectMap();
 	}
 
 	public DefaultStringObjectMap(Map<String, ? extends Object> map) {
-		this.delegate = new LinkedHashMap<>(map);
+
+		if (map instanceof DefaultStringObjectMap) {
+			DefaultStringObjectMap<?> other = (DefaultStringObjectMap<?>) map;
+			TokenBuffer otherSource = other.source;
+
+			if (otherSource != null) {
+				this.source = otherSource;
+				return;
+			}
+
+			map = other.delegate();
+		}
+
+		this.delegate = new CompactStringObjectMap(map);
+	}
+
+	/**
+	 * Creates a map over a JSON object that is decoded on first access, so that a reader that only needs the JSON can
+	 * use {@link #getSourceParser()} without building the map.
+	 *
+	 * @param source buffered tokens of a JSON object
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	protected DefaultStringObjectMap(TokenBuffer source) {
+
+		Assert.notNull(source, "source must not be null");
+
+		this.source = source;
+	}
+
+	/**
+	 * @return a new parser over the JSON object this map was created from, {@literal null} once the map has been
+	 * decoded
+	 * @since 0.0.2-SNAPSHOT
+	 */
+	@Nullable
+	public JsonParser getSourceParser() {
+
+		TokenBuffer tokens = source;
+		return tokens != null ? tokens.asParser() : null;
 	}
 
 	@Override
 	public String toJson() {
 		try {
-			return OBJECT_MAPPER.writeValueAsString(this);
+			TokenBuffer tokens = source;
+			return OBJECT_MAPPER.writeValueAsString(tokens != null ? tokens : this);
 		}
 		catch (JsonProcessingException e) {
 			throw new IllegalArgumentException("Cannot render document to JSON", e);
@@ -42,11 +95,11 @@ public class DefaultStringObjectMap<T extends StringObjectMap<T>> implements Str
 
 		Assert.notNull(json, "JSON must not be null");
 
-		delegate.clear();
-		try {
-			delegate.putAll(OBJECT_MAPPER.readerFor(Map.class).readValue(json));
+		try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(json)) {
+			delegate = readObject(parser);
+			source = null;
 		}
-		catch (JsonProcessingException e) {
+		catch (IOException e) {
 			throw new IllegalArgumentException("Cannot parse JSON", e);
 		}
 		return (T) this;
@@ -54,67 +107,145 @@ public class DefaultStringObjectMap<T extends StringObjectMap<T>> implements Str
 
 	@Override
 	public int size() {
-		return delegate.size();
+		return delegate().size();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return delegate.isEmpty();
+		return delegate().isEmpty();
 	}
 
 	@Override
 	public boolean containsKey(Object key) {
-		return delegate.containsKey(key);
+		return delegate().containsKey(key);
 	}
 
 	@Override
 	public boolean containsValue(Object value) {
-		return delegate.containsValue(value);
+		return delegate().containsValue(value);
 	}
 
 	@Override
 	public Object get(Object key) {
-		return delegate.get(key);
+		return delegate().get(key);
 	}
 
 	@Override
 	public Object getOrDefault(Object key, Object defaultValue) {
-		return delegate.getOrDefault(key, defaultValue);
+		return delegate().getOrDefault(key, defaultValue);
 	}
 
 	@Override
 	public Object put(String key, Object value) {
-		return delegate.put(key, value);
+		return delegate().put(key, value);
 	}
 
 	@Override
 	public Object remove(Object key) {
-		return delegate.remove(key);
+		return delegate().remove(key);
 	}
 
 	@Override
 	public void putAll(Map<? extends String, ?> m) {
-		delegate.putAll(m);
+		delegate().putAll(m);
 	}
 
 	@Override
 	public void clear() {
-		delegate.clear();
+		delegate().clear();
 	}
 
 	@Override
 	public Set<String> keySet() {
-		return delegate.keySet();
+		return delegate().keySet();
 	}
 
 	@Override
 	public Collection<Object> values() {
-		return delegate.values();
+		return delegate().values();
 	}
 
 	@Override
 	public Set<Entry<String, Object>> entrySet() {
-		return delegate.entrySet();
+		return delegate().entrySet();
+	}
+
+	private CompactStringObjectMap delegate() {
+
+		CompactStringObjectMap map = delegate;
+
+		if (map == null) {
+			synchronized (this) {
+				map = delegate;
+
+				if (map == null) {
+					try (JsonParser parser = source.asParser()) {
+						map = readObject(parser);
+					}
+					catch (IOException e) {
+						throw new IllegalArgumentException("Cannot parse JSON", e);
+					}
+					delegate = map;
+					source = null;
+				}
+			}
+		}
+
+		return map;
+	}
+
+	private static CompactStringObjectMap readObject(JsonParser parser) throws IOException {
+
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Expected a JSON object but found " + parser.currentToken());
+		}
+
+		return readFields(parser);
+	}
+
+	// reads the fields of an object, the parser is positioned on START_OBJECT
+	private static CompactStringObjectMap readFields(JsonParser parser) throws IOException {
+
+		CompactStringObjectMap map = new CompactStringObjectMap();
+		String name;
+
+		while ((name = parser.nextFieldName()) != null) {
+			parser.nextToken();
+			map.put(name, readValue(parser));
+		}
+
+		return map;
+	}
+
+	@Nullable
+	private static Object readValue(JsonParser parser) throws IOException {
+
+		switch (parser.currentToken()) {
+			case START_OBJECT:
+				return readFields(parser);
+			case START_ARRAY:
+				List<Object> list = new ArrayList<>();
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					list.add(readValue(parser));
+				}
+				return list;
+			case VALUE_STRING:
+				return parser.getText();
+			case VALUE_NUMBER_INT:
+				return parser.getNumberValue();
+			case VALUE_NUMBER_FLOAT:
+				return parser.getDoubleValue();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return null;
+			case VALUE_EMBEDDED_OBJECT:
+				return parser.getEmbeddedObject();
+			default:
+				throw new IOException("Unexpected token " + parser.currentToken());
+		}
 	}
 
 	public Object path(String path) {
@@ -148,12 +279,12 @@ public class DefaultStringObjectMap<T extends StringObjectMap<T>> implements Str
 
 	@Override
 	public int hashCode() {
-		return delegate.hashCode();
+		return delegate().hashCode();
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return delegate.equals(obj);
+		return delegate().equals(obj);
 	}
 
 	@Override
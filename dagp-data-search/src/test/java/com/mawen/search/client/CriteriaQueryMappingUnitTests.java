@@ -11,6 +11,7 @@ import com.mawen.search.client.query.CriteriaQueryProcessor;
 import com.mawen.search.core.annotation.DateFormat;
 import com.mawen.search.core.annotation.Field;
 import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.annotation.SubstringSearch;
 import com.mawen.search.core.convert.MappingElasticsearchConverter;
 import com.mawen.search.core.domain.Criteria;
 import com.mawen.search.core.domain.SourceFilter;
@@ -87,7 +88,8 @@ public class CriteriaQueryMappingUnitTests {
 		                  "}\n";
 
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -140,7 +142,8 @@ public class CriteriaQueryMappingUnitTests {
 		                  "}\n";
 
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -192,7 +195,8 @@ public class CriteriaQueryMappingUnitTests {
 		                  "}";
 
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -244,7 +248,8 @@ public class CriteriaQueryMappingUnitTests {
 		                  "}";
 
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -277,7 +282,8 @@ public class CriteriaQueryMappingUnitTests {
 
 		CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("persons.birthDate").is(LocalDate.of(1999, 10, 3)));
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, House.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -310,7 +316,8 @@ public class CriteriaQueryMappingUnitTests {
 
 		CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("persons.firstName.keyword").is("Foobar"));
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, House.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -337,7 +344,8 @@ public class CriteriaQueryMappingUnitTests {
 
 		CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("persons.birthDate").is(LocalDate.of(1999, 10, 3)));
 		mappingElasticsearchConverter.updateQuery(criteriaQuery, ObjectWithPerson.class);
-		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+		String queryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
 
 		assertEquals(expected, queryString, false);
 	}
@@ -362,6 +370,158 @@ public class CriteriaQueryMappingUnitTests {
 		softly.assertAll();
 	}
 
+	@Test
+	@DisplayName("should map names and convert values of repeated criteria shapes")
+	void shouldMapNamesAndConvertValuesOfRepeatedCriteriaShapes() throws JSONException {
+
+		for (int day = 1; day <= 3; day++) {
+
+			String expected = "{\n" +
+			                  "	\"bool\": {\n" +
+			                  "		\"must\": [\n" +
+			                  "			{\n" +
+			                  "				\"nested\": {\n" +
+			                  "					\"path\": \"per-sons\",\n" +
+			                  "					\"query\": {\n" +
+			                  "						\"query_string\": {\n" +
+			                  "							\"default_operator\": \"and\",\n" +
+			                  "							\"fields\": [\n" +
+			                  "								\"per-sons.birth-date\"\n" +
+			                  "							],\n" +
+			                  "							\"query\": \"0" + day + ".10.1999\"\n" +
+			                  "						}\n" +
+			                  "					},\n" +
+			                  "					\"score_mode\": \"avg\"\n" +
+			                  "				}\n" +
+			                  "			}\n" +
+			                  "		]\n" +
+			                  "	}\n" +
+			                  "}\n";
+
+			CriteriaQuery criteriaQuery = new CriteriaQuery(new Criteria("persons.birthDate").is(LocalDate.of(1999, 10, day)));
+			mappingElasticsearchConverter.updateQuery(criteriaQuery, House.class);
+			String queryString = queryToJson(
+					CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria(), Criteria.Context.QUERY), mapper);
+
+			assertEquals(expected, queryString, false);
+		}
+	}
+
+	@Test
+	@DisplayName("should translate criteria on date fields into filters by default")
+	void shouldTranslateCriteriaOnDateFieldsIntoFiltersByDefault() throws JSONException {
+
+		CriteriaQuery criteriaQuery = new CriteriaQuery( //
+				new Criteria("birthDate").is(LocalDate.of(2019, 12, 28)) //
+						.and("birthDate").between(LocalDate.of(1989, 11, 9), LocalDate.of(1990, 11, 9)) //
+						.and("firstName").is("John") //
+		);
+
+		String expected = "{\n" +
+		                  "	\"bool\": {\n" +
+		                  "		\"must\": [\n" +
+		                  "			{\n" +
+		                  "				\"query_string\": {\n" +
+		                  "					\"default_operator\": \"and\",\n" +
+		                  "					\"fields\": [\n" +
+		                  "						\"first-name\"\n" +
+		                  "					],\n" +
+		                  "					\"query\": \"John\"\n" +
+		                  "				}\n" +
+		                  "			}\n" +
+		                  "		],\n" +
+		                  "		\"filter\": [\n" +
+		                  "			{\n" +
+		                  "				\"term\": {\n" +
+		                  "					\"birth-date\": {\n" +
+		                  "						\"value\": \"28.12.2019\"\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"range\": {\n" +
+		                  "					\"birth-date\": {\n" +
+		                  "						\"gte\": \"09.11.1989\",\n" +
+		                  "						\"lte\": \"09.11.1990\"\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			}\n" +
+		                  "		]\n" +
+		                  "	}\n" +
+		                  "}\n";
+
+		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
+		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+
+		assertEquals(expected, queryString, true);
+	}
+
+	@Test
+	@DisplayName("should search substrings in the declared subfields")
+	void shouldSearchSubstringsInTheDeclaredSubfields() throws JSONException {
+
+		CriteriaQuery criteriaQuery = new CriteriaQuery( //
+				new Criteria("nickName").contains("a*b") //
+						.and("nickName").endsWith("son") //
+						.and("nickName").startsWith("jo") //
+						.and("remark").contains("quic") //
+						.and("remark").endsWith("fox") //
+		);
+
+		String expected = "{\n" +
+		                  "	\"bool\": {\n" +
+		                  "		\"must\": [\n" +
+		                  "			{\n" +
+		                  "				\"wildcard\": {\n" +
+		                  "					\"nick-name.wildcard\": {\n" +
+		                  "						\"value\": \"*a\\\\*b*\",\n" +
+		                  "						\"case_insensitive\": true\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"wildcard\": {\n" +
+		                  "					\"nick-name.wildcard\": {\n" +
+		                  "						\"value\": \"*son\",\n" +
+		                  "						\"case_insensitive\": true\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"query_string\": {\n" +
+		                  "					\"analyze_wildcard\": true,\n" +
+		                  "					\"fields\": [\n" +
+		                  "						\"nick-name\"\n" +
+		                  "					],\n" +
+		                  "					\"query\": \"jo*\"\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"match_phrase\": {\n" +
+		                  "					\"remark.grams\": {\n" +
+		                  "						\"query\": \"quic\"\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"query_string\": {\n" +
+		                  "					\"analyze_wildcard\": true,\n" +
+		                  "					\"fields\": [\n" +
+		                  "						\"remark\"\n" +
+		                  "					],\n" +
+		                  "					\"query\": \"*fox\"\n" +
+		                  "				}\n" +
+		                  "			}\n" +
+		                  "		]\n" +
+		                  "	}\n" +
+		                  "}\n";
+
+		mappingElasticsearchConverter.updateQuery(criteriaQuery, Person.class);
+		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteriaQuery.getCriteria()), mapper);
+
+		assertEquals(expected, queryString, true);
+	}
+
 	// endregion
 	// region helper functions
 
@@ -380,6 +540,10 @@ public class CriteriaQueryMappingUnitTests {
 		@Field(value = "created-date", type = FieldType.Date, format = DateFormat.epoch_millis) Date createdDate;
 		@Nullable
 		@Field(value = "birth-date", type = FieldType.Date, format = {}, pattern = "dd.MM.uuuu") LocalDate birthDate;
+		@Nullable
+		@Field(value = "nick-name", type = FieldType.Text, substringSearch = SubstringSearch.WILDCARD) String nickName;
+		@Nullable
+		@Field(type = FieldType.Text, substringSearch = SubstringSearch.NGRAM, substringField = "grams") String remark;
 	}
 
 	static class House {
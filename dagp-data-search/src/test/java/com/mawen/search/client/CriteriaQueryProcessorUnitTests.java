@@ -19,7 +19,9 @@ import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import com.google.common.collect.Lists;
 import com.mawen.search.client.query.CriteriaQueryProcessor;
+import com.mawen.search.core.annotation.FieldType;
 import com.mawen.search.core.domain.Criteria;
+import com.mawen.search.core.domain.SimpleField;
 import org.intellij.lang.annotations.Language;
 import org.json.JSONException;
 import org.junit.jupiter.api.DisplayName;
@@ -637,4 +639,167 @@ class CriteriaQueryProcessorUnitTests {
 				"}";
 		assertEquals(expected, queryString, false);
 	}
+
+	@Test
+	@DisplayName("should fill the values of criteria with the same shape")
+	void shouldFillTheValuesOfCriteriaWithTheSameShape() throws JSONException {
+
+		for (int i = 0; i < 3; i++) {
+
+			String expected = "{\n" +
+			                  "	\"bool\": {\n" +
+			                  "		\"must\": [\n" +
+			                  "			{\n" +
+			                  "				\"range\": {\n" +
+			                  "					\"age\": {\n" +
+			                  "						\"gte\": " + i + "\n" +
+			                  "					}\n" +
+			                  "				}\n" +
+			                  "			},\n" +
+			                  "			{\n" +
+			                  "				\"exists\": {\n" +
+			                  "					\"field\": \"name\"\n" +
+			                  "				}\n" +
+			                  "			}\n" +
+			                  "		],\n" +
+			                  "		\"must_not\": [\n" +
+			                  "			{\n" +
+			                  "				\"query_string\": {\n" +
+			                  "					\"default_operator\": \"and\",\n" +
+			                  "					\"fields\": [\n" +
+			                  "						\"status\"\n" +
+			                  "					],\n" +
+			                  "					\"query\": \"value\\\\-" + i + "\"\n" +
+			                  "				}\n" +
+			                  "			}\n" +
+			                  "		]\n" +
+			                  "	}\n" +
+			                  "}\n";
+
+			Criteria criteria = new Criteria("age").greaterThanEqual(i) //
+					.and("status").is("value-" + i).not() //
+					.and("name").exists();
+
+			String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteria), mapper);
+
+			assertEquals(expected, queryString, true);
+		}
+	}
+
+	@Test
+	@DisplayName("should not share queries of criteria with different shapes")
+	void shouldNotShareQueriesOfCriteriaWithDifferentShapes() throws JSONException {
+
+		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(new Criteria("field").is("value")), mapper);
+		String boostedQueryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(new Criteria("field").is("value").boost(2)), mapper);
+		String orQueryString = queryToJson(
+				CriteriaQueryProcessor.createQuery(new Criteria("field").is("value").or("other").is("value")), mapper);
+
+		assertEquals("{\"bool\":{\"must\":[{\"query_string\":{\"fields\":[\"field\"],\"query\":\"value\"}}]}}",
+				queryString, false);
+		assertEquals(
+				"{\"bool\":{\"must\":[{\"query_string\":{\"fields\":[\"field\"],\"query\":\"value\",\"boost\":2.0}}]}}",
+				boostedQueryString, false);
+		assertEquals("{\"bool\":{\"should\":[{\"query_string\":{\"fields\":[\"field\"]}},"
+				+ "{\"query_string\":{\"fields\":[\"other\"]}}]}}", orQueryString, false);
+	}
+
+	@Test
+	@DisplayName("should translate exact matches on keyword fields into filters")
+	void shouldTranslateExactMatchesOnKeywordFieldsIntoFilters() throws JSONException {
+
+		String expected = "{\n" +
+		                  "	\"bool\": {\n" +
+		                  "		\"must_not\": [\n" +
+		                  "			{\n" +
+		                  "				\"exists\": {\n" +
+		                  "					\"field\": \"deleted\"\n" +
+		                  "				}\n" +
+		                  "			}\n" +
+		                  "		],\n" +
+		                  "		\"filter\": [\n" +
+		                  "			{\n" +
+		                  "				\"term\": {\n" +
+		                  "					\"status\": {\n" +
+		                  "						\"value\": \"a-b\"\n" +
+		                  "					}\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"terms\": {\n" +
+		                  "					\"tags\": [\"x\", \"y\"]\n" +
+		                  "				}\n" +
+		                  "			},\n" +
+		                  "			{\n" +
+		                  "				\"bool\": {\n" +
+		                  "					\"filter\": [\n" +
+		                  "						{\n" +
+		                  "							\"range\": {\n" +
+		                  "								\"age\": {\n" +
+		                  "									\"gt\": 18\n" +
+		                  "								}\n" +
+		                  "							}\n" +
+		                  "						},\n" +
+		                  "						{\n" +
+		                  "							\"range\": {\n" +
+		                  "								\"age\": {\n" +
+		                  "									\"lte\": 65\n" +
+		                  "								}\n" +
+		                  "							}\n" +
+		                  "						}\n" +
+		                  "					]\n" +
+		                  "				}\n" +
+		                  "			}\n" +
+		                  "		]\n" +
+		                  "	}\n" +
+		                  "}\n";
+
+		Criteria criteria = new Criteria(field("status", FieldType.Keyword)).is("a-b") //
+				.and(field("tags", FieldType.Keyword)).in("x", "y") //
+				.and(field("age", FieldType.Integer)).greaterThan(18).lessThanEqual(65) //
+				.and(field("deleted", FieldType.Keyword)).exists().not();
+
+		String queryString = queryToJson(CriteriaQueryProcessor.createQuery(criteria), mapper);
+
+		assertEquals(expected, queryString, true);
+	}
+
+	@Test
+	@DisplayName("should keep scoring queries when asked for the query context")
+	void shouldKeepScoringQueriesWhenAskedForTheQueryContext() throws JSONException {
+
+		String expected = "{\"bool\":{\"must\":[{\"query_string\":{\"default_operator\":\"and\",\"fields\":[\"status\"],"
+				+ "\"query\":\"a\\\\-b\"}},{\"bool\":{\"must\":[{\"terms\":{\"tags\":[\"x\"]}}]}}]}}";
+
+		Criteria criteria = new Criteria(field("status", FieldType.Keyword)).is("a-b") //
+				.and(field("tags", FieldType.Keyword)).in("x");
+		Criteria boosted = new Criteria(field("status", FieldType.Keyword)).is("a-b").boost(2) //
+				.and(field("tags", FieldType.Keyword)).in("x").context(Criteria.Context.QUERY);
+
+		assertEquals(expected, queryToJson(CriteriaQueryProcessor.createQuery(criteria, Criteria.Context.QUERY), mapper),
+				true);
+		assertEquals(expected.replace("\"query\":\"a\\\\-b\"", "\"query\":\"a\\\\-b\",\"boost\":2.0"),
+				queryToJson(CriteriaQueryProcessor.createQuery(boosted), mapper), true);
+	}
+
+	@Test
+	@DisplayName("should translate criteria in the filter context into filters")
+	void shouldTranslateCriteriaInTheFilterContextIntoFilters() throws JSONException {
+
+		String expected = "{\"bool\":{\"must\":[{\"query_string\":{\"fields\":[\"name\"],\"query\":\"*jo*\",\"analyze_wildcard\":true}}],"
+				+ "\"filter\":[{\"term\":{\"code\":{\"value\":42}}}]}}";
+
+		Criteria criteria = new Criteria("code").is(42).context(Criteria.Context.FILTER) //
+				.and("name").contains("jo").context(Criteria.Context.FILTER);
+
+		assertEquals(expected, queryToJson(CriteriaQueryProcessor.createQuery(criteria), mapper), true);
+	}
+
+	private static SimpleField field(String name, FieldType fieldType) {
+
+		SimpleField field = new SimpleField(name);
+		field.setFieldType(fieldType);
+		return field;
+	}
 }
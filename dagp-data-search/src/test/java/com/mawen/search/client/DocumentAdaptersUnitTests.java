@@ -15,19 +15,26 @@
  */
 package com.mawen.search.client;
 
+import java.io.StringReader;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.json.JsonData;
 import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import com.mawen.search.core.document.SearchDocument;
+import jakarta.json.Json;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.*;
+
 class DocumentAdaptersUnitTests {
 
 	private final JsonpMapper jsonpMapper = new JacksonJsonpMapper();
@@ -104,6 +111,66 @@ class DocumentAdaptersUnitTests {
 	}
 
 
+	@Test
+	@DisplayName("should convert parsed hit fields without rendering them to JSON")
+	void shouldConvertParsedHitFields() {
+
+		JsonData parsed = JsonData.from(jsonpMapper.jsonProvider()
+				.createParser(new StringReader("[{\"name\": \"a\", \"tags\": [\"x\", \"y\"]}, 12, 4294967296, 1.5]")), jsonpMapper);
+		JsonData value = JsonData.of(Json.createArrayBuilder().add(Json.createObjectBuilder().add("count", 3)).build());
+
+		Hit<EntityAsMap> searchHit = new Hit.Builder<EntityAsMap>() //
+				.index("index") //
+				.id("42") //
+				.fields("parsed", parsed) //
+				.fields("value", value) //
+				.build();
+
+		SearchDocument document = DocumentAdapters.from(searchHit, jsonpMapper);
+
+		Map<String, Object> nested = new LinkedHashMap<>();
+		nested.put("name", "a");
+		nested.put("tags", Arrays.asList("x", "y"));
+		SoftAssertions softly = new SoftAssertions();
+		softly.assertThat(document.getFields().get("parsed")).containsExactly(nested, 12, 4294967296L, 1.5);
+		softly.assertThat(document.getFields().get("value"))
+				.containsExactly(Collections.singletonMap("count", 3));
+		softly.assertThat(document.get("parsed")).isEqualTo(document.getFields().get("parsed"));
+		softly.assertAll();
+	}
+
+	@Test
+	@DisplayName("should read integral hit fields that do not fit in a long as BigInteger")
+	void shouldReadLargeIntegralHitFieldsAsBigInteger() {
+
+		JsonData parsed = JsonData.from(jsonpMapper.jsonProvider().createParser(new StringReader(
+				"[9223372036854775807, -9223372036854775808, 9223372036854775808, -123456789012345678901]")), jsonpMapper);
+
+		Hit<EntityAsMap> searchHit = new Hit.Builder<EntityAsMap>() //
+				.index("index") //
+				.id("42") //
+				.fields("parsed", parsed) //
+				.build();
+
+		SearchDocument document = DocumentAdapters.from(searchHit, jsonpMapper);
+
+		assertThat(document.getFields().get("parsed")).containsExactly(Long.MAX_VALUE, Long.MIN_VALUE,
+				new BigInteger("9223372036854775808"), new BigInteger("-123456789012345678901"));
+	}
+
+	@Test
+	@DisplayName("should copy integral source values that do not fit in a long as BigInteger")
+	void shouldCopyLargeIntegralSourceValuesAsBigInteger() {
+
+		// a parser that is not backed by Jackson
+		EntityAsMap source = EntityAsMap._DESERIALIZER.deserialize(Json.createParser(new StringReader(
+				"{\"int\": 12, \"long\": 9223372036854775807, \"big\": 9223372036854775808}")), jsonpMapper);
+
+		assertThat(source.get("int")).isEqualTo(12);
+		assertThat(source.get("long")).isEqualTo(Long.MAX_VALUE);
+		assertThat(source.get("big")).isEqualTo(new BigInteger("9223372036854775808"));
+	}
+
 	@Test
 	@DisplayName("should adapt returned matched queries")
 	void shouldAdaptReturnedMatchedQueries() {
@@ -0,0 +1,181 @@
+package com.mawen.search.client;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SlicesCalculation;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryRequest;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryRethrottleRequest;
+import co.elastic.clients.elasticsearch.core.UpdateByQueryRequest;
+import co.elastic.clients.elasticsearch.core.UpdateByQueryResponse;
+import co.elastic.clients.elasticsearch.tasks.CancelRequest;
+import co.elastic.clients.elasticsearch.tasks.ElasticsearchTasksClient;
+import co.elastic.clients.elasticsearch.tasks.GetTasksRequest;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.elasticsearch.tasks.TaskInfo;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import com.mawen.search.UncategorizedElasticsearchException;
+import com.mawen.search.client.query.NativeQuery;
+import com.mawen.search.core.domain.ByQueryTaskOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.ByQueryResponse;
+import com.mawen.search.core.query.ByQueryTask;
+import com.mawen.search.core.query.UpdateQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ElasticsearchByQueryTaskUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("tasks");
+	private static final String TASK_ID = "node-1:42";
+
+	private final JsonpMapper mapper = new JacksonJsonpMapper();
+	private final ElasticsearchClient client = mock(ElasticsearchClient.class);
+	private final ElasticsearchTasksClient tasksClient = mock(ElasticsearchTasksClient.class);
+	private ElasticsearchTemplate template;
+
+	@BeforeEach
+	void setUp() {
+
+		ElasticsearchTransport transport = mock(ElasticsearchTransport.class);
+		when(transport.jsonpMapper()).thenReturn(mapper);
+		when(client._transport()).thenReturn(transport);
+		when(client.tasks()).thenReturn(tasksClient);
+		template = new ElasticsearchTemplate(client);
+	}
+
+	@Test
+	@DisplayName("should submit an update-by-query task with automatic slices and throttling")
+	void shouldSubmitAnUpdateByQueryTask() throws IOException {
+
+		when(client.updateByQuery(any(UpdateByQueryRequest.class)))
+				.thenReturn(UpdateByQueryResponse.of(r -> r.task(TASK_ID)));
+
+		ByQueryTask task = template.updateByQueryTask(updateQuery(),
+				ByQueryTaskOptions.builder().withRequestsPerSecond(500).build(), INDEX);
+
+		ArgumentCaptor<UpdateByQueryRequest> captor = ArgumentCaptor.forClass(UpdateByQueryRequest.class);
+		verify(client).updateByQuery(captor.capture());
+		UpdateByQueryRequest request = captor.getValue();
+		assertThat(task.getTaskId()).isEqualTo(TASK_ID);
+		assertThat(request.waitForCompletion()).isFalse();
+		assertThat(request.slices().computed()).isEqualTo(SlicesCalculation.Auto);
+		assertThat(request.requestsPerSecond()).isEqualTo(500f);
+	}
+
+	@Test
+	@DisplayName("should stream the progress of a task until it is completed")
+	void shouldStreamTheProgressOfATaskUntilItIsCompleted() throws IOException {
+
+		when(client.deleteByQuery(any(DeleteByQueryRequest.class)))
+				.thenReturn(DeleteByQueryResponse.of(r -> r.task(TASK_ID)));
+		when(tasksClient.get(any(GetTasksRequest.class))).thenReturn( //
+				running("{\"total\":100,\"deleted\":10,\"batches\":1,\"created\":0}"), //
+				running("{\"total\":100,\"deleted\":60,\"batches\":6,\"created\":0}"), //
+				completed("{\"took\":12,\"timed_out\":false,\"total\":100,\"deleted\":100,\"batches\":10,\"failures\":[]}"));
+
+		ByQueryTask task = template.deleteByQueryTask(NativeQuery.builder().withQuery(q -> q.matchAll(m -> m)).build(),
+				Object.class, ByQueryTaskOptions.builder().withSlices(4).withPollInterval(Duration.ZERO).build(), INDEX);
+
+		List<ByQueryResponse> progress = task.progress().collect(Collectors.toList());
+
+		assertThat(progress).extracting(ByQueryResponse::getDeleted).containsExactly(10L, 60L, 100L);
+		assertThat(progress.get(2).getTook()).isEqualTo(12L);
+		assertThat(task.isCompleted()).isTrue();
+
+		ArgumentCaptor<DeleteByQueryRequest> captor = ArgumentCaptor.forClass(DeleteByQueryRequest.class);
+		verify(client).deleteByQuery(captor.capture());
+		assertThat(captor.getValue().waitForCompletion()).isFalse();
+		assertThat(captor.getValue().slices().value()).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("should report the reason of a cancelled task")
+	void shouldReportTheReasonOfACancelledTask() throws IOException {
+
+		when(client.updateByQuery(any(UpdateByQueryRequest.class)))
+				.thenReturn(UpdateByQueryResponse.of(r -> r.task(TASK_ID)));
+		when(tasksClient.get(any(GetTasksRequest.class)))
+				.thenReturn(running("{\"total\":100,\"updated\":10,\"canceled\":\"by user request\"}"));
+
+		ByQueryResponse status = template
+				.updateByQueryTask(updateQuery(), ByQueryTaskOptions.defaultOptions(), INDEX).getStatus();
+
+		assertThat(status.getUpdated()).isEqualTo(10L);
+		assertThat(status.getReasonCancelled()).isEqualTo("by user request");
+	}
+
+	@Test
+	@DisplayName("should throw when the task failed")
+	void shouldThrowWhenTheTaskFailed() throws IOException {
+
+		when(client.updateByQuery(any(UpdateByQueryRequest.class)))
+				.thenReturn(UpdateByQueryResponse.of(r -> r.task(TASK_ID)));
+		when(tasksClient.get(any(GetTasksRequest.class))).thenReturn(GetTasksResponse.of(r -> r.completed(true)
+				.task(taskInfo(null)).error(e -> e.type("search_phase_execution_exception").reason("all shards failed"))));
+
+		ByQueryTask task = template.updateByQueryTask(updateQuery(), ByQueryTaskOptions.defaultOptions(), INDEX);
+
+		assertThatThrownBy(task::await).isInstanceOf(UncategorizedElasticsearchException.class)
+				.hasMessageContaining("all shards failed");
+	}
+
+	@Test
+	@DisplayName("should cancel and rethrottle the task")
+	void shouldCancelAndRethrottleTheTask() throws IOException {
+
+		when(client.deleteByQuery(any(DeleteByQueryRequest.class)))
+				.thenReturn(DeleteByQueryResponse.of(r -> r.task(TASK_ID)));
+
+		ByQueryTask task = template.deleteByQueryTask(NativeQuery.builder().withQuery(q -> q.matchAll(m -> m)).build(),
+				Object.class, ByQueryTaskOptions.defaultOptions(), INDEX);
+		task.rethrottle(null);
+		task.cancel();
+
+		ArgumentCaptor<DeleteByQueryRethrottleRequest> rethrottle = ArgumentCaptor
+				.forClass(DeleteByQueryRethrottleRequest.class);
+		verify(client).deleteByQueryRethrottle(rethrottle.capture());
+		assertThat(rethrottle.getValue().taskId()).isEqualTo(TASK_ID);
+		assertThat(rethrottle.getValue().requestsPerSecond()).isEqualTo(-1f);
+
+		ArgumentCaptor<CancelRequest> cancel = ArgumentCaptor.forClass(CancelRequest.class);
+		verify(tasksClient).cancel(cancel.capture());
+		assertThat(cancel.getValue().taskId()).isEqualTo(TASK_ID);
+	}
+
+	private static UpdateQuery updateQuery() {
+		return UpdateQuery.builder(NativeQuery.builder().withQuery(q -> q.matchAll(m -> m)).build()).build();
+	}
+
+	private GetTasksResponse running(String status) {
+		return GetTasksResponse.of(r -> r.completed(false).task(taskInfo(json(status))));
+	}
+
+	private GetTasksResponse completed(String response) {
+		return GetTasksResponse.of(r -> r.completed(true).task(taskInfo(null)).response(json(response)));
+	}
+
+	private static TaskInfo taskInfo(JsonData status) {
+		return new TaskInfo.Builder().action("indices:data/write/delete/byquery").cancellable(true).id(42).node("node-1")
+				.runningTimeInNanos(1).startTimeInMillis(1).type("transport").headers(Collections.emptyMap())
+				.status(status).build();
+	}
+
+	private JsonData json(String json) {
+		return JsonData.from(mapper.jsonProvider().createParser(new StringReader(json)), mapper);
+	}
+}
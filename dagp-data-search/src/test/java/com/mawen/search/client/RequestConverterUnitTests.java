@@ -0,0 +1,340 @@
+package com.mawen.search.client;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import co.elastic.clients.elasticsearch._types.KnnQuery;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.CountRequest;
+import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.util.BinaryData;
+import com.mawen.search.BulkConversionException;
+import com.mawen.search.InvalidApiUsageException;
+import com.mawen.search.client.query.NativeQuery;
+import com.mawen.search.client.request.RequestConverter;
+import com.mawen.search.core.annotation.DateFormat;
+import com.mawen.search.core.annotation.Field;
+import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.convert.MappingElasticsearchConverter;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.domain.FetchSourceFilter;
+import com.mawen.search.core.domain.PointInTime;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.mapping.SimpleElasticsearchMappingContext;
+import com.mawen.search.core.query.DeleteQuery;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.Query;
+import com.mawen.search.core.query.StringQuery;
+import com.mawen.search.core.query.builder.IndexQueryBuilder;
+import jakarta.json.stream.JsonGenerator;
+import org.json.JSONException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.Id;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.skyscreamer.jsonassert.JSONAssert.*;
+
+class RequestConverterUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("raw");
+
+	private final JsonpMapper mapper = new JacksonJsonpMapper();
+	private final MappingElasticsearchConverter converter = new MappingElasticsearchConverter(
+			new SimpleElasticsearchMappingContext());
+	private final RequestConverter requestConverter = new RequestConverter(converter, mapper);
+
+	@Test
+	@DisplayName("should pass pre-serialized sources to the bulk request without parsing them")
+	void shouldPassPreSerializedSourcesToTheBulkRequest() throws IOException {
+
+		String json = "{\"name\":\"raw\",  \"value\":1}";
+		ByteBuffer buffer = ByteBuffer.wrap(("xx" + json).getBytes(StandardCharsets.UTF_8));
+		buffer.position(2);
+		IndexQuery stringSource = new IndexQueryBuilder().withId("1").withSource(json).build();
+		IndexQuery byteSource = new IndexQueryBuilder().withId("2").withSource(json.getBytes(StandardCharsets.UTF_8))
+				.build();
+		IndexQuery bufferSource = new IndexQueryBuilder().withId("3").withSource(buffer)
+				.withOpType(IndexQuery.OpType.CREATE).build();
+
+		BulkRequest request = requestConverter.documentBulkRequest(Arrays.asList(stringSource, byteSource, bufferSource),
+				BulkOptions.defaultOptions(), INDEX, null);
+
+		BulkOperation index = request.operations().get(1);
+		BulkOperation create = request.operations().get(2);
+		assertThat(index.index().id()).isEqualTo("2");
+		assertThat(content(index.index().document())).isEqualTo(json);
+		assertThat(content(request.operations().get(0).index().document())).isEqualTo(json);
+		assertThat(create.create().id()).isEqualTo("3");
+		assertThat(content(create.create().document())).isEqualTo(json);
+	}
+
+	@Test
+	@DisplayName("should send the serialized source of an entity instead of converting it again")
+	void shouldSendTheSerializedSourceOfAnEntity() throws IOException {
+
+		String json = "{\"id\":\"1\",\"full-name\":\"serialized\"}";
+		Entity entity = new Entity();
+		entity.id = "1";
+		entity.name = "converted";
+		IndexQuery query = new IndexQueryBuilder().withObject(entity).withSource(json.getBytes(StandardCharsets.UTF_8))
+				.build();
+
+		BulkRequest request = requestConverter.documentBulkRequest(Collections.singletonList(query),
+				BulkOptions.defaultOptions(), INDEX, null);
+
+		assertThat(request.operations().get(0).index().id()).isEqualTo("1");
+		assertThat(content(request.operations().get(0).index().document())).isEqualTo(json);
+	}
+
+	@Test
+	@DisplayName("should delete documents by id in a bulk request")
+	void shouldDeleteDocumentsByIdInABulkRequest() {
+
+		IndexQuery save = new IndexQueryBuilder().withId("1").withSource("{}").build();
+		DeleteQuery delete = new DeleteQuery("2", "route", null);
+
+		BulkRequest request = requestConverter.documentBulkRequest(Arrays.asList(save, delete),
+				BulkOptions.defaultOptions(), INDEX, null);
+
+		assertThat(request.operations()).hasSize(2);
+		assertThat(request.operations().get(0).isIndex()).isTrue();
+		assertThat(request.operations().get(1).isDelete()).isTrue();
+		assertThat(request.operations().get(1).delete().id()).isEqualTo("2");
+		assertThat(request.operations().get(1).delete().index()).isEqualTo(INDEX.getIndexName());
+		assertThat(request.operations().get(1).delete().routing()).isEqualTo("route");
+	}
+
+	@Test
+	@DisplayName("should pass a pre-serialized source to the index request without parsing it")
+	void shouldPassAPreSerializedSourceToTheIndexRequest() throws IOException {
+
+		String json = "{\"name\":\"raw\"}";
+		IndexQuery query = new IndexQueryBuilder().withId("1").withSource(json.getBytes(StandardCharsets.UTF_8)).build();
+
+		IndexRequest<?> request = requestConverter.documentIndexRequest(query, INDEX, null);
+
+		assertThat(request.id()).isEqualTo("1");
+		assertThat(content(request.document())).isEqualTo(json);
+	}
+
+	@Test
+	@DisplayName("should stream entities into the request body")
+	void shouldStreamEntitiesIntoTheRequestBody() throws JSONException {
+
+		Entity entity = new Entity();
+		entity.id = "42";
+		entity.name = "streamed";
+
+		IndexQuery query = new IndexQueryBuilder().withObject(entity).build();
+		IndexRequest<?> request = requestConverter.documentIndexRequest(query, INDEX, null);
+
+		StringWriter json = new StringWriter();
+		JsonGenerator generator = mapper.jsonProvider().createGenerator(json);
+		mapper.serialize(request.document(), generator);
+		generator.close();
+
+		assertThat(request.id()).isEqualTo("42");
+		assertEquals("{\"id\":\"42\",\"full-name\":\"streamed\"}", json.toString(), true);
+	}
+
+	@Test
+	@DisplayName("should convert large bulk requests in parallel and keep the order")
+	void shouldConvertLargeBulkRequestsInParallelAndKeepTheOrder() throws IOException {
+
+		List<IndexQuery> queries = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Entity entity = new Entity();
+			entity.id = String.valueOf(i);
+			entity.name = "name-" + i;
+			queries.add(new IndexQueryBuilder().withObject(entity).build());
+		}
+
+		BulkRequest request = requestConverter.documentBulkRequest(queries,
+				BulkOptions.builder().withParallelConversion(10, 4).build(), INDEX, null);
+
+		assertThat(request.operations()).hasSize(100);
+		for (int i = 0; i < 100; i++) {
+			BulkOperation operation = request.operations().get(i);
+			assertThat(operation.index().id()).isEqualTo(String.valueOf(i));
+			assertThat(content(operation.index().document()))
+					.isEqualTo("{\"id\":\"" + i + "\",\"full-name\":\"name-" + i + "\"}");
+		}
+	}
+
+	@Test
+	@DisplayName("should convert bulk requests on the given executor")
+	void shouldConvertBulkRequestsOnTheGivenExecutor() {
+
+		List<IndexQuery> queries = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			Entity entity = new Entity();
+			entity.id = String.valueOf(i);
+			queries.add(new IndexQueryBuilder().withObject(entity).build());
+		}
+		AtomicInteger tasks = new AtomicInteger();
+		Executor executor = task -> {
+			tasks.incrementAndGet();
+			task.run();
+		};
+
+		BulkRequest request = requestConverter.documentBulkRequest(queries,
+				BulkOptions.builder().withParallelConversion(10, 4).withConversionExecutor(executor).build(), INDEX, null);
+
+		assertThat(tasks).hasValue(4);
+		assertThat(request.operations()).hasSize(20);
+	}
+
+	@Test
+	@DisplayName("should report every query that could not be converted in parallel")
+	void shouldReportEveryQueryThatCouldNotBeConvertedInParallel() {
+
+		List<IndexQuery> queries = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			queries.add(i % 7 == 3 ? new IndexQuery() : new IndexQueryBuilder().withId(String.valueOf(i)).withSource("{}")
+					.build());
+		}
+
+		assertThatThrownBy(() -> requestConverter.documentBulkRequest(queries,
+				BulkOptions.builder().withParallelConversion(10, 3).build(), INDEX, null))
+				.isInstanceOfSatisfying(BulkConversionException.class, e -> {
+					assertThat(e.getFailedItems()).containsOnlyKeys(3, 10, 17);
+					assertThat(e.getFailedItems().get(3)).isInstanceOf(InvalidApiUsageException.class);
+				});
+	}
+
+	@Test
+	@DisplayName("should request the doc values instead of the source")
+	void shouldRequestTheDocValuesInsteadOfTheSource() {
+
+		StringQuery query = new StringQuery("{\"match_all\":{}}");
+		query.setFetchMode(Query.FetchMode.DOC_VALUES);
+
+		SearchRequest request = requestConverter.searchRequest(query, null, DocValuesEntity.class, INDEX, false);
+
+		assertThat(request.source().fetch()).isFalse();
+		assertThat(request.docvalueFields().stream().map(ff -> ff.field() + ':' + ff.format()).collect(Collectors.toList()))
+				.containsExactly("code:null", "count:null", "created:basic_date", "address.zip:null");
+	}
+
+	@Test
+	@DisplayName("should restrict the doc values to the source includes")
+	void shouldRestrictTheDocValuesToTheSourceIncludes() {
+
+		StringQuery query = new StringQuery("{\"match_all\":{}}");
+		query.setFetchMode(Query.FetchMode.DOC_VALUES);
+		query.addSourceFilter(new FetchSourceFilter(new String[]{"count", "address"}, null));
+
+		SearchRequest request = requestConverter.searchRequest(query, null, DocValuesEntity.class, INDEX, false);
+
+		assertThat(request.docvalueFields()).extracting(ff -> ff.field()).containsExactly("count", "address.zip");
+	}
+
+	@Test
+	@DisplayName("should count the query together with its post filter")
+	void shouldCountTheQueryTogetherWithItsPostFilter() {
+
+		NativeQuery query = NativeQuery.builder() //
+				.withQuery(q -> q.matchAll(ma -> ma)) //
+				.withFilter(f -> f.term(t -> t.field("code").value("a"))) //
+				.withRoute("shard-1") //
+				.build();
+
+		CountRequest request = requestConverter.countRequest(query, null, DocValuesEntity.class, INDEX);
+
+		assertThat(request.index()).containsExactly("raw");
+		assertThat(request.routing()).isEqualTo("shard-1");
+		assertThat(request.query().bool().must()).hasSize(1);
+		assertThat(request.query().bool().must().get(0).isMatchAll()).isTrue();
+		assertThat(request.query().bool().filter().get(0).term().field()).isEqualTo("code");
+	}
+
+	@Test
+	@DisplayName("should not count knn queries with the count API")
+	void shouldNotCountKnnQueriesWithTheCountApi() {
+
+		NativeQuery knn = NativeQuery.builder() //
+				.withKnnQuery(KnnQuery.of(k -> k.field("vector").queryVector(1f, 0f).k(1L).numCandidates(1L))) //
+				.build();
+
+		assertThat(requestConverter.isCountable(knn)).isFalse();
+		assertThat(requestConverter.isCountable(new StringQuery("{\"match_all\":{}}"))).isTrue();
+		assertThatThrownBy(() -> requestConverter.countRequest(knn, null, null, INDEX))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("should stop searching at the first match when checking for existence")
+	void shouldStopSearchingAtTheFirstMatchWhenCheckingForExistence() {
+
+		SearchRequest request = requestConverter.searchExistsRequest(new StringQuery("{\"match_all\":{}}"), null,
+				DocValuesEntity.class, INDEX);
+
+		assertThat(request.size()).isEqualTo(0);
+		assertThat(request.terminateAfter()).isEqualTo(1L);
+		assertThat(request.trackTotalHits().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should search a point in time instead of the indices")
+	void shouldSearchAPointInTimeInsteadOfTheIndices() {
+
+		StringQuery query = new StringQuery("{\"match_all\":{}}");
+		query.setRoute("shard-1");
+		query.setPointInTime(new PointInTime("pit-1", Duration.ofMinutes(1)));
+		query.setSearchAfter(Arrays.asList(1.5d, 42L));
+
+		SearchRequest request = requestConverter.searchRequest(query, "routing", DocValuesEntity.class, INDEX, false);
+
+		assertThat(request.pit().id()).isEqualTo("pit-1");
+		assertThat(request.pit().keepAlive().time()).isEqualTo("60000ms");
+		assertThat(request.index()).isEmpty();
+		assertThat(request.routing()).isNull();
+		assertThat(request.searchAfter()).hasSize(2);
+	}
+
+	private static String content(Object document) throws IOException {
+
+		assertThat(document).isInstanceOf(BinaryData.class);
+
+		ByteBuffer buffer = ((BinaryData) document).asByteBuffer();
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static class Entity {
+		@Id String id;
+		@Field("full-name") String name;
+	}
+
+	static class DocValuesEntity {
+		@Id String id;
+		@Field(type = FieldType.Keyword) String code;
+		@Field(type = FieldType.Text) String description;
+		@Field(type = FieldType.Integer) int count;
+		@Field(type = FieldType.Date, format = DateFormat.basic_date) LocalDate created;
+		@Field(type = FieldType.Object) Address address;
+	}
+
+	static class Address {
+		@Field(type = FieldType.Text) String street;
+		@Field(type = FieldType.Keyword) String zip;
+	}
+}
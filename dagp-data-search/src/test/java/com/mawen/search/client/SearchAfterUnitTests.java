@@ -0,0 +1,87 @@
+package com.mawen.search.client;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeRequest;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.BaseQuery;
+import com.mawen.search.core.query.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchAfterUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("routed");
+
+	private final JsonpMapper mapper = new JacksonJsonpMapper();
+	private final ElasticsearchClient client = mock(ElasticsearchClient.class);
+	private ElasticsearchTemplate template;
+
+	@BeforeEach
+	void setUp() throws IOException {
+
+		ElasticsearchTransport transport = mock(ElasticsearchTransport.class);
+		when(transport.jsonpMapper()).thenReturn(mapper);
+		when(client._transport()).thenReturn(transport);
+		when(client.openPointInTime(any(OpenPointInTimeRequest.class)))
+				.thenReturn(OpenPointInTimeResponse.of(r -> r.id("pit-1")));
+		when(client.search(any(SearchRequest.class), eq(EntityAsMap.class))).thenReturn(SearchResponse.of(r -> r //
+				.took(1) //
+				.timedOut(false) //
+				.shards(s -> s.total(1).successful(1).failed(0)) //
+				.hits(h -> h.hits(Collections.emptyList()).total(t -> t.value(0).relation(TotalHitsRelation.Eq))) //
+				.pitId("pit-2")));
+		template = new ElasticsearchTemplate(client);
+	}
+
+	@Test
+	@DisplayName("should open the point in time of a routed query on the routed shards")
+	void shouldOpenThePointInTimeOfARoutedQueryOnTheRoutedShards() throws IOException {
+
+		BaseQuery query = (BaseQuery) Query.findAll();
+		query.setRoute("tenant-1");
+		query.setIgnoreUnavailable(true);
+
+		template.searchAfterStart(Duration.ofMinutes(1), query, EntityAsMap.class, INDEX);
+
+		ArgumentCaptor<OpenPointInTimeRequest> pitCaptor = ArgumentCaptor.forClass(OpenPointInTimeRequest.class);
+		verify(client).openPointInTime(pitCaptor.capture());
+		assertThat(pitCaptor.getValue().routing()).isEqualTo("tenant-1");
+		assertThat(pitCaptor.getValue().ignoreUnavailable()).isTrue();
+		assertThat(pitCaptor.getValue().index()).containsExactly("routed");
+
+		ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+		verify(client).search(searchCaptor.capture(), eq(EntityAsMap.class));
+		assertThat(searchCaptor.getValue().pit().id()).isEqualTo("pit-1");
+		assertThat(searchCaptor.getValue().routing()).isNull();
+		assertThat(query.getPointInTime().getId()).isEqualTo("pit-2");
+	}
+
+	@Test
+	@DisplayName("should open the point in time of an unrouted query without routing")
+	void shouldOpenThePointInTimeOfAnUnroutedQueryWithoutRouting() throws IOException {
+
+		template.searchAfterStart(Duration.ofMinutes(1), Query.findAll(), EntityAsMap.class, INDEX);
+
+		ArgumentCaptor<OpenPointInTimeRequest> pitCaptor = ArgumentCaptor.forClass(OpenPointInTimeRequest.class);
+		verify(client).openPointInTime(pitCaptor.capture());
+		assertThat(pitCaptor.getValue().routing()).isNull();
+		assertThat(pitCaptor.getValue().ignoreUnavailable()).isNull();
+	}
+}
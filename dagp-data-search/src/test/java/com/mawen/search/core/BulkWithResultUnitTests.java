@@ -0,0 +1,99 @@
+package com.mawen.search.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.builder.IndexQueryBuilder;
+import com.mawen.search.core.support.BulkItemResult;
+import com.mawen.search.core.support.BulkResult;
+import com.mawen.search.core.support.IndexedObjectInformation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkWithResultUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("bulk");
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class, CALLS_REAL_METHODS);
+
+	private final BulkOptions bulkOptions = BulkOptions.builder().withMaxRetries(2)
+			.withRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(2)).build();
+
+	@Test
+	@DisplayName("should only resend the items that were rejected")
+	void shouldOnlyResendTheItemsThatWereRejected() {
+
+		List<List<String>> requests = new ArrayList<>();
+		doAnswer(invocation -> {
+			List<IndexQuery> queries = invocation.getArgument(0);
+			requests.add(queries.stream().map(IndexQuery::getId).collect(Collectors.toList()));
+			boolean firstRequest = requests.size() == 1;
+			return queries.stream().map(query -> {
+				if (firstRequest && query.getId().equals("2")) {
+					return BulkItemResult.failure(query, 429, "es_rejected_execution_exception", "queue full", true);
+				}
+				if (query.getId().equals("3")) {
+					return BulkItemResult.failure(query, 409, "version_conflict_engine_exception", "conflict", false);
+				}
+				return BulkItemResult.success(query, 201, info(query.getId()));
+			}).collect(Collectors.toList());
+		}).when(template).doBulkOperationWithResult(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		BulkResult result = template.bulkWithResult(Arrays.asList(query("1"), query("2"), query("3")), bulkOptions, INDEX);
+
+		assertThat(requests).containsExactly(Arrays.asList("1", "2", "3"), Collections.singletonList("2"));
+		assertThat(result.getRetries()).isEqualTo(1);
+		assertThat(result.getItems()).extracting(BulkItemResult::getStatus).containsExactly(
+				BulkItemResult.Status.SUCCESS, BulkItemResult.Status.SUCCESS, BulkItemResult.Status.PERMANENT_FAILURE);
+		assertThat(result.getItems()).extracting(BulkItemResult::getAttempts).containsExactly(1, 2, 1);
+		assertThat(result.getFailures()).hasSize(1);
+	}
+
+	@Test
+	@DisplayName("should stop resending after maxRetries")
+	void shouldStopResendingAfterMaxRetries() {
+
+		doAnswer(invocation -> invocation.<List<?>> getArgument(0).stream()
+				.map(query -> BulkItemResult.failure(query, 503, "unavailable_shards_exception", "unavailable", true))
+				.collect(Collectors.toList()))
+				.when(template).doBulkOperationWithResult(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		BulkResult result = template.bulkWithResult(Collections.singletonList(query("1")), bulkOptions, INDEX);
+
+		verify(template, times(3)).doBulkOperationWithResult(anyList(), any(BulkOptions.class), eq(INDEX));
+		assertThat(result.hasFailures()).isTrue();
+		assertThat(result.getItems().get(0).isRetriable()).isTrue();
+		assertThat(result.getItems().get(0).getAttempts()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should reject invalid retry backoffs")
+	void shouldRejectInvalidRetryBackoffs() {
+
+		assertThatThrownBy(() -> BulkOptions.builder().withRetryBackoff(Duration.ofMillis(-1), Duration.ofMillis(2)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BulkOptions.builder().withRetryBackoff(Duration.ofMillis(1), Duration.ofMillis(-2)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BulkOptions.builder().withRetryBackoff(Duration.ofMillis(3), Duration.ofMillis(2)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static IndexQuery query(String id) {
+		return new IndexQueryBuilder().withId(id).withSource("{}").build();
+	}
+
+	private static IndexedObjectInformation info(String id) {
+		return new IndexedObjectInformation(id, INDEX.getIndexName(), 1L, 1L, 1L);
+	}
+}
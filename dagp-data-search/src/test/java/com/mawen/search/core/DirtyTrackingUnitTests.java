@@ -0,0 +1,150 @@
+package com.mawen.search.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.mawen.search.core.annotation.Field;
+import com.mawen.search.core.document.Document;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.UpdateQuery;
+import com.mawen.search.core.query.UpdateResponse;
+import com.mawen.search.core.query.builder.IndexQueryBuilder;
+import com.mawen.search.core.support.EntitySnapshots;
+import com.mawen.search.core.support.IndexedObjectInformation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.Id;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DirtyTrackingUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("dirty");
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class,
+			withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+
+	private final List<UpdateQuery> updates = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+
+		doAnswer(invocation -> {
+			updates.add(invocation.getArgument(0));
+			return UpdateResponse.of(UpdateResponse.Result.UPDATED);
+		}).when(template).update(any(UpdateQuery.class), eq(INDEX));
+		doAnswer(invocation -> {
+			updates.addAll(invocation.getArgument(0));
+			return null;
+		}).when(template).bulkUpdate(anyList(), any(BulkOptions.class), eq(INDEX));
+	}
+
+	@Test
+	@DisplayName("should send the full document without dirty tracking")
+	void shouldSendTheFullDocumentWithoutDirtyTracking() {
+
+		Entity entity = read("1", "name", "Berlin");
+		entity.name = "changed";
+
+		template.update(entity, INDEX);
+
+		assertThat(updates).hasSize(1);
+		assertThat(updates.get(0).getDocument()).containsOnlyKeys("id", "name", "address");
+	}
+
+	@Test
+	@DisplayName("should send only the changed fields of a loaded entity")
+	void shouldSendOnlyTheChangedFieldsOfALoadedEntity() {
+
+		template.setEntitySnapshots(new EntitySnapshots());
+		Entity entity = read("1", "name", "Berlin");
+		entity.address.city = "Hamburg";
+
+		template.update(entity, INDEX);
+		entity.name = "changed";
+		template.update(entity, INDEX);
+
+		assertThat(updates).hasSize(2);
+		assertThat(updates.get(0).getId()).isEqualTo("1");
+		assertThat(updates.get(0).getDocument()).containsOnlyKeys("address");
+		assertThat(updates.get(0).getDocument().get("address")).isEqualTo(Document.create().append("city", "Hamburg"));
+		assertThat(updates.get(1).getDocument()).containsOnlyKeys("name");
+	}
+
+	@Test
+	@DisplayName("should skip entities without changes")
+	void shouldSkipEntitiesWithoutChanges() {
+
+		template.setEntitySnapshots(new EntitySnapshots());
+		Entity unchanged = read("1", "name", "Berlin");
+		Entity changed = read("2", "name", "Berlin");
+		Entity notLoaded = new Entity();
+		notLoaded.id = "3";
+		changed.name = "changed";
+
+		UpdateResponse response = template.update(unchanged, INDEX);
+		template.bulkUpdateEntities(Arrays.asList(unchanged, changed, notLoaded), BulkOptions.defaultOptions(), INDEX);
+
+		assertThat(response.getResult()).isEqualTo(UpdateResponse.Result.NOOP);
+		assertThat(updates).extracting(UpdateQuery::getId).containsExactly("2", "3");
+		assertThat(updates.get(0).getDocument()).containsOnlyKeys("name");
+		assertThat(updates.get(1).getDocument()).containsOnlyKeys("id");
+	}
+
+	@Test
+	@DisplayName("should send the whole document of an entity saved since it was read")
+	void shouldSendTheWholeDocumentOfAnEntitySavedSinceItWasRead() {
+
+		doReturn("1").when(template).doIndex(any(IndexQuery.class), eq(INDEX));
+		doAnswer(invocation -> Collections.nCopies(invocation.<List<?>> getArgument(0).size(),
+				new IndexedObjectInformation("2", "dirty", null, null, null)))
+				.when(template).doBulkOperation(anyList(), any(BulkOptions.class), eq(INDEX));
+		template.setEntitySnapshots(new EntitySnapshots());
+		Entity saved = read("1", "name", "Berlin");
+		Entity bulkIndexed = read("2", "name", "Berlin");
+
+		saved.name = "changed";
+		template.save(saved, INDEX);
+		saved.name = "name";
+		template.update(saved, INDEX);
+
+		bulkIndexed.name = "changed";
+		template.bulkIndex(Collections.singletonList(new IndexQueryBuilder().withId("2").withObject(bulkIndexed).build()),
+				BulkOptions.defaultOptions(), INDEX);
+		bulkIndexed.name = "name";
+		template.update(bulkIndexed, INDEX);
+
+		assertThat(updates).extracting(UpdateQuery::getId).containsExactly("1", "2");
+		assertThat(updates.get(0).getDocument()).containsOnlyKeys("id", "name", "address");
+		assertThat(updates.get(0).getDocument().get("name")).isEqualTo("name");
+		assertThat(updates.get(1).getDocument()).containsOnlyKeys("id", "name", "address");
+	}
+
+	private Entity read(String id, String name, String city) {
+
+		Document address = Document.create().append("city", city);
+		Document document = Document.create().append("id", id).append("name", name).append("address", address);
+		document.setId(id);
+
+		return template.new ReadDocumentCallback<>(template.elasticsearchConverter, Entity.class, INDEX)
+				.doWith(document);
+	}
+
+	static class Entity {
+		@Id String id;
+		@Field String name;
+		@Field Address address;
+	}
+
+	static class Address {
+		@Field String city;
+	}
+}
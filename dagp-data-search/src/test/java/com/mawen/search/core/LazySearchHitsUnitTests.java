@@ -0,0 +1,94 @@
+package com.mawen.search.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.mawen.search.core.annotation.Field;
+import com.mawen.search.core.document.Document;
+import com.mawen.search.core.document.SearchDocument;
+import com.mawen.search.core.document.SearchDocumentAdapter;
+import com.mawen.search.core.document.SearchDocumentResponse;
+import com.mawen.search.core.domain.SearchHit;
+import com.mawen.search.core.domain.SearchHitMapping;
+import com.mawen.search.core.domain.SearchHitSupport;
+import com.mawen.search.core.domain.SearchHits;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.TotalHitsRelation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.Id;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LazySearchHitsUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("lazy");
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class,
+			withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+
+	@Test
+	@DisplayName("should convert the content of a hit on first access")
+	void shouldConvertTheContentOfAHitOnFirstAccess() {
+
+		AtomicInteger conversions = new AtomicInteger();
+		SearchHits<String> searchHits = SearchHitMapping.mappingFor(String.class, template.elasticsearchConverter)
+				.mapHits(response(3), document -> {
+					conversions.incrementAndGet();
+					return "content-" + document.getId();
+				});
+
+		assertThat(searchHits.getTotalHits()).isEqualTo(3);
+		assertThat(searchHits.getSearchHits()).extracting(SearchHit::getId).containsExactly("0", "1", "2");
+		assertThat(searchHits.getSearchHits()).extracting(SearchHit::getScore).containsExactly(1.0f, 1.0f, 1.0f);
+		assertThat(conversions).hasValue(0);
+
+		SearchHit<String> hit = searchHits.getSearchHit(1);
+		assertThat(hit.isContentMaterialized()).isFalse();
+		assertThat(hit.getContent()).isEqualTo("content-1");
+		assertThat(hit.getContent()).isEqualTo("content-1");
+		assertThat(hit.isContentMaterialized()).isTrue();
+		assertThat(conversions).hasValue(1);
+
+		assertThat(SearchHitSupport.unwrapSearchHits(searchHits)).isEqualTo(
+				IntStream.range(0, 3).mapToObj(i -> "content-" + i).collect(Collectors.toList()));
+		assertThat(conversions).hasValue(3);
+	}
+
+	@Test
+	@DisplayName("should create lazy hits when enabled on the template")
+	void shouldCreateLazyHitsWhenEnabledOnTheTemplate() {
+
+		template.setLazyHitContent(true);
+
+		SearchHits<Entity> searchHits = template.new ReadSearchDocumentResponseCallback<>(Entity.class, INDEX)
+				.doWith(response(2));
+
+		assertThat(searchHits.getSearchHits()).noneMatch(SearchHit::isContentMaterialized);
+		assertThat(searchHits.getSearchHit(0).getContent().id).isEqualTo("0");
+		assertThat(searchHits.getSearchHit(0).getContent().name).isEqualTo("name-0");
+		assertThat(searchHits.getSearchHit(1).isContentMaterialized()).isFalse();
+	}
+
+	private static SearchDocumentResponse response(int count) {
+
+		List<SearchDocument> documents = IntStream.range(0, count).mapToObj(i -> {
+			Document document = Document.create().append("id", String.valueOf(i)).append("name", "name-" + i);
+			document.setId(String.valueOf(i));
+			return (SearchDocument) new SearchDocumentAdapter(document, 1.0f, new Object[0], Collections.emptyMap(),
+					Collections.emptyMap(), Collections.emptyMap(), null, null, null);
+		}).collect(Collectors.toList());
+
+		return new SearchDocumentResponse(count, TotalHitsRelation.EQUAL_TO.name(), 1.0f, null, null, documents, null);
+	}
+
+	static class Entity {
+		@Id String id;
+		@Field String name;
+	}
+}
@@ -0,0 +1,95 @@
+package com.mawen.search.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.mawen.search.core.document.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ParallelConversionUnitTests {
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class,
+			withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+	private final AtomicInteger submitted = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	@DisplayName("should convert small pages on the calling thread")
+	void shouldConvertSmallPagesOnTheCallingThread() {
+
+		template.setConversionExecutor(this::execute);
+		template.setParallelConversionThreshold(10);
+		Thread caller = Thread.currentThread();
+		List<Thread> threads = new ArrayList<>();
+
+		List<String> entities = template.readEntities(documents(9), document -> {
+			threads.add(Thread.currentThread());
+			return document.getId();
+		});
+
+		assertThat(entities).isEqualTo(ids(9));
+		assertThat(threads).containsOnly(caller);
+		assertThat(submitted).hasValue(0);
+	}
+
+	@Test
+	@DisplayName("should convert large pages in chunks and keep the order")
+	void shouldConvertLargePagesInChunksAndKeepTheOrder() {
+
+		template.setConversionExecutor(this::execute);
+		template.setParallelConversionThreshold(10);
+
+		List<String> entities = template.readEntities(documents(1001), Document::getId);
+
+		assertThat(entities).isEqualTo(ids(1001));
+		assertThat(submitted).hasValue(5);
+	}
+
+	@Test
+	@DisplayName("should rethrow conversion failures")
+	void shouldRethrowConversionFailures() {
+
+		template.setConversionExecutor(this::execute);
+		template.setParallelConversionThreshold(1);
+
+		assertThatThrownBy(() -> template.readEntities(documents(600), document -> {
+			if ("500".equals(document.getId())) {
+				throw new IllegalStateException("boom");
+			}
+			return document.getId();
+		})).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+	}
+
+	private void execute(Runnable command) {
+		submitted.incrementAndGet();
+		executorService.execute(command);
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> {
+			Document document = Document.create();
+			document.setId(String.valueOf(i));
+			return document;
+		}).collect(Collectors.toList());
+	}
+
+	private static List<String> ids(int count) {
+		return IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,155 @@
+package com.mawen.search.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.DeleteQuery;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.Query;
+import com.mawen.search.core.support.IndexedObjectInformation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.Id;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SaveInChunksUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("chunks");
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class,
+			withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+
+	private final List<Integer> requestSizes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		doAnswer(invocation -> {
+			List<?> queries = invocation.getArgument(0);
+			requestSizes.add(queries.size());
+			return queries.stream().map(query -> new IndexedObjectInformation(query instanceof IndexQuery
+					? ((IndexQuery) query).getId() : ((DeleteQuery) query).getId(), INDEX.getIndexName(), null, null, null))
+					.collect(Collectors.toList());
+		}).when(template).doBulkOperation(anyList(), any(BulkOptions.class), eq(INDEX));
+	}
+
+	@Test
+	@DisplayName("should send one bulk request per chunk while consuming the iterable")
+	void shouldSendOneBulkRequestPerChunk() {
+
+		long saved = template.saveInChunks(() -> entities(7), BulkOptions.builder().withChunkSize(3).build(), INDEX);
+
+		assertThat(saved).isEqualTo(7);
+		assertThat(requestSizes).containsExactly(3, 3, 1);
+	}
+
+	@Test
+	@DisplayName("should split chunks by estimated size")
+	void shouldSplitChunksByEstimatedSize() {
+
+		// every entity serializes to {"id":"n","name":"xxxxxxxxxx"}, about 30 bytes
+		long saved = template.saveInChunks(() -> entities(5), BulkOptions.builder().withChunkBytes(60).build(), INDEX);
+
+		assertThat(saved).isEqualTo(5);
+		assertThat(requestSizes).containsExactly(2, 2, 1);
+	}
+
+	@Test
+	@DisplayName("should measure chunks in UTF-8 bytes and send the measured documents")
+	void shouldMeasureChunksInUtf8BytesAndSendTheMeasuredDocuments() {
+
+		List<IndexQuery> sent = new ArrayList<>();
+		doAnswer(invocation -> {
+			List<IndexQuery> queries = invocation.getArgument(0);
+			sent.addAll(queries);
+			requestSizes.add(queries.size());
+			return queries.stream().map(query -> new IndexedObjectInformation(query.getId(), INDEX.getIndexName(), null,
+					null, null)).collect(Collectors.toList());
+		}).when(template).doBulkOperation(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		// {"id":"n","name":"数据数据数据数据数据"} has 23 chars but 43 bytes
+		List<Entity> entities = IntStream.range(0, 3).mapToObj(i -> new Entity(String.valueOf(i), "数据数据数据数据数据"))
+				.collect(Collectors.toList());
+		long saved = template.saveInChunks(entities, BulkOptions.builder().withChunkBytes(60).build(), INDEX);
+
+		assertThat(saved).isEqualTo(3);
+		assertThat(requestSizes).containsExactly(2, 1);
+		ByteBuffer rawSource = sent.get(0).getRawSource();
+		assertThat(rawSource).isNotNull();
+		assertThat(StandardCharsets.UTF_8.decode(rawSource.duplicate()).toString())
+				.isEqualTo("{\"id\":\"0\",\"name\":\"数据数据数据数据数据\"}");
+		assertThat(sent.get(0).getObject()).isSameAs(entities.get(0));
+	}
+
+	@Test
+	@DisplayName("should send the deletes by id in the bulk requests of the saves")
+	void shouldSendTheDeletesByIdInTheBulkRequestsOfTheSaves() {
+
+		List<Object> sent = new ArrayList<>();
+		doAnswer(invocation -> {
+			List<?> queries = invocation.getArgument(0);
+			sent.addAll(queries);
+			requestSizes.add(queries.size());
+			return queries.stream().map(query -> new IndexedObjectInformation(null, INDEX.getIndexName(), null, null, null))
+					.collect(Collectors.toList());
+		}).when(template).doBulkOperation(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		long written = template.saveAndDeleteInChunks(() -> entities(2), Arrays.asList("7", "8"),
+				BulkOptions.builder().withChunkSize(3).build(), INDEX);
+
+		assertThat(written).isEqualTo(4);
+		assertThat(requestSizes).containsExactly(3, 1);
+		assertThat(sent).extracting(query -> query.getClass().getSimpleName()).containsExactly("IndexQuery",
+				"IndexQuery", "DeleteQuery", "DeleteQuery");
+		assertThat(((DeleteQuery) sent.get(2)).getId()).isEqualTo("7");
+		verify(template, never()).delete(any(Query.class), any(), any(IndexCoordinates.class));
+	}
+
+	@Test
+	@DisplayName("should return the saved entities when saving an iterable")
+	void shouldReturnTheSavedEntities() {
+
+		Iterable<Entity> saved = template.save(() -> entities(3), INDEX);
+
+		assertThat(saved).extracting(entity -> entity.id).containsExactly("0", "1", "2");
+		assertThat(requestSizes).containsExactly(3);
+	}
+
+	private static Iterator<Entity> entities(int count) {
+		return new Iterator<Entity>() {
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < count;
+			}
+
+			@Override
+			public Entity next() {
+				return new Entity(String.valueOf(next++), "xxxxxxxxxx");
+			}
+		};
+	}
+
+	static class Entity {
+		@Id String id;
+		String name;
+
+		Entity(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.mawen.search.core;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.mawen.search.core.domain.PitSearchAfterHitsImpl;
+import com.mawen.search.core.domain.PointInTime;
+import com.mawen.search.core.domain.SearchHit;
+import com.mawen.search.core.domain.SearchHits;
+import com.mawen.search.core.domain.SearchHitsImpl;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.BaseQuery;
+import com.mawen.search.core.query.Query;
+import com.mawen.search.core.query.TotalHitsRelation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchAllUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("all");
+
+	private final AbstractElasticsearchTemplate template = mock(AbstractElasticsearchTemplate.class,
+			withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+
+	@Test
+	@DisplayName("should return the first batch when it holds all the hits")
+	void shouldReturnTheFirstBatchWhenItHoldsAllTheHits() {
+
+		BaseQuery query = (BaseQuery) Query.findAll();
+		query.setReactiveBatchSize(5);
+		doAnswer(invocation -> {
+			Query searched = invocation.getArgument(0);
+			assertThat(searched.getPageable().getPageSize()).isEqualTo(5);
+			assertThat(searched.getTrackTotalHits()).isTrue();
+			return new SearchHitsImpl<>(3, TotalHitsRelation.EQUAL_TO, 1.0f, null, hits(0, 3), null);
+		}).when(template).search(any(Query.class), eq(String.class), eq(INDEX));
+
+		SearchHits<String> searchHits = template.searchAll(query, String.class, INDEX);
+
+		assertThat(searchHits.getSearchHits()).extracting(SearchHit::getContent).containsExactly("0", "1", "2");
+		verify(template, never()).searchAfterStart(any(), any(), any(), any());
+		assertThat(query.getTrackTotalHits()).isNull();
+		assertThat(query.getPageable()).isEqualTo(Query.DEFAULT_PAGE);
+	}
+
+	@Test
+	@DisplayName("should read the hits after the first batch from a point in time")
+	void shouldReadTheHitsAfterTheFirstBatchFromAPointInTime() {
+
+		BaseQuery query = (BaseQuery) Query.findAll();
+		query.setReactiveBatchSize(2);
+		doReturn(new SearchHitsImpl<>(5, TotalHitsRelation.EQUAL_TO, 1.0f, null, hits(0, 2), null)).when(template)
+				.search(any(Query.class), eq(String.class), eq(INDEX));
+		doAnswer(invocation -> {
+			Query searched = invocation.getArgument(1);
+			assertThat(searched.getPageable().getOffset()).isEqualTo(2);
+			assertThat(searched.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "_score"));
+			searched.setPointInTime(new PointInTime("pit-1", invocation.getArgument(0)));
+			return new PitSearchAfterHitsImpl<>(5, TotalHitsRelation.EQUAL_TO, 1.0f, "pit-1", null, hits(2, 4), null);
+		}).when(template).searchAfterStart(any(), any(Query.class), eq(String.class), eq(INDEX));
+		doReturn(new PitSearchAfterHitsImpl<>(5, TotalHitsRelation.EQUAL_TO, 1.0f, "pit-1", null, hits(4, 5), null))
+				.when(template).searchAfterContinue(any(Query.class), any(), eq(String.class), eq(INDEX));
+		doReturn(true).when(template).closePointInTime("pit-1");
+
+		SearchHits<String> searchHits = template.searchAll(query, String.class, INDEX);
+
+		assertThat(searchHits.getTotalHits()).isEqualTo(5);
+		assertThat(searchHits.getSearchHits()).extracting(SearchHit::getContent).containsExactly("0", "1", "2", "3", "4");
+		verify(template).searchAfterContinue(any(Query.class), any(), eq(String.class), eq(INDEX));
+		verify(template).closePointInTime("pit-1");
+		assertThat(query.getPointInTime()).isNull();
+		assertThat(query.getSort()).isNull();
+	}
+
+	@Test
+	@DisplayName("should search a limited query once")
+	void shouldSearchALimitedQueryOnce() {
+
+		BaseQuery query = (BaseQuery) Query.findAll();
+		query.setMaxResults(3);
+		doReturn(new SearchHitsImpl<>(3, TotalHitsRelation.EQUAL_TO, 1.0f, null, hits(0, 3), null)).when(template)
+				.search(any(Query.class), eq(String.class), eq(INDEX));
+
+		assertThat(template.searchAll(query, String.class, INDEX).getSearchHits()).hasSize(3);
+		verify(template).search(query, String.class, INDEX);
+		verify(template, never()).searchAfterStart(any(), any(), any(), any());
+	}
+
+	private static List<SearchHit<String>> hits(int from, int to) {
+		return IntStream.range(from, to) //
+				.mapToObj(i -> new SearchHit<>(null, String.valueOf(i), null, 1.0f, null, null, null, null, null,
+						String.valueOf(i))) //
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,269 @@
+package com.mawen.search.core.bulk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.convert.MappingElasticsearchConverter;
+import com.mawen.search.core.document.Document;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.mapping.SimpleElasticsearchMappingContext;
+import com.mawen.search.core.query.IndexQuery;
+import com.mawen.search.core.query.UpdateQuery;
+import com.mawen.search.core.query.builder.IndexQueryBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.Id;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkIngesterUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("bulk-ingester");
+
+	private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+
+	@Test
+	@DisplayName("should send a bulk request when maxOperations is reached")
+	void shouldSendBulkRequestWhenMaxOperationsIsReached() {
+
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			batchSizes.add(invocation.<List<?>> getArgument(0).size());
+			return Collections.emptyList();
+		});
+
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxOperations(2).withMaxSize(0).build()) {
+			for (int i = 0; i < 5; i++) {
+				ingester.add(indexQuery(i));
+			}
+		}
+
+		assertThat(batchSizes).containsExactly(2, 2, 1);
+	}
+
+	@Test
+	@DisplayName("should send a bulk request when maxSize is reached")
+	void shouldSendBulkRequestWhenMaxSizeIsReached() {
+
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			batchSizes.add(invocation.<List<?>> getArgument(0).size());
+			return Collections.emptyList();
+		});
+
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(100)
+				.withSizeEstimator(query -> 40).build()) {
+			for (int i = 0; i < 6; i++) {
+				ingester.add(indexQuery(i));
+			}
+			assertThat(ingester.getPendingOperations()).isZero();
+		}
+
+		assertThat(batchSizes).containsExactly(3, 3);
+	}
+
+	@Test
+	@DisplayName("should measure sources in UTF-8 bytes")
+	void shouldMeasureSourcesInUtf8Bytes() {
+
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			batchSizes.add(invocation.<List<?>> getArgument(0).size());
+			return Collections.emptyList();
+		});
+
+		// 12 chars but 20 bytes
+		String source = "{\"n\":\"数据数据\"}";
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(40).build()) {
+			ingester.add(new IndexQueryBuilder().withId("1").withSource(source).build());
+			ingester.add(new IndexQueryBuilder().withId("2").withSource(source).build());
+			ingester.add(new IndexQueryBuilder().withId("3").withSource("{}").build());
+			assertThat(ingester.getPendingOperations()).isEqualTo(1);
+		}
+
+		assertThat(batchSizes).containsExactly(2, 1);
+	}
+
+	@Test
+	@DisplayName("should estimate the size of entities and update documents without converting them")
+	void shouldEstimateEntitiesAndUpdateDocumentsWithoutConvertingThem() {
+
+		MappingElasticsearchConverter converter = spy(
+				new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext()));
+		when(operations.getElasticsearchConverter()).thenReturn(converter);
+		List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			batchSizes.add(invocation.<List<?>> getArgument(0).size());
+			return Collections.emptyList();
+		});
+		doAnswer(invocation -> {
+			batchSizes.add(invocation.<List<?>> getArgument(0).size());
+			return null;
+		}).when(operations).bulkUpdate(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		// {"id":"1","name":"xxxxxxxxxxxxxxxxxxxxxxxxxxxxxx"} is estimated at about 51 bytes
+		String name = "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(100).build()) {
+			ingester.add(new IndexQueryBuilder().withId("1").withObject(new Entity("1", name)).build());
+			assertThat(ingester.getPendingOperations()).isEqualTo(1);
+			ingester.add(new IndexQueryBuilder().withId("2").withObject(new Entity("2", name)).build());
+			assertThat(ingester.getPendingOperations()).isZero();
+
+			Document document = Document.create();
+			document.put("name", name + name + name);
+			ingester.add(UpdateQuery.builder("3").withDocument(document).build());
+			assertThat(ingester.getPendingOperations()).isZero();
+		}
+
+		assertThat(batchSizes).containsExactly(2, 1);
+		verify(converter, never()).mapObject(any());
+		verify(converter, never()).write(any(), any(Document.class));
+	}
+
+	@Test
+	@DisplayName("should report an interrupt while waiting for an in-flight request")
+	void shouldReportAnInterruptWhileWaitingForAnInFlightRequest() throws InterruptedException {
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return Collections.emptyList();
+		});
+
+		BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxOperations(1).withMaxSize(0).build();
+		ingester.add(indexQuery(1));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Thread.currentThread().interrupt();
+		try {
+			assertThatThrownBy(() -> ingester.add(indexQuery(2))).isInstanceOf(IllegalStateException.class)
+					.hasCauseInstanceOf(InterruptedException.class);
+			assertThat(Thread.currentThread().isInterrupted()).isTrue();
+		}
+		finally {
+			Thread.interrupted();
+		}
+
+		assertThat(ingester.getPendingOperations()).isZero();
+		release.countDown();
+		ingester.close();
+	}
+
+	@Test
+	@DisplayName("should keep the order of index and update operations")
+	void shouldKeepTheOrderOfIndexAndUpdateOperations() {
+
+		List<String> calls = Collections.synchronizedList(new ArrayList<>());
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			calls.add("index:" + invocation.<List<?>> getArgument(0).size());
+			return Collections.emptyList();
+		});
+		doAnswer(invocation -> {
+			calls.add("update:" + invocation.<List<?>> getArgument(0).size());
+			return null;
+		}).when(operations).bulkUpdate(anyList(), any(BulkOptions.class), eq(INDEX));
+
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(0).build()) {
+			ingester.add(indexQuery(1));
+			ingester.add(indexQuery(2));
+			ingester.add(UpdateQuery.builder("1").withDocument(Document.create()).build());
+			ingester.add(indexQuery(3));
+		}
+
+		assertThat(calls).containsExactly("index:2", "update:1", "index:1");
+	}
+
+	@Test
+	@DisplayName("should flush when the flush interval elapses")
+	void shouldFlushWhenTheFlushIntervalElapses() throws InterruptedException {
+
+		CountDownLatch latch = new CountDownLatch(1);
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			latch.countDown();
+			return Collections.emptyList();
+		});
+
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(0)
+				.withFlushInterval(Duration.ofMillis(50)).build()) {
+			ingester.add(indexQuery(1));
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("should reject operations when all requests are in flight and blocking is disabled")
+	void shouldRejectOperationsWhenAllRequestsAreInFlight() throws InterruptedException {
+
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX))).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return Collections.emptyList();
+		});
+
+		BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxOperations(1).withMaxSize(0)
+				.withBlockWhenFull(false).build();
+
+		ingester.add(indexQuery(1));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(ingester.getInFlightRequests()).isEqualTo(1);
+
+		assertThatThrownBy(() -> ingester.add(indexQuery(2))).isInstanceOf(RejectedExecutionException.class);
+		assertThat(ingester.getPendingOperations()).isZero();
+
+		release.countDown();
+		ingester.close();
+
+		verify(operations, times(1)).bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX));
+	}
+
+	@Test
+	@DisplayName("should notify the listener about failed requests")
+	void shouldNotifyTheListenerAboutFailedRequests() {
+
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenThrow(new IllegalStateException("boom"));
+		List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+		try (BulkIngester ingester = BulkIngester.builder(operations, INDEX).withMaxSize(0)
+				.withListener(new BulkListener() {
+					@Override
+					public void afterBulk(long executionId, List<?> queries, Throwable failure) {
+						failures.add(failure);
+					}
+				}).build()) {
+			ingester.add(indexQuery(1));
+		}
+
+		assertThat(failures).hasSize(1);
+		assertThat(failures.get(0)).hasMessage("boom");
+	}
+
+	private static IndexQuery indexQuery(int id) {
+		return new IndexQueryBuilder().withId(String.valueOf(id)).withSource("{\"id\":" + id + "}").build();
+	}
+
+	static class Entity {
+		@Id String id;
+		String name;
+
+		Entity(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package com.mawen.search.core.bulk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.domain.BulkOptions;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import com.mawen.search.core.query.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WriteBehindBufferUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("write-behind");
+
+	private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+	private final List<List<Object>> savedBatches = Collections.synchronizedList(new ArrayList<>());
+	private final List<List<String>> deletedBatches = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeEach
+	void setUp() {
+
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenAnswer(invocation -> {
+					List<Object> entities = new ArrayList<>(invocation.getArgument(0));
+					List<String> ids = new ArrayList<>(invocation.getArgument(1));
+					savedBatches.add(entities);
+					deletedBatches.add(ids);
+					return (long) (entities.size() + ids.size());
+				});
+	}
+
+	@Test
+	@DisplayName("should send only the last write of a document on close")
+	void shouldSendOnlyTheLastWriteOfADocumentOnClose() {
+
+		WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations).withMaxLatency(Duration.ofHours(1))
+				.build();
+
+		buffer.save("1", "first", INDEX);
+		buffer.save("2", "second", INDEX);
+		buffer.save("1", "third", INDEX);
+		buffer.delete("2", INDEX);
+		buffer.save(null, "no-id", INDEX);
+
+		assertThat(buffer.getBufferedDocuments()).isEqualTo(3);
+		assertThat(buffer.getBufferedDocuments(INDEX)).isEqualTo(3);
+
+		buffer.close();
+
+		assertThat(savedBatches).containsExactly(Arrays.asList("third", "no-id"));
+		assertThat(deletedBatches).containsExactly(Collections.singletonList("2"));
+		verify(operations, never()).delete(any(Query.class), any(Class.class), any(IndexCoordinates.class));
+		assertThat(buffer.getBufferedDocuments()).isZero();
+		assertThat(buffer.getFlushCount()).isEqualTo(1);
+		assertThat(buffer.getFlushedDocuments()).isEqualTo(3);
+		assertThatThrownBy(() -> buffer.save("3", "late", INDEX)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("should flush in the writing thread when the index is full")
+	void shouldFlushInTheWritingThreadWhenTheIndexIsFull() {
+
+		try (WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations)
+				.withMaxLatency(Duration.ofHours(1)).withMaxBufferedDocuments(2).build()) {
+			buffer.save("1", "a", INDEX);
+			buffer.save("2", "b", INDEX);
+
+			assertThat(savedBatches).hasSize(1);
+			assertThat(buffer.getBufferedDocuments()).isZero();
+
+			buffer.save("3", "c", INDEX);
+		}
+
+		assertThat(savedBatches).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("should flush after the maximum latency")
+	void shouldFlushAfterTheMaximumLatency() throws InterruptedException {
+
+		CountDownLatch flushed = new CountDownLatch(1);
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenAnswer(invocation -> {
+					flushed.countDown();
+					return 1L;
+				});
+
+		try (WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations)
+				.withMaxLatency(Duration.ofMillis(20)).build()) {
+			buffer.save("1", "a", INDEX);
+
+			assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("should keep the writes of a failed flush unless a newer write replaced them")
+	void shouldKeepTheWritesOfAFailedFlush() {
+
+		WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations).withMaxLatency(Duration.ofHours(1)).build();
+		buffer.save("1", "a", INDEX);
+		buffer.save("2", "b", INDEX);
+		buffer.delete("3", INDEX);
+
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenAnswer(invocation -> {
+					// a newer write of a document arrives while the failing bulk request is sent
+					buffer.save("2", "newer", INDEX);
+					throw new IllegalStateException("boom");
+				}).thenAnswer(invocation -> {
+					savedBatches.add(new ArrayList<>(invocation.getArgument(0)));
+					deletedBatches.add(new ArrayList<>(invocation.getArgument(1)));
+					return 3L;
+				});
+
+		assertThatThrownBy(buffer::flush).isInstanceOf(IllegalStateException.class);
+		assertThat(buffer.getFailedFlushCount()).isEqualTo(1);
+		assertThat(buffer.getBufferedDocuments()).isEqualTo(3);
+		assertThat(buffer.getBufferedDocuments(INDEX)).isEqualTo(3);
+
+		buffer.close();
+
+		assertThat(savedBatches).containsExactly(Arrays.asList("a", "newer"));
+		assertThat(deletedBatches).containsExactly(Collections.singletonList("3"));
+		assertThat(buffer.getBufferedDocuments()).isZero();
+		assertThat(buffer.getFlushedDocuments()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should not fail the write that made the writing thread flush when the flush fails")
+	void shouldNotFailTheWriteThatMadeTheWritingThreadFlush() {
+
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenThrow(new IllegalStateException("boom"));
+
+		WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations).withMaxLatency(Duration.ofHours(1))
+				.withMaxBufferedDocuments(2).build();
+		buffer.save("1", "a", INDEX);
+		buffer.save("2", "b", INDEX);
+		buffer.save("3", "c", INDEX);
+
+		assertThat(buffer.getFailedFlushCount()).isEqualTo(1);
+		assertThat(buffer.getBufferedDocuments(INDEX)).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should reject writes of further documents at the capacity while flushes fail")
+	void shouldRejectWritesAtTheCapacityWhileFlushesFail() {
+
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(INDEX)))
+				.thenThrow(new IllegalStateException("boom"))
+				.thenAnswer(invocation -> {
+					savedBatches.add(new ArrayList<>(invocation.getArgument(0)));
+					return 3L;
+				});
+
+		WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations).withMaxLatency(Duration.ofHours(1))
+				.withMaxBufferedDocuments(2).withCapacity(3).build();
+		buffer.save("1", "a", INDEX);
+		buffer.save("2", "b", INDEX);
+		buffer.save("3", "c", INDEX);
+
+		assertThatThrownBy(() -> buffer.save("4", "d", INDEX)).isInstanceOf(IllegalStateException.class);
+		buffer.save("1", "newer", INDEX);
+		assertThat(buffer.getRejectedWrites()).isEqualTo(1);
+		assertThat(buffer.getBufferedDocuments()).isEqualTo(3);
+
+		buffer.flush();
+		buffer.save("4", "d", INDEX);
+
+		assertThat(savedBatches).containsExactly(Arrays.asList("newer", "b", "c"));
+		assertThat(buffer.getBufferedDocuments()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should flush all indices when the buffer reaches its capacity")
+	void shouldFlushAllIndicesWhenTheBufferReachesItsCapacity() {
+
+		IndexCoordinates other = IndexCoordinates.of("other");
+		when(operations.saveAndDeleteInChunks(anyList(), anyList(), any(BulkOptions.class), eq(other)))
+				.thenReturn(1L);
+
+		try (WriteBehindBuffer buffer = WriteBehindBuffer.builder(operations).withMaxLatency(Duration.ofHours(1))
+				.withMaxBufferedDocuments(2).withCapacity(2).build()) {
+			buffer.save("1", "a", INDEX);
+			buffer.save("1", "b", other);
+
+			assertThat(buffer.getBufferedDocuments()).isZero();
+			assertThat(buffer.getFlushCount()).isEqualTo(2);
+		}
+	}
+}
@@ -1,22 +1,29 @@
 package com.mawen.search.core.convert;
 
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 
 import com.mawen.search.core.annotation.DateFormat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -407,6 +414,84 @@ class ElasticsearchDateConverterUnitTests {
 		check(ElasticsearchDateConverter.of("basic_date_time ||invalid-pattern"), LocalDateTime.class);
 	}
 
+	@ParameterizedTest
+	@ValueSource(strings = {"date_optional_time", "date_time", "basic_date_time"})
+	@DisplayName("should format and parse fixed ISO date times like the date time formatter")
+	void shouldFormatAndParseFixedIsoDateTimesLikeTheDateTimeFormatter(String format) {
+
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DateFormat.valueOf(format).getPattern());
+		ElasticsearchDateConverter converter = ElasticsearchDateConverter.of(format);
+		List<ZonedDateTime> values = Arrays.asList(zdt, zdt.withZoneSameInstant(ZoneOffset.UTC),
+				ZonedDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999, ZoneOffset.ofHoursMinutes(-9, -30)),
+				ZonedDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneId.of("Asia/Shanghai")));
+
+		for (ZonedDateTime value : values) {
+			String formatted = converter.format(value);
+
+			assertThat(formatted).isEqualTo(formatter.format(value));
+			assertThat(converter.format(value.toInstant())).isEqualTo(formatter.format(value.toInstant().atZone(ZoneId.of("UTC"))));
+			assertThat(converter.parse(formatted, Instant.class)).isEqualTo(formatter.parse(formatted, Instant::from));
+			assertThat(converter.parse(formatted, LocalDateTime.class)).isEqualTo(formatter.parse(formatted, LocalDateTime::from));
+			assertThat(converter.parse(formatted, ZonedDateTime.class)).isEqualTo(formatter.parse(formatted, ZonedDateTime::from));
+			assertThat(converter.parse(formatted, OffsetDateTime.class)).isEqualTo(formatter.parse(formatted, OffsetDateTime::from));
+			assertThat(converter.parse(formatted, LocalDate.class)).isEqualTo(formatter.parse(formatted, LocalDate::from));
+			assertThat(converter.parse(formatted)).isEqualTo(Date.from(formatter.parse(formatted, Instant::from)));
+		}
+	}
+
+	@Test
+	@DisplayName("should leave values outside the fixed ISO layout to the date time formatter")
+	void shouldLeaveValuesOutsideTheFixedIsoLayoutToTheDateTimeFormatter() {
+
+		ElasticsearchDateConverter converter = ElasticsearchDateConverter.of(DateFormat.date_optional_time);
+
+		assertThat(converter.parse("2023-04-31T10:00:00.000Z", LocalDate.class)).isEqualTo(LocalDate.of(2023, 4, 30));
+		assertThat(converter.parse("2023-04-05", LocalDate.class)).isEqualTo(LocalDate.of(2023, 4, 5));
+		assertThat(converter.format(LocalDate.of(2023, 4, 5))).isEqualTo("2023-04-05");
+		assertThatThrownBy(() -> converter.parse("2023-04-05T25:00:00.000Z", Instant.class))
+				.isInstanceOf(DateTimeException.class);
+	}
+
+	@Test
+	@DisplayName("should use the first format in declared order that parses the value")
+	void shouldUseTheFirstFormatInDeclaredOrder() {
+
+		ElasticsearchDateConverter epochMillis = ElasticsearchDateConverter.of(DateFormat.epoch_millis);
+		DateConverters dateConverters = new DateConverters(
+				Arrays.asList(epochMillis, ElasticsearchDateConverter.of(DateFormat.epoch_second)));
+
+		assertThat(dateConverters.parse("1000")).isEqualTo(new Date(1_000));
+		assertThat(dateConverters.parse("1.5")).isEqualTo(new Date(1_500));
+		assertThat(dateConverters.parse("1000")).isEqualTo(new Date(1_000));
+		assertThat(dateConverters.parse("1000", Instant.class)).isEqualTo(Instant.ofEpochMilli(1000));
+		assertThat(dateConverters.parse("invalid")).isNull();
+		assertThat(dateConverters.first()).isSameAs(epochMillis);
+	}
+
+	@Test
+	@DisplayName("should check the shape of a value without parsing it")
+	void shouldCheckTheShapeOfAValueWithoutParsingIt() {
+
+		ElasticsearchDateConverter basicDate = ElasticsearchDateConverter.of(DateFormat.basic_date);
+		ElasticsearchDateConverter dateTime = ElasticsearchDateConverter.of(DateFormat.date_time);
+		ElasticsearchDateConverter epochMillis = ElasticsearchDateConverter.of(DateFormat.epoch_millis);
+
+		assertThat(basicDate.mayParse("20240131")).isTrue();
+		assertThat(basicDate.mayParse("2024-01-31")).isFalse();
+		assertThat(basicDate.mayParse("2024013")).isFalse();
+		assertThat(dateTime.mayParse("2024-01-31T10:15:30.000Z")).isTrue();
+		assertThat(dateTime.mayParse("2024-01-31T10:15:30.000+01:00")).isTrue();
+		assertThat(dateTime.mayParse("20240131")).isFalse();
+		assertThat(epochMillis.mayParse("-1000")).isTrue();
+		assertThat(epochMillis.mayParse("1.5")).isFalse();
+		assertThat(epochMillis.mayParse("-")).isFalse();
+
+		DateConverters dateConverters = new DateConverters(Arrays.asList(basicDate, dateTime));
+		assertThat(dateConverters.parse("2024-01-31T10:15:30.000Z", Instant.class))
+				.isEqualTo(Instant.parse("2024-01-31T10:15:30Z"));
+		assertThat(dateConverters.parse("20240131", LocalDate.class)).isEqualTo(LocalDate.of(2024, 1, 31));
+	}
+
 	private <T extends TemporalAccessor> void check(ElasticsearchDateConverter converter, Class<T> type) {
 
 		String formatted = converter.format(zdt);
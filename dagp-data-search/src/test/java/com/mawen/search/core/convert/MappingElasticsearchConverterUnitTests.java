@@ -1,5 +1,8 @@
 package com.mawen.search.core.convert;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -18,15 +21,25 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.mawen.search.client.EntityAsMap;
 import com.mawen.search.core.annotation.DateFormat;
 import com.mawen.search.core.annotation.Field;
 import com.mawen.search.core.annotation.FieldType;
 import com.mawen.search.core.annotation.ValueConverter;
 import com.mawen.search.core.document.Document;
 import com.mawen.search.core.document.MapDocument;
+import com.mawen.search.core.document.SearchDocumentAdapter;
 import com.mawen.search.core.domain.Criteria;
 import com.mawen.search.core.domain.Range;
 import com.mawen.search.core.domain.SeqNoPrimaryTerm;
+import com.mawen.search.core.mapping.ElasticsearchPersistentEntity;
 import com.mawen.search.core.mapping.PropertyValueConverter;
 import com.mawen.search.core.mapping.SimpleElasticsearchMappingContext;
 import com.mawen.search.core.query.CriteriaQuery;
@@ -47,6 +60,7 @@ import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mapping.model.EntityInstantiators;
 import org.springframework.data.geo.Box;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Point;
@@ -1305,6 +1319,184 @@ public class MappingElasticsearchConverterUnitTests {
 		assertThat(entity.getDottedField()).isEqualTo("dotted field");
 	}
 
+	@Test
+	@DisplayName("should stream the same JSON as the written Document")
+	void shouldStreamTheSameJsonAsTheWrittenDocument() throws Exception {
+
+		Person person = new Person();
+		person.id = "sarah";
+		person.name = "Sarah Connor";
+		person.firstName = "Sarah";
+		person.birthDate = LocalDate.of(1965, 5, 12);
+		person.gender = Gender.MAN;
+		person.address = observatoryRoad;
+		person.coWorkers = Arrays.asList(kyleReese, t800);
+		person.inventoryList = Arrays.asList(gun, rifle, shotGun);
+		person.shippingAddresses = singletonMap("home", bigBunsCafe);
+		person.inventoryMap = singletonMap("grenade", grenade);
+
+		Skynet skynet = new Skynet();
+		skynet.setObject(t800);
+		skynet.setObjectList(Arrays.asList(gun, "text", 42, Arrays.asList(1, 2)));
+		skynet.setObjectMap(singletonMap("nested", singletonMap("key", Arrays.asList("a", "b"))));
+
+		EntityWithCustomValueConverters converted = new EntityWithCustomValueConverters();
+		converted.setId("42");
+		converted.setFieldWithClassBasedConverter("classbased");
+		converted.setFieldWithEnumBasedConverter("enumbased");
+
+		EntityWithNullField nullField = new EntityWithNullField();
+		nullField.setId("42");
+
+		LocalDatesEntity dates = new LocalDatesEntity();
+		dates.setId("4711");
+		dates.setDates(Arrays.asList(LocalDate.of(2020, 9, 15), LocalDate.of(2019, 5, 1)));
+
+		for (Object entity : Arrays.asList(person, skynet, converted, nullField, dates, shotGun, t800AsMap)) {
+			StringWriter json = new StringWriter();
+			try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(json)) {
+				mappingElasticsearchConverter.write(entity, generator);
+			}
+
+			assertEquals(mappingElasticsearchConverter.mapObject(entity).toJson(), json.toString(), true);
+		}
+	}
+
+	@Test
+	@DisplayName("should write values without a plain JSON representation with the codec of the generator")
+	void shouldWriteValuesWithoutAPlainJsonRepresentationWithTheCodecOfTheGenerator() throws Exception {
+
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new SimpleModule().addSerializer(BigDecimal.class, ToStringSerializer.instance));
+		Map<String, Object> source = singletonMap("price", new BigDecimal("1.50"));
+
+		StringWriter json = new StringWriter();
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+			mappingElasticsearchConverter.write(source, generator);
+		}
+		StringWriter withoutCodec = new StringWriter();
+		try (JsonGenerator generator = new JsonFactory().createGenerator(withoutCodec)) {
+			mappingElasticsearchConverter.write(source, generator);
+		}
+
+		assertEquals("{\"price\": \"1.50\"}", json.toString(), true);
+		assertEquals(mappingElasticsearchConverter.mapObject(source).toJson(), withoutCodec.toString(), true);
+	}
+
+	@Test
+	@DisplayName("should read entities straight from _source like from the decoded map")
+	void shouldReadEntitiesStraightFromSource() {
+
+		String json = "{\n" +
+					  "  \"id\": \"4711\",\n" +
+					  "  \"name\": \"Sarah Connor\",\n" +
+					  "  \"first-name\": \"Sarah\",\n" +
+					  "  \"birth-date\": \"22.08.2000\",\n" +
+					  "  \"gender\": \"MAN\",\n" +
+					  "  \"unmapped\": {\"a\": [1, {\"b\": 2}]},\n" +
+					  "  \"address\": {\"city\": \"Los Angeles\", \"location\": {\"x\": -118.3026284, \"y\": 34.118347}},\n" +
+					  "  \"coWorkers\": [{\"id\": \"kyle\", \"name\": \"Kyle Reese\", \"gender\": \"MAN\"}],\n" +
+					  "  \"shippingAddresses\": {\"home\": {\"city\": \"Los Angeles\"}}\n" +
+					  "}\n"; //
+
+		Document source = sourceDocument(json);
+		source.setId("4711");
+		Person person = mappingElasticsearchConverter.read(Person.class, source);
+
+		assertThat(source.getSourceParser()).isNotNull();
+		assertThat(person).usingRecursiveComparison()
+				.isEqualTo(mappingElasticsearchConverter.read(Person.class, Document.parse(json)));
+		assertThat(person.getBirthDate()).isEqualTo(LocalDate.of(2000, 8, 22));
+		assertThat(person.coWorkers).extracting(Person::getName).containsExactly("Kyle Reese");
+		assertThat(person.shippingAddresses.get("home").city).isEqualTo("Los Angeles");
+	}
+
+	@Test
+	@DisplayName("should reuse the conversion plan of an entity")
+	void shouldReuseTheConversionPlanOfAnEntity() {
+
+		SimpleElasticsearchMappingContext mappingContext = new SimpleElasticsearchMappingContext();
+		ElasticsearchPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Person.class);
+		MappingElasticsearchConverter.ConversionPlans plans = new MappingElasticsearchConverter.ConversionPlans(
+				new EntityInstantiators());
+
+		MappingElasticsearchConverter.ConversionPlan plan = plans.get(entity);
+
+		assertThat(plans.get(entity)).isSameAs(plan);
+		assertThat(plan.isSourceReadable()).isTrue();
+
+		int index = plan.indexOf(entity.getRequiredPersistentProperty("firstName"));
+		assertThat(plan.getFieldName(index)).isEqualTo("first-name");
+		assertThat(plan.indexOfField("first-name")).isEqualTo(index);
+		assertThat(plan.getPath(index)).isNull();
+		assertThat(plan.isReadable(index)).isTrue();
+		assertThat(plan.isWritable(index)).isTrue();
+
+		Document document = Document.create();
+		mappingElasticsearchConverter.write(sarahConnor, document);
+		Document second = Document.create();
+		mappingElasticsearchConverter.write(sarahConnor, second);
+
+		assertThat(second).isEqualTo(document);
+		assertThat(mappingElasticsearchConverter.read(Person.class, second)).usingRecursiveComparison()
+				.isEqualTo(mappingElasticsearchConverter.read(Person.class, document));
+	}
+
+	@Test
+	@DisplayName("should read entities from the doc value fields of a hit without source")
+	void shouldReadEntitiesFromTheDocValueFieldsOfAHitWithoutSource() {
+
+		Map<String, List<Object>> fields = new LinkedHashMap<>();
+		fields.put("code", Collections.singletonList("c-1"));
+		fields.put("count", Collections.singletonList(3));
+		fields.put("created", Collections.singletonList("20240102"));
+		fields.put("tags", Arrays.asList("a", "b"));
+		fields.put("address.zip", Collections.singletonList("12345"));
+		Document hitDocument = Document.from(new LinkedHashMap<>(fields));
+		hitDocument.setId("42");
+		hitDocument.setVersion(7);
+		SearchDocumentAdapter searchDocument = new SearchDocumentAdapter(hitDocument, 1.0f, new Object[0], fields,
+				Collections.emptyMap(), Collections.emptyMap(), null, null, null, false);
+
+		DocValuesEntity entity = mappingElasticsearchConverter.read(DocValuesEntity.class, searchDocument);
+
+		assertThat(entity.id).isEqualTo("42");
+		assertThat(entity.code).isEqualTo("c-1");
+		assertThat(entity.count).isEqualTo(3);
+		assertThat(entity.created).isEqualTo(LocalDate.of(2024, 1, 2));
+		assertThat(entity.tags).containsExactly("a", "b");
+		assertThat(entity.address.zip).isEqualTo("12345");
+		assertThat(entity.description).isNull();
+	}
+
+	@Test
+	@DisplayName("should read entities with constructors and value converters straight from _source")
+	void shouldReadEntitiesWithConstructorsAndValueConvertersStraightFromSource() {
+
+		Document collections = sourceDocument("{\"stringList\": [\"a\", \"b\"], \"stringSet\": [\"c\"], " +
+											  "\"childrenList\": [{\"name\": \"d\"}], \"childrenSet\": {\"name\": \"e\"}}");
+		Document converted = sourceDocument("{\"id\": \"42\", \"fieldWithClassBasedConverter\": \"desabssalc\", " +
+											"\"fieldWithEnumBasedConverter\": \"desabmune\"}");
+
+		ImmutableEntityWithCollections entity = mappingElasticsearchConverter.read(ImmutableEntityWithCollections.class,
+				collections);
+		EntityWithCustomValueConverters entityWithConverters = mappingElasticsearchConverter
+				.read(EntityWithCustomValueConverters.class, converted);
+
+		assertThat(entity.getStringList()).containsExactly("a", "b");
+		assertThat(entity.getStringSet()).containsExactly("c");
+		assertThat(entity.getChildrenList()).extracting(ImmutableEntityWithCollections.Child::getName).containsExactly("d");
+		assertThat(entity.getChildrenSet()).extracting(ImmutableEntityWithCollections.Child::getName).containsExactly("e");
+		assertThat(entityWithConverters.getFieldWithClassBasedConverter()).isEqualTo("classbased");
+		assertThat(entityWithConverters.getFieldWithEnumBasedConverter()).isEqualTo("enumbased");
+	}
+
+	private static Document sourceDocument(String json) {
+
+		JsonpMapper mapper = new JacksonJsonpMapper();
+		return Document.from(mapper.deserialize(mapper.jsonProvider().createParser(new StringReader(json)), EntityAsMap.class));
+	}
+
 	// region entities
 	public static class Sample {
 		@Nullable public @ReadOnlyProperty String readOnly;
@@ -2405,6 +2597,20 @@ public class MappingElasticsearchConverterUnitTests {
 		}
 	}
 
+	static class DocValuesEntity {
+		@Nullable @Id String id;
+		@Nullable @Field(type = FieldType.Keyword) String code;
+		@Nullable @Field(type = FieldType.Text) String description;
+		@Field(type = FieldType.Integer) int count;
+		@Nullable @Field(type = FieldType.Date, format = DateFormat.basic_date) LocalDate created;
+		@Nullable @Field(type = FieldType.Keyword) List<String> tags;
+		@Nullable @Field(type = FieldType.Object) DocValuesAddress address;
+	}
+
+	static class DocValuesAddress {
+		@Nullable @Field(type = FieldType.Keyword) String zip;
+	}
+
 	// endregion
 
 	private static String reverse(Object o) {
@@ -0,0 +1,132 @@
+package com.mawen.search.core.mapping;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.mawen.search.core.annotation.Field;
+import com.mawen.search.core.annotation.FieldType;
+import com.mawen.search.core.convert.MappingElasticsearchConverter;
+import com.mawen.search.core.document.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.data.annotation.AccessType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MethodHandlePropertyAccessorFactoryUnitTests {
+
+	private final SimpleElasticsearchMappingContext context = new SimpleElasticsearchMappingContext();
+	private final MethodHandlePropertyAccessorFactory factory = new MethodHandlePropertyAccessorFactory();
+
+	@Test
+	@DisplayName("should read and write fields")
+	void shouldReadAndWriteFields() {
+
+		SimpleElasticsearchPersistentEntity<?> entity = context.getRequiredPersistentEntity(Book.class);
+		Book book = new Book();
+		PersistentPropertyAccessor<Book> accessor = factory.getPropertyAccessor(entity, book);
+
+		accessor.setProperty(entity.getRequiredPersistentProperty("id"), "42");
+		accessor.setProperty(entity.getRequiredPersistentProperty("pages"), 7);
+		accessor.setProperty(entity.getRequiredPersistentProperty("tags"), Collections.singletonList("a"));
+
+		assertThat(factory.isSupported(entity)).isTrue();
+		assertThat(accessor.getBean()).isSameAs(book);
+		assertThat(book.id).isEqualTo("42");
+		assertThat(book.pages).isEqualTo(7);
+		assertThat(accessor.getProperty(entity.getRequiredPersistentProperty("tags"))).isEqualTo(book.tags);
+	}
+
+	@Test
+	@DisplayName("should use getters and setters for property access")
+	void shouldUseGettersAndSettersForPropertyAccess() {
+
+		SimpleElasticsearchPersistentEntity<?> entity = context.getRequiredPersistentEntity(PropertyAccessEntity.class);
+		PropertyAccessEntity bean = new PropertyAccessEntity();
+		PersistentPropertyAccessor<PropertyAccessEntity> accessor = factory.getPropertyAccessor(entity, bean);
+
+		accessor.setProperty(entity.getRequiredPersistentProperty("name"), "name");
+
+		assertThat(bean.name).isEqualTo("set:name");
+		assertThat(accessor.getProperty(entity.getRequiredPersistentProperty("name"))).isEqualTo("get:set:name");
+	}
+
+	@Test
+	@DisplayName("should use withers for immutable properties")
+	void shouldUseWithersForImmutableProperties() {
+
+		SimpleElasticsearchPersistentEntity<?> entity = context.getRequiredPersistentEntity(ImmutableEntity.class);
+		ImmutableEntity bean = new ImmutableEntity("1", "old");
+		PersistentPropertyAccessor<ImmutableEntity> accessor = factory.getPropertyAccessor(entity, bean);
+
+		accessor.setProperty(entity.getRequiredPersistentProperty("name"), "new");
+
+		assertThat(accessor.getBean()).isNotSameAs(bean);
+		assertThat(accessor.getBean().name).isEqualTo("new");
+		assertThat(accessor.getBean().id).isEqualTo("1");
+		assertThatThrownBy(() -> accessor.setProperty(entity.getRequiredPersistentProperty("id"), "2"))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	@DisplayName("should convert entities with method handle accessors")
+	void shouldConvertEntitiesWithMethodHandleAccessors() {
+
+		SimpleElasticsearchMappingContext mappingContext = new SimpleElasticsearchMappingContext();
+		mappingContext.setMethodHandleAccessors(true);
+		mappingContext.afterPropertiesSet();
+		MappingElasticsearchConverter converter = new MappingElasticsearchConverter(mappingContext);
+		converter.afterPropertiesSet();
+
+		Book book = new Book();
+		book.id = "42";
+		book.pages = 7;
+		book.tags = Collections.singletonList("a");
+
+		Document document = Document.create();
+		converter.write(book, document);
+		Book read = converter.read(Book.class, document);
+		ImmutableEntity immutable = converter.read(ImmutableEntity.class, Document.parse("{\"id\":\"1\",\"name\":\"n\"}"));
+
+		assertThat(document).containsEntry("pages", 7).containsEntry("tags", Collections.singletonList("a"));
+		assertThat(read).usingRecursiveComparison().isEqualTo(book);
+		assertThat(immutable.id).isEqualTo("1");
+		assertThat(immutable.name).isEqualTo("n");
+	}
+
+	static class Book {
+		@Id String id;
+		@Field(type = FieldType.Integer) int pages;
+		List<String> tags;
+	}
+
+	static class PropertyAccessEntity {
+		@Id String id;
+		@AccessType(AccessType.Type.PROPERTY) String name;
+
+		public String getName() {
+			return "get:" + name;
+		}
+
+		public void setName(String name) {
+			this.name = "set:" + name;
+		}
+	}
+
+	static class ImmutableEntity {
+		@Id private final String id;
+		private final String name;
+
+		ImmutableEntity(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		ImmutableEntity withName(String name) {
+			return new ImmutableEntity(id, name);
+		}
+	}
+}
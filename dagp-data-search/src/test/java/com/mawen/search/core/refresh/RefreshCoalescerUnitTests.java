@@ -0,0 +1,85 @@
+package com.mawen.search.core.refresh;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.mawen.search.core.ElasticsearchOperations;
+import com.mawen.search.core.IndexOperations;
+import com.mawen.search.core.mapping.IndexCoordinates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RefreshCoalescerUnitTests {
+
+	private static final IndexCoordinates INDEX = IndexCoordinates.of("refresh");
+
+	private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+	private final IndexOperations indexOperations = mock(IndexOperations.class);
+
+	@Test
+	@DisplayName("should coalesce the refreshes of writes within the interval")
+	void shouldCoalesceTheRefreshesOfWritesWithinTheInterval() throws Exception {
+
+		when(operations.indexOps(INDEX)).thenReturn(indexOperations);
+
+		try (RefreshCoalescer coalescer = new RefreshCoalescer(operations, Duration.ofMillis(200))) {
+			coalescer.markDirty(INDEX).get(5, TimeUnit.SECONDS);
+
+			CompletableFuture<Void> first = coalescer.markDirty(INDEX);
+			CompletableFuture<Void> second = coalescer.markDirty(INDEX);
+			CompletableFuture<Void> third = coalescer.markDirty(INDEX);
+
+			assertThat(first).isSameAs(second).isSameAs(third);
+			assertThat(coalescer.awaitRefresh(INDEX)).isSameAs(first);
+
+			first.get(5, TimeUnit.SECONDS);
+		}
+
+		verify(indexOperations, times(2)).refresh();
+	}
+
+	@Test
+	@DisplayName("should return a completed future when the index is not dirty")
+	void shouldReturnACompletedFutureWhenTheIndexIsNotDirty() {
+
+		try (RefreshCoalescer coalescer = new RefreshCoalescer(operations, Duration.ofMillis(200))) {
+			assertThat(coalescer.awaitRefresh(INDEX)).isCompleted();
+		}
+
+		verifyNoInteractions(operations);
+	}
+
+	@Test
+	@DisplayName("should refresh dirty indices on close")
+	void shouldRefreshDirtyIndicesOnClose() {
+
+		when(operations.indexOps(INDEX)).thenReturn(indexOperations);
+		RefreshCoalescer coalescer = new RefreshCoalescer(operations, Duration.ofHours(1));
+		coalescer.markDirty(INDEX).join();
+
+		CompletableFuture<Void> pending = coalescer.markDirty(INDEX);
+		assertThat(pending).isNotDone();
+
+		coalescer.close();
+
+		assertThat(pending).isCompleted();
+		verify(indexOperations, times(2)).refresh();
+	}
+
+	@Test
+	@DisplayName("should complete the future exceptionally when the refresh fails")
+	void shouldCompleteTheFutureExceptionallyWhenTheRefreshFails() {
+
+		when(operations.indexOps(INDEX)).thenReturn(indexOperations);
+		doThrow(new IllegalStateException("boom")).when(indexOperations).refresh();
+
+		try (RefreshCoalescer coalescer = new RefreshCoalescer(operations, Duration.ofMillis(10))) {
+			assertThatThrownBy(() -> coalescer.markDirty(INDEX).get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(
+					IllegalStateException.class);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.mawen.search.core.support;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.mawen.search.core.document.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EntitySnapshotsUnitTests {
+
+	@Test
+	@DisplayName("should contain only changed fields in the diff")
+	void shouldContainOnlyChangedFieldsInTheDiff() {
+
+		Document snapshot = Document.create();
+		snapshot.put("id", "1");
+		snapshot.put("name", "old");
+		snapshot.put("tags", Arrays.asList("a", "b"));
+		snapshot.put("address", nested("city", "Berlin", "street", "Main"));
+		snapshot.put("removed", "gone");
+
+		Document current = Document.create();
+		current.put("id", "1");
+		current.put("name", "new");
+		current.put("tags", Arrays.asList("a", "b"));
+		current.put("address", nested("city", "Berlin", "street", "Side"));
+		current.put("added", 1);
+
+		Document diff = EntitySnapshots.diff(snapshot, current);
+
+		assertThat(diff).containsOnlyKeys("name", "address", "added", "removed");
+		assertThat(diff.get("name")).isEqualTo("new");
+		assertThat(diff.get("address")).isEqualTo(nested("street", "Side"));
+		assertThat(diff.get("added")).isEqualTo(1);
+		assertThat(diff).containsEntry("removed", null);
+	}
+
+	@Test
+	@DisplayName("should return an empty diff when nothing changed")
+	void shouldReturnAnEmptyDiffWhenNothingChanged() {
+
+		Document snapshot = Document.create();
+		snapshot.put("address", nested("city", "Berlin"));
+
+		assertThat(EntitySnapshots.diff(snapshot, Document.from(snapshot))).isEmpty();
+	}
+
+	@Test
+	@DisplayName("should keep snapshots by identity")
+	void shouldKeepSnapshotsByIdentity() {
+
+		EntitySnapshots snapshots = new EntitySnapshots();
+		Entity entity = new Entity("1");
+		Document document = Document.create();
+
+		snapshots.put(entity, document);
+
+		assertThat(snapshots.get(entity)).isSameAs(document);
+		assertThat(snapshots.get(new Entity("1"))).isNull();
+
+		snapshots.remove(entity);
+
+		assertThat(snapshots.size()).isZero();
+	}
+
+	private static Map<String, Object> nested(Object... keysAndValues) {
+
+		Map<String, Object> map = new HashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+
+	static class Entity {
+
+		private final String id;
+
+		Entity(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Entity && ((Entity) o).id.equals(id);
+		}
+
+		@Override
+		public int hashCode() {
+			return id.hashCode();
+		}
+	}
+}
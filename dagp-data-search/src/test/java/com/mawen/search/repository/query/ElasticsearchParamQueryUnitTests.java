@@ -663,6 +663,19 @@ class ElasticsearchParamQueryUnitTests extends ElasticsearchQueryUnitTestBase {
 		});
 	}
 
+	@Test
+	void shouldParseContextOfQueryFieldCorrectly() throws NoSuchMethodException {
+
+		ContextFieldQuery contextFieldQuery = new ContextFieldQuery();
+		contextFieldQuery.setName("mawen");
+		contextFieldQuery.setAge(1);
+		Query query = createQuery("listByQuery", contextFieldQuery);
+
+		List<Criteria> criteriaChain = ((CriteriaQuery) query).getCriteria().getCriteriaChain();
+		assertThat(criteriaChain).extracting(Criteria::getContext)
+				.containsExactly(Criteria.Context.QUERY, Criteria.Context.FILTER);
+	}
+
 	@Test
 	void shouldParseAllFieldQueryCorrectly() throws NoSuchMethodException {
 
@@ -924,6 +937,7 @@ class ElasticsearchParamQueryUnitTests extends ElasticsearchQueryUnitTestBase {
 		List<Person> listByQuery(@ParamQuery NegatingSimplePropertyFieldQuery query);
 		List<Person> listByQuery(@ParamQuery AllFieldQuery query);
 		List<Person> listByQuery(@ParamQuery SortQuery query);
+		List<Person> listByQuery(@ParamQuery ContextFieldQuery query);
 
 		@SourceFilters(
 				includes = {"a", "b", "c"},
@@ -957,6 +971,16 @@ class ElasticsearchParamQueryUnitTests extends ElasticsearchQueryUnitTestBase {
 		private Range<Integer> ages;
 	}
 
+	@Data
+	static class ContextFieldQuery {
+
+		@QueryField(value = "name", context = Criteria.Context.QUERY)
+		private String name;
+
+		@QueryField(value = "age", context = Criteria.Context.FILTER)
+		private Integer age;
+	}
+
 	@Data
 	static class LessThanFieldQuery {
 		@QueryField(value = "age", type = Type.LESS_THAN)
@@ -19,6 +19,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,8 +29,13 @@ import com.mawen.search.core.annotation.Document;
 import com.mawen.search.core.annotation.Field;
 import com.mawen.search.core.annotation.FieldType;
 import com.mawen.search.core.annotation.Query;
+import com.mawen.search.core.annotation.SourceFilters;
+import com.mawen.search.core.domain.SearchHit;
 import com.mawen.search.core.domain.SearchHits;
+import com.mawen.search.core.domain.SearchHitsImpl;
+import com.mawen.search.core.mapping.IndexCoordinates;
 import com.mawen.search.core.query.StringQuery;
+import com.mawen.search.core.query.TotalHitsRelation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -44,6 +50,7 @@ import org.springframework.data.repository.core.support.DefaultRepositoryMetadat
 import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -136,6 +143,47 @@ public class ElasticsearchStringQueryUnitTests extends ElasticsearchQueryUnitTes
 		assertThat(((StringQuery) query).getSource()).isEqualTo(
 			"{ 'bool' : { 'must' : { 'terms' : { 'name' : [\"param\\\\1\",\"param\\\\2\"] } } } }");
 	}
+	@Test
+	@DisplayName("should derive the source includes from a projection")
+	void shouldDeriveTheSourceIncludesFromAProjection() throws NoSuchMethodException {
+
+		com.mawen.search.core.query.Query query = queryForMethod(getQueryMethod("findNamesByAge", Integer.class))
+				.createQuery(new Object[] { 30 });
+		com.mawen.search.core.query.Query merged = queryForMethod(
+				getQueryMethod("findFilteredNamesByAge", Integer.class)).createQuery(new Object[] { 30 });
+		com.mawen.search.core.query.Query notProjected = queryForMethod(getQueryMethod("findByAge", Integer.class))
+				.createQuery(new Object[] { 30 });
+
+		assertThat(query.getSourceFilter()).isNotNull();
+		assertThat(query.getSourceFilter().getIncludes()).containsExactlyInAnyOrder("name", "age");
+		assertThat(merged.getSourceFilter()).isNotNull();
+		assertThat(merged.getSourceFilter().getIncludes()).startsWith("id").containsExactlyInAnyOrder("id", "name", "age");
+		assertThat(merged.getSourceFilter().getExcludes()).containsExactly("books");
+		assertThat(notProjected.getSourceFilter()).isNull();
+	}
+
+	@Test
+	@DisplayName("should return projections of the found entities")
+	void shouldReturnProjectionsOfTheFoundEntities() throws NoSuchMethodException {
+
+		Person person = new Person();
+		person.setId("1");
+		person.setName("Luke");
+		person.setAge(30);
+		SearchHit<Person> searchHit = new SearchHit<>(null, "1", null, 1.0f, null, null, null, null, null, person);
+		when(operations.getIndexCoordinatesFor(Person.class)).thenReturn(IndexCoordinates.of("person"));
+		doReturn(new SearchHitsImpl<>(1, TotalHitsRelation.EQUAL_TO, 1.0f, null, Collections.singletonList(searchHit),
+				null)).when(operations).searchAll(any(com.mawen.search.core.query.Query.class), eq(Person.class), any());
+
+		ElasticsearchQueryMethod queryMethod = getQueryMethod("findNamesByAge", Integer.class);
+		Object result = queryForMethod(queryMethod).execute(new Object[] { 30 });
+
+		assertThat(result).asList().singleElement().isInstanceOf(PersonName.class);
+		PersonName name = (PersonName) ((List<?>) result).get(0);
+		assertThat(name.getName()).isEqualTo("Luke");
+		assertThat(name.getAge()).isEqualTo(30);
+	}
+
 	private com.mawen.search.core.query.Query createQuery(String methodName, Object... args)
 			throws NoSuchMethodException {
 
@@ -194,6 +242,20 @@ public class ElasticsearchStringQueryUnitTests extends ElasticsearchQueryUnitTes
 
 		@Query("{ 'bool' : { 'must' : { 'term' : { 'car' : '?0' } } } }")
 		Person findByCar(Car car);
+
+		@Query("{ 'bool' : { 'must' : { 'term' : { 'age' : ?0 } } } }")
+		List<PersonName> findNamesByAge(Integer age);
+
+		@Query("{ 'bool' : { 'must' : { 'term' : { 'age' : ?0 } } } }")
+		@SourceFilters(includes = "id", excludes = "books")
+		List<PersonName> findFilteredNamesByAge(Integer age);
+	}
+
+	interface PersonName {
+
+		String getName();
+
+		int getAge();
 	}
 
 
@@ -0,0 +1,128 @@
+package com.mawen.search.support;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompactStringObjectMapUnitTests {
+
+	@Test
+	@DisplayName("should behave like a LinkedHashMap")
+	void shouldBehaveLikeALinkedHashMap() {
+
+		CompactStringObjectMap map = new CompactStringObjectMap();
+		Map<String, Object> expected = new LinkedHashMap<>();
+
+		for (int i = 0; i < 40; i++) {
+			assertThat(map.put("key" + i, i)).isEqualTo(expected.put("key" + i, i));
+		}
+		assertThat(map.put("key3", "three")).isEqualTo(expected.put("key3", "three"));
+		assertThat(map.remove("key10")).isEqualTo(expected.remove("key10"));
+		assertThat(map.remove("missing")).isNull();
+		map.put("key10", null);
+		expected.put("key10", null);
+
+		assertThat(map).isEqualTo(expected);
+		assertThat(expected).isEqualTo(map);
+		assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+		assertThat(map.keySet()).containsExactlyElementsOf(expected.keySet());
+		assertThat(map.containsKey("key10")).isTrue();
+		assertThat(map.get("key10")).isNull();
+		assertThat(map.get("key39")).isEqualTo(39);
+		assertThat(map.getOrDefault("missing", "default")).isEqualTo("default");
+		assertThat(map.get(42)).isNull();
+	}
+
+	@Test
+	@DisplayName("should remove entries through the iterator and keep the order")
+	void shouldRemoveEntriesThroughTheIterator() {
+
+		CompactStringObjectMap map = new CompactStringObjectMap();
+		IntStream.range(0, 12).forEach(i -> map.put("key" + i, i));
+
+		Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Object> entry = iterator.next();
+			if ((Integer) entry.getValue() % 2 == 0) {
+				iterator.remove();
+			}
+			else {
+				entry.setValue((Integer) entry.getValue() * 10);
+			}
+		}
+
+		assertThat(map.values()).containsExactly(10, 30, 50, 70, 90, 110);
+		assertThat(map.get("key11")).isEqualTo(110);
+		assertThat(map.get("key2")).isNull();
+	}
+
+	@Test
+	@DisplayName("should share the instances of the keys")
+	void shouldShareTheInstancesOfTheKeys() {
+
+		CompactStringObjectMap first = new CompactStringObjectMap();
+		CompactStringObjectMap second = new CompactStringObjectMap();
+		first.put(new String("field"), 1);
+		second.put(new String("field"), 2);
+
+		assertThat(first.keySet().iterator().next()).isSameAs(second.keySet().iterator().next());
+	}
+
+	@Test
+	@DisplayName("should copy maps")
+	void shouldCopyMaps() {
+
+		CompactStringObjectMap map = new CompactStringObjectMap();
+		IntStream.range(0, 10).forEach(i -> map.put("key" + i, i));
+
+		CompactStringObjectMap copy = new CompactStringObjectMap(map);
+		copy.put("key0", "changed");
+
+		assertThat(map.get("key0")).isEqualTo(0);
+		assertThat(copy.get("key9")).isEqualTo(9);
+		assertThat(new CompactStringObjectMap(new LinkedHashMap<>(map))).isEqualTo(map);
+	}
+
+	@Test
+	@DisplayName("should find the keys of a copied map while it grows and shrinks")
+	void shouldFindTheKeysOfACopiedMapWhileItGrowsAndShrinks() {
+
+		CompactStringObjectMap map = new CompactStringObjectMap();
+		IntStream.range(0, 20).forEach(i -> map.put("key" + i, i));
+
+		CompactStringObjectMap copy = new CompactStringObjectMap(map);
+		IntStream.range(0, 15).forEach(i -> copy.remove("key" + i));
+
+		assertThat(copy).containsOnlyKeys("key15", "key16", "key17", "key18", "key19");
+		assertThat(copy.get("key17")).isEqualTo(17);
+
+		IntStream.range(20, 40).forEach(i -> copy.put("key" + i, i));
+
+		IntStream.range(15, 40).forEach(i -> assertThat(copy.get("key" + i)).isEqualTo(i));
+		assertThat(copy.containsKey("key3")).isFalse();
+		IntStream.range(0, 20).forEach(i -> assertThat(map.get("key" + i)).isEqualTo(i));
+	}
+
+	@Test
+	@DisplayName("should decode JSON into compact maps")
+	@SuppressWarnings("unchecked")
+	void shouldDecodeJsonIntoCompactMaps() {
+
+		DefaultStringObjectMapUnitTests.SOM som = new DefaultStringObjectMapUnitTests.SOM()
+				.fromJson("{\"a\":{\"b\":[1,2.5,\"x\",true,null,{\"c\":4294967296}]}}");
+
+		Object a = som.get("a");
+		assertThat(a).isInstanceOf(CompactStringObjectMap.class);
+		List<Object> b = (List<Object>) ((Map<?, ?>) a).get("b");
+		assertThat(b).containsExactly(1, 2.5d, "x", true, null, Collections.singletonMap("c", 4294967296L));
+		assertThat(som.toJson()).isEqualTo("{\"a\":{\"b\":[1,2.5,\"x\",true,null,{\"c\":4294967296}]}}");
+	}
+}
@@ -1,6 +1,15 @@
 package com.mawen.search.support;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -50,5 +59,44 @@ class DefaultStringObjectMapUnitTests {
 		assertThat(map.get("answer")).isEqualTo(42);
 	}
 
-	static class SOM extends DefaultStringObjectMap<SOM> {}
+	@Test
+	@DisplayName("should decode the source once for concurrent readers")
+	void shouldDecodeTheSourceOnceForConcurrentReaders() throws Exception {
+
+		TokenBuffer tokens = DefaultStringObjectMap.OBJECT_MAPPER.readValue(stringObjectMap.toJson(), TokenBuffer.class);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try {
+			for (int round = 0; round < 100; round++) {
+				SOM lazy = new SOM(tokens);
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<Object>> answers = new ArrayList<>();
+
+				for (int i = 0; i < 8; i++) {
+					answers.add(executor.submit(() -> {
+						start.await();
+						return lazy.path("index.some.deeply.nested.answer");
+					}));
+				}
+				start.countDown();
+
+				for (Future<Object> answer : answers) {
+					assertThat(answer.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+				}
+				assertThat(lazy.getSourceParser()).isNull();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	static class SOM extends DefaultStringObjectMap<SOM> {
+
+		SOM() {}
+
+		SOM(TokenBuffer source) {
+			super(source);
+		}
+	}
 }